@@ -30,6 +30,8 @@ import org.teavm.classlib.java.awt.TRectangle;
 import org.teavm.classlib.java.awt.TWindow;
 import org.teavm.classlib.java.awt.TChoice;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.HashMap;
 
 import org.apache.harmony.awt.gl.MultiRectArea;
 import org.apache.harmony.awt.text.TextFieldKit;
@@ -42,6 +44,14 @@ import org.apache.harmony.awt.wtk.NativeWindow;
  */
 public abstract class ComponentInternals {
 
+    /**
+     * Component classes overriding coalesceEvents(); also caches
+     * the answers for their subclasses
+     */
+    private static final HashMap<Class<?>, Boolean> coalescerClasses =
+            new HashMap<Class<?>, Boolean>();
+    private static boolean hasCoalescers;
+
     /**
      * @return the TComponentInternals instance to serve the requests
      */
@@ -57,6 +67,39 @@ public abstract class ComponentInternals {
         ContextStorage.setComponentInternals(internals);
     }
 
+    /**
+     * Registers the component class which overrides coalesceEvents(),
+     * it is the alternative to implementing EventCoalescer.
+     * Should be called from the static initializer of the class.
+     */
+    public static void registerCoalescer(Class<?> componentClass) {
+        synchronized (coalescerClasses) {
+            // Drop the answers cached for the subclasses
+            coalescerClasses.values().removeAll(Collections.singleton(Boolean.FALSE));
+            coalescerClasses.put(componentClass, Boolean.TRUE);
+            hasCoalescers = true;
+        }
+    }
+
+    /**
+     * @return true if the class or its superclass has been registered
+     *         with registerCoalescer()
+     */
+    public static boolean isCoalescer(Class<?> componentClass) {
+        synchronized (coalescerClasses) {
+            if (!hasCoalescers) {
+                return false;
+            }
+            Boolean flag = coalescerClasses.get(componentClass);
+            if (flag == null) {
+                Class<?> superClass = componentClass.getSuperclass();
+                flag = Boolean.valueOf(superClass != null && isCoalescer(superClass));
+                coalescerClasses.put(componentClass, flag);
+            }
+            return flag.booleanValue();
+        }
+    }
+
     /**
      * The accessor to native resource connected to a component.
      * It returns non-<code>null</code> value only if component
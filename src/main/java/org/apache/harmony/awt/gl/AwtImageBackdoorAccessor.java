@@ -60,4 +60,13 @@ public abstract class AwtImageBackdoorAccessor {
     public abstract void addTDataBufferListener(TDataBuffer db, DataBufferListener listener);
     public abstract void removeTDataBufferListener(TDataBuffer db);
     public abstract void validate(TDataBuffer db);
+
+    /**
+     * Returns the data array of the first bank without marking the data
+     * as taken, so caches of the image stay valid. Caller should report
+     * modifications of the data with notifyChanged.
+     */
+    public abstract int[] peekDataInt(TDataBuffer db);
+    public abstract byte[] peekDataByte(TDataBuffer db);
+    public abstract void notifyChanged(TDataBuffer db);
 }
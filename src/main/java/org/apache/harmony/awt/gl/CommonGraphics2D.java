@@ -43,12 +43,14 @@ import org.teavm.classlib.java.awt.font.TGlyphVector;
 import org.teavm.classlib.java.awt.geom.TAffineTransform;
 import org.teavm.classlib.java.awt.geom.TArc2D;
 import org.teavm.classlib.java.awt.geom.TEllipse2D;
+import org.teavm.classlib.java.awt.geom.TGeneralPath;
 import org.teavm.classlib.java.awt.geom.TLine2D;
 import org.teavm.classlib.java.awt.geom.TPathIterator;
 import org.teavm.classlib.java.awt.geom.TRoundRectangle2D;
 import org.teavm.classlib.java.awt.image.TAffineTransformOp;
 import org.teavm.classlib.java.awt.image.TBufferedImage;
 import org.teavm.classlib.java.awt.image.TBufferedImageOp;
+import org.teavm.classlib.java.awt.image.TColorModel;
 import org.teavm.classlib.java.awt.image.TImageObserver;
 import org.teavm.classlib.java.awt.image.TRaster;
 import org.teavm.classlib.java.awt.image.TWritableRaster;
@@ -57,10 +59,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.harmony.awt.gl.font.GlyphCache;
 import org.apache.harmony.awt.gl.font.TFontManager;
 import org.apache.harmony.awt.gl.font.fontlib.FLTextRenderer;
 import org.apache.harmony.awt.gl.image.OffscreenImage;
 import org.apache.harmony.awt.gl.render.Blitter;
+import org.apache.harmony.awt.gl.render.JavaAAShapeRasterizer;
 import org.apache.harmony.awt.gl.render.JavaArcRasterizer;
 import org.apache.harmony.awt.gl.render.JavaLineRasterizer;
 import org.apache.harmony.awt.gl.render.JavaShapeRasterizer;
@@ -160,6 +164,11 @@ public abstract class CommonGraphics2D extends TGraphics2D {
 
     protected JavaShapeRasterizer jsr = new JavaShapeRasterizer();
 
+    // Anti-aliased rasterizer and coverage surface are shared by all
+    // graphics to keep their buffers, access is synchronized on aasr
+    static final JavaAAShapeRasterizer aasr = new JavaAAShapeRasterizer();
+    static ImageSurface aaSurf;
+
     protected TFont font = new TFont("Dialog", TFont.PLAIN, 12);; //$NON-NLS-1$
 
     protected TextRenderer jtr = 
@@ -268,7 +277,17 @@ public abstract class CommonGraphics2D extends TGraphics2D {
 
     @Override
     public void draw(TShape s) {
-        if (stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1) {
+        if (isAntialiased()) {
+            TStroke st = stroke;
+            if (st instanceof TBasicStroke && ((TBasicStroke)st).getLineWidth() < 1) {
+                // Thin lines are drawn one pixel wide as without anti-aliasing
+                TBasicStroke bstroke = (TBasicStroke)st;
+                st = new TBasicStroke(1, bstroke.getEndCap(), bstroke.getLineJoin(),
+                        bstroke.getMiterLimit(), bstroke.getDashArray(), bstroke.getDashPhase());
+            }
+            s = st.createStrokedShape(s);
+            fillAntialiased(transform.createTransformedShape(s));
+        } else if (stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1) {
             //TODO: Think about drawing the shape in one fillMultiRectArea call
             TBasicStroke bstroke = (TBasicStroke)stroke;
             JavaLineRasterizer.LineDasher ld = (bstroke.getDashArray() == null)?null:new JavaLineRasterizer.LineDasher(bstroke.getDashArray(), bstroke.getDashPhase());
@@ -312,7 +331,7 @@ public abstract class CommonGraphics2D extends TGraphics2D {
 
     @Override
     public void drawArc(int x, int y, int width, int height, int sa, int ea) {
-        if (stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1 &&
+        if (!isAntialiased() && stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1 &&
                 ((TBasicStroke)stroke).getDashArray() == null && 
                 (transform.isIdentity() || transform.getType() == TAffineTransform.TYPE_TRANSLATION)) {
             TPoint p = new TPoint(x, y);
@@ -552,7 +571,7 @@ public abstract class CommonGraphics2D extends TGraphics2D {
             System.err.println("CommonGraphics2D.drawLine("+x1+", "+y1+", "+x2+", "+y2+")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
         }
 
-        if (stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1) {
+        if (!isAntialiased() && stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1) {
             TBasicStroke bstroke = (TBasicStroke)stroke;
             TPoint p1 = new TPoint(x1, y1);
             TPoint p2 = new TPoint(x2, y2);
@@ -568,7 +587,7 @@ public abstract class CommonGraphics2D extends TGraphics2D {
 
     @Override
     public void drawOval(int x, int y, int width, int height) {
-        if (stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1 &&
+        if (!isAntialiased() && stroke instanceof TBasicStroke && ((TBasicStroke)stroke).getLineWidth() <= 1 &&
                 ((TBasicStroke)stroke).getDashArray() == null && 
                 (transform.isIdentity() || transform.getType() == TAffineTransform.TYPE_TRANSLATION)) {
             TPoint p = new TPoint(x, y);
@@ -592,6 +611,16 @@ public abstract class CommonGraphics2D extends TGraphics2D {
 
     @Override
     public void drawPolyline(int[] xpoints, int[] ypoints, int npoints) {
+        if (isAntialiased() && npoints > 1) {
+            // Joins of the segments should not be blended twice
+            TGeneralPath path = new TGeneralPath(TGeneralPath.WIND_NON_ZERO, npoints);
+            path.moveTo(xpoints[0], ypoints[0]);
+            for (int i = 1; i < npoints; i++) {
+                path.lineTo(xpoints[i], ypoints[i]);
+            }
+            draw(path);
+            return;
+        }
         for (int i = 0; i < npoints-1; i++) {
             drawLine(xpoints[i], ypoints[i], xpoints[i+1], ypoints[i+1]);
         }
@@ -679,6 +708,10 @@ public abstract class CommonGraphics2D extends TGraphics2D {
     @Override
     public void fill(TShape s) {
         s = transform.createTransformedShape(s);
+        if (isAntialiased()) {
+            fillAntialiased(s);
+            return;
+        }
         MultiRectArea mra = jsr.rasterize(s, 0.5);
         fillMultiRectArea(mra);
     }
@@ -1074,6 +1107,225 @@ public abstract class CommonGraphics2D extends TGraphics2D {
         srcSurf.dispose();
     }
 
+    /**
+     * Returns true if the shapes should be drawn anti-aliased.
+     * XOR mode has no meaning for the partially covered pixels,
+     * so it is always drawn aliased.
+     */
+    protected boolean isAntialiased() {
+        return hints.get(TRenderingHints.KEY_ANTIALIASING) == TRenderingHints.VALUE_ANTIALIAS_ON &&
+                !(composite instanceof XORComposite);
+    }
+
+    /**
+     * Fills the shape in the device space using its coverage as alpha.
+     * Fully covered pixels are filled as usual, the edge pixels are
+     * blended with the paint multiplied by the coverage.
+     * @param s the shape in the device space
+     */
+    protected void fillAntialiased(TShape s) {
+        TRectangle bounds;
+        if (clip != null) {
+            bounds = clip.getBounds();
+        } else if (dstSurf != null) {
+            bounds = new TRectangle(0, 0, dstSurf.getWidth(), dstSurf.getHeight());
+        } else {
+            fillMultiRectArea(jsr.rasterize(s, 0.5));
+            return;
+        }
+
+        synchronized (aasr) {
+            if (!aasr.rasterize(s, 0.25, bounds)) {
+                return;
+            }
+            while (aasr.nextBand()) {
+                fillMultiRectArea(aasr.getOpaqueArea());
+
+                MultiRectArea partial = aasr.getTranslucentArea();
+                if (clip != null) {
+                    partial.intersect(clip);
+                }
+                if (partial.rect[0] >= 5) {
+                    blendCoverage(partial);
+                }
+            }
+        }
+    }
+
+    /**
+     * Blends the current paint with the coverage of the current
+     * band of the anti-aliased rasterizer
+     * @param mra the partially covered pixels of the band
+     */
+    void blendCoverage(MultiRectArea mra) {
+        int x = aasr.getBandX();
+        int y = aasr.getBandY();
+        int w = aasr.getBandWidth();
+        int h = aasr.getBandHeight();
+        byte[] coverage = aasr.getCoverage();
+
+        if (aaSurf == null || aaSurf.getWidth() < w) {
+            TColorModel cm = TColorModel.getRGBdefault();
+            aaSurf = new ImageSurface(cm, cm.createCompatibleWritableRaster(
+                    Math.max(w, 256), JavaAAShapeRasterizer.BAND_HEIGHT));
+        }
+        int stride = aaSurf.getWidth();
+        int[] pixels = (int[]) aaSurf.getData();
+
+        if (paint instanceof TColor) {
+            int argb = ((TColor)paint).getRGB();
+            int alpha = argb >>> 24;
+            int rgb = argb & 0xffffff;
+            for (int j = 0; j < h; j++) {
+                int pos = j * stride;
+                int cpos = j * w;
+                for (int i = 0; i < w; i++) {
+                    int a = (coverage[cpos + i] & 0xff) * alpha;
+                    pixels[pos + i] = ((a + (a >> 8) + 1) >> 8) << 24 | rgb;
+                }
+            }
+        } else {
+            TRectangle rec = new TRectangle(x, y, w, h);
+            TPaintContext pc = paint.createContext(null, rec, rec, transform, hints);
+            TRaster r = pc.getRaster(x, y, w, h);
+            TColorModel cm = pc.getColorModel();
+            Object data = null;
+            for (int j = 0; j < h; j++) {
+                int pos = j * stride;
+                int cpos = j * w;
+                for (int i = 0; i < w; i++) {
+                    int cov = coverage[cpos + i] & 0xff;
+                    if (cov == 0) {
+                        continue;
+                    }
+                    data = r.getDataElements(i, j, data);
+                    int argb = cm.getRGB(data);
+                    int a = (argb >>> 24) * cov;
+                    pixels[pos + i] = ((a + (a >> 8) + 1) >> 8) << 24 | (argb & 0xffffff);
+                }
+            }
+            pc.dispose();
+        }
+
+        aaSurf.invalidate();
+        blitter.blit(0, 0, aaSurf, x, y, dstSurf, w, h, composite, null, mra);
+    }
+
+    /**
+     * Draws the glyphs using their masks from the glyph cache. It is
+     * possible only for the solid color and the translation, the glyphs
+     * which can not be cached are filled as usual. XOR mode is filled too,
+     * since it would xor the whole glyph boxes regardless of the coverage.
+     * @return false if the glyph vector should be filled instead
+     */
+    protected boolean drawCachedGlyphs(TGlyphVector gv, float x, float y) {
+        int type = transform.getType();
+        if (!(paint instanceof TColor) || dstSurf == null
+                || composite instanceof XORComposite
+                || (type & ~TAffineTransform.TYPE_TRANSLATION) != 0) {
+            return false;
+        }
+        TFont f = gv.getTFont();
+        if (f == null || f.isTransformed()) {
+            return false;
+        }
+
+        Object peer = f.getPeer();
+        float size = f.getSize2D();
+        boolean aa = hints.get(TRenderingHints.KEY_TEXT_ANTIALIASING) ==
+            TRenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+        int n = gv.getNumGlyphs();
+        float[] positions = gv.getGlyphPositions(0, n, null);
+        double ox = x + transform.getTranslateX();
+        double oy = y + transform.getTranslateY();
+
+        int argb = ((TColor)paint).getRGB();
+        int alpha = argb >>> 24;
+        int rgb = argb & 0xffffff;
+        int clipX0, clipY0, clipX1, clipY1;
+        if (clip != null) {
+            TRectangle cb = clip.getBounds();
+            clipX0 = cb.x;
+            clipY0 = cb.y;
+            clipX1 = cb.x + cb.width;
+            clipY1 = cb.y + cb.height;
+        } else {
+            clipX0 = clipY0 = 0;
+            clipX1 = dstSurf.getWidth();
+            clipY1 = dstSurf.getHeight();
+        }
+
+        GlyphCache cache = GlyphCache.getInstance();
+        synchronized (aasr) {
+            if (aaSurf == null) {
+                TColorModel cm = TColorModel.getRGBdefault();
+                aaSurf = new ImageSurface(cm, cm.createCompatibleWritableRaster(
+                        256, JavaAAShapeRasterizer.BAND_HEIGHT));
+            }
+            synchronized (cache) {
+                for (int i = 0; i < n; i++) {
+                    if (gv.getGlyphTransform(i) != null) {
+                        fill(gv.getGlyphOutline(i, x, y));
+                        continue;
+                    }
+                    double gx = ox + positions[i * 2];
+                    int ix = (int) Math.floor(gx);
+                    int iy = (int) Math.floor(oy + positions[i * 2 + 1] + 0.5);
+                    int subpixel = GlyphCache.getSubpixel(gx - ix);
+                    int code = gv.getGlyphCode(i);
+
+                    GlyphCache.Entry e = cache.get(peer, code, size, aa, subpixel);
+                    if (e == null) {
+                        double dx = (double) subpixel / GlyphCache.SUBPIXEL_STEPS - positions[i * 2];
+                        TShape outline = TAffineTransform.getTranslateInstance(dx, -positions[i * 2 + 1])
+                            .createTransformedShape(gv.getGlyphOutline(i));
+                        e = cache.put(peer, code, size, aa, subpixel, outline);
+                        if (e == null) {
+                            fill(gv.getGlyphOutline(i, x, y));
+                            continue;
+                        }
+                    }
+                    if (e.isEmpty()) {
+                        continue;
+                    }
+
+                    // The mask clipped by the clip bounds
+                    int x0 = Math.max(ix + e.left, clipX0);
+                    int y0 = Math.max(iy + e.top, clipY0);
+                    int x1 = Math.min(ix + e.left + e.width, clipX1);
+                    int y1 = Math.min(iy + e.top + e.height, clipY1);
+                    if (x1 <= x0 || y1 <= y0) {
+                        continue;
+                    }
+                    int w = x1 - x0;
+                    int mx = e.x + x0 - ix - e.left;
+                    int my = e.y + y0 - iy - e.top;
+                    byte[] mask = e.data;
+                    // The fallback fills may replace the surface
+                    int stride = aaSurf.getWidth();
+                    int rows = aaSurf.getHeight();
+                    int[] pixels = (int[]) aaSurf.getData();
+
+                    // The mask is not wider than the surface, but can be higher
+                    for (int by = y0; by < y1; by += rows) {
+                        int h = Math.min(rows, y1 - by);
+                        for (int j = 0; j < h; j++) {
+                            int pos = j * stride;
+                            int mpos = (my + by - y0 + j) * GlyphCache.PAGE_SIZE + mx;
+                            for (int k = 0; k < w; k++) {
+                                int a = (mask[mpos + k] & 0xff) * alpha;
+                                pixels[pos + k] = ((a + (a >> 8) + 1) >> 8) << 24 | rgb;
+                            }
+                        }
+                        aaSurf.invalidate();
+                        blitter.blit(0, 0, aaSurf, x0, by, dstSurf, w, h, composite, null, clip);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Copies graphics class fields. 
      * Used in create method
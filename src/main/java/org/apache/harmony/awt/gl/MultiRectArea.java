@@ -73,6 +73,22 @@ public class MultiRectArea implements TShape {
             lineY = y;
         }
 
+        /**
+         * Empties the area to add the lines again starting at the line y.
+         * The buffers are kept.
+         * @param y - the first line
+         * @param size - the maximum number of rectangles in a line
+         */
+        public void reset(int y, int size) {
+            if (bottom.length < size) {
+                bottom = new int[size];
+            }
+            bottomCount = 0;
+            rect[0] = 1;
+            lineY = y;
+            invalidate();
+        }
+
         public void skipLine() {
             lineY++;
             bottomCount = 0;
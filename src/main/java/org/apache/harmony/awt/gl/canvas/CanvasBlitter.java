@@ -0,0 +1,253 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.canvas;
+
+import java.util.WeakHashMap;
+
+import org.apache.harmony.awt.gl.MultiRectArea;
+import org.apache.harmony.awt.gl.Surface;
+import org.apache.harmony.awt.gl.render.Blitter;
+import org.apache.harmony.awt.gl.render.JavaBlitter;
+import org.teavm.classlib.java.awt.TAlphaComposite;
+import org.teavm.classlib.java.awt.TColor;
+import org.teavm.classlib.java.awt.TComposite;
+import org.teavm.classlib.java.awt.geom.TAffineTransform;
+import org.teavm.classlib.java.awt.image.TBufferedImage;
+import org.teavm.classlib.java.awt.image.TDataBufferInt;
+
+/**
+ * Blitter drawing images on the CanvasSurface with drawImage.
+ * Sources which are not canvases are uploaded to the offscreen canvas
+ * once and reused while the source Surface keeps the cache valid.
+ * Composites which can't be expressed by globalCompositeOperation
+ * are done by the JavaBlitter on the snapshot of the canvas pixels.
+ */
+public class CanvasBlitter implements Blitter {
+
+    final static CanvasBlitter inst = new CanvasBlitter();
+
+    public static CanvasBlitter getInstance(){
+        return inst;
+    }
+
+    private final WeakHashMap<Surface, CanvasSurface> imageCache =
+        new WeakHashMap<Surface, CanvasSurface>();
+
+    private final double matrix[] = new double[6];
+
+    public void blit(int srcX, int srcY, Surface srcSurf, int dstX, int dstY,
+            Surface dstSurf, int width, int height, TAffineTransform sysxform,
+            TAffineTransform xform, TComposite comp, TColor bgcolor,
+            MultiRectArea clip) {
+
+        if(xform == null){
+            blit(srcX, srcY, srcSurf, dstX, dstY, dstSurf, width, height,
+                    sysxform, comp, bgcolor, clip);
+        }else{
+            double scaleX = xform.getScaleX();
+            double scaleY = xform.getScaleY();
+            double scaledX = dstX / scaleX;
+            double scaledY = dstY / scaleY;
+            TAffineTransform at = new TAffineTransform();
+            at.setToTranslation(scaledX, scaledY);
+            xform.concatenate(at);
+            sysxform.concatenate(xform);
+            blit(srcX, srcY, srcSurf, 0, 0, dstSurf, width, height,
+                    sysxform, comp, bgcolor, clip);
+        }
+    }
+
+    public void blit(int srcX, int srcY, Surface srcSurf, int dstX, int dstY,
+            Surface dstSurf, int width, int height, TAffineTransform sysxform,
+            TComposite comp, TColor bgcolor, MultiRectArea clip) {
+
+        String op = getCompositeOperation(comp,
+                srcSurf.getTransparency() == Surface.OPAQUE && bgcolor == null);
+
+        if(!(dstSurf instanceof CanvasSurface)){
+            JavaBlitter.getInstance().blit(srcX, srcY, srcSurf, dstX, dstY, dstSurf,
+                    width, height, sysxform, comp, bgcolor, clip);
+            return;
+        }
+
+        CanvasSurface dst = (CanvasSurface) dstSurf;
+
+        if(op == null){
+            Surface snapshot = dst.getImageSurface();
+            JavaBlitter.getInstance().blit(srcX, srcY, srcSurf, dstX, dstY, snapshot,
+                    width, height, sysxform, comp, bgcolor, clip);
+            dst.commitImageSurface();
+            return;
+        }
+
+        if(clip != null && clip.rect[0] < 5){
+            return;
+        }
+
+        int w = Math.min(width, srcSurf.getWidth() - srcX);
+        int h = Math.min(height, srcSurf.getHeight() - srcY);
+        if(w <= 0 || h <= 0){
+            return;
+        }
+
+        CanvasCommandBuffer buf = dst.getCommandBuffer();
+        buf.save();
+        applyClip(buf, clip);
+        if(sysxform != null){
+            sysxform.getMatrix(matrix);
+            buf.setTransform(matrix[0], matrix[1], matrix[2], matrix[3], matrix[4], matrix[5]);
+        }else{
+            buf.setTransform(1, 0, 0, 1, 0, 0);
+        }
+        buf.setGlobalCompositeOperation(op);
+        buf.setGlobalAlpha(getCompositeAlpha(comp));
+
+        if(((TAlphaComposite) comp).getRule() == TAlphaComposite.CLEAR){
+            buf.setFillStyle("#000"); //$NON-NLS-1$
+            buf.fillRect(dstX, dstY, w, h);
+        }else{
+            if(bgcolor != null){
+                buf.setFillStyle(toCSSColor(bgcolor));
+                buf.fillRect(dstX, dstY, w, h);
+            }
+            CanvasSurface src = getCanvasSurface(srcSurf);
+            buf.drawImage(src, srcX, srcY, w, h, dstX, dstY, w, h);
+        }
+        buf.restore();
+        dst.updateScene();
+    }
+
+    public void blit(int srcX, int srcY, Surface srcSurf, int dstX, int dstY,
+            Surface dstSurf, int width, int height, TComposite comp,
+            TColor bgcolor, MultiRectArea clip) {
+
+        blit(srcX, srcY, srcSurf, dstX, dstY, dstSurf, width, height,
+                null, comp, bgcolor, clip);
+    }
+
+    /**
+     * Returns the canvas holding the pixels of the given surface, uploading
+     * them if the cached canvas is missing or has been invalidated
+     */
+    CanvasSurface getCanvasSurface(Surface srcSurf) {
+        if(srcSurf instanceof CanvasSurface){
+            return (CanvasSurface) srcSurf;
+        }
+
+        int w = srcSurf.getWidth();
+        int h = srcSurf.getHeight();
+
+        CanvasSurface cached = imageCache.get(srcSurf);
+        if(cached != null && cached.getWidth() == w && cached.getHeight() == h){
+            if(srcSurf.isCaheValid(cached)){
+                return cached;
+            }
+        }else{
+            cached = new CanvasSurface(w, h);
+            imageCache.put(srcSurf, cached);
+        }
+
+        int type = srcSurf.getSurfaceType();
+        Object data = srcSurf.getData();
+        if((type == TBufferedImage.TYPE_INT_ARGB || type == TBufferedImage.TYPE_INT_RGB) &&
+                data instanceof int[] && ((int[]) data).length == w * h){
+            int alphaMask = type == TBufferedImage.TYPE_INT_RGB ? 0xff000000 : 0;
+            cached.writePixels(0, 0, w, h, (int[]) data, 0, w, alphaMask);
+        }else{
+            // Let the JavaBlitter convert any other format
+            TBufferedImage tmp = new TBufferedImage(w, h, TBufferedImage.TYPE_INT_ARGB);
+            Surface tmpSurf = Surface.getImageSurface(tmp);
+            JavaBlitter.getInstance().blit(0, 0, srcSurf, 0, 0, tmpSurf, w, h,
+                    TAlphaComposite.Src, null, null);
+            int pixels[] = ((TDataBufferInt) tmp.getRaster().getDataBuffer()).getData();
+            cached.writePixels(0, 0, w, h, pixels, 0, w);
+        }
+        srcSurf.addValidCache(cached);
+
+        return cached;
+    }
+
+    /**
+     * Intersects the clip of the context with the device space clip.
+     * Caller is responsible for save/restore of the context state.
+     */
+    static void applyClip(CanvasCommandBuffer buf, MultiRectArea clip) {
+        if(clip == null){
+            return;
+        }
+        int rect[] = clip.rect;
+        buf.setTransform(1, 0, 0, 1, 0, 0);
+        buf.beginPath();
+        for(int i = 1; i < rect[0]; i += 4){
+            buf.rect(rect[i], rect[i + 1],
+                    rect[i + 2] - rect[i] + 1, rect[i + 3] - rect[i + 1] + 1);
+        }
+        buf.clip();
+    }
+
+    /**
+     * Maps the composite to the globalCompositeOperation value.
+     * Porter-Duff rules which affect destination pixels outside of
+     * the source (SrcIn, DstIn, SrcOut, DstAtop) are drawn by canvas
+     * over the whole clip area, so they are reported as unsupported.
+     * @param comp - the composite
+     * @param opaqueSrc - true if the source has no translucent pixels,
+     *                    in this case Src is the same as SrcOver
+     * @return operation name or null if the canvas can't express the composite
+     */
+    static String getCompositeOperation(TComposite comp, boolean opaqueSrc) {
+        if(!(comp instanceof TAlphaComposite)){
+            return null;
+        }
+        TAlphaComposite ac = (TAlphaComposite) comp;
+        switch(ac.getRule()){
+            case TAlphaComposite.SRC_OVER:
+                return "source-over"; //$NON-NLS-1$
+            case TAlphaComposite.SRC:
+                return opaqueSrc && ac.getAlpha() == 1 ? "source-over" : null; //$NON-NLS-1$
+            case TAlphaComposite.DST_OVER:
+                return "destination-over"; //$NON-NLS-1$
+            case TAlphaComposite.SRC_ATOP:
+                return "source-atop"; //$NON-NLS-1$
+            case TAlphaComposite.DST_OUT:
+                return "destination-out"; //$NON-NLS-1$
+            case TAlphaComposite.XOR:
+                return "xor"; //$NON-NLS-1$
+            case TAlphaComposite.CLEAR:
+                // Opaque source erases destination completely
+                return "destination-out"; //$NON-NLS-1$
+            default:
+                return null;
+        }
+    }
+
+    static float getCompositeAlpha(TComposite comp) {
+        TAlphaComposite ac = (TAlphaComposite) comp;
+        return ac.getRule() == TAlphaComposite.CLEAR ? 1 : ac.getAlpha();
+    }
+
+    static String toCSSColor(TColor color) {
+        int argb = color.getRGB();
+        int a = argb >>> 24;
+        if(a == 0xff){
+            return "rgb(" + ((argb >> 16) & 0xff) + "," + ((argb >> 8) & 0xff) + "," + //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                (argb & 0xff) + ")"; //$NON-NLS-1$
+        }
+        return "rgba(" + ((argb >> 16) & 0xff) + "," + ((argb >> 8) & 0xff) + "," + //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            (argb & 0xff) + "," + (a / 255f) + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.canvas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.harmony.awt.gl.MultiRectArea;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.canvas.CanvasRenderingContext2D;
+
+/**
+ * Display list of CanvasRenderingContext2D calls.
+ * <p>
+ * Every call crossing the Java/JavaScript boundary is expensive, so the
+ * canvas backend records its calls as op codes with packed int and float
+ * arguments and executes the whole list with a single call to the
+ * JavaScript interpreter in execute(). Inside of the frame, opened with
+ * beginFrame() (RepaintManager does it for the whole paintDirtyRegions()
+ * pass), commands are kept until endFrame(). Outside of a frame
+ * every drawing primitive is flushed immediately.
+ * <p>
+ * The buffer tracks the context state which will be current after the
+ * recorded commands and drops state changes which don't change anything.
+ * <p>
+ * Reads and writes of the canvas pixels must call flush() first. If one
+ * canvas is drawn on another, the source is flushed when the drawImage
+ * is recorded and the destination is flushed before any further change
+ * of the source.
+ */
+public final class CanvasCommandBuffer {
+
+    // Op codes, the comment lists int (i) and float (f) arguments
+    static final int SAVE = 1;
+    static final int RESTORE = 2;
+    static final int SET_TRANSFORM = 3;     // 6f
+    static final int BEGIN_PATH = 4;
+    static final int MOVE_TO = 5;           // 2f
+    static final int LINE_TO = 6;           // 2f
+    static final int QUAD_TO = 7;           // 4f
+    static final int CUBIC_TO = 8;          // 6f
+    static final int CLOSE_PATH = 9;
+    static final int RECT = 10;             // 4i
+    static final int CLIP = 11;
+    static final int FILL = 12;
+    static final int FILL_EVEN_ODD = 13;
+    static final int STROKE = 14;
+    static final int FILL_RECT = 15;        // 4i
+    static final int FILL_STYLE = 16;       // string index
+    static final int STROKE_STYLE = 17;     // string index
+    static final int GLOBAL_ALPHA = 18;     // 1f
+    static final int COMPOSITE = 19;        // string index
+    static final int LINE_WIDTH = 20;       // 1f
+    static final int LINE_CAP = 21;         // string index
+    static final int LINE_JOIN = 22;        // string index
+    static final int MITER_LIMIT = 23;      // 1f
+    static final int FONT = 24;             // string index
+    static final int FILL_TEXT = 25;        // string index, 2f
+    static final int DRAW_IMAGE = 26;       // image index, 8i
+
+    private static final String INTERPRETER =
+        "var o = 0, f = 0;" +
+        "while (o < opCount) {" +
+        "  switch (ops[o++]) {" +
+        "  case 1: ctx.save(); break;" +
+        "  case 2: ctx.restore(); break;" +
+        "  case 3: ctx.setTransform(args[f], args[f + 1], args[f + 2], args[f + 3], args[f + 4], args[f + 5]); f += 6; break;" +
+        "  case 4: ctx.beginPath(); break;" +
+        "  case 5: ctx.moveTo(args[f], args[f + 1]); f += 2; break;" +
+        "  case 6: ctx.lineTo(args[f], args[f + 1]); f += 2; break;" +
+        "  case 7: ctx.quadraticCurveTo(args[f], args[f + 1], args[f + 2], args[f + 3]); f += 4; break;" +
+        "  case 8: ctx.bezierCurveTo(args[f], args[f + 1], args[f + 2], args[f + 3], args[f + 4], args[f + 5]); f += 6; break;" +
+        "  case 9: ctx.closePath(); break;" +
+        "  case 10: ctx.rect(ops[o], ops[o + 1], ops[o + 2], ops[o + 3]); o += 4; break;" +
+        "  case 11: ctx.clip(); break;" +
+        "  case 12: ctx.fill(); break;" +
+        "  case 13: ctx.fill('evenodd'); break;" +
+        "  case 14: ctx.stroke(); break;" +
+        "  case 15: ctx.fillRect(ops[o], ops[o + 1], ops[o + 2], ops[o + 3]); o += 4; break;" +
+        "  case 16: ctx.fillStyle = strings[ops[o++]]; break;" +
+        "  case 17: ctx.strokeStyle = strings[ops[o++]]; break;" +
+        "  case 18: ctx.globalAlpha = args[f++]; break;" +
+        "  case 19: ctx.globalCompositeOperation = strings[ops[o++]]; break;" +
+        "  case 20: ctx.lineWidth = args[f++]; break;" +
+        "  case 21: ctx.lineCap = strings[ops[o++]]; break;" +
+        "  case 22: ctx.lineJoin = strings[ops[o++]]; break;" +
+        "  case 23: ctx.miterLimit = args[f++]; break;" +
+        "  case 24: ctx.font = strings[ops[o++]]; break;" +
+        "  case 25: ctx.fillText(strings[ops[o++]], args[f], args[f + 1]); f += 2; break;" +
+        "  case 26: ctx.drawImage(images[ops[o]], ops[o + 1], ops[o + 2], ops[o + 3], ops[o + 4]," +
+        "      ops[o + 5], ops[o + 6], ops[o + 7], ops[o + 8]); o += 9; break;" +
+        "  }" +
+        "}";
+
+    /**
+     * Buffers having unflushed commands recorded inside of the frame
+     */
+    private static final ArrayList<CanvasCommandBuffer> pending = new ArrayList<CanvasCommandBuffer>();
+    private static int frameDepth;
+
+    private final CanvasRenderingContext2D ctx;
+
+    private int ops[] = new int[1024];
+    private int opCount;
+    private float args[] = new float[1024];
+    private int argCount;
+    private String strings[] = new String[64];
+    private int stringCount;
+    private int stringChars;
+    private JSObject images[] = new JSObject[16];
+    private int imageCount;
+    private int commandCount;
+
+    /**
+     * Buffers which have recorded drawImage with this canvas as a source
+     */
+    private ArrayList<CanvasCommandBuffer> dependents;
+
+    // Context state after all recorded commands
+    private State state = new State();
+    private final ArrayList<State> stateStack = new ArrayList<State>();
+    private int clipRects[];
+
+    // Statistics
+    private int lastFlushCommands;
+    private long totalCommands;
+    private long bytesFlushed;
+    private int flushCount;
+    private long eliminatedStateChanges;
+
+    CanvasCommandBuffer(CanvasRenderingContext2D ctx) {
+        this.ctx = ctx;
+        // setClip resets the clip with restore()/save() pairs,
+        // so there always should be one saved state on the stack
+        ctx.save();
+    }
+
+    /**
+     * Starts the frame: commands of all buffers are kept until
+     * the matching endFrame call. Frames could be nested.
+     */
+    public static void beginFrame() {
+        frameDepth++;
+    }
+
+    /**
+     * Ends the frame and flushes all buffers if it was the outermost one
+     */
+    public static void endFrame() {
+        if (frameDepth > 0 && --frameDepth == 0) {
+            flushAll();
+        }
+    }
+
+    public static void flushAll() {
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).flush();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Called after every drawing primitive
+     */
+    void commit() {
+        if (frameDepth == 0) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (opCount == 0) {
+            return;
+        }
+
+        execute(ctx, ops, opCount, args, strings, images);
+
+        lastFlushCommands = commandCount;
+        totalCommands += commandCount;
+        bytesFlushed += (opCount + argCount) * 4 + stringChars * 2;
+        flushCount++;
+
+        Arrays.fill(strings, 0, stringCount, null);
+        Arrays.fill(images, 0, imageCount, null);
+        opCount = 0;
+        argCount = 0;
+        stringCount = 0;
+        stringChars = 0;
+        imageCount = 0;
+        commandCount = 0;
+    }
+
+    /**
+     * Flushes the buffers which refer this canvas, should be called
+     * before the canvas content is changed
+     */
+    void flushDependents() {
+        if (dependents != null && !dependents.isEmpty()) {
+            for (int i = 0; i < dependents.size(); i++) {
+                dependents.get(i).flush();
+            }
+            dependents.clear();
+        }
+    }
+
+    /**
+     * @return number of commands executed by the last flush
+     */
+    public int getLastFlushCommands() {
+        return lastFlushCommands;
+    }
+
+    public long getTotalCommands() {
+        return totalCommands;
+    }
+
+    /**
+     * @return approximate size of the data passed to JavaScript
+     */
+    public long getBytesFlushed() {
+        return bytesFlushed;
+    }
+
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return number of state changes dropped as redundant
+     */
+    public long getEliminatedStateChanges() {
+        return eliminatedStateChanges;
+    }
+
+    /***************************************************************************
+     *
+     *  State commands
+     *
+     ***************************************************************************/
+
+    public void save() {
+        op(SAVE);
+        stateStack.add(state.copy());
+    }
+
+    public void restore() {
+        op(RESTORE);
+        state = stateStack.remove(stateStack.size() - 1);
+    }
+
+    /**
+     * Replaces the clip with the given device space one.
+     * The whole context state except of the clip is reset to defaults.
+     */
+    public void setClip(MultiRectArea clip) {
+        if (clipEquals(clip)) {
+            eliminatedStateChanges++;
+            return;
+        }
+
+        op(RESTORE);
+        op(SAVE);
+        state = new State();
+        if (clip == null) {
+            clipRects = null;
+        } else {
+            int rect[] = clip.rect;
+            clipRects = Arrays.copyOf(rect, rect[0]);
+            setTransform(1, 0, 0, 1, 0, 0);
+            op(BEGIN_PATH);
+            for (int i = 1; i < rect[0]; i += 4) {
+                rect(rect[i], rect[i + 1],
+                        rect[i + 2] - rect[i] + 1, rect[i + 3] - rect[i + 1] + 1);
+            }
+            op(CLIP);
+        }
+    }
+
+    private boolean clipEquals(MultiRectArea clip) {
+        if (clip == null || clipRects == null) {
+            return clip == null && clipRects == null;
+        }
+        int rect[] = clip.rect;
+        if (rect[0] != clipRects[0]) {
+            return false;
+        }
+        for (int i = 1; i < rect[0]; i++) {
+            if (rect[i] != clipRects[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void setTransform(double m00, double m10, double m01, double m11, double m02, double m12) {
+        float t[] = state.transform;
+        if (t[0] == (float) m00 && t[1] == (float) m10 && t[2] == (float) m01 &&
+                t[3] == (float) m11 && t[4] == (float) m02 && t[5] == (float) m12) {
+            eliminatedStateChanges++;
+            return;
+        }
+        t[0] = (float) m00;
+        t[1] = (float) m10;
+        t[2] = (float) m01;
+        t[3] = (float) m11;
+        t[4] = (float) m02;
+        t[5] = (float) m12;
+        op(SET_TRANSFORM);
+        arg(t[0]);
+        arg(t[1]);
+        arg(t[2]);
+        arg(t[3]);
+        arg(t[4]);
+        arg(t[5]);
+    }
+
+    public void setFillStyle(String style) {
+        if (style.equals(state.fillStyle)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.fillStyle = style;
+        op(FILL_STYLE, string(style));
+    }
+
+    public void setStrokeStyle(String style) {
+        if (style.equals(state.strokeStyle)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.strokeStyle = style;
+        op(STROKE_STYLE, string(style));
+    }
+
+    public void setGlobalAlpha(float alpha) {
+        if (alpha == state.globalAlpha) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.globalAlpha = alpha;
+        op(GLOBAL_ALPHA);
+        arg(alpha);
+    }
+
+    public void setGlobalCompositeOperation(String composite) {
+        if (composite.equals(state.composite)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.composite = composite;
+        op(COMPOSITE, string(composite));
+    }
+
+    public void setLineWidth(float width) {
+        if (width == state.lineWidth) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.lineWidth = width;
+        op(LINE_WIDTH);
+        arg(width);
+    }
+
+    public void setLineCap(String cap) {
+        if (cap.equals(state.lineCap)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.lineCap = cap;
+        op(LINE_CAP, string(cap));
+    }
+
+    public void setLineJoin(String join) {
+        if (join.equals(state.lineJoin)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.lineJoin = join;
+        op(LINE_JOIN, string(join));
+    }
+
+    public void setMiterLimit(float limit) {
+        if (limit == state.miterLimit) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.miterLimit = limit;
+        op(MITER_LIMIT);
+        arg(limit);
+    }
+
+    public void setFont(String font) {
+        if (font.equals(state.font)) {
+            eliminatedStateChanges++;
+            return;
+        }
+        state.font = font;
+        op(FONT, string(font));
+    }
+
+    /***************************************************************************
+     *
+     *  Drawing commands
+     *
+     ***************************************************************************/
+
+    public void beginPath() {
+        op(BEGIN_PATH);
+    }
+
+    public void moveTo(double x, double y) {
+        op(MOVE_TO);
+        arg((float) x);
+        arg((float) y);
+    }
+
+    public void lineTo(double x, double y) {
+        op(LINE_TO);
+        arg((float) x);
+        arg((float) y);
+    }
+
+    public void quadraticCurveTo(double cx, double cy, double x, double y) {
+        op(QUAD_TO);
+        arg((float) cx);
+        arg((float) cy);
+        arg((float) x);
+        arg((float) y);
+    }
+
+    public void bezierCurveTo(double cx1, double cy1, double cx2, double cy2, double x, double y) {
+        op(CUBIC_TO);
+        arg((float) cx1);
+        arg((float) cy1);
+        arg((float) cx2);
+        arg((float) cy2);
+        arg((float) x);
+        arg((float) y);
+    }
+
+    public void closePath() {
+        op(CLOSE_PATH);
+    }
+
+    public void rect(int x, int y, int w, int h) {
+        op(RECT, x, y, w, h);
+    }
+
+    public void clip() {
+        op(CLIP);
+    }
+
+    public void fill() {
+        op(FILL);
+    }
+
+    public void fillEvenOdd() {
+        op(FILL_EVEN_ODD);
+    }
+
+    public void stroke() {
+        op(STROKE);
+    }
+
+    public void fillRect(int x, int y, int w, int h) {
+        op(FILL_RECT, x, y, w, h);
+    }
+
+    public void fillText(String text, float x, float y) {
+        op(FILL_TEXT, string(text));
+        arg(x);
+        arg(y);
+    }
+
+    public void drawImage(CanvasSurface src, int sx, int sy, int sw, int sh,
+            int dx, int dy, int dw, int dh) {
+        CanvasCommandBuffer srcBuffer = src.getCommandBuffer();
+        if (srcBuffer != this) {
+            srcBuffer.flush();
+            if (srcBuffer.dependents == null) {
+                srcBuffer.dependents = new ArrayList<CanvasCommandBuffer>();
+            }
+            if (!srcBuffer.dependents.contains(this)) {
+                srcBuffer.dependents.add(this);
+            }
+        }
+
+        if (imageCount == images.length) {
+            images = Arrays.copyOf(images, imageCount * 2);
+        }
+        images[imageCount] = src.getCanvas();
+        op(DRAW_IMAGE, imageCount++);
+        ensureOps(8);
+        ops[opCount++] = sx;
+        ops[opCount++] = sy;
+        ops[opCount++] = sw;
+        ops[opCount++] = sh;
+        ops[opCount++] = dx;
+        ops[opCount++] = dy;
+        ops[opCount++] = dw;
+        ops[opCount++] = dh;
+    }
+
+    /***************************************************************************
+     *
+     *  Buffer management
+     *
+     ***************************************************************************/
+
+    private void op(int code) {
+        if (opCount == 0) {
+            flushDependents();
+            if (frameDepth > 0) {
+                pending.add(this);
+            }
+        }
+        ensureOps(1);
+        ops[opCount++] = code;
+        commandCount++;
+    }
+
+    private void op(int code, int a) {
+        op(code);
+        ensureOps(1);
+        ops[opCount++] = a;
+    }
+
+    private void op(int code, int a, int b, int c, int d) {
+        op(code);
+        ensureOps(4);
+        ops[opCount++] = a;
+        ops[opCount++] = b;
+        ops[opCount++] = c;
+        ops[opCount++] = d;
+    }
+
+    private void ensureOps(int n) {
+        if (opCount + n > ops.length) {
+            ops = Arrays.copyOf(ops, Math.max(ops.length * 2, opCount + n));
+        }
+    }
+
+    private void arg(float value) {
+        if (argCount == args.length) {
+            args = Arrays.copyOf(args, argCount * 2);
+        }
+        args[argCount++] = value;
+    }
+
+    private int string(String s) {
+        if (stringCount == strings.length) {
+            strings = Arrays.copyOf(strings, stringCount * 2);
+        }
+        strings[stringCount] = s;
+        stringChars += s.length();
+        return stringCount++;
+    }
+
+    /**
+     * Context state, initial values are the canvas defaults
+     */
+    private static final class State {
+        final float transform[] = { 1, 0, 0, 1, 0, 0 };
+        String fillStyle = "#000000"; //$NON-NLS-1$
+        String strokeStyle = "#000000"; //$NON-NLS-1$
+        String composite = "source-over"; //$NON-NLS-1$
+        String lineCap = "butt"; //$NON-NLS-1$
+        String lineJoin = "miter"; //$NON-NLS-1$
+        String font = "10px sans-serif"; //$NON-NLS-1$
+        float globalAlpha = 1;
+        float lineWidth = 1;
+        float miterLimit = 10;
+
+        State copy() {
+            State res = new State();
+            System.arraycopy(transform, 0, res.transform, 0, 6);
+            res.fillStyle = fillStyle;
+            res.strokeStyle = strokeStyle;
+            res.composite = composite;
+            res.lineCap = lineCap;
+            res.lineJoin = lineJoin;
+            res.font = font;
+            res.globalAlpha = globalAlpha;
+            res.lineWidth = lineWidth;
+            res.miterLimit = miterLimit;
+            return res;
+        }
+    }
+
+    @JSBody(params = { "ctx", "ops", "opCount", "args", "strings", "images" }, script = INTERPRETER)
+    private static native void execute(CanvasRenderingContext2D ctx, @JSByRef int[] ops, int opCount,
+            @JSByRef float[] args, String[] strings, JSObject[] images);
+}
@@ -0,0 +1,463 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.canvas;
+
+import org.apache.harmony.awt.gl.CommonGraphics2D;
+import org.apache.harmony.awt.gl.MultiRectArea;
+import org.teavm.classlib.java.awt.TAlphaComposite;
+import org.teavm.classlib.java.awt.TBasicStroke;
+import org.teavm.classlib.java.awt.TColor;
+import org.teavm.classlib.java.awt.TComposite;
+import org.teavm.classlib.java.awt.TFont;
+import org.teavm.classlib.java.awt.TGraphics;
+import org.teavm.classlib.java.awt.TGraphicsConfiguration;
+import org.teavm.classlib.java.awt.TGraphicsEnvironment;
+import org.teavm.classlib.java.awt.TPaint;
+import org.teavm.classlib.java.awt.TRectangle;
+import org.teavm.classlib.java.awt.TShape;
+import org.teavm.classlib.java.awt.font.TGlyphVector;
+import org.teavm.classlib.java.awt.geom.TArc2D;
+import org.teavm.classlib.java.awt.geom.TEllipse2D;
+import org.teavm.classlib.java.awt.geom.TPathIterator;
+
+/**
+ * CanvasGraphics2D maps Graphics2D primitives directly to the
+ * CanvasRenderingContext2D of the CanvasSurface instead of rasterizing
+ * them into MultiRectAreas. Solid colors with the composites listed in
+ * CanvasBlitter.getCompositeOperation are drawn by the browser, everything
+ * else (XOR mode, non-color paints, unsupported Porter-Duff rules) goes
+ * through the CommonGraphics2D rasterizers and the CanvasBlitter fallback.
+ * <p>
+ * All calls are recorded into the CanvasCommandBuffer of the surface.
+ * Several graphics may share one canvas, so every primitive sets the whole
+ * state it depends on and the buffer drops the changes which are redundant.
+ */
+public class CanvasGraphics2D extends CommonGraphics2D {
+
+    private final CanvasSurface surface;
+    private final CanvasCommandBuffer buf;
+
+    // Cached canvas representation of the graphics state
+    private String cssColor;
+    private String compositeOp;
+    private float compositeAlpha;
+    private String cssFont;
+
+    public CanvasGraphics2D(CanvasSurface surface, int tx, int ty, MultiRectArea clip) {
+        super(tx, ty, clip);
+        this.surface = surface;
+        buf = surface.getCommandBuffer();
+        dstSurf = surface;
+        blitter = CanvasBlitter.getInstance();
+        updateCompositeOp();
+    }
+
+    public CanvasGraphics2D(CanvasSurface surface) {
+        this(surface, 0, 0, new MultiRectArea(
+                new TRectangle(surface.getWidth(), surface.getHeight())));
+    }
+
+    @Override
+    public TGraphics create() {
+        CanvasGraphics2D res = new CanvasGraphics2D(surface);
+        copyInternalFields(res);
+        return res;
+    }
+
+    @Override
+    public TGraphicsConfiguration getDeviceConfiguration() {
+        TGraphicsEnvironment env = TGraphicsEnvironment.getLocalGraphicsEnvironment();
+        return env.getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    public CanvasSurface getSurface() {
+        return surface;
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        if (width <= 0 || height <= 0 || !validateContext()) {
+            return;
+        }
+        int sx = x + (int) transform.getTranslateX();
+        int sy = y + (int) transform.getTranslateY();
+
+        // "copy" clears the whole clip area outside the image,
+        // so the destination rectangle limits it
+        buf.save();
+        buf.setTransform(1, 0, 0, 1, 0, 0);
+        buf.beginPath();
+        buf.rect(sx + dx, sy + dy, width, height);
+        buf.clip();
+        buf.setGlobalCompositeOperation("copy"); //$NON-NLS-1$
+        buf.setGlobalAlpha(1);
+        buf.drawImage(surface, sx, sy, width, height, sx + dx, sy + dy, width, height);
+        buf.restore();
+        surface.updateScene();
+    }
+
+    /***************************************************************************
+     *
+     *  State methods
+     *
+     ***************************************************************************/
+
+    @Override
+    public void setColor(TColor color) {
+        super.setColor(color);
+        updateCompositeOp();
+    }
+
+    @Override
+    public void setPaint(TPaint paint) {
+        super.setPaint(paint);
+        updateCompositeOp();
+    }
+
+    @Override
+    public void setComposite(TComposite composite) {
+        super.setComposite(composite);
+        updateCompositeOp();
+    }
+
+    @Override
+    public void setPaintMode() {
+        super.setPaintMode();
+        updateCompositeOp();
+    }
+
+    @Override
+    public void setXORMode(TColor color) {
+        super.setXORMode(color);
+        updateCompositeOp();
+    }
+
+    @Override
+    public void setFont(TFont font) {
+        super.setFont(font);
+        cssFont = null;
+    }
+
+    private void updateCompositeOp() {
+        boolean opaque = fgTColor == null || fgTColor.getAlpha() == 0xff;
+        compositeOp = CanvasBlitter.getCompositeOperation(composite, opaque);
+        if (compositeOp != null) {
+            compositeAlpha = CanvasBlitter.getCompositeAlpha(composite);
+            if (((TAlphaComposite) composite).getRule() == TAlphaComposite.CLEAR) {
+                // Clear erases with opaque source regardless of the color
+                cssColor = "#000"; //$NON-NLS-1$
+            } else {
+                cssColor = CanvasBlitter.toCSSColor(fgTColor);
+            }
+        }
+    }
+
+    /**
+     * @return true if the current paint and composite can be expressed
+     *         by the canvas context
+     */
+    private boolean isCanvasDrawable() {
+        return compositeOp != null && paint instanceof TColor;
+    }
+
+    /**
+     * Records the graphics state into the command buffer.
+     * @return false if nothing could be drawn because of empty clip
+     */
+    private boolean validateContext() {
+        if (clip != null && clip.rect[0] < 5) {
+            return false;
+        }
+
+        buf.setClip(clip);
+        buf.setGlobalCompositeOperation(compositeOp);
+        buf.setGlobalAlpha(compositeAlpha);
+        buf.setFillStyle(cssColor);
+        buf.setStrokeStyle(cssColor);
+
+        if (stroke instanceof TBasicStroke) {
+            TBasicStroke bs = (TBasicStroke) stroke;
+            buf.setLineWidth(bs.getLineWidth() <= 1 ? 1 : bs.getLineWidth());
+            buf.setLineCap(getLineCap(bs.getEndCap()));
+            buf.setLineJoin(getLineJoin(bs.getLineJoin()));
+            buf.setMiterLimit(bs.getMiterLimit());
+        }
+
+        return true;
+    }
+
+    private void applyTransform(boolean thinStroke) {
+        // Java draws 1 pixel lines through the pixel centers
+        double offset = thinStroke ? 0.5 : 0;
+        buf.setTransform(matrix[0], matrix[1], matrix[2], matrix[3],
+                matrix[4] + offset, matrix[5] + offset);
+    }
+
+    private void applyFont() {
+        if (cssFont == null) {
+            cssFont = toCSSFont(font);
+        }
+        buf.setFont(cssFont);
+    }
+
+    /**
+     * @return true if the stroke could be passed to the canvas as
+     *         lineWidth/lineCap/lineJoin
+     */
+    private boolean isCanvasStroke() {
+        return stroke instanceof TBasicStroke &&
+            ((TBasicStroke) stroke).getDashArray() == null;
+    }
+
+    private boolean isThinStroke() {
+        return ((TBasicStroke) stroke).getLineWidth() <= 1;
+    }
+
+    /***************************************************************************
+     *
+     *  Draw and fill methods
+     *
+     ***************************************************************************/
+
+    @Override
+    public void fill(TShape s) {
+        if (!isCanvasDrawable()) {
+            super.fill(s);
+            return;
+        }
+        if (!validateContext()) {
+            return;
+        }
+        applyTransform(false);
+        TPathIterator pi = s.getPathIterator(null);
+        appendPath(pi);
+        if (pi.getWindingRule() == TPathIterator.WIND_EVEN_ODD) {
+            buf.fillEvenOdd();
+        } else {
+            buf.fill();
+        }
+        surface.updateScene();
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        if (!isCanvasDrawable()) {
+            super.fillRect(x, y, width, height);
+            return;
+        }
+        if (width <= 0 || height <= 0 || !validateContext()) {
+            return;
+        }
+        applyTransform(false);
+        buf.fillRect(x, y, width, height);
+        surface.updateScene();
+    }
+
+    @Override
+    public void draw(TShape s) {
+        if (!isCanvasDrawable()) {
+            super.draw(s);
+            return;
+        }
+        if (!isCanvasStroke()) {
+            // Dashes and custom strokes are filled as outlines
+            fill(stroke.createStrokedShape(s));
+            return;
+        }
+        if (!validateContext()) {
+            return;
+        }
+        applyTransform(isThinStroke());
+        appendPath(s.getPathIterator(null));
+        buf.stroke();
+        surface.updateScene();
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        if (!isCanvasDrawable() || !isCanvasStroke()) {
+            super.drawLine(x1, y1, x2, y2);
+            return;
+        }
+        if (!validateContext()) {
+            return;
+        }
+        applyTransform(isThinStroke());
+        buf.beginPath();
+        buf.moveTo(x1, y1);
+        buf.lineTo(x2, y2);
+        buf.stroke();
+        surface.updateScene();
+    }
+
+    @Override
+    public void drawPolyline(int[] xpoints, int[] ypoints, int npoints) {
+        if (!isCanvasDrawable() || !isCanvasStroke()) {
+            super.drawPolyline(xpoints, ypoints, npoints);
+            return;
+        }
+        if (npoints < 2 || !validateContext()) {
+            return;
+        }
+        applyTransform(isThinStroke());
+        buf.beginPath();
+        buf.moveTo(xpoints[0], ypoints[0]);
+        for (int i = 1; i < npoints; i++) {
+            buf.lineTo(xpoints[i], ypoints[i]);
+        }
+        buf.stroke();
+        surface.updateScene();
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        if (!isCanvasDrawable()) {
+            super.drawOval(x, y, width, height);
+            return;
+        }
+        draw(new TEllipse2D.TFloat(x, y, width, height));
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int sa, int ea) {
+        if (!isCanvasDrawable()) {
+            super.drawArc(x, y, width, height, sa, ea);
+            return;
+        }
+        draw(new TArc2D.TFloat(x, y, width, height, sa, ea, TArc2D.OPEN));
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        if (!isCanvasDrawable()) {
+            fill(font.createGlyphVector(getFontRenderContext(), str).getOutline(x, y));
+            return;
+        }
+        if (!validateContext()) {
+            return;
+        }
+        applyFont();
+        applyTransform(false);
+        buf.fillText(str, x, y);
+        surface.updateScene();
+    }
+
+    @Override
+    public void drawGlyphVector(TGlyphVector gv, float x, float y) {
+        fill(gv.getOutline(x, y));
+    }
+
+    @Override
+    protected void fillMultiRectAreaTColor(MultiRectArea mra) {
+        if (!isCanvasDrawable()) {
+            super.fillMultiRectAreaTColor(mra);
+            return;
+        }
+        if (!validateContext()) {
+            return;
+        }
+        // MultiRectAreas are already in device space
+        buf.setTransform(1, 0, 0, 1, 0, 0);
+        int rect[] = mra.rect;
+        buf.beginPath();
+        for (int i = 1; i < rect[0]; i += 4) {
+            buf.rect(rect[i], rect[i + 1],
+                    rect[i + 2] - rect[i] + 1, rect[i + 3] - rect[i + 1] + 1);
+        }
+        buf.fill();
+        surface.updateScene();
+    }
+
+    /**
+     * Converts user space path to the canvas path. The transform
+     * is applied by the context.
+     */
+    private void appendPath(TPathIterator pi) {
+        double coords[] = new double[6];
+        buf.beginPath();
+        while (!pi.isDone()) {
+            switch (pi.currentSegment(coords)) {
+                case TPathIterator.SEG_MOVETO:
+                    buf.moveTo(coords[0], coords[1]);
+                    break;
+                case TPathIterator.SEG_LINETO:
+                    buf.lineTo(coords[0], coords[1]);
+                    break;
+                case TPathIterator.SEG_QUADTO:
+                    buf.quadraticCurveTo(coords[0], coords[1], coords[2], coords[3]);
+                    break;
+                case TPathIterator.SEG_CUBICTO:
+                    buf.bezierCurveTo(coords[0], coords[1], coords[2], coords[3],
+                            coords[4], coords[5]);
+                    break;
+                case TPathIterator.SEG_CLOSE:
+                    buf.closePath();
+                    break;
+            }
+            pi.next();
+        }
+    }
+
+    private static String getLineCap(int cap) {
+        switch (cap) {
+            case TBasicStroke.CAP_ROUND:
+                return "round"; //$NON-NLS-1$
+            case TBasicStroke.CAP_SQUARE:
+                return "square"; //$NON-NLS-1$
+            default:
+                return "butt"; //$NON-NLS-1$
+        }
+    }
+
+    private static String getLineJoin(int join) {
+        switch (join) {
+            case TBasicStroke.JOIN_ROUND:
+                return "round"; //$NON-NLS-1$
+            case TBasicStroke.JOIN_BEVEL:
+                return "bevel"; //$NON-NLS-1$
+            default:
+                return "miter"; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Builds CSS font shorthand, logical font names are mapped
+     * to the generic CSS families
+     */
+    static String toCSSFont(TFont font) {
+        String name = font.getName();
+        String family;
+        if ("Serif".equalsIgnoreCase(name)) { //$NON-NLS-1$
+            family = "serif"; //$NON-NLS-1$
+        } else if ("Monospaced".equalsIgnoreCase(name) || "DialogInput".equalsIgnoreCase(name)) { //$NON-NLS-1$ //$NON-NLS-2$
+            family = "monospace"; //$NON-NLS-1$
+        } else if ("SansSerif".equalsIgnoreCase(name) || "Dialog".equalsIgnoreCase(name)) { //$NON-NLS-1$ //$NON-NLS-2$
+            family = "sans-serif"; //$NON-NLS-1$
+        } else {
+            family = "\"" + name + "\", sans-serif"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        StringBuilder sb = new StringBuilder();
+        if (font.isItalic()) {
+            sb.append("italic "); //$NON-NLS-1$
+        }
+        if (font.isBold()) {
+            sb.append("bold "); //$NON-NLS-1$
+        }
+        sb.append(font.getSize2D()).append("px ").append(family); //$NON-NLS-1$
+        return sb.toString();
+    }
+}
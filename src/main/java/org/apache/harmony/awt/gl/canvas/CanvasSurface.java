@@ -0,0 +1,235 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.canvas;
+
+import org.apache.harmony.awt.gl.ImageSurface;
+import org.apache.harmony.awt.gl.Surface;
+import org.teavm.classlib.java.awt.TRectangle;
+import org.teavm.classlib.java.awt.image.TBufferedImage;
+import org.teavm.classlib.java.awt.image.TColorModel;
+import org.teavm.classlib.java.awt.image.TDataBufferInt;
+import org.teavm.classlib.java.awt.image.TDirectColorModel;
+import org.teavm.classlib.java.awt.image.TWritableRaster;
+import org.teavm.jso.canvas.CanvasRenderingContext2D;
+import org.teavm.jso.canvas.ImageData;
+import org.teavm.jso.dom.html.HTMLCanvasElement;
+import org.teavm.jso.dom.html.HTMLDocument;
+import org.teavm.jso.typedarrays.Uint8ClampedArray;
+
+/**
+ * Surface backed by an HTML5 canvas element. Drawing is recorded into the
+ * CanvasCommandBuffer and replayed on the CanvasRenderingContext2D once per
+ * frame; the pixel data is read back into an ImageSurface only when some
+ * operation has to be done by the Java blitter and is written back with
+ * putImageData afterwards.
+ */
+public class CanvasSurface extends Surface {
+
+    // ImageData is always non-premultiplied RGBA, so INT_ARGB matches it
+    private static final TColorModel cm = new TDirectColorModel(32,
+            0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000);
+
+    private final HTMLCanvasElement canvas;
+    private final CanvasRenderingContext2D context;
+
+    private final CanvasCommandBuffer buffer;
+
+    private ImageSurface imageSurface;
+
+    public CanvasSurface(HTMLCanvasElement canvas) {
+        this.canvas = canvas;
+        context = (CanvasRenderingContext2D) canvas.getContext("2d"); //$NON-NLS-1$
+        width = canvas.getWidth();
+        height = canvas.getHeight();
+        transparency = TRANSLUCENT;
+        buffer = new CanvasCommandBuffer(context);
+    }
+
+    public CanvasSurface(int width, int height) {
+        this(createCanvas(width, height));
+    }
+
+    static HTMLCanvasElement createCanvas(int width, int height) {
+        HTMLCanvasElement c = (HTMLCanvasElement) HTMLDocument.current().createElement("canvas"); //$NON-NLS-1$
+        c.setWidth(width);
+        c.setHeight(height);
+        return c;
+    }
+
+    public HTMLCanvasElement getCanvas() {
+        return canvas;
+    }
+
+    public CanvasRenderingContext2D getContext() {
+        return context;
+    }
+
+    /**
+     * Drawing on the surface should go through the command buffer,
+     * direct context calls have to flush it first
+     */
+    public CanvasCommandBuffer getCommandBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public TColorModel getTColorModel() {
+        return cm;
+    }
+
+    @Override
+    public TWritableRaster getRaster() {
+        TWritableRaster res = cm.createCompatibleWritableRaster(width, height);
+        TDataBufferInt dbi = (TDataBufferInt) res.getDataBuffer();
+        readPixels(0, 0, width, height, dbi.getData(), 0, width);
+        return res;
+    }
+
+    @Override
+    public Object getData() {
+        return getImageSurface().getData();
+    }
+
+    @Override
+    public int getSurfaceType() {
+        return TBufferedImage.TYPE_INT_ARGB;
+    }
+
+    @Override
+    public boolean isNativeDrawable() {
+        return false;
+    }
+
+    @Override
+    public long lock() {
+        return 0;
+    }
+
+    @Override
+    public void unlock() {
+    }
+
+    @Override
+    public void dispose() {
+        if (imageSurface != null) {
+            imageSurface.dispose();
+            imageSurface = null;
+        }
+    }
+
+    /**
+     * Returns the snapshot of the canvas pixels. The snapshot is refreshed
+     * on every call, changes made to it become visible after
+     * commitImageSurface call.
+     */
+    @Override
+    public Surface getImageSurface() {
+        if (imageSurface == null) {
+            imageSurface = new ImageSurface(cm, getRaster());
+        } else {
+            imageSurface.setRaster(getRaster());
+        }
+        imageSurface.releaseDurtyRegions();
+        return imageSurface;
+    }
+
+    /**
+     * Writes the dirty part of the snapshot taken by getImageSurface
+     * back to the canvas
+     */
+    public void commitImageSurface() {
+        if (imageSurface == null) {
+            return;
+        }
+        int rects[] = imageSurface.getDirtyRegions();
+        if (rects == null || rects[0] < 5) {
+            return;
+        }
+        TRectangle r = new TRectangle(rects[1], rects[2],
+                rects[3] - rects[1] + 1, rects[4] - rects[2] + 1);
+        for (int i = 5; i < rects[0]; i += 4) {
+            r.add(new TRectangle(rects[i], rects[i + 1],
+                    rects[i + 2] - rects[i] + 1, rects[i + 3] - rects[i + 1] + 1));
+        }
+        r = r.intersection(new TRectangle(0, 0, width, height));
+        if (!r.isEmpty()) {
+            TDataBufferInt dbi = (TDataBufferInt) imageSurface.getRaster().getDataBuffer();
+            writePixels(r.x, r.y, r.width, r.height, dbi.getData(), r.y * width + r.x, width);
+        }
+        imageSurface.releaseDurtyRegions();
+        clearValidCaches();
+    }
+
+    /**
+     * Reads canvas pixels as non-premultiplied ARGB
+     */
+    public void readPixels(int x, int y, int w, int h, int pixels[], int offset, int scanline) {
+        buffer.flush();
+        ImageData id = context.getImageData(x, y, w, h);
+        Uint8ClampedArray data = id.getData();
+        int idx = 0;
+        for (int j = 0; j < h; j++) {
+            int pos = offset + j * scanline;
+            for (int i = 0; i < w; i++, idx += 4) {
+                pixels[pos++] = (data.get(idx + 3) & 0xff) << 24 |
+                        (data.get(idx) & 0xff) << 16 |
+                        (data.get(idx + 1) & 0xff) << 8 |
+                        (data.get(idx + 2) & 0xff);
+            }
+        }
+    }
+
+    /**
+     * Writes non-premultiplied ARGB pixels to the canvas. Clip, transform
+     * and composite of the context are not applied.
+     */
+    public void writePixels(int x, int y, int w, int h, int pixels[], int offset, int scanline) {
+        writePixels(x, y, w, h, pixels, offset, scanline, 0);
+    }
+
+    /**
+     * Writes pixels ORed with alphaMask, so INT_RGB data could be written
+     * with alphaMask = 0xff000000 without conversion
+     */
+    void writePixels(int x, int y, int w, int h, int pixels[], int offset, int scanline, int alphaMask) {
+        buffer.flush();
+        buffer.flushDependents();
+        ImageData id = context.createImageData(w, h);
+        Uint8ClampedArray data = id.getData();
+        int idx = 0;
+        for (int j = 0; j < h; j++) {
+            int pos = offset + j * scanline;
+            for (int i = 0; i < w; i++, idx += 4) {
+                int argb = pixels[pos++] | alphaMask;
+                data.set(idx, (argb >> 16) & 0xff);
+                data.set(idx + 1, (argb >> 8) & 0xff);
+                data.set(idx + 2, argb & 0xff);
+                data.set(idx + 3, argb >>> 24);
+            }
+        }
+        context.putImageData(id, x, y);
+        clearValidCaches();
+    }
+
+    /**
+     * Called by the graphics after it has drawn something on the canvas
+     */
+    final void updateScene() {
+        clearValidCaches();
+        buffer.commit();
+    }
+}
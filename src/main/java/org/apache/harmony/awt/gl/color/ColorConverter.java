@@ -19,8 +19,9 @@
  */
 package org.apache.harmony.awt.gl.color;
 
-import java.awt.color.ColorSpace;
+import org.teavm.classlib.java.awt.color.TColorSpace;
 import org.teavm.classlib.java.awt.image.TBufferedImage;
+import org.teavm.classlib.java.awt.image.TColorModel;
 import org.teavm.classlib.java.awt.image.TRaster;
 import org.teavm.classlib.java.awt.image.TWritableRaster;
 
@@ -31,7 +32,7 @@ import org.teavm.classlib.java.awt.image.TWritableRaster;
 public class ColorConverter {
     private ColorScaler scaler = new ColorScaler();
 
-    public void loadScalingData(ColorSpace cs) {
+    public void loadScalingData(TColorSpace cs) {
         scaler.loadScalingData(cs);
     }
 
@@ -128,8 +129,8 @@ public class ColorConverter {
      */
     public float[][] translateColor(ICC_Transform t,
             float buffer[][],
-            ColorSpace srcCS,
-            ColorSpace dstCS,
+            TColorSpace srcCS,
+            TColorSpace dstCS,
             int nPixels) {
         // Scale source data
         if (srcCS != null) { // if it is null use old scaling data
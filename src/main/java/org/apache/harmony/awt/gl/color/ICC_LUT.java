@@ -0,0 +1,315 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.color;
+
+/**
+ * Color transform compiled into tables. Leading and trailing per channel
+ * curves of the pipeline are tabulated separately as shapers, the rest
+ * is sampled on the regular grid: 3 channel input is interpolated
+ * tetrahedrally, 4 channel input linearly between two tetrahedral
+ * lookups in the neighbouring slices. Single channel transforms are
+ * fully tabulated. Other inputs are evaluated by the pipeline directly.
+ */
+final class ICC_LUT {
+    private static final int SHAPER_SIZE = 4096;
+    private static final int GRID_SIZE_3D = 33;
+    private static final int GRID_SIZE_4D = 17;
+
+    final int numInputs;
+    final int numOutputs;
+
+    private final ICC_Pipeline pipeline;
+
+    // Shaper tables, null if there are no curves
+    private final float inShapers[][];
+    private final float outShapers[][];
+
+    // Grid, numGridOutputs values for each node, last input varies fastest
+    private final int gridSize;
+    private final int numGridOutputs;
+    private final float grid[];
+
+    // Node offsets of the cube corners in the grid
+    private final int d100, d010, d001;
+
+    ICC_LUT(ICC_Pipeline pipeline) {
+        this.pipeline = pipeline;
+        numInputs = pipeline.numInputs;
+        numOutputs = pipeline.numOutputs;
+
+        ICC_Pipeline.Stage stages[] = pipeline.stages;
+        int first = 0;
+        int last = stages.length;
+
+        if (numInputs == 1) {
+            // One dimensional table does the whole work
+            inShapers = null;
+            outShapers = null;
+            gridSize = SHAPER_SIZE;
+        } else if (numInputs == 3 || numInputs == 4) {
+            if (last > 0 && isShaper(stages[0], numInputs)) {
+                inShapers = tabulate(stages[0], numInputs);
+                first++;
+            } else {
+                inShapers = null;
+            }
+            if (last > first && isShaper(stages[last - 1], numOutputs)) {
+                outShapers = tabulate(stages[last - 1], numOutputs);
+                last--;
+            } else {
+                outShapers = null;
+            }
+            gridSize = numInputs == 3 ? GRID_SIZE_3D : GRID_SIZE_4D;
+        } else {
+            inShapers = null;
+            outShapers = null;
+            gridSize = 0;
+        }
+
+        numGridOutputs = numOutputs;
+        d001 = numGridOutputs;
+        d010 = d001 * gridSize;
+        d100 = d010 * gridSize;
+
+        if (gridSize == 0) {
+            grid = null;
+            return;
+        }
+
+        int nodes = 1;
+        for (int i = 0; i < numInputs; i++) {
+            nodes *= gridSize;
+        }
+        grid = new float[nodes * numGridOutputs];
+
+        float in[] = new float[ICC_Pipeline.MAX_CHANNELS];
+        float bufs[][] = ICC_Pipeline.createBuffers();
+        float step = 1f / (gridSize - 1);
+        for (int node = 0, pos = 0; node < nodes; node++) {
+            for (int i = numInputs - 1, rest = node; i >= 0; i--) {
+                in[i] = (rest % gridSize) * step;
+                rest /= gridSize;
+            }
+            float out[] = pipeline.transform(in, first, last, bufs);
+            for (int c = 0; c < numGridOutputs; c++) {
+                grid[pos++] = out[c];
+            }
+        }
+    }
+
+    private static boolean isShaper(ICC_Pipeline.Stage s, int n) {
+        return s instanceof ICC_Pipeline.CurveSet &&
+                ((ICC_Pipeline.CurveSet) s).curves.length == n;
+    }
+
+    private static float[][] tabulate(ICC_Pipeline.Stage s, int n) {
+        ICC_Pipeline.Curve curves[] = ((ICC_Pipeline.CurveSet) s).curves;
+        float res[][] = new float[n][SHAPER_SIZE + 1];
+        for (int c = 0; c < n; c++) {
+            float t[] = res[c];
+            for (int i = 0; i < SHAPER_SIZE; i++) {
+                t[i] = curves[c].eval(i / (SHAPER_SIZE - 1f));
+            }
+            // Guard element, lookup doesn't have to check the last index
+            t[SHAPER_SIZE] = t[SHAPER_SIZE - 1];
+        }
+        return res;
+    }
+
+    private static float lookup(float t[], float x) {
+        if (x <= 0) {
+            return t[0];
+        }
+        if (x >= 1) {
+            return t[SHAPER_SIZE - 1];
+        }
+        float v = x * (SHAPER_SIZE - 1);
+        int idx = (int) v;
+        float f = v - idx;
+        return t[idx] + f * (t[idx + 1] - t[idx]);
+    }
+
+    /**
+     * Converts the pixels
+     * @param src - input samples in [0, 1], numInputs for each pixel
+     * @param dst - output samples, numOutputs for each pixel, could be clipped
+     * @param nPixels - number of pixels
+     */
+    void transform(float src[], float dst[], int nPixels) {
+        if (grid == null) {
+            transformDirect(src, dst, nPixels);
+            return;
+        }
+
+        switch (numInputs) {
+            case 1:
+                transform1D(src, dst, nPixels);
+                break;
+            case 3:
+                transform3D(src, dst, nPixels);
+                break;
+            default:
+                transform4D(src, dst, nPixels);
+        }
+
+        if (outShapers != null) {
+            for (int c = 0; c < numOutputs; c++) {
+                float t[] = outShapers[c];
+                for (int i = 0, pos = c; i < nPixels; i++, pos += numOutputs) {
+                    dst[pos] = lookup(t, dst[pos]);
+                }
+            }
+        }
+    }
+
+    private void transformDirect(float src[], float dst[], int nPixels) {
+        float in[] = new float[ICC_Pipeline.MAX_CHANNELS];
+        float bufs[][] = ICC_Pipeline.createBuffers();
+        int last = pipeline.stages.length;
+        for (int i = 0, sPos = 0, dPos = 0; i < nPixels; i++) {
+            for (int c = 0; c < numInputs; c++) {
+                in[c] = src[sPos++];
+            }
+            float out[] = pipeline.transform(in, 0, last, bufs);
+            for (int c = 0; c < numOutputs; c++) {
+                dst[dPos++] = out[c];
+            }
+        }
+    }
+
+    private void transform1D(float src[], float dst[], int nPixels) {
+        int n = numGridOutputs;
+        int maxIdx = gridSize - 1;
+        for (int i = 0, dPos = 0; i < nPixels; i++) {
+            float v = Math.min(Math.max(src[i], 0), 1) * maxIdx;
+            int idx = Math.min((int) v, maxIdx - 1);
+            float f = v - idx;
+            int p0 = idx * n;
+            for (int c = 0; c < n; c++) {
+                float a = grid[p0 + c];
+                dst[dPos++] = a + f * (grid[p0 + n + c] - a);
+            }
+        }
+    }
+
+    private void transform3D(float src[], float dst[], int nPixels) {
+        float r, g, b;
+        for (int i = 0, sPos = 0, dPos = 0; i < nPixels; i++, dPos += numOutputs) {
+            r = src[sPos++];
+            g = src[sPos++];
+            b = src[sPos++];
+            if (inShapers != null) {
+                r = lookup(inShapers[0], r);
+                g = lookup(inShapers[1], g);
+                b = lookup(inShapers[2], b);
+            }
+            interpolate(0, r, g, b, dst, dPos, 1, false);
+        }
+    }
+
+    private void transform4D(float src[], float dst[], int nPixels) {
+        int maxIdx = gridSize - 1;
+        int d1000 = d100 * gridSize;
+        float k, r, g, b;
+        for (int i = 0, sPos = 0, dPos = 0; i < nPixels; i++, dPos += numOutputs) {
+            k = src[sPos++];
+            r = src[sPos++];
+            g = src[sPos++];
+            b = src[sPos++];
+            if (inShapers != null) {
+                k = lookup(inShapers[0], k);
+                r = lookup(inShapers[1], r);
+                g = lookup(inShapers[2], g);
+                b = lookup(inShapers[3], b);
+            }
+            float v = Math.min(Math.max(k, 0), 1) * maxIdx;
+            int idx = Math.min((int) v, maxIdx - 1);
+            float f = v - idx;
+            interpolate(idx * d1000, r, g, b, dst, dPos, 1 - f, false);
+            if (f != 0) {
+                interpolate((idx + 1) * d1000, r, g, b, dst, dPos, f, true);
+            }
+        }
+    }
+
+    /**
+     * Tetrahedral interpolation in the 3D grid
+     * @param base - offset of the 3D slice in the grid
+     * @param weight - weight of the result
+     * @param add - add the result to dst instead of replacing it
+     */
+    private void interpolate(int base, float x, float y, float z,
+            float dst[], int dPos, float weight, boolean add) {
+        int maxIdx = gridSize - 1;
+
+        float px = Math.min(Math.max(x, 0), 1) * maxIdx;
+        float py = Math.min(Math.max(y, 0), 1) * maxIdx;
+        float pz = Math.min(Math.max(z, 0), 1) * maxIdx;
+        int ix = Math.min((int) px, maxIdx - 1);
+        int iy = Math.min((int) py, maxIdx - 1);
+        int iz = Math.min((int) pz, maxIdx - 1);
+        float fx = px - ix;
+        float fy = py - iy;
+        float fz = pz - iz;
+
+        int c000 = base + ix * d100 + iy * d010 + iz * d001;
+        int c111 = c000 + d100 + d010 + d001;
+
+        // The tetrahedron containing the point, its vertices are
+        // c000, c1, c2, c111 and the weights are w1 >= w2 >= w3
+        int c1, c2;
+        float w1, w2, w3;
+        if (fx >= fy) {
+            if (fy >= fz) {
+                c1 = d100; c2 = d100 + d010;
+                w1 = fx; w2 = fy; w3 = fz;
+            } else if (fx >= fz) {
+                c1 = d100; c2 = d100 + d001;
+                w1 = fx; w2 = fz; w3 = fy;
+            } else {
+                c1 = d001; c2 = d100 + d001;
+                w1 = fz; w2 = fx; w3 = fy;
+            }
+        } else {
+            if (fx >= fz) {
+                c1 = d010; c2 = d100 + d010;
+                w1 = fy; w2 = fx; w3 = fz;
+            } else if (fy >= fz) {
+                c1 = d010; c2 = d010 + d001;
+                w1 = fy; w2 = fz; w3 = fx;
+            } else {
+                c1 = d001; c2 = d010 + d001;
+                w1 = fz; w2 = fy; w3 = fx;
+            }
+        }
+        c1 += c000;
+        c2 += c000;
+
+        for (int c = 0; c < numGridOutputs; c++) {
+            float v0 = grid[c000 + c];
+            float v1 = grid[c1 + c];
+            float v2 = grid[c2 + c];
+            float v3 = grid[c111 + c];
+            float v = v0 + w1 * (v1 - v0) + w2 * (v2 - v1) + w3 * (v3 - v2);
+            if (add) {
+                dst[dPos + c] += weight * v;
+            } else {
+                dst[dPos + c] = weight * v;
+            }
+        }
+    }
+}
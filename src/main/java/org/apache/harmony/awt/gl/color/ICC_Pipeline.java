@@ -0,0 +1,920 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.color;
+
+import java.util.ArrayList;
+
+import org.apache.harmony.awt.internal.nls.Messages;
+import org.teavm.classlib.java.awt.color.TCMMException;
+
+/**
+ * Sequence of processing stages built from the tags of ICC profiles.
+ * Device values are normalized to [0, 1], the profile connection space
+ * inside of the pipeline is CIEXYZ relative to D50 with Y = 1 for the
+ * white point. Pipelines are evaluated by ICC_LUT, mostly only at the
+ * grid points of the compiled table.
+ */
+final class ICC_Pipeline {
+    static final double D50_X = 0.9642;
+    static final double D50_Z = 0.8249;
+
+    static final int MAX_CHANNELS = 16;
+
+    // Tag types
+    private static final int icSigLut16Type = 0x6D667432; // 'mft2'
+    private static final int icSigLut8Type = 0x6D667431; // 'mft1'
+    private static final int icSigLutAtoBType = 0x6D414220; // 'mAB '
+    private static final int icSigLutBtoAType = 0x6D424120; // 'mBA '
+    private static final int icSigCurveType = 0x63757276; // 'curv'
+    private static final int icSigParametricCurveType = 0x70617261; // 'para'
+
+    // u1Fixed15 encoding of XYZ in the LUTs
+    private static final float XYZ_SCALE = 65535f / 32768f;
+    // Legacy 16 bit Lab encoding, 0xFF00 is L = 100
+    private static final float LAB_LEGACY_SCALE = 65535f / 65280f;
+
+    final Stage stages[];
+    final int numInputs;
+    final int numOutputs;
+
+    private ICC_Pipeline(ArrayList<Stage> stageList, int numInputs, int numOutputs) {
+        this.stages = stageList.toArray(new Stage[stageList.size()]);
+        this.numInputs = numInputs;
+        this.numOutputs = numOutputs;
+    }
+
+    /**
+     * Builds the pipeline of the multiprofile transform
+     * @param profiles - profiles in the order of the conversion
+     * @param intents - rendering intent for each profile
+     * @return pipeline
+     */
+    static ICC_Pipeline create(ICC_ProfileData profiles[], int intents[]) {
+        ArrayList<Stage> res = new ArrayList<Stage>();
+        int n = profiles.length;
+        // Are we in PCS after the previous profile?
+        boolean pcs = false;
+        int numInputs = 0;
+        int numOutputs = 0;
+
+        for (int i = 0; i < n; i++) {
+            ICC_ProfileData pd = profiles[i];
+            int intent = intents != null && i < intents.length ? intents[i] : 0;
+            int pClass = pd.getClassSignature();
+
+            if (i == 0) {
+                numInputs = pd.getNumComponents();
+            }
+
+            if (pClass == ICC_ProfileData.icSigLinkClass) {
+                if (pcs) {
+                    throw unsupported(pd);
+                }
+                // Device link maps device values directly
+                Lut lut = readLut(pd, ICC_ProfileData.icSigAToB0Tag, true,
+                        pd.getColorSpaceSignature());
+                if (lut == null) {
+                    throw unsupported(pd);
+                }
+                res.addAll(lut.stages);
+                numOutputs = pd.getNumPCSComponents();
+            } else if (pClass == ICC_ProfileData.icSigAbstractClass) {
+                // PCS to PCS, only A2B0 is used
+                addDeviceToPCS(res, pd, 0, pcs);
+                pcs = true;
+                numOutputs = 3;
+            } else if (!pcs) {
+                addDeviceToPCS(res, pd, intent, false);
+                pcs = true;
+                numOutputs = 3;
+            } else {
+                addPCSToDevice(res, pd, intent);
+                numOutputs = pd.getNumComponents();
+                if (i < n - 1) {
+                    addDeviceToPCS(res, pd, intent, false);
+                } else {
+                    pcs = false;
+                }
+            }
+        }
+
+        if (pcs) {
+            // Transform ends in PCS, encode the values as the
+            // data color space of the last profile
+            ICC_ProfileData last = profiles[n - 1];
+            int sig = last.getClassSignature() == ICC_ProfileData.icSigAbstractClass ?
+                    last.getColorSpaceSignature() : last.getPCSSignature();
+            addEncodePCS(res, sig, false);
+        }
+
+        return new ICC_Pipeline(res, numInputs, numOutputs);
+    }
+
+    private static TCMMException unsupported(ICC_ProfileData pd) {
+        // awt.2A3=Unsupported ICC profile: {0}
+        return new TCMMException(Messages.getString("awt.2A3", //$NON-NLS-1$
+                signatureToString(pd.getClassSignature()) + "/" + //$NON-NLS-1$
+                signatureToString(pd.getColorSpaceSignature())));
+    }
+
+    private static String signatureToString(int sig) {
+        char chars[] = new char[4];
+        for (int i = 0; i < 4; i++) {
+            chars[i] = (char) ((sig >>> (24 - i * 8)) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Maps the rendering intent to the tag signature
+     * offset, absolute colorimetric uses the relative one
+     */
+    private static int intentOffset(int intent) {
+        switch (intent) {
+            case 1:
+            case 2:
+                return intent;
+            case 3:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private static void addDeviceToPCS(ArrayList<Stage> res,
+            ICC_ProfileData pd, int intent, boolean fromPCS) {
+        int cs = pd.getColorSpaceSignature();
+        int pcsSig = pd.getPCSSignature();
+
+        Lut lut = readLut(pd, ICC_ProfileData.icSigAToB0Tag + intentOffset(intent), true, cs);
+        if (lut == null && intent != 0) {
+            lut = readLut(pd, ICC_ProfileData.icSigAToB0Tag, true, cs);
+        }
+
+        if (lut != null) {
+            if (fromPCS) {
+                addEncodePCS(res, cs, lut.legacy);
+            }
+            res.addAll(lut.stages);
+            addDecodePCS(res, pcsSig, lut.legacy);
+            return;
+        }
+
+        if (fromPCS) {
+            // Abstract profile without the LUT does nothing
+            return;
+        }
+
+        if (cs == ICC_ProfileData.icSigRgbData && isMatrixShaper(pd)) {
+            res.add(new CurveSet(new Curve[] {
+                    readCurve(pd, ICC_ProfileData.icSigRedTRCTag),
+                    readCurve(pd, ICC_ProfileData.icSigGreenTRCTag),
+                    readCurve(pd, ICC_ProfileData.icSigBlueTRCTag)
+            }));
+            res.add(new Matrix(readColorants(pd), null));
+        } else if (cs == ICC_ProfileData.icSigGrayData &&
+                pd.hasTag(ICC_ProfileData.icSigGrayTRCTag)) {
+            res.add(new CurveSet(new Curve[] {
+                    readCurve(pd, ICC_ProfileData.icSigGrayTRCTag)
+            }));
+            res.add(new GrayToXYZ());
+        } else if (cs == ICC_ProfileData.icSigXYZData ||
+                cs == ICC_ProfileData.icSigLabData) {
+            addDecodePCS(res, cs, false);
+        } else {
+            throw unsupported(pd);
+        }
+    }
+
+    private static void addPCSToDevice(ArrayList<Stage> res,
+            ICC_ProfileData pd, int intent) {
+        int cs = pd.getColorSpaceSignature();
+        int pcsSig = pd.getPCSSignature();
+
+        Lut lut = readLut(pd, ICC_ProfileData.icSigBToA0Tag + intentOffset(intent), false, pcsSig);
+        if (lut == null && intent != 0) {
+            lut = readLut(pd, ICC_ProfileData.icSigBToA0Tag, false, pcsSig);
+        }
+
+        if (lut != null) {
+            addEncodePCS(res, pcsSig, lut.legacy);
+            res.addAll(lut.stages);
+            return;
+        }
+
+        if (cs == ICC_ProfileData.icSigRgbData && isMatrixShaper(pd)) {
+            res.add(new Matrix(invert(readColorants(pd)), null));
+            res.add(new CurveSet(new Curve[] {
+                    readCurve(pd, ICC_ProfileData.icSigRedTRCTag).inverse(),
+                    readCurve(pd, ICC_ProfileData.icSigGreenTRCTag).inverse(),
+                    readCurve(pd, ICC_ProfileData.icSigBlueTRCTag).inverse()
+            }));
+        } else if (cs == ICC_ProfileData.icSigGrayData &&
+                pd.hasTag(ICC_ProfileData.icSigGrayTRCTag)) {
+            res.add(new XYZToGray());
+            res.add(new CurveSet(new Curve[] {
+                    readCurve(pd, ICC_ProfileData.icSigGrayTRCTag).inverse()
+            }));
+        } else if (cs == ICC_ProfileData.icSigXYZData ||
+                cs == ICC_ProfileData.icSigLabData) {
+            addEncodePCS(res, cs, false);
+        } else {
+            throw unsupported(pd);
+        }
+    }
+
+    private static boolean isMatrixShaper(ICC_ProfileData pd) {
+        return pd.hasTag(ICC_ProfileData.icSigRedColorantTag) &&
+               pd.hasTag(ICC_ProfileData.icSigGreenColorantTag) &&
+               pd.hasTag(ICC_ProfileData.icSigBlueColorantTag) &&
+               pd.hasTag(ICC_ProfileData.icSigRedTRCTag) &&
+               pd.hasTag(ICC_ProfileData.icSigGreenTRCTag) &&
+               pd.hasTag(ICC_ProfileData.icSigBlueTRCTag);
+    }
+
+    /**
+     * Converts normalized PCS values used by LUTs into XYZ
+     */
+    private static void addDecodePCS(ArrayList<Stage> res, int pcsSig, boolean legacy) {
+        if (pcsSig == ICC_ProfileData.icSigLabData) {
+            float s = legacy ? LAB_LEGACY_SCALE : 1;
+            res.add(new Scale(
+                    new float[] {100 * s, 255 * s, 255 * s},
+                    new float[] {0, -128, -128}));
+            res.add(new LabToXYZ());
+        } else {
+            res.add(new Scale(
+                    new float[] {XYZ_SCALE, XYZ_SCALE, XYZ_SCALE},
+                    new float[] {0, 0, 0}));
+        }
+    }
+
+    /**
+     * Converts XYZ into normalized PCS values
+     */
+    private static void addEncodePCS(ArrayList<Stage> res, int pcsSig, boolean legacy) {
+        if (pcsSig == ICC_ProfileData.icSigLabData) {
+            float s = legacy ? LAB_LEGACY_SCALE : 1;
+            res.add(new XYZToLab());
+            res.add(new Scale(
+                    new float[] {1 / (100 * s), 1 / (255 * s), 1 / (255 * s)},
+                    new float[] {0, 128 / (255 * s), 128 / (255 * s)}));
+        } else {
+            float s = 1 / XYZ_SCALE;
+            res.add(new Scale(
+                    new float[] {s, s, s},
+                    new float[] {0, 0, 0}));
+        }
+    }
+
+    private static double[] readColorants(ICC_ProfileData pd) {
+        double m[] = new double[9];
+        int sigs[] = {
+                ICC_ProfileData.icSigRedColorantTag,
+                ICC_ProfileData.icSigGreenColorantTag,
+                ICC_ProfileData.icSigBlueColorantTag
+        };
+        for (int i = 0; i < 3; i++) {
+            byte data[] = pd.getTag(sigs[i]);
+            if (data.length < 20) {
+                throw unsupported(pd);
+            }
+            // Colorants are columns of the matrix
+            for (int j = 0; j < 3; j++) {
+                m[j * 3 + i] = ICC_ProfileData.getS15Fixed16(data, 8 + j * 4);
+            }
+        }
+        return m;
+    }
+
+    private static double[] invert(double m[]) {
+        double det =
+            m[0] * (m[4] * m[8] - m[5] * m[7]) -
+            m[1] * (m[3] * m[8] - m[5] * m[6]) +
+            m[2] * (m[3] * m[7] - m[4] * m[6]);
+        if (det == 0) {
+            // awt.162=Invalid ICC Profile Data
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+        return new double[] {
+                (m[4] * m[8] - m[5] * m[7]) / det,
+                (m[2] * m[7] - m[1] * m[8]) / det,
+                (m[1] * m[5] - m[2] * m[4]) / det,
+                (m[5] * m[6] - m[3] * m[8]) / det,
+                (m[0] * m[8] - m[2] * m[6]) / det,
+                (m[2] * m[3] - m[0] * m[5]) / det,
+                (m[3] * m[7] - m[4] * m[6]) / det,
+                (m[1] * m[6] - m[0] * m[7]) / det,
+                (m[0] * m[4] - m[1] * m[3]) / det
+        };
+    }
+
+    private static Curve readCurve(ICC_ProfileData pd, int sig) {
+        byte data[] = pd.getTag(sig);
+        Curve c = readCurve(data, 0);
+        if (c == null) {
+            throw unsupported(pd);
+        }
+        return c;
+    }
+
+    /**
+     * Reads 'curv' or 'para' element
+     * @return curve or null if the data is not a curve
+     */
+    private static Curve readCurve(byte data[], int off) {
+        if (data.length < off + 12) {
+            return null;
+        }
+        int type = ICC_ProfileData.getInt(data, off);
+        if (type == icSigCurveType) {
+            int count = ICC_ProfileData.getInt(data, off + 8);
+            if (count < 0 || data.length < off + 12 + count * 2) {
+                return null;
+            }
+            if (count == 0) {
+                return new Gamma(1);
+            }
+            if (count == 1) {
+                return new Gamma(ICC_ProfileData.getUShort(data, off + 12) / 256.);
+            }
+            float table[] = new float[count];
+            for (int i = 0; i < count; i++) {
+                table[i] = ICC_ProfileData.getUShort(data, off + 12 + i * 2) / 65535f;
+            }
+            return new Table(table);
+        } else if (type == icSigParametricCurveType) {
+            int func = ICC_ProfileData.getUShort(data, off + 8);
+            if (func < 0 || func >= Parametric.PARAM_COUNT.length) {
+                return null;
+            }
+            int count = Parametric.PARAM_COUNT[func];
+            if (data.length < off + 12 + count * 4) {
+                return null;
+            }
+            double params[] = new double[count];
+            for (int i = 0; i < count; i++) {
+                params[i] = ICC_ProfileData.getS15Fixed16(data, off + 12 + i * 4);
+            }
+            return new Parametric(func, params);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the size of the curve element, used
+     * to walk over the curve sequences of mAB and mBA
+     */
+    private static int curveSize(byte data[], int off) {
+        int type = ICC_ProfileData.getInt(data, off);
+        int size;
+        if (type == icSigCurveType) {
+            size = 12 + ICC_ProfileData.getInt(data, off + 8) * 2;
+        } else {
+            size = 12 + Parametric.PARAM_COUNT[ICC_ProfileData.getUShort(data, off + 8)] * 4;
+        }
+        return (size + 3) & ~3;
+    }
+
+    /**
+     * Stages of the LUT based tag
+     */
+    private static final class Lut {
+        final ArrayList<Stage> stages = new ArrayList<Stage>();
+        // True for mft2, which uses the legacy 16 bit Lab encoding
+        boolean legacy;
+    }
+
+    /**
+     * Reads the LUT element
+     * @param pd - profile
+     * @param sig - tag signature
+     * @param aToB - direction, device to PCS or vice versa
+     * @param inputSpace - signature of the input color space
+     * @return LUT or null if there's no such element
+     */
+    private static Lut readLut(ICC_ProfileData pd, int sig, boolean aToB, int inputSpace) {
+        byte data[] = pd.getTag(sig);
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            Lut lut = new Lut();
+            int type = ICC_ProfileData.getInt(data, 0);
+            if (type == icSigLut16Type || type == icSigLut8Type) {
+                readMft(data, type == icSigLut16Type, inputSpace, lut);
+                lut.legacy = type == icSigLut16Type;
+            } else if (type == icSigLutAtoBType || type == icSigLutBtoAType) {
+                readMab(data, type == icSigLutAtoBType, lut);
+            } else {
+                throw unsupported(pd);
+            }
+            return lut;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // awt.162=Invalid ICC Profile Data
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+    }
+
+    private static void readMft(byte data[], boolean lut16, int inputSpace, Lut lut) {
+        int inCh = data[8] & 0xFF;
+        int outCh = data[9] & 0xFF;
+        int grid = data[10] & 0xFF;
+        if (inCh < 1 || inCh > MAX_CHANNELS || outCh < 1 || outCh > MAX_CHANNELS ||
+                (grid < 2 && inCh != outCh)) {
+            // awt.162=Invalid ICC Profile Data
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+
+        // Matrix is used only for XYZ input
+        if (inputSpace == ICC_ProfileData.icSigXYZData && inCh == 3) {
+            double m[] = new double[9];
+            boolean identity = true;
+            for (int i = 0; i < 9; i++) {
+                m[i] = ICC_ProfileData.getS15Fixed16(data, 12 + i * 4);
+                identity &= m[i] == (i % 4 == 0 ? 1 : 0);
+            }
+            if (!identity) {
+                lut.stages.add(new Matrix(m, null));
+            }
+        }
+
+        int inEntries, outEntries, pos;
+        if (lut16) {
+            inEntries = ICC_ProfileData.getUShort(data, 48);
+            outEntries = ICC_ProfileData.getUShort(data, 50);
+            pos = 52;
+        } else {
+            inEntries = outEntries = 256;
+            pos = 48;
+        }
+        int sampleSize = lut16 ? 2 : 1;
+
+        Curve inCurves[] = new Curve[inCh];
+        for (int i = 0; i < inCh; i++) {
+            inCurves[i] = new Table(readSamples(data, pos, inEntries, sampleSize));
+            pos += inEntries * sampleSize;
+        }
+        lut.stages.add(new CurveSet(inCurves));
+
+        // Table without grid points is an identity
+        if (grid >= 2) {
+            int gridPoints[] = new int[inCh];
+            int size = outCh;
+            for (int i = 0; i < inCh; i++) {
+                gridPoints[i] = grid;
+                size *= grid;
+            }
+            lut.stages.add(new CLut(gridPoints, outCh, readSamples(data, pos, size, sampleSize)));
+            pos += size * sampleSize;
+        }
+
+        Curve outCurves[] = new Curve[outCh];
+        for (int i = 0; i < outCh; i++) {
+            outCurves[i] = new Table(readSamples(data, pos, outEntries, sampleSize));
+            pos += outEntries * sampleSize;
+        }
+        lut.stages.add(new CurveSet(outCurves));
+    }
+
+    private static void readMab(byte data[], boolean aToB, Lut lut) {
+        int inCh = data[8] & 0xFF;
+        int outCh = data[9] & 0xFF;
+        if (inCh < 1 || inCh > MAX_CHANNELS || outCh < 1 || outCh > MAX_CHANNELS) {
+            // awt.162=Invalid ICC Profile Data
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+        int offB = ICC_ProfileData.getInt(data, 12);
+        int offMatrix = ICC_ProfileData.getInt(data, 16);
+        int offM = ICC_ProfileData.getInt(data, 20);
+        int offCLut = ICC_ProfileData.getInt(data, 24);
+        int offA = ICC_ProfileData.getInt(data, 28);
+
+        if (aToB) {
+            // A -> CLUT -> M -> Matrix -> B
+            addCurves(lut, data, offA, inCh);
+            addCLut(lut, data, offCLut, inCh, outCh);
+            addCurves(lut, data, offM, outCh);
+            addMatrix(lut, data, offMatrix);
+            addCurves(lut, data, offB, outCh);
+        } else {
+            // B -> Matrix -> M -> CLUT -> A
+            addCurves(lut, data, offB, inCh);
+            addMatrix(lut, data, offMatrix);
+            addCurves(lut, data, offM, inCh);
+            addCLut(lut, data, offCLut, inCh, outCh);
+            addCurves(lut, data, offA, outCh);
+        }
+    }
+
+    private static void addCurves(Lut lut, byte data[], int off, int n) {
+        if (off == 0) {
+            return;
+        }
+        Curve curves[] = new Curve[n];
+        for (int i = 0; i < n; i++) {
+            curves[i] = readCurve(data, off);
+            if (curves[i] == null) {
+                // awt.162=Invalid ICC Profile Data
+                throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+            }
+            off += curveSize(data, off);
+        }
+        lut.stages.add(new CurveSet(curves));
+    }
+
+    private static void addMatrix(Lut lut, byte data[], int off) {
+        if (off == 0) {
+            return;
+        }
+        double m[] = new double[9];
+        double offsets[] = new double[3];
+        for (int i = 0; i < 9; i++) {
+            m[i] = ICC_ProfileData.getS15Fixed16(data, off + i * 4);
+        }
+        for (int i = 0; i < 3; i++) {
+            offsets[i] = ICC_ProfileData.getS15Fixed16(data, off + 36 + i * 4);
+        }
+        lut.stages.add(new Matrix(m, offsets));
+    }
+
+    private static void addCLut(Lut lut, byte data[], int off, int inCh, int outCh) {
+        if (off == 0) {
+            return;
+        }
+        int gridPoints[] = new int[inCh];
+        int size = outCh;
+        for (int i = 0; i < inCh; i++) {
+            gridPoints[i] = data[off + i] & 0xFF;
+            if (gridPoints[i] < 2) {
+                // awt.162=Invalid ICC Profile Data
+                throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+            }
+            size *= gridPoints[i];
+        }
+        int precision = data[off + 16] & 0xFF;
+        lut.stages.add(new CLut(gridPoints, outCh,
+                readSamples(data, off + 20, size, precision == 1 ? 1 : 2)));
+    }
+
+    private static float[] readSamples(byte data[], int pos, int n, int sampleSize) {
+        float res[] = new float[n];
+        if (sampleSize == 1) {
+            for (int i = 0; i < n; i++) {
+                res[i] = (data[pos + i] & 0xFF) / 255f;
+            }
+        } else {
+            for (int i = 0; i < n; i++, pos += 2) {
+                res[i] = ICC_ProfileData.getUShort(data, pos) / 65535f;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Allocates two buffers used by transform
+     */
+    static float[][] createBuffers() {
+        return new float[][] {new float[MAX_CHANNELS], new float[MAX_CHANNELS]};
+    }
+
+    /**
+     * Evaluates the stages from first to last - 1
+     * @param in - input values, not modified
+     * @param bufs - buffers allocated by createBuffers
+     * @return one of the buffers holding the result
+     */
+    float[] transform(float in[], int first, int last, float bufs[][]) {
+        float src[] = in;
+        float dst[] = bufs[0];
+        for (int i = first; i < last; i++) {
+            stages[i].apply(src, dst);
+            src = dst;
+            dst = dst == bufs[0] ? bufs[1] : bufs[0];
+        }
+        if (src == in) {
+            System.arraycopy(in, 0, dst, 0, Math.min(in.length, MAX_CHANNELS));
+            return dst;
+        }
+        return src;
+    }
+
+    /**
+     * Single operation of the pipeline
+     */
+    abstract static class Stage {
+        abstract void apply(float in[], float out[]);
+    }
+
+    static final class CurveSet extends Stage {
+        final Curve curves[];
+
+        CurveSet(Curve curves[]) {
+            this.curves = curves;
+        }
+
+        @Override
+        void apply(float in[], float out[]) {
+            for (int i = 0; i < curves.length; i++) {
+                out[i] = curves[i].eval(in[i]);
+            }
+        }
+    }
+
+    static final class Matrix extends Stage {
+        private final float m[] = new float[9];
+        private final float offsets[] = new float[3];
+
+        Matrix(double matrix[], double off[]) {
+            for (int i = 0; i < 9; i++) {
+                m[i] = (float) matrix[i];
+            }
+            if (off != null) {
+                for (int i = 0; i < 3; i++) {
+                    offsets[i] = (float) off[i];
+                }
+            }
+        }
+
+        @Override
+        void apply(float in[], float out[]) {
+            float x = in[0], y = in[1], z = in[2];
+            out[0] = m[0] * x + m[1] * y + m[2] * z + offsets[0];
+            out[1] = m[3] * x + m[4] * y + m[5] * z + offsets[1];
+            out[2] = m[6] * x + m[7] * y + m[8] * z + offsets[2];
+        }
+    }
+
+    static final class Scale extends Stage {
+        private final float mul[];
+        private final float add[];
+
+        Scale(float mul[], float add[]) {
+            this.mul = mul;
+            this.add = add;
+        }
+
+        @Override
+        void apply(float in[], float out[]) {
+            for (int i = 0; i < mul.length; i++) {
+                out[i] = in[i] * mul[i] + add[i];
+            }
+        }
+    }
+
+    static final class GrayToXYZ extends Stage {
+        @Override
+        void apply(float in[], float out[]) {
+            float y = in[0];
+            out[0] = (float) (y * D50_X);
+            out[1] = y;
+            out[2] = (float) (y * D50_Z);
+        }
+    }
+
+    static final class XYZToGray extends Stage {
+        @Override
+        void apply(float in[], float out[]) {
+            out[0] = in[1];
+        }
+    }
+
+    static final class LabToXYZ extends Stage {
+        @Override
+        void apply(float in[], float out[]) {
+            double fy = (in[0] + 16) / 116.;
+            double fx = fy + in[1] / 500.;
+            double fz = fy - in[2] / 200.;
+            out[0] = (float) (D50_X * labInv(fx));
+            out[1] = (float) labInv(fy);
+            out[2] = (float) (D50_Z * labInv(fz));
+        }
+
+        private static double labInv(double t) {
+            return t > 6. / 29 ? t * t * t : (t - 4. / 29) * 108. / 841;
+        }
+    }
+
+    static final class XYZToLab extends Stage {
+        @Override
+        void apply(float in[], float out[]) {
+            double fx = lab(in[0] / D50_X);
+            double fy = lab(in[1]);
+            double fz = lab(in[2] / D50_Z);
+            out[0] = (float) (116 * fy - 16);
+            out[1] = (float) (500 * (fx - fy));
+            out[2] = (float) (200 * (fy - fz));
+        }
+
+        private static double lab(double t) {
+            return t > 216. / 24389 ? Math.cbrt(t) : t * 841. / 108 + 4. / 29;
+        }
+    }
+
+    /**
+     * Multidimensional table, interpolated linearly along each axis
+     */
+    static final class CLut extends Stage {
+        private final int gridPoints[];
+        private final int strides[];
+        private final int outCh;
+        private final float table[];
+
+        CLut(int gridPoints[], int outCh, float table[]) {
+            this.gridPoints = gridPoints;
+            this.outCh = outCh;
+            this.table = table;
+            strides = new int[gridPoints.length];
+            int stride = outCh;
+            for (int i = gridPoints.length - 1; i >= 0; i--) {
+                strides[i] = stride;
+                stride *= gridPoints[i];
+            }
+        }
+
+        @Override
+        void apply(float in[], float out[]) {
+            int n = gridPoints.length;
+            int base = 0;
+            float frac[] = new float[n];
+            for (int i = 0; i < n; i++) {
+                float v = Math.min(Math.max(in[i], 0), 1) * (gridPoints[i] - 1);
+                int idx = Math.min((int) v, gridPoints[i] - 2);
+                frac[i] = v - idx;
+                base += idx * strides[i];
+            }
+
+            for (int c = 0; c < outCh; c++) {
+                out[c] = 0;
+            }
+            for (int corner = 0, nCorners = 1 << n; corner < nCorners; corner++) {
+                float w = 1;
+                int pos = base;
+                for (int i = 0; i < n; i++) {
+                    if ((corner & (1 << (n - 1 - i))) != 0) {
+                        w *= frac[i];
+                        pos += strides[i];
+                    } else {
+                        w *= 1 - frac[i];
+                    }
+                }
+                if (w != 0) {
+                    for (int c = 0; c < outCh; c++) {
+                        out[c] += w * table[pos + c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tone reproduction curve, domain and range are [0, 1]
+     */
+    abstract static class Curve {
+        abstract float eval(float x);
+
+        /**
+         * Returns the inverse curve, by default
+         * sampled and inverted as a table
+         */
+        Curve inverse() {
+            int n = 4096;
+            float table[] = new float[n];
+            for (int i = 0; i < n; i++) {
+                table[i] = eval(i / (n - 1f));
+            }
+            return new Table(table).inverse();
+        }
+    }
+
+    static final class Gamma extends Curve {
+        private final double gamma;
+
+        Gamma(double gamma) {
+            this.gamma = gamma;
+        }
+
+        @Override
+        float eval(float x) {
+            if (x <= 0) {
+                return 0;
+            }
+            return gamma == 1 ? Math.min(x, 1) : (float) Math.pow(Math.min(x, 1), gamma);
+        }
+
+        @Override
+        Curve inverse() {
+            return new Gamma(gamma == 0 ? 1 : 1 / gamma);
+        }
+    }
+
+    static final class Table extends Curve {
+        private final float values[];
+
+        Table(float values[]) {
+            this.values = values;
+        }
+
+        @Override
+        float eval(float x) {
+            int last = values.length - 1;
+            if (last == 0) {
+                return values[0];
+            }
+            float v = Math.min(Math.max(x, 0), 1) * last;
+            int idx = Math.min((int) v, last - 1);
+            float f = v - idx;
+            return values[idx] + f * (values[idx + 1] - values[idx]);
+        }
+
+        /**
+         * Inverts the monotonic table, flat parts map to their middle
+         */
+        @Override
+        Curve inverse() {
+            int n = Math.max(values.length, 4096);
+            int last = values.length - 1;
+            boolean ascending = values[last] >= values[0];
+            float res[] = new float[n];
+            for (int i = 0; i < n; i++) {
+                float y = i / (n - 1f);
+                // Find the first segment which reaches y
+                int lo = 0, hi = last;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (ascending ? values[mid] < y : values[mid] > y) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                float x;
+                if (lo == 0) {
+                    x = 0;
+                } else {
+                    float y0 = values[lo - 1], y1 = values[lo];
+                    float f = y1 == y0 ? 1 : (y - y0) / (y1 - y0);
+                    x = (lo - 1 + Math.min(Math.max(f, 0), 1)) / last;
+                }
+                res[i] = x;
+            }
+            return new Table(res);
+        }
+    }
+
+    static final class Parametric extends Curve {
+        static final int PARAM_COUNT[] = {1, 3, 4, 5, 7};
+
+        private final int func;
+        private final double g, a, b, c, d, e, f;
+
+        Parametric(int func, double params[]) {
+            this.func = func;
+            double p[] = new double[7];
+            System.arraycopy(params, 0, p, 0, params.length);
+            g = p[0]; a = p[1]; b = p[2]; c = p[3]; d = p[4]; e = p[5]; f = p[6];
+        }
+
+        @Override
+        float eval(float xf) {
+            double x = Math.min(Math.max(xf, 0), 1);
+            double y;
+            switch (func) {
+                case 0:
+                    y = Math.pow(x, g);
+                    break;
+                case 1:
+                    y = x >= -b / a ? pow(a * x + b, g) : 0;
+                    break;
+                case 2:
+                    y = x >= -b / a ? pow(a * x + b, g) + c : c;
+                    break;
+                case 3:
+                    y = x >= d ? pow(a * x + b, g) : c * x;
+                    break;
+                default:
+                    y = x >= d ? pow(a * x + b, g) + e : c * x + f;
+            }
+            return (float) Math.min(Math.max(y, 0), 1);
+        }
+
+        private static double pow(double x, double g) {
+            return x > 0 ? Math.pow(x, g) : 0;
+        }
+    }
+}
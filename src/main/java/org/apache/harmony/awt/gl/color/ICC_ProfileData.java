@@ -0,0 +1,379 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.color;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.harmony.awt.internal.nls.Messages;
+import org.teavm.classlib.java.awt.color.TCMMException;
+import org.teavm.classlib.java.awt.color.TColorSpace;
+
+/**
+ * Opened ICC profile, kept as the header and the table of tag elements.
+ * Elements are copied on open, so they could be replaced separately and
+ * the profile is serialized back on request.
+ */
+final class ICC_ProfileData {
+    static final int HEADER_SIZE = 128;
+
+    // Signatures used by the CMM
+    static final int icSigHead = 0x68656164; // 'head'
+    static final int icMagicNumber = 0x61637370; // 'acsp'
+
+    static final int icSigXYZData = 0x58595A20; // 'XYZ '
+    static final int icSigLabData = 0x4C616220; // 'Lab '
+    static final int icSigRgbData = 0x52474220; // 'RGB '
+    static final int icSigGrayData = 0x47524159; // 'GRAY'
+    static final int icSigCmykData = 0x434D594B; // 'CMYK'
+
+    static final int icSigLinkClass = 0x6C696E6B; // 'link'
+    static final int icSigAbstractClass = 0x61627374; // 'abst'
+    static final int icSigDisplayClass = 0x6D6E7472; // 'mntr'
+    static final int icSigColorSpaceClass = 0x73706163; // 'spac'
+
+    static final int icSigAToB0Tag = 0x41324230; // 'A2B0'
+    static final int icSigBToA0Tag = 0x42324130; // 'B2A0'
+    static final int icSigRedColorantTag = 0x7258595A; // 'rXYZ'
+    static final int icSigGreenColorantTag = 0x6758595A; // 'gXYZ'
+    static final int icSigBlueColorantTag = 0x6258595A; // 'bXYZ'
+    static final int icSigRedTRCTag = 0x72545243; // 'rTRC'
+    static final int icSigGreenTRCTag = 0x67545243; // 'gTRC'
+    static final int icSigBlueTRCTag = 0x62545243; // 'bTRC'
+    static final int icSigGrayTRCTag = 0x6B545243; // 'kTRC'
+    static final int icSigMediaWhitePointTag = 0x77747074; // 'wtpt'
+    static final int icSigCopyrightTag = 0x63707274; // 'cprt'
+    static final int icSigProfileDescriptionTag = 0x64657363; // 'desc'
+
+    static final int icSigXYZType = 0x58595A20; // 'XYZ '
+    static final int icSigCurveType = 0x63757276; // 'curv'
+    static final int icSigTextType = 0x74657874; // 'text'
+
+    private final byte header[] = new byte[HEADER_SIZE];
+    private final LinkedHashMap<Integer, byte[]> tags =
+        new LinkedHashMap<Integer, byte[]>();
+
+    /**
+     * Incremented on every modification, compiled transforms
+     * built from the previous state are dropped when it changes
+     */
+    int modCount;
+
+    ICC_ProfileData(byte data[]) {
+        // awt.162=Invalid ICC Profile Data
+        if (data == null || data.length < HEADER_SIZE + 4 ||
+                getInt(data, 36) != icMagicNumber) {
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+
+        int size = Math.min(getInt(data, 0), data.length);
+        int tagCount = getInt(data, HEADER_SIZE);
+        if (tagCount < 0 || HEADER_SIZE + 4 + tagCount * 12L > size) {
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+
+        System.arraycopy(data, 0, header, 0, HEADER_SIZE);
+
+        for (int i = 0, pos = HEADER_SIZE + 4; i < tagCount; i++, pos += 12) {
+            int sig = getInt(data, pos);
+            int offset = getInt(data, pos + 4);
+            int len = getInt(data, pos + 8);
+            if (offset < 0 || len < 0 || (long) offset + len > size) {
+                throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+            }
+            byte element[] = new byte[len];
+            System.arraycopy(data, offset, element, 0, len);
+            tags.put(Integer.valueOf(sig), element);
+        }
+    }
+
+    static int getInt(byte data[], int idx) {
+        return ((data[idx] & 0xFF) << 24) |
+               ((data[idx + 1] & 0xFF) << 16) |
+               ((data[idx + 2] & 0xFF) << 8) |
+               (data[idx + 3] & 0xFF);
+    }
+
+    static int getUShort(byte data[], int idx) {
+        return ((data[idx] & 0xFF) << 8) | (data[idx + 1] & 0xFF);
+    }
+
+    static void putInt(byte data[], int idx, int val) {
+        data[idx] = (byte) (val >> 24);
+        data[idx + 1] = (byte) (val >> 16);
+        data[idx + 2] = (byte) (val >> 8);
+        data[idx + 3] = (byte) val;
+    }
+
+    /**
+     * Reads s15Fixed16Number
+     */
+    static double getS15Fixed16(byte data[], int idx) {
+        return getInt(data, idx) / 65536.;
+    }
+
+    static void putS15Fixed16(byte data[], int idx, double val) {
+        putInt(data, idx, (int) Math.round(val * 65536));
+    }
+
+    int getHeaderInt(int idx) {
+        return getInt(header, idx);
+    }
+
+    int getColorSpaceSignature() {
+        return getInt(header, 16);
+    }
+
+    int getPCSSignature() {
+        return getInt(header, 20);
+    }
+
+    int getClassSignature() {
+        return getInt(header, 12);
+    }
+
+    int getNumComponents() {
+        return getNumComponents(getColorSpaceSignature());
+    }
+
+    int getNumPCSComponents() {
+        return getNumComponents(getPCSSignature());
+    }
+
+    /**
+     * Returns the number of channels of the color space
+     * given by its ICC signature
+     */
+    static int getNumComponents(int sig) {
+        switch (sig) {
+            case icSigGrayData:
+                return 1;
+            case icSigCmykData:
+            case 0x34434C52: // '4CLR'
+                return 4;
+            default:
+        }
+        // nCLR signatures, '2CLR' .. 'FCLR'
+        if ((sig & 0x00FFFFFF) == 0x00434C52) {
+            int n = (sig >>> 24) - '0';
+            if (n > 9) {
+                n = (sig >>> 24) - 'A' + 10;
+            }
+            if (n >= 2 && n <= 15) {
+                return n;
+            }
+        }
+        return 3;
+    }
+
+    boolean hasTag(int sig) {
+        return sig == icSigHead || tags.containsKey(Integer.valueOf(sig));
+    }
+
+    /**
+     * Returns the element data, not a copy
+     * @return data or null if there's no such element
+     */
+    byte[] getTag(int sig) {
+        if (sig == icSigHead) {
+            return header;
+        }
+        return tags.get(Integer.valueOf(sig));
+    }
+
+    int getTagSize(int sig) {
+        byte data[] = getTag(sig);
+        if (data == null) {
+            // awt.2A2=ICC profile has no element with signature {0}
+            throw new TCMMException(Messages.getString("awt.2A2", //$NON-NLS-1$
+                    Integer.toHexString(sig)));
+        }
+        return data.length;
+    }
+
+    void copyTag(int sig, byte dst[]) {
+        byte data[] = getTag(sig);
+        getTagSize(sig);
+        System.arraycopy(data, 0, dst, 0, Math.min(data.length, dst.length));
+    }
+
+    void setTag(int sig, byte data[]) {
+        if (sig == icSigHead) {
+            System.arraycopy(data, 0, header, 0, Math.min(data.length, HEADER_SIZE));
+        } else if (data == null) {
+            tags.remove(Integer.valueOf(sig));
+        } else {
+            tags.put(Integer.valueOf(sig), data.clone());
+        }
+        modCount++;
+    }
+
+    int getSize() {
+        return getSize(tags);
+    }
+
+    private static int getSize(Map<Integer, byte[]> tags) {
+        int size = HEADER_SIZE + 4 + tags.size() * 12;
+        for (byte data[] : tags.values()) {
+            size += (data.length + 3) & ~3;
+        }
+        return size;
+    }
+
+    void getProfile(byte dst[]) {
+        byte res[] = serialize(header, tags);
+        System.arraycopy(res, 0, dst, 0, Math.min(res.length, dst.length));
+    }
+
+    /**
+     * Writes the profile, elements are 4-byte aligned
+     */
+    private static byte[] serialize(byte header[], Map<Integer, byte[]> tags) {
+        int size = getSize(tags);
+        byte res[] = new byte[size];
+
+        System.arraycopy(header, 0, res, 0, HEADER_SIZE);
+        putInt(res, 0, size);
+        putInt(res, HEADER_SIZE, tags.size());
+
+        int entry = HEADER_SIZE + 4;
+        int offset = entry + tags.size() * 12;
+        for (Map.Entry<Integer, byte[]> e : tags.entrySet()) {
+            byte data[] = e.getValue();
+            putInt(res, entry, e.getKey().intValue());
+            putInt(res, entry + 4, offset);
+            putInt(res, entry + 8, data.length);
+            System.arraycopy(data, 0, res, offset, data.length);
+            entry += 12;
+            offset += (data.length + 3) & ~3;
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates the data of the predefined profile which is not
+     * available as a .pf file. Colorants are sRGB primaries
+     * adapted to D50 as given in the sRGB profile from the ICC.
+     * @param cspace - predefined color space
+     * @return profile data or null if the space can't be built
+     */
+    static byte[] createPredefined(int cspace) {
+        switch (cspace) {
+            case TColorSpace.CS_sRGB:
+                return new ProfileWriter(icSigDisplayClass, icSigRgbData)
+                    .rgb(sRGBCurve()).build();
+            case TColorSpace.CS_LINEAR_RGB:
+                return new ProfileWriter(icSigDisplayClass, icSigRgbData)
+                    .rgb(gammaCurve(1)).build();
+            case TColorSpace.CS_GRAY:
+                return new ProfileWriter(icSigDisplayClass, icSigGrayData)
+                    .tag(icSigGrayTRCTag, gammaCurve(1)).build();
+            case TColorSpace.CS_CIEXYZ:
+                return new ProfileWriter(icSigColorSpaceClass, icSigXYZData).build();
+            default:
+                return null;
+        }
+    }
+
+    private static byte[] gammaCurve(double gamma) {
+        byte res[] = new byte[14];
+        putInt(res, 0, icSigCurveType);
+        putInt(res, 8, 1);
+        int g = (int) Math.round(gamma * 256);
+        res[12] = (byte) (g >> 8);
+        res[13] = (byte) g;
+        return res;
+    }
+
+    private static byte[] sRGBCurve() {
+        // Parametric curve type 3, IEC 61966-2-1
+        byte res[] = new byte[32];
+        putInt(res, 0, 0x70617261); // 'para'
+        res[9] = 3;
+        double params[] = {2.4, 1 / 1.055, 0.055 / 1.055, 1 / 12.92, 0.04045};
+        for (int i = 0; i < params.length; i++) {
+            putS15Fixed16(res, 12 + i * 4, params[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Builds simple v2 profiles
+     */
+    private static final class ProfileWriter {
+        private final LinkedHashMap<Integer, byte[]> elements =
+            new LinkedHashMap<Integer, byte[]>();
+        private final int profileClass;
+        private final int colorSpace;
+
+        ProfileWriter(int profileClass, int colorSpace) {
+            this.profileClass = profileClass;
+            this.colorSpace = colorSpace;
+            tag(icSigMediaWhitePointTag, xyz(ICC_Pipeline.D50_X, 1, ICC_Pipeline.D50_Z));
+            tag(icSigCopyrightTag, text("No copyright, use freely")); //$NON-NLS-1$
+        }
+
+        ProfileWriter tag(int sig, byte data[]) {
+            elements.put(Integer.valueOf(sig), data);
+            return this;
+        }
+
+        ProfileWriter rgb(byte trc[]) {
+            tag(icSigRedColorantTag, xyz(0.4360747, 0.2225045, 0.0139322));
+            tag(icSigGreenColorantTag, xyz(0.3850649, 0.7168786, 0.0971045));
+            tag(icSigBlueColorantTag, xyz(0.1430804, 0.0606169, 0.7141733));
+            tag(icSigRedTRCTag, trc);
+            tag(icSigGreenTRCTag, trc);
+            tag(icSigBlueTRCTag, trc);
+            return this;
+        }
+
+        private static byte[] xyz(double x, double y, double z) {
+            byte res[] = new byte[20];
+            putInt(res, 0, icSigXYZType);
+            putS15Fixed16(res, 8, x);
+            putS15Fixed16(res, 12, y);
+            putS15Fixed16(res, 16, z);
+            return res;
+        }
+
+        private static byte[] text(String s) {
+            byte res[] = new byte[8 + s.length() + 1];
+            putInt(res, 0, icSigTextType);
+            for (int i = 0; i < s.length(); i++) {
+                res[8 + i] = (byte) s.charAt(i);
+            }
+            return res;
+        }
+
+        byte[] build() {
+            byte res[] = new byte[HEADER_SIZE];
+            putInt(res, 8, 0x02100000); // version 2.1
+            putInt(res, 12, profileClass);
+            putInt(res, 16, colorSpace);
+            putInt(res, 20, icSigXYZData);
+            putInt(res, 36, icMagicNumber);
+            // Illuminant
+            putS15Fixed16(res, 68, ICC_Pipeline.D50_X);
+            putS15Fixed16(res, 72, 1);
+            putS15Fixed16(res, 76, ICC_Pipeline.D50_Z);
+
+            return serialize(res, elements);
+        }
+    }
+}
@@ -73,7 +73,7 @@ public class ICC_ProfileHelper {
      * @return rendering intent
      */
     public static int getRenderingIntent(TICC_Profile profile) {
-        return getIntFromByteArray(
+        return getBigEndianFromByteArray(
                 profile.getData(TICC_Profile.icSigHead), // pf header
                 TICC_Profile.icHdrRenderingIntent
             );
@@ -19,12 +19,12 @@
  */
 package org.apache.harmony.awt.gl.color;
 
-import org.apache.harmony.awt.gl.color.NativeCMM;
+import org.apache.harmony.awt.gl.color.JavaCMM;
 import org.teavm.classlib.java.awt.color.TICC_Profile;
 
 /**
- * This class encapsulates native ICC transform object, is responsible for its
- * creation, destruction and passing its handle to the native CMM.
+ * This class encapsulates ICC transform object, is responsible for its
+ * creation, destruction and passing its handle to the CMM.
  */
 public class ICC_Transform {
     private long transformHandle;
@@ -72,10 +72,10 @@ public class ICC_Transform {
 
         long[] profileHandles = new long[numProfiles];
         for (int i=0; i<numProfiles; i++) {
-            profileHandles[i] = NativeCMM.getHandle(profiles[i]);
+            profileHandles[i] = JavaCMM.getHandle(profiles[i]);
         }
 
-        transformHandle = NativeCMM.cmmCreateMultiprofileTransform(
+        transformHandle = JavaCMM.cmmCreateMultiprofileTransform(
                 profileHandles,
                 renderIntents);
 
@@ -123,10 +123,10 @@ public class ICC_Transform {
         // Get the profile handles and go ahead
         long[] profileHandles = new long[numProfiles];
         for (int i=0; i<numProfiles; i++) {
-            profileHandles[i] = NativeCMM.getHandle(profiles[i]);
+            profileHandles[i] = JavaCMM.getHandle(profiles[i]);
         }
 
-        transformHandle = NativeCMM.cmmCreateMultiprofileTransform(
+        transformHandle = JavaCMM.cmmCreateMultiprofileTransform(
                 profileHandles,
                 renderingIntents);
 
@@ -139,16 +139,16 @@ public class ICC_Transform {
     @Override
     protected void finalize() {
         if (transformHandle != 0) {
-            NativeCMM.cmmDeleteTransform(transformHandle);
+            JavaCMM.cmmDeleteTransform(transformHandle);
         }
     }
 
     /**
-     * Invokes native color conversion
+     * Invokes color conversion
      * @param src - source image format
      * @param dst - destination image format
      */
     public void translateColors(NativeImageFormat src, NativeImageFormat dst) {
-        NativeCMM.cmmTranslateColors(transformHandle, src, dst);
+        JavaCMM.cmmTranslateColors(transformHandle, src, dst);
     }
 }
\ No newline at end of file
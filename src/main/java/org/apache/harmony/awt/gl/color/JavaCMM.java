@@ -0,0 +1,410 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.color;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.harmony.awt.internal.nls.Messages;
+import org.teavm.classlib.java.awt.color.TCMMException;
+import org.teavm.classlib.java.awt.color.TICC_Profile;
+
+/**
+ * Color management module written in Java. Profiles and transforms are
+ * referenced by handles, like they were in the native CMM, so the
+ * profile classes don't depend on the implementation.
+ * Transforms are compiled into tables, which are cached for
+ * the same sequence of profiles and rendering intents.
+ */
+public class JavaCMM {
+
+    private static final int MAX_CACHED_TRANSFORMS = 16;
+
+    /**
+     * Storage for profile handles, since they are private
+     * in TICC_Profile, but we need access to them.
+     */
+    private static HashMap<TICC_Profile, Long> profileHandles = new HashMap<TICC_Profile, Long>();
+
+    private static final HashMap<Long, ICC_ProfileData> profiles =
+        new HashMap<Long, ICC_ProfileData>();
+    private static final HashMap<Long, ICC_LUT> transforms =
+        new HashMap<Long, ICC_LUT>();
+
+    private static final LinkedHashMap<TransformKey, ICC_LUT> transformCache =
+        new LinkedHashMap<TransformKey, ICC_LUT>(MAX_CACHED_TRANSFORMS, 0.75f, true) {
+            private static final long serialVersionUID = -3539428466183735962L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TransformKey, ICC_LUT> eldest) {
+                return size() > MAX_CACHED_TRANSFORMS;
+            }
+        };
+
+    private static long lastHandle;
+
+    public static synchronized void addHandle(TICC_Profile key, long handle) {
+        profileHandles.put(key, Long.valueOf(handle));
+    }
+
+    public static synchronized void removeHandle(TICC_Profile key) {
+        profileHandles.remove(key);
+    }
+
+    public static synchronized long getHandle(TICC_Profile key) {
+        return profileHandles.get(key).longValue();
+    }
+
+    /* ICC profile management */
+
+    public static synchronized long cmmOpenProfile(byte[] data) {
+        ICC_ProfileData pd = new ICC_ProfileData(data);
+        long handle = ++lastHandle;
+        profiles.put(Long.valueOf(handle), pd);
+        return handle;
+    }
+
+    public static synchronized void cmmCloseProfile(long profileID) {
+        ICC_ProfileData pd = profiles.remove(Long.valueOf(profileID));
+        if (pd != null) {
+            dropCachedTransforms(pd);
+        }
+    }
+
+    public static synchronized int cmmGetProfileSize(long profileID) {
+        return getProfile(profileID).getSize();
+    }
+
+    public static synchronized void cmmGetProfile(long profileID, byte[] data) {
+        getProfile(profileID).getProfile(data);
+    }
+
+    public static synchronized int cmmGetProfileElementSize(long profileID, int signature) {
+        return getProfile(profileID).getTagSize(signature);
+    }
+
+    public static synchronized void cmmGetProfileElement(long profileID, int signature,
+                                           byte[] data) {
+        getProfile(profileID).copyTag(signature, data);
+    }
+
+    public static synchronized void cmmSetProfileElement(long profileID, int tagSignature,
+                                           byte[] data) {
+        ICC_ProfileData pd = getProfile(profileID);
+        pd.setTag(tagSignature, data);
+        dropCachedTransforms(pd);
+    }
+
+    private static ICC_ProfileData getProfile(long profileID) {
+        ICC_ProfileData pd = profiles.get(Long.valueOf(profileID));
+        if (pd == null) {
+            // awt.162=Invalid ICC Profile Data
+            throw new TCMMException(Messages.getString("awt.162")); //$NON-NLS-1$
+        }
+        return pd;
+    }
+
+    private static void dropCachedTransforms(ICC_ProfileData pd) {
+        for (Iterator<TransformKey> it = transformCache.keySet().iterator(); it.hasNext();) {
+            if (it.next().contains(pd)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the data of the predefined profile built by the CMM,
+     * used if the profile file can't be found
+     * @param cspace - predefined color space
+     * @return profile data or null if the CMM can't build it
+     */
+    public static byte[] getPredefinedProfileData(int cspace) {
+        return ICC_ProfileData.createPredefined(cspace);
+    }
+
+    /* ICC transforms */
+
+    public static long cmmCreateMultiprofileTransform(
+            long[] profileHandles,
+            int[] renderingIntents
+        ) {
+        ICC_ProfileData pds[] = new ICC_ProfileData[profileHandles.length];
+        TransformKey key;
+        synchronized (JavaCMM.class) {
+            for (int i = 0; i < pds.length; i++) {
+                pds[i] = getProfile(profileHandles[i]);
+            }
+            key = new TransformKey(pds, renderingIntents);
+            ICC_LUT lut = transformCache.get(key);
+            if (lut != null) {
+                return putTransform(lut);
+            }
+        }
+
+        // Compilation may take some time, do it unlocked
+        ICC_LUT lut = new ICC_LUT(ICC_Pipeline.create(pds, renderingIntents));
+
+        synchronized (JavaCMM.class) {
+            if (key.isValid()) {
+                transformCache.put(key, lut);
+            }
+            return putTransform(lut);
+        }
+    }
+
+    private static long putTransform(ICC_LUT lut) {
+        long handle = ++lastHandle;
+        transforms.put(Long.valueOf(handle), lut);
+        return handle;
+    }
+
+    public static synchronized void cmmDeleteTransform(long transformHandle) {
+        transforms.remove(Long.valueOf(transformHandle));
+    }
+
+    /**
+     * Converts the pixels row by row. Samples are normalized to floats,
+     * passed through the compiled transform and written back, alpha is
+     * copied if both formats have it.
+     */
+    public static void cmmTranslateColors(long transformHandle,
+            NativeImageFormat src,
+            NativeImageFormat dest) {
+        ICC_LUT lut;
+        synchronized (JavaCMM.class) {
+            lut = transforms.get(Long.valueOf(transformHandle));
+        }
+        if (lut == null) {
+            // awt.2A3=Unsupported ICC profile: {0}
+            throw new TCMMException(Messages.getString("awt.2A3", transformHandle)); //$NON-NLS-1$
+        }
+
+        PixelLayout in = new PixelLayout(src);
+        PixelLayout out = new PixelLayout(dest);
+        int cols = Math.min(src.getNumCols(), dest.getNumCols());
+        int rows = Math.min(src.getNumRows(), dest.getNumRows());
+        boolean copyAlpha = in.alphaPos >= 0 && out.alphaPos >= 0;
+
+        float inRow[] = new float[cols * lut.numInputs];
+        float outRow[] = new float[cols * lut.numOutputs];
+        for (int y = 0; y < rows; y++) {
+            in.readRow(y, cols, inRow, lut.numInputs);
+            lut.transform(inRow, outRow, cols);
+            out.writeRow(y, cols, outRow, lut.numOutputs);
+            if (copyAlpha) {
+                for (int x = 0; x < cols; x++) {
+                    int a = in.getElement(in.getPixelPos(x, y) + in.alphaPos);
+                    out.setElement(out.getPixelPos(x, y) + out.alphaPos,
+                            (int) ((long) a * out.maxValue / in.maxValue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Addresses samples of the image format. Positions are in bytes,
+     * int and short data are treated as little endian byte arrays,
+     * the same way the native CMM read them.
+     */
+    private static final class PixelLayout {
+        final Object data;
+        final int bytes;
+        final int channels;
+        final int pixelBytes;
+        final int rowBytes;
+        final int base;
+        final int maxValue;
+        final int alphaPos;
+        // Byte offset of each color channel in the pixel
+        final int channelPos[];
+
+        PixelLayout(NativeImageFormat fmt) {
+            int cmmFormat = fmt.cmmFormat;
+            bytes = cmmFormat & 7;
+            channels = (cmmFormat >> 3) & 0xF;
+            int extra = (cmmFormat >> 7) & 7;
+            boolean doSwap = (cmmFormat & (1 << 10)) != 0;
+            boolean swapFirst = (cmmFormat & (1 << 14)) != 0;
+
+            if (bytes != 1 && bytes != 2) {
+                // awt.47=First argument should be byte or short array
+                throw new IllegalArgumentException(Messages.getString("awt.47")); //$NON-NLS-1$
+            }
+
+            data = fmt.getChannelData();
+            maxValue = bytes == 1 ? 0xFF : 0xFFFF;
+            pixelBytes = (channels + extra) * bytes;
+            rowBytes = fmt.scanlineStride >= 0 ? fmt.scanlineStride : fmt.getNumCols() * pixelBytes;
+
+            int elementSize = data instanceof int[] ? 4 : data instanceof short[] ? 2 : 1;
+            base = fmt.dataOffset * elementSize;
+            alphaPos = fmt.alphaOffset;
+
+            channelPos = new int[channels];
+            for (int c = 0; c < channels; c++) {
+                int idx;
+                if (doSwap) {
+                    idx = swapFirst ? channels - 1 - c : extra + channels - 1 - c;
+                } else {
+                    idx = swapFirst ? extra + c : c;
+                }
+                channelPos[c] = idx * bytes;
+            }
+        }
+
+        int getPixelPos(int x, int y) {
+            return base + y * rowBytes + x * pixelBytes;
+        }
+
+        int getElement(int pos) {
+            if (data instanceof byte[]) {
+                byte arr[] = (byte[]) data;
+                return bytes == 1 ? arr[pos] & 0xFF :
+                    (arr[pos] & 0xFF) | ((arr[pos + 1] & 0xFF) << 8);
+            } else if (data instanceof short[]) {
+                short arr[] = (short[]) data;
+                int v = arr[pos >> 1] & 0xFFFF;
+                return bytes == 2 ? v : (v >> ((pos & 1) << 3)) & 0xFF;
+            } else {
+                int v = ((int[]) data)[pos >> 2] >>> ((pos & 3) << 3);
+                return v & maxValue;
+            }
+        }
+
+        void setElement(int pos, int v) {
+            if (data instanceof byte[]) {
+                byte arr[] = (byte[]) data;
+                arr[pos] = (byte) v;
+                if (bytes == 2) {
+                    arr[pos + 1] = (byte) (v >> 8);
+                }
+            } else if (data instanceof short[]) {
+                short arr[] = (short[]) data;
+                if (bytes == 2) {
+                    arr[pos >> 1] = (short) v;
+                } else {
+                    int shift = (pos & 1) << 3;
+                    arr[pos >> 1] = (short) ((arr[pos >> 1] & ~(0xFF << shift)) | (v << shift));
+                }
+            } else {
+                int arr[] = (int[]) data;
+                int shift = (pos & 3) << 3;
+                arr[pos >> 2] = (arr[pos >> 2] & ~(maxValue << shift)) | (v << shift);
+            }
+        }
+
+        void readRow(int y, int cols, float row[], int n) {
+            float scale = 1f / maxValue;
+            int nc = Math.min(n, channels);
+            int pos = getPixelPos(0, y);
+            if (data instanceof short[] && bytes == 2 && nc == channels && channels == n) {
+                // Common case of the ColorConverter buffers
+                short arr[] = (short[]) data;
+                for (int x = 0, i = 0; x < cols; x++, pos += pixelBytes) {
+                    for (int c = 0; c < nc; c++) {
+                        row[i++] = (arr[(pos + channelPos[c]) >> 1] & 0xFFFF) * scale;
+                    }
+                }
+                return;
+            }
+            for (int x = 0, i = 0; x < cols; x++, pos += pixelBytes, i += n) {
+                for (int c = 0; c < nc; c++) {
+                    row[i + c] = getElement(pos + channelPos[c]) * scale;
+                }
+            }
+        }
+
+        void writeRow(int y, int cols, float row[], int n) {
+            int nc = Math.min(n, channels);
+            int pos = getPixelPos(0, y);
+            for (int x = 0, i = 0; x < cols; x++, pos += pixelBytes, i += n) {
+                for (int c = 0; c < nc; c++) {
+                    float v = row[i + c];
+                    int iv = v <= 0 ? 0 : v >= 1 ? maxValue : (int) (v * maxValue + 0.5f);
+                    setElement(pos + channelPos[c], iv);
+                }
+            }
+        }
+    }
+
+    /**
+     * Key of the compiled transform cache. Keeps the modification
+     * counters of the profiles, so the transform compiled concurrently
+     * with a modification is not cached.
+     */
+    private static final class TransformKey {
+        private final ICC_ProfileData profiles[];
+        private final int modCounts[];
+        private final int intents[];
+        private final int hash;
+
+        TransformKey(ICC_ProfileData profiles[], int intents[]) {
+            this.profiles = profiles.clone();
+            this.intents = intents == null ? new int[0] : intents.clone();
+            modCounts = new int[profiles.length];
+            int h = Arrays.hashCode(this.intents);
+            for (int i = 0; i < profiles.length; i++) {
+                modCounts[i] = profiles[i].modCount;
+                h = h * 31 + System.identityHashCode(profiles[i]);
+            }
+            hash = h;
+        }
+
+        boolean contains(ICC_ProfileData pd) {
+            for (ICC_ProfileData p : profiles) {
+                if (p == pd) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isValid() {
+            for (int i = 0; i < profiles.length; i++) {
+                if (modCounts[i] != profiles[i].modCount) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TransformKey)) {
+                return false;
+            }
+            TransformKey k = (TransformKey) obj;
+            if (k.profiles.length != profiles.length || !Arrays.equals(k.intents, intents)) {
+                return false;
+            }
+            for (int i = 0; i < profiles.length; i++) {
+                if (k.profiles[i] != profiles[i] || k.modCounts[i] != modCounts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
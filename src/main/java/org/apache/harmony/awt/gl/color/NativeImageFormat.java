@@ -19,28 +19,27 @@
  */
 package org.apache.harmony.awt.gl.color;
 
-import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.ComponentSampleModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.Raster;
-import java.awt.image.SampleModel;
-import java.awt.image.SinglePixelPackedSampleModel;
 import java.util.ArrayList;
 
 import org.apache.harmony.awt.gl.AwtImageBackdoorAccessor;
 import org.apache.harmony.awt.internal.nls.Messages;
+import org.teavm.classlib.java.awt.image.TBufferedImage;
+import org.teavm.classlib.java.awt.image.TColorModel;
+import org.teavm.classlib.java.awt.image.TComponentSampleModel;
+import org.teavm.classlib.java.awt.image.TDataBuffer;
+import org.teavm.classlib.java.awt.image.TRaster;
+import org.teavm.classlib.java.awt.image.TSampleModel;
+import org.teavm.classlib.java.awt.image.TSinglePixelPackedSampleModel;
 
 
 /**
  * This class converts java color/sample models to the LCMS pixel formats.
- * It also encapsulates all the information about the image format, which native CMM
+ * It also encapsulates all the information about the image format, which the CMM
  * needs to have in order to read/write data.
  *
  * At present planar formats (multiple bands) are not supported
  * and they are handled as a common (custom) case.
- * Samples other than 1 - 7 bytes and multiple of 8 bits are
- * also handled as custom (and won't be supported in the nearest future).
+ * Samples other than 1 or 2 bytes are also handled as custom.
  */
 class NativeImageFormat {
     //////////////////////////////////////////////
@@ -52,7 +51,7 @@ class NativeImageFormat {
     // Skipping other since we don't use them here
     ///////////////////////////////////////////////
 
-    // Conversion of predefined BufferedImage formats to LCMS formats
+    // Conversion of predefined TBufferedImage formats to LCMS formats
     private static final int INT_RGB_LCMS_FMT =
         colorspaceSh(PT_RGB)|
         extraSh(1)|
@@ -94,29 +93,21 @@ class NativeImageFormat {
 
     // LCMS format packed into 32 bit value. For description
     // of this format refer to LCMS documentation.
-    private int cmmFormat = 0;
+    int cmmFormat = 0;
 
     // Dimensions
     private int rows = 0;
     private int cols = 0;
 
     //  Scanline may contain some padding in the end
-    private int scanlineStride = -1;
+    int scanlineStride = -1;
 
     private Object imageData;
     // It's possible to have offset from the beginning of the array
-    private int dataOffset;
+    int dataOffset;
 
     // Has the image alpha channel? If has - here its band band offset goes
-    private int alphaOffset = -1;
-
-    // initializes proper field IDs
-    private static native void initIDs();
-
-    static {
-        NativeCMM.loadCMM();
-        initIDs();
-    }
+    int alphaOffset = -1;
 
     ////////////////////////////////////
     // LCMS image format encoders
@@ -223,53 +214,53 @@ class NativeImageFormat {
      * @param bi - image
      * @return image format object
      */
-    public static NativeImageFormat createNativeImageFormat(BufferedImage bi) {
+    public static NativeImageFormat createNativeImageFormat(TBufferedImage bi) {
         NativeImageFormat fmt = new NativeImageFormat();
 
         switch (bi.getType()) {
-            case BufferedImage.TYPE_INT_RGB: {
+            case TBufferedImage.TYPE_INT_RGB: {
                 fmt.cmmFormat = INT_RGB_LCMS_FMT;
                 break;
             }
 
-            case BufferedImage.TYPE_INT_ARGB:
-            case BufferedImage.TYPE_INT_ARGB_PRE: {
+            case TBufferedImage.TYPE_INT_ARGB:
+            case TBufferedImage.TYPE_INT_ARGB_PRE: {
                 fmt.cmmFormat = INT_ARGB_LCMS_FMT;
                 fmt.alphaOffset = 3;
                 break;
             }
 
-            case BufferedImage.TYPE_INT_BGR: {
+            case TBufferedImage.TYPE_INT_BGR: {
                 fmt.cmmFormat = INT_BGR_LCMS_FMT;
                 break;
             }
 
-            case BufferedImage.TYPE_3BYTE_BGR: {
+            case TBufferedImage.TYPE_3BYTE_BGR: {
                 fmt.cmmFormat = THREE_BYTE_BGR_LCMS_FMT;
                 break;
             }
 
-            case BufferedImage.TYPE_4BYTE_ABGR_PRE:
-            case BufferedImage.TYPE_4BYTE_ABGR: {
+            case TBufferedImage.TYPE_4BYTE_ABGR_PRE:
+            case TBufferedImage.TYPE_4BYTE_ABGR: {
                 fmt.cmmFormat = FOUR_BYTE_ABGR_LCMS_FMT;
                 fmt.alphaOffset = 0;
                 break;
             }
 
-            case BufferedImage.TYPE_BYTE_GRAY: {
+            case TBufferedImage.TYPE_BYTE_GRAY: {
                 fmt.cmmFormat = BYTE_GRAY_LCMS_FMT;
                 break;
             }
 
-            case BufferedImage.TYPE_USHORT_GRAY: {
+            case TBufferedImage.TYPE_USHORT_GRAY: {
                 fmt.cmmFormat = USHORT_GRAY_LCMS_FMT;
                 break;
             }
 
-            case BufferedImage.TYPE_BYTE_BINARY:
-            case BufferedImage.TYPE_USHORT_565_RGB:
-            case BufferedImage.TYPE_USHORT_555_RGB:
-            case BufferedImage.TYPE_BYTE_INDEXED: {
+            case TBufferedImage.TYPE_BYTE_BINARY:
+            case TBufferedImage.TYPE_USHORT_565_RGB:
+            case TBufferedImage.TYPE_USHORT_555_RGB:
+            case TBufferedImage.TYPE_BYTE_INDEXED: {
                 // A bunch of unsupported formats
                 return null;
             }
@@ -280,15 +271,15 @@ class NativeImageFormat {
 
 
         if (fmt.cmmFormat == 0) {
-            ColorModel cm = bi.getColorModel();
-            SampleModel sm = bi.getSampleModel();
+            TColorModel cm = bi.getColorModel();
+            TSampleModel sm = bi.getSampleModel();
 
-            if (sm instanceof ComponentSampleModel) {
-                ComponentSampleModel csm = (ComponentSampleModel) sm;
+            if (sm instanceof TComponentSampleModel) {
+                TComponentSampleModel csm = (TComponentSampleModel) sm;
                 fmt.cmmFormat = getFormatFromComponentModel(csm, cm.hasAlpha());
                 fmt.scanlineStride = calculateScanlineStrideCSM(csm, bi.getRaster());
-            } else if (sm instanceof SinglePixelPackedSampleModel) {
-                SinglePixelPackedSampleModel sppsm = (SinglePixelPackedSampleModel) sm;
+            } else if (sm instanceof TSinglePixelPackedSampleModel) {
+                TSinglePixelPackedSampleModel sppsm = (TSinglePixelPackedSampleModel) sm;
                 fmt.cmmFormat = getFormatFromSPPSampleModel(sppsm, cm.hasAlpha());
                 fmt.scanlineStride = calculateScanlineStrideSPPSM(sppsm, bi.getRaster());
             }
@@ -317,17 +308,17 @@ class NativeImageFormat {
      * @param r - raster
      * @return image format object
      */
-    public static NativeImageFormat createNativeImageFormat(Raster r) {
+    public static NativeImageFormat createNativeImageFormat(TRaster r) {
         NativeImageFormat fmt = new NativeImageFormat();
-        SampleModel sm = r.getSampleModel();
+        TSampleModel sm = r.getSampleModel();
 
         // Assume that there's no alpha
-        if (sm instanceof ComponentSampleModel) {
-            ComponentSampleModel csm = (ComponentSampleModel) sm;
+        if (sm instanceof TComponentSampleModel) {
+            TComponentSampleModel csm = (TComponentSampleModel) sm;
             fmt.cmmFormat = getFormatFromComponentModel(csm, false);
             fmt.scanlineStride = calculateScanlineStrideCSM(csm, r);
-        } else if (sm instanceof SinglePixelPackedSampleModel) {
-            SinglePixelPackedSampleModel sppsm = (SinglePixelPackedSampleModel) sm;
+        } else if (sm instanceof TSinglePixelPackedSampleModel) {
+            TSinglePixelPackedSampleModel sppsm = (TSinglePixelPackedSampleModel) sm;
             fmt.cmmFormat = getFormatFromSPPSampleModel(sppsm, false);
             fmt.scanlineStride = calculateScanlineStrideSPPSM(sppsm, r);
         }
@@ -351,7 +342,7 @@ class NativeImageFormat {
      * @param hasAlpha - true if there's an alpha channel
      * @return LCMS format
      */
-    private static int getFormatFromComponentModel(ComponentSampleModel sm, boolean hasAlpha) {
+    private static int getFormatFromComponentModel(TComponentSampleModel sm, boolean hasAlpha) {
         // Multiple data arrays (banks) not supported
         int bankIndex = sm.getBankIndices()[0];
         for (int i=1; i < sm.getNumBands(); i++) {
@@ -364,15 +355,11 @@ class NativeImageFormat {
         int extra = hasAlpha ? 1 : 0;
         int bytes = 1;
         switch (sm.getDataType()) {
-            case DataBuffer.TYPE_BYTE:
+            case TDataBuffer.TYPE_BYTE:
                 bytes = 1; break;
-            case DataBuffer.TYPE_SHORT:
-            case DataBuffer.TYPE_USHORT:
+            case TDataBuffer.TYPE_SHORT:
+            case TDataBuffer.TYPE_USHORT:
                 bytes = 2; break;
-            case DataBuffer.TYPE_INT:
-                bytes = 4; break;
-            case DataBuffer.TYPE_DOUBLE:
-                bytes = 0; break;
             default:
                 return 0; // Unsupported data type
         }
@@ -449,7 +436,7 @@ class NativeImageFormat {
      * @param hasAlpha - true if there's an alpha channel
      * @return LCMS format
      */
-    private static int getFormatFromSPPSampleModel(SinglePixelPackedSampleModel sm,
+    private static int getFormatFromSPPSampleModel(TSinglePixelPackedSampleModel sm,
             boolean hasAlpha) {
         // Can we extract bytes?
         int mask = sm.getBitMasks()[0] >>> sm.getBitOffsets()[0];
@@ -464,9 +451,9 @@ class NativeImageFormat {
 
         int pixelSize = 0;
         // Check if data type is supported
-        if (sm.getDataType() == DataBuffer.TYPE_USHORT)
+        if (sm.getDataType() == TDataBuffer.TYPE_USHORT)
             pixelSize = 2;
-        else if (sm.getDataType() == DataBuffer.TYPE_INT)
+        else if (sm.getDataType() == TDataBuffer.TYPE_INT)
             pixelSize = 4;
         else
             return 0;
@@ -480,10 +467,7 @@ class NativeImageFormat {
             case 0xFFFF:
                 bytes = 2;
                 break;
-            case 0xFFFFFFFF:
-                bytes = 4;
-                break;
-            default: return 0;
+            default: return 0; // 32 bit samples are not supported
         }
 
 
@@ -575,11 +559,11 @@ class NativeImageFormat {
     }
 
     /**
-     * Obtains data array from the DataBuffer object
+     * Obtains data array from the TDataBuffer object
      * @param db - data buffer
      * @return - true if successful
      */
-    private boolean setImageData(DataBuffer db) {
+    private boolean setImageData(TDataBuffer db) {
         AwtImageBackdoorAccessor dbAccess = AwtImageBackdoorAccessor.getInstance();
         try {
             imageData = dbAccess.getData(db);
@@ -596,9 +580,9 @@ class NativeImageFormat {
      * @param r - raster
      * @return scanline stride in bytes
      */
-    private static int calculateScanlineStrideCSM(ComponentSampleModel csm, Raster r) {
+    private static int calculateScanlineStrideCSM(TComponentSampleModel csm, TRaster r) {
         if (csm.getScanlineStride() != csm.getPixelStride()*csm.getWidth()) {
-            int dataTypeSize = DataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
+            int dataTypeSize = TDataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
             return csm.getScanlineStride()*dataTypeSize;
         }
         return -1;
@@ -610,9 +594,9 @@ class NativeImageFormat {
      * @param r - raster
      * @return scanline stride in bytes
      */
-    private static int calculateScanlineStrideSPPSM(SinglePixelPackedSampleModel sppsm, Raster r) {
+    private static int calculateScanlineStrideSPPSM(TSinglePixelPackedSampleModel sppsm, TRaster r) {
         if (sppsm.getScanlineStride() != sppsm.getWidth()) {
-            int dataTypeSize = DataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
+            int dataTypeSize = TDataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
             return sppsm.getScanlineStride()*dataTypeSize;
         }
         return -1;
@@ -624,15 +608,15 @@ class NativeImageFormat {
      * @param r - raster
      * @return byte offset of the alpha channel
      */
-    private static int calculateAlphaOffset(SampleModel sm, Raster r) {
-        if (sm instanceof ComponentSampleModel) {
-            ComponentSampleModel csm = (ComponentSampleModel) sm;
+    private static int calculateAlphaOffset(TSampleModel sm, TRaster r) {
+        if (sm instanceof TComponentSampleModel) {
+            TComponentSampleModel csm = (TComponentSampleModel) sm;
             int dataTypeSize =
-                DataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
+                TDataBuffer.getDataTypeSize(r.getDataBuffer().getDataType()) / 8;
             return
                 csm.getBandOffsets()[csm.getBandOffsets().length - 1] * dataTypeSize;
-        } else if (sm instanceof SinglePixelPackedSampleModel) {
-            SinglePixelPackedSampleModel sppsm = (SinglePixelPackedSampleModel) sm;
+        } else if (sm instanceof TSinglePixelPackedSampleModel) {
+            TSinglePixelPackedSampleModel sppsm = (TSinglePixelPackedSampleModel) sm;
             return sppsm.getBitOffsets()[sppsm.getBitOffsets().length - 1] / 8;
         } else {
             return -1; // No offset, don't copy alpha
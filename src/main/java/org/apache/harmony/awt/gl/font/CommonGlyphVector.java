@@ -190,12 +190,17 @@ public class CommonGlyphVector extends GlyphVector {
     void setDefaultPositions(){
         int len = getNumGlyphs();
 
+        boolean kerning = peer.hasKerning();
+
         // First [x,y] is set into [0,0] position
         // for this reason start index is 1
         for (int i=1; i <= len; i++ ){
                 int idx = i << 1;
                 float advanceX = vector[i-1].getGlyphPointMetrics().getAdvanceX();
                 float advanceY = vector[i-1].getGlyphPointMetrics().getAdvanceY();
+                if (kerning && i < len) {
+                    advanceX += peer.getKerning(vector[i-1].getGlyphCode(), vector[i].getGlyphCode());
+                }
 
                 defaultPositions[idx] = defaultPositions[idx-2] + advanceX;
                 defaultPositions[idx+1] = defaultPositions[idx-1] + advanceY;
@@ -444,17 +444,6 @@ public class CompositeFont extends FontPeerImpl{
         return charWidth((char)ind);
     }
 
-    /**
-     * Returns width of the specified char.
-     * 
-     * @param c specified character 
-     */
-    @Override
-    public int charWidth(char c){
-        Glyph gl = this.getGlyph(c);
-        return (int)gl.getGlyphPointMetrics().getAdvanceX();
-    }
-
     /**
      * Returns debug information about this class.
      */
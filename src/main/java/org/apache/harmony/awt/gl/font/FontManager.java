@@ -37,6 +37,7 @@ import java.util.Vector;
 
 import org.apache.harmony.awt.gl.CommonGraphics2DFactory;
 import org.apache.harmony.awt.gl.font.fontlib.FLFontManager;
+import org.apache.harmony.awt.gl.font.truetype.TTFontManager;
 import org.apache.harmony.awt.Utils;
 
 public abstract class FontManager {
@@ -48,7 +49,7 @@ public abstract class FontManager {
     public static final boolean IS_FONTLIB  = "true".equals(Utils.getSystemProperty("java.awt.fontlib")) || GraphicsEnvironment.isHeadless();    
     
     /**
-     * array of font families names
+     * array of font families names, filled on the first use
      */
     public String[] allFamilies;
 
@@ -207,7 +208,6 @@ public abstract class FontManager {
 
     public FontManager() {
         if (!IS_FONTLIB) {
-            allFamilies = getAllFamilies();
             /*
              * Creating and registering shutdown hook to free resources
              * before object is destroyed.
@@ -249,7 +249,9 @@ public abstract class FontManager {
     private static FontManager inst = 
         IS_FONTLIB ? 
             new FLFontManager() : 
-                CommonGraphics2DFactory.inst.getFontManager();
+                CommonGraphics2DFactory.inst != null ?
+                    CommonGraphics2DFactory.inst.getFontManager() :
+                        new TTFontManager();
 
 
     /**
@@ -305,9 +307,15 @@ public abstract class FontManager {
         if (peer == null) {
             peer = createFontPeer(name, fontStyle, size, logicalIndex);
             if (peer == null){
+                if (DIALOG_NAME.equalsIgnoreCase(getFamilyFromLogicalFace(name))) {
+                    // no font at all
+                    return null;
+                }
                 peer = getFontPeer(DIALOG_NAME, fontStyle, size);
             }
-            fontsTable.put(key, new HashMapReference(key, peer, queue));
+            if (peer != null) {
+                fontsTable.put(key, new HashMapReference(key, peer, queue));
+            }
         }
 
         return peer;
@@ -350,14 +358,14 @@ public abstract class FontManager {
             
     /**
      * Returns new logical font peer for the parameters specified using font 
-     * properties.
+     * properties or null if there is no font to use.
      * 
      * @param faceName face name of the logical font 
      * @param style style of the font 
      * @param size font size
      * 
      */
-    private FontPeer createLogicalFontPeer(String faceName, int style, int size){
+    protected FontPeer createLogicalFontPeer(String faceName, int style, int size){
         String family = getFamilyFromLogicalFace(faceName);
         FontProperty[] fps = getFontProperties(family.toLowerCase() + "." + style); //$NON-NLS-1$
         if (fps != null){
@@ -378,12 +386,18 @@ public abstract class FontManager {
 
                 if (physicalFonts[i] == null){
                     physicalFonts[i] = (FontPeerImpl)createPhysicalFontPeer(name, fpStyle, size);
-                    fontsTable.put(key, new HashMapReference(key, physicalFonts[i], queue));
+                    if (physicalFonts[i] != null){
+                        fontsTable.put(key, new HashMapReference(key, physicalFonts[i], queue));
+                    }
                 }
 
                 if (physicalFonts[i] == null){
                     physicalFonts[i] = (FontPeerImpl)getDefaultFont(style, size);
                 }
+
+                if (physicalFonts[i] == null){
+                    return null;
+                }
             }
             return new CompositeFont(family, faceName, style, size, fps, physicalFonts); 
         }
@@ -409,7 +423,7 @@ public abstract class FontManager {
     /**
      * Returns default font peer class with "Default" name that is usually 
      * used when font with specified font names and style doesn't exsist 
-     * on a system. 
+     * on a system, or null if there are no fonts on the system. 
      * 
      * @param style style of the font
      * @param size size of the font
@@ -428,6 +442,9 @@ public abstract class FontManager {
 
         if (peer == null) {
             peer = createDefaultFont(style, size);
+            if (peer == null) {
+                return null;
+            }
             
             ((FontPeerImpl)peer).setFamily(DEFAULT_NAME);
             ((FontPeerImpl)peer).setPSName(DEFAULT_NAME);
@@ -768,6 +785,7 @@ public abstract class FontManager {
      * @param familyName specified font family name 
      */
     public int getFamilyIndex(String familyName){
+        String[] allFamilies = getFamilies();
         for (int i=0; i<allFamilies.length; i++ ){
             if (familyName.equalsIgnoreCase(allFamilies[i])){
                 return i;
@@ -783,7 +801,18 @@ public abstract class FontManager {
      * @param index index of the family in families names array 
      */
     public String getFamily(int index){
-        return allFamilies[index];
+        return getFamilies()[index];
+    }
+
+    /**
+     * Returns the family names, listing the families may read all the
+     * font files, so it is done when the names are needed.
+     */
+    private synchronized String[] getFamilies() {
+        if (allFamilies == null) {
+            allFamilies = getAllFamilies();
+        }
+        return allFamilies;
     }
     /**
      * Returns index of face name from the array of face names available in 
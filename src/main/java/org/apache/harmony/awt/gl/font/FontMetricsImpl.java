@@ -49,9 +49,6 @@ public class FontMetricsImpl extends FontMetrics  {
     // maximum advance of the font
     private int maxAdvance;
     
-    // array of char advance widths
-    private int[] widths = new int[256];
-    
     // font peer corresponding to this FontPeerImpl 
     private transient FontPeerImpl peer;
     
@@ -119,9 +116,9 @@ public class FontMetricsImpl extends FontMetrics  {
      */
     @Override
     public int charWidth(int ch) {
-//        if (ch < 256){
-//            return widths[ch];
-//        }
+        if (ch <= Character.MAX_VALUE) {
+            return charWidth((char)ch);
+        }
 
         return getFontPeer().charWidth((char)ch);
     }
@@ -136,11 +133,7 @@ public class FontMetricsImpl extends FontMetrics  {
      */
     @Override
     public int charWidth(char ch) {
-//        if (ch < 256){
-//            return widths[ch];
-//        }
-
-        return (int)(getFontPeer().charWidth(ch)*scaleX);
+        return (int)(getFontPeer().getCharAdvance(ch)*scaleX);
     }
 
     /**
@@ -186,11 +179,12 @@ public class FontMetricsImpl extends FontMetrics  {
      */
     @Override
     public int[] getWidths() {
-        this.widths = new int[256];
+        FontPeerImpl fp = getFontPeer();
+        int[] w = new int[256];
         for (int chr=0; chr < 256; chr++){
-            widths[chr] = (int)(getFontPeer().charWidth((char)chr)*scaleX);
+            w[chr] = (int)(fp.getCharAdvance((char)chr)*scaleX);
         }
-        return this.widths;
+        return w;
     }
 
     /**
@@ -203,17 +197,21 @@ public class FontMetricsImpl extends FontMetrics  {
      */
     @Override
     public int stringWidth(String str) {
-        int width = 0;
-        char chr;
-
-        for (int i = 0; i < str.length(); i++){
-            chr = str.charAt(i);
-            width += charWidth(chr);
-        }
-
-        return width;
-
+        return (int)(getFontPeer().getStringAdvance(str)*scaleX + 0.5f);
+    }
 
+    /**
+     * Returns the total advance width of the specified chars in the metrics
+     * of the Font describing this FontMetricsImpl object.
+     * 
+     * @param data the array of chars
+     * @param off the index of the first char
+     * @param len the number of chars to be measured
+     * @return the total advance width of the chars
+     */
+    @Override
+    public int charsWidth(char[] data, int off, int len) {
+        return (int)(getFontPeer().getCharsAdvance(data, off, len)*scaleX + 0.5f);
     }
     
     /**
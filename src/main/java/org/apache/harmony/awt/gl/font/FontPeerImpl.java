@@ -26,6 +26,7 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.peer.FontPeer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Locale;
 
 import org.apache.harmony.awt.internal.nls.Messages;
@@ -116,6 +117,9 @@ public abstract class FontPeerImpl implements FontPeer{
     // cached FontExtraMetrics object related to this font peer
     FontExtraMetrics extraMetrix = null;
 
+    // pages of the char advances, NaN if the advance is not computed yet
+    private final float[][] advancePages = new float[256][];
+
     public abstract FontExtraMetrics getExtraMetrics();
     
     /**
@@ -239,8 +243,104 @@ public abstract class FontPeerImpl implements FontPeer{
      * @return the advance width of the specified char of this FontPeerImpl
      */
     public int charWidth(char ch) {
-        Glyph gl = this.getGlyph(ch);
-        return (int)gl.getGlyphPointMetrics().getAdvanceX();
+        return (int)getCharAdvance(ch);
+    }
+
+    /**
+     * Returns the advance of the specified char in pixels from the 
+     * advance pages of this FontPeerImpl. The advances of 256 chars 
+     * are kept in one page, the pages are created on demand and 
+     * each advance is computed on the first use.
+     * 
+     * @param ch the char which advance is to be returned
+     */
+    public float getCharAdvance(char ch) {
+        float[] page = advancePages[ch >>> 8];
+        float adv;
+        if (page == null || (adv = page[ch & 0xFF]) != adv) {
+            adv = loadCharAdvance(ch);
+        }
+        return adv;
+    }
+
+    private float loadCharAdvance(char ch) {
+        float[] page = advancePages[ch >>> 8];
+        if (page == null) {
+            page = new float[256];
+            Arrays.fill(page, Float.NaN);
+            advancePages[ch >>> 8] = page;
+        }
+        float adv = computeCharAdvance(ch);
+        page[ch & 0xFF] = adv;
+        return adv;
+    }
+
+    /**
+     * Computes the advance of the specified char in pixels, it is the 
+     * advance used for the glyph positions. Font peers that can read 
+     * the advances without creating the glyphs should override it.
+     * 
+     * @param ch the specified char
+     */
+    protected float computeCharAdvance(char ch) {
+        return this.getGlyph(ch).getGlyphPointMetrics().getAdvanceX();
+    }
+
+    /**
+     * Returns glyph code of the specified char, it is used for 
+     * the kerning pairs.
+     * 
+     * @param ch the specified char
+     */
+    public int getGlyphCode(char ch) {
+        return this.getGlyph(ch).getGlyphCode();
+    }
+
+    /**
+     * Returns the total advance of the chars in pixels, kerning is 
+     * applied if this FontPeerImpl has kerning pairs.
+     * 
+     * @param chars the array of chars
+     * @param off the index of the first char
+     * @param len the number of chars
+     */
+    public float getCharsAdvance(char[] chars, int off, int len) {
+        float width = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            width += getCharAdvance(chars[i]);
+        }
+        if (len > 1 && hasKerning()) {
+            int left = getGlyphCode(chars[off]);
+            for (int i = off + 1, end = off + len; i < end; i++) {
+                int right = getGlyphCode(chars[i]);
+                width += getKerning(left, right);
+                left = right;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Returns the total advance of the string in pixels, kerning is 
+     * applied if this FontPeerImpl has kerning pairs.
+     * 
+     * @param str the specified string
+     */
+    public float getStringAdvance(String str) {
+        int len = str.length();
+        float width = 0;
+        for (int i = 0; i < len; i++) {
+            width += getCharAdvance(str.charAt(i));
+        }
+        if (len > 1 && hasKerning()) {
+            int left = getGlyphCode(str.charAt(0));
+            for (int i = 1; i < len; i++) {
+                int right = getGlyphCode(str.charAt(i));
+                width += getKerning(left, right);
+                left = right;
+            }
+        }
+        return width;
     }
 
     /**
@@ -472,6 +572,26 @@ public abstract class FontPeerImpl implements FontPeer{
         return 0;
     }
 
+    /**
+     * Returns true if this font peer has kerning pairs. Default 
+     * value is false, method must be overridden by the font peers 
+     * that support kerning.
+     */
+    public boolean hasKerning() {
+        return false;
+    }
+
+    /**
+     * Returns the adjustment of the advance of the first glyph 
+     * of the pair in pixels.
+     * 
+     * @param leftGlyph glyph code of the first glyph
+     * @param rightGlyph glyph code of the second glyph
+     */
+    public float getKerning(int leftGlyph, int rightGlyph) {
+        return 0;
+    }
+
     @Override
     protected void finalize() throws Throwable {
       super.finalize();
@@ -36,7 +36,7 @@ public abstract class Glyph{
     protected GlyphMetrics glPointMetrics;
     
     //  glyph code of this Glyph
-    int glCode;
+    protected int glCode;
     
     // justification info of this glyph
     GlyphJustificationInfo glJustInfo;
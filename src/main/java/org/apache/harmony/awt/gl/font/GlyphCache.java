@@ -0,0 +1,438 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.teavm.classlib.java.awt.TRectangle;
+import org.teavm.classlib.java.awt.TShape;
+import org.teavm.classlib.java.awt.geom.TRectangle2D;
+
+import org.apache.harmony.awt.Utils;
+import org.apache.harmony.awt.gl.render.JavaAAShapeRasterizer;
+
+/**
+ * Cache of rasterized glyph masks. The masks are 8-bit coverage packed
+ * into shared atlas pages of PAGE_SIZE x PAGE_SIZE pixels, the glyphs are
+ * placed on the shelves of the page. Each glyph is identified by its font,
+ * glyph code, size, antialiasing mode and horizontal subpixel offset.
+ * <p>
+ * The total size of the pages is limited by the memory budget, when the
+ * budget is exceeded the least recently used page is evicted with all of
+ * its glyphs and its memory is reused for the new glyphs. The empty
+ * glyphs take no place but belong to the newest page, so they are evicted
+ * with it.
+ * <p>
+ * The entries point to the page memory which may be reused after the
+ * eviction, so the callers must hold the monitor of the cache while they
+ * read the masks:
+ * <pre>
+ * synchronized (cache) {
+ *     GlyphCache.Entry e = cache.get(font, code, size, aa, subpixel);
+ *     if (e == null) {
+ *         e = cache.put(font, code, size, aa, subpixel, outline);
+ *     }
+ *     ...
+ * }
+ * </pre>
+ */
+public final class GlyphCache {
+
+    /**
+     * The number of horizontal subpixel positions of the glyphs
+     */
+    public static final int SUBPIXEL_STEPS = 4;
+
+    /**
+     * The width and height of the atlas pages
+     */
+    public static final int PAGE_SIZE = 256;
+
+    static final int DEFAULT_BUDGET = 16 * PAGE_SIZE * PAGE_SIZE;
+
+    private static final GlyphCache instance = new GlyphCache(getDefaultBudget());
+
+    /**
+     * The cached glyph mask. The coverage of the pixel (i, j) of the mask
+     * is data[(y + j) * PAGE_SIZE + x + i] & 0xff, the upper left pixel of
+     * the mask is at (left, top) relative to the glyph origin.
+     */
+    public static final class Entry {
+        Object font;
+        int glyphCode;
+        float size;
+        boolean antialiased;
+        int subpixel;
+        int hash;
+
+        Page page;
+        public byte[] data;
+        public int x;
+        public int y;
+        public int width;
+        public int height;
+        public int left;
+        public int top;
+
+        Entry() {
+        }
+
+        void set(Object font, int glyphCode, float size, boolean antialiased, int subpixel) {
+            this.font = font;
+            this.glyphCode = glyphCode;
+            this.size = size;
+            this.antialiased = antialiased;
+            this.subpixel = subpixel;
+            int h = System.identityHashCode(font);
+            h = 31 * h + glyphCode;
+            h = 31 * h + Float.floatToIntBits(size);
+            h = 31 * h + subpixel;
+            hash = antialiased ? h : ~h;
+        }
+
+        /**
+         * @return true if the glyph covers no pixels
+         */
+        public boolean isEmpty() {
+            return width == 0 || height == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry e = (Entry) o;
+            return font == e.font && glyphCode == e.glyphCode && size == e.size
+                    && antialiased == e.antialiased && subpixel == e.subpixel;
+        }
+    }
+
+    /**
+     * The atlas page, the glyphs are placed on the horizontal shelves
+     */
+    static final class Page {
+        byte[] data;
+        final ArrayList<Entry> entries = new ArrayList<Entry>();
+        // y, height and first free x of every shelf
+        int[] shelves = new int[24];
+        int shelvesCount;
+        int usedHeight;
+        long lastUsed;
+
+        Page(byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Finds the place for the rectangle w x h and stores it
+         * to the entry
+         * @return false if the page is full
+         */
+        boolean allocate(Entry e, int w, int h) {
+            for (int i = 0; i < shelvesCount; i += 3) {
+                int sh = shelves[i + 1];
+                // Do not waste tall shelves for the small glyphs
+                if (h <= sh && sh <= h + (h >> 1) + 1 && shelves[i + 2] + w <= PAGE_SIZE) {
+                    e.x = shelves[i + 2];
+                    e.y = shelves[i];
+                    shelves[i + 2] += w;
+                    return true;
+                }
+            }
+            if (usedHeight + h > PAGE_SIZE) {
+                return false;
+            }
+            if (shelvesCount + 3 > shelves.length) {
+                int[] tmp = new int[shelves.length * 2];
+                System.arraycopy(shelves, 0, tmp, 0, shelvesCount);
+                shelves = tmp;
+            }
+            shelves[shelvesCount++] = usedHeight;
+            shelves[shelvesCount++] = h;
+            shelves[shelvesCount++] = w;
+            e.x = 0;
+            e.y = usedHeight;
+            usedHeight += h;
+            return true;
+        }
+
+        void reset() {
+            entries.clear();
+            shelvesCount = 0;
+            usedHeight = 0;
+            Arrays.fill(data, (byte) 0);
+        }
+    }
+
+    private final HashMap<Entry, Entry> entries = new HashMap<Entry, Entry>();
+    private final ArrayList<Page> pages = new ArrayList<Page>();
+    private final Entry probe = new Entry();
+    private final JavaAAShapeRasterizer rasterizer = new JavaAAShapeRasterizer();
+    private final TRectangle bounds = new TRectangle();
+
+    private int memoryBudget;
+    private long tick;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    GlyphCache(int memoryBudget) {
+        setMemoryBudget(memoryBudget);
+    }
+
+    /**
+     * Returns the shared cache. Its memory budget in bytes is set by the
+     * "g2d.glyphcache.size" system property.
+     */
+    public static GlyphCache getInstance() {
+        return instance;
+    }
+
+    private static int getDefaultBudget() {
+        String value = Utils.getSystemProperty("g2d.glyphcache.size"); //$NON-NLS-1$
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                // use the default
+            }
+        }
+        return DEFAULT_BUDGET;
+    }
+
+    /**
+     * Sets the maximum memory used by the atlas pages. At least one page
+     * is always kept. The pages above the budget are evicted immediately.
+     * @param bytes the memory budget in bytes
+     */
+    public synchronized void setMemoryBudget(int bytes) {
+        memoryBudget = Math.max(bytes, PAGE_SIZE * PAGE_SIZE);
+        while (pages.size() > getMaxPages()) {
+            evict(leastRecentlyUsed());
+        }
+    }
+
+    public synchronized int getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    private int getMaxPages() {
+        return memoryBudget / (PAGE_SIZE * PAGE_SIZE);
+    }
+
+    /**
+     * Quantizes the fractional part of the x coordinate of the glyph
+     * origin to the subpixel position.
+     * @param fraction the fractional part, 0 <= fraction < 1
+     */
+    public static int getSubpixel(double fraction) {
+        int s = (int) (fraction * SUBPIXEL_STEPS);
+        return s < 0 ? 0 : s >= SUBPIXEL_STEPS ? SUBPIXEL_STEPS - 1 : s;
+    }
+
+    /**
+     * Looks up the glyph mask
+     * @param font the font, compared by the identity, usually the font peer
+     * @param glyphCode the glyph code
+     * @param size the font size
+     * @param antialiased true if the mask has the partial coverage
+     * @param subpixel the subpixel position of the glyph origin
+     * @return the cached entry or null
+     */
+    public synchronized Entry get(Object font, int glyphCode, float size,
+            boolean antialiased, int subpixel) {
+        probe.set(font, glyphCode, size, antialiased, subpixel);
+        Entry e = entries.get(probe);
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (!e.isEmpty()) {
+            e.page.lastUsed = ++tick;
+        }
+        return e;
+    }
+
+    /**
+     * Rasterizes the glyph outline and puts its mask to the cache
+     * @param outline the glyph outline, the glyph origin is at
+     * (subpixel / SUBPIXEL_STEPS, 0)
+     * @return the new entry or null if the glyph is too large to be cached
+     */
+    public synchronized Entry put(Object font, int glyphCode, float size,
+            boolean antialiased, int subpixel, TShape outline) {
+        Entry e = new Entry();
+        e.set(font, glyphCode, size, antialiased, subpixel);
+
+        TRectangle2D b = outline.getBounds2D();
+        int x0 = (int) Math.floor(b.getMinX());
+        int y0 = (int) Math.floor(b.getMinY());
+        int w = (int) Math.ceil(b.getMaxX()) - x0;
+        int h = (int) Math.ceil(b.getMaxY()) - y0;
+        e.left = x0;
+        e.top = y0;
+
+        if (w <= 0 || h <= 0 || b.isEmpty()) {
+            // Not cached until there is a page to evict it with
+            if (!pages.isEmpty()) {
+                e.page = pages.get(pages.size() - 1);
+                e.page.entries.add(e);
+                entries.put(e, e);
+            }
+            return e;
+        }
+        // One pixel gap between the glyphs
+        if (w + 1 > PAGE_SIZE || h + 1 > PAGE_SIZE) {
+            return null;
+        }
+
+        Page page = allocate(e, w + 1, h + 1);
+        e.page = page;
+        e.data = page.data;
+        e.width = w;
+        e.height = h;
+        page.entries.add(e);
+        page.lastUsed = ++tick;
+        entries.put(e, e);
+
+        bounds.setBounds(x0, y0, w, h);
+        if (rasterizer.rasterize(outline, 0.25, bounds)) {
+            byte[] data = page.data;
+            while (rasterizer.nextBand()) {
+                byte[] coverage = rasterizer.getCoverage();
+                int bw = rasterizer.getBandWidth();
+                int bh = rasterizer.getBandHeight();
+                int dx = e.x + rasterizer.getBandX() - x0;
+                int dy = e.y + rasterizer.getBandY() - y0;
+                for (int j = 0; j < bh; j++) {
+                    int pos = (dy + j) * PAGE_SIZE + dx;
+                    if (antialiased) {
+                        System.arraycopy(coverage, j * bw, data, pos, bw);
+                    } else {
+                        for (int i = 0, cpos = j * bw; i < bw; i++, cpos++) {
+                            data[pos + i] = (coverage[cpos] & 0xff) >= 128 ? (byte) 0xff : 0;
+                        }
+                    }
+                }
+            }
+        }
+        return e;
+    }
+
+    private Page allocate(Entry e, int w, int h) {
+        for (int i = pages.size() - 1; i >= 0; i--) {
+            Page p = pages.get(i);
+            if (p.allocate(e, w, h)) {
+                return p;
+            }
+        }
+        Page p;
+        if (pages.size() < getMaxPages()) {
+            p = new Page(new byte[PAGE_SIZE * PAGE_SIZE]);
+        } else {
+            p = leastRecentlyUsed();
+            evict(p);
+        }
+        // The last page is tried first
+        pages.add(p);
+        p.allocate(e, w, h);
+        return p;
+    }
+
+    private Page leastRecentlyUsed() {
+        Page lru = pages.get(0);
+        for (int i = 1; i < pages.size(); i++) {
+            Page p = pages.get(i);
+            if (p.lastUsed < lru.lastUsed) {
+                lru = p;
+            }
+        }
+        return lru;
+    }
+
+    private void evict(Page p) {
+        ArrayList<Entry> list = p.entries;
+        for (int i = 0; i < list.size(); i++) {
+            entries.remove(list.get(i));
+        }
+        evictions += list.size();
+        p.reset();
+        pages.remove(p);
+    }
+
+    /**
+     * Removes all glyphs of the font, used when the font is disposed
+     */
+    public synchronized void removeFont(Object font) {
+        for (int i = 0; i < pages.size(); i++) {
+            ArrayList<Entry> list = pages.get(i).entries;
+            for (int j = list.size() - 1; j >= 0; j--) {
+                if (list.get(j).font == font) {
+                    entries.remove(list.remove(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all glyphs and releases the pages
+     */
+    public synchronized void clear() {
+        entries.clear();
+        pages.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of glyphs evicted from the cache
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of glyphs in the cache
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    public synchronized void resetCounters() {
+        hits = misses = evictions = 0;
+    }
+}
@@ -26,12 +26,12 @@ import org.apache.harmony.awt.gl.font.FontExtraMetrics;
 import org.apache.harmony.awt.gl.font.FontManager;
 import org.apache.harmony.awt.gl.font.FontPeerImpl;
 import org.apache.harmony.awt.gl.font.Glyph;
+import org.apache.harmony.awt.gl.font.GlyphCache;
 import org.apache.harmony.awt.gl.font.LineMetricsImpl;
 
 final public class FLFontPeer extends FontPeerImpl {
     private static final boolean USE_CONSTANT_METRICS = false;
     private static final Hashtable<String, FontPeerNativeHandler> handlersTable = new Hashtable<String, FontPeerNativeHandler>();
-    private static final Hashtable<Integer, FLGlyph> glyphTable = new Hashtable<Integer, FLGlyph>();
     
     private static long getHandler(String name, int style) {
         String hash = name.concat(String.valueOf(style));
@@ -96,6 +96,9 @@ final public class FLFontPeer extends FontPeerImpl {
     private int missingGlyphCode = -1;
     
     private Glyph defGlyph;
+    
+    // glyphs of this peer, their masks are kept by the GlyphCache
+    private final Hashtable<Character, FLGlyph> glyphTable = new Hashtable<Character, FLGlyph>();
 
     public FLFontPeer(String name, int style, int size) {
         super();
@@ -254,20 +257,24 @@ final public class FLFontPeer extends FontPeerImpl {
 
     @Override
     public Glyph getGlyph(char ch) {
-        Integer id = new Integer((size << 8) + ch); 
+        Character id = Character.valueOf(ch);
         
-        if (!glyphTable.containsKey(id)) {
-            //System.out.println("size = " + size + ", char " + ch + ", id = " + id);
-            glyphTable.put(id, new FLGlyph(ch, pFont, size));
+        FLGlyph glyph = glyphTable.get(id);
+        if (glyph == null) {
+            glyph = new FLGlyph(ch, pFont, size);
+            glyphTable.put(id, glyph);
         }
         
-        return glyphTable.get(id);
+        return glyph;
     }
 
     @Override
     public void dispose() {
         ((FLFontManager) FontManager.getInstance()).removeFontFromHash(this);
         
+        glyphTable.clear();
+        GlyphCache.getInstance().removeFont(this);
+        
         //System.out.println("dispose " + pFont);
         
         releaseHandler(name, style);
@@ -0,0 +1,685 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The glyph outlines of the CFF table of the OpenType font. Only the
+ * offsets of the INDEX structures are parsed, the Type 2 charstrings
+ * are interpreted when the outline of the glyph is requested.
+ */
+final class CFFCharStrings {
+
+    // the maximum nesting of the subroutine calls
+    private static final int MAX_CALLS = 10;
+
+    private final ByteBuffer data;
+
+    private int[] charStrings;
+    private int[] globalSubrs;
+    private int[] localSubrs;
+
+    // CID-keyed fonts: the local subroutines of every font dict
+    private int[][] fdSubrs;
+    private int fdSelect = -1;
+
+    // the font matrix scale, usually 1 / 1000
+    private float fontScale = 0.001f;
+    private boolean hasFontMatrix;
+
+    // interpreter state
+    private final float[] stack = new float[48];
+    private final float[] transientArray = new float[32];
+    private int sp;
+    private int stems;
+    private boolean widthParsed;
+    private boolean open;
+    private float x, y;
+    private float scale;
+    private TTFontFile.OutlineSink sink;
+
+    CFFCharStrings(ByteBuffer data, int offset) {
+        this.data = data;
+        int hdrSize = getUByte(offset + 2);
+        int nameIndex = offset + hdrSize;
+        int topDictIndex = skipIndex(nameIndex);
+        int stringIndex = skipIndex(topDictIndex);
+        int globalSubrIndex = skipIndex(stringIndex);
+        globalSubrs = readIndex(globalSubrIndex);
+
+        int[] topDicts = readIndex(topDictIndex);
+        if (topDicts.length < 2) {
+            charStrings = new int[1];
+            return;
+        }
+        int[] top = new int[8];
+        float[] matrix = new float[6];
+        parseTopDict(topDicts[0], topDicts[1], top, matrix);
+        if (hasFontMatrix) {
+            fontScale = matrix[0];
+        }
+
+        charStrings = top[0] > 0 ? readIndex(offset + top[0]) : new int[1];
+        if (top[1] > 0) {
+            localSubrs = readPrivateSubrs(offset, top[1], top[2]);
+        }
+        if (top[3] > 0) {
+            // CID-keyed font
+            int[] fdArray = readIndex(offset + top[3]);
+            fdSubrs = new int[fdArray.length - 1][];
+            for (int i = 0; i + 1 < fdArray.length; i++) {
+                int[] fd = new int[8];
+                parseTopDict(fdArray[i], fdArray[i + 1], fd, matrix);
+                if (fd[1] > 0) {
+                    fdSubrs[i] = readPrivateSubrs(offset, fd[1], fd[2]);
+                }
+            }
+            if (top[4] > 0) {
+                fdSelect = offset + top[4];
+            }
+        }
+    }
+
+    private int getUByte(int pos) {
+        return data.get(pos) & 0xff;
+    }
+
+    private int getUShort(int pos) {
+        return data.getShort(pos) & 0xffff;
+    }
+
+    private int getOffset(int pos, int size) {
+        int v = 0;
+        for (int i = 0; i < size; i++) {
+            v = v << 8 | getUByte(pos + i);
+        }
+        return v;
+    }
+
+    /**
+     * @return the position after the INDEX
+     */
+    private int skipIndex(int pos) {
+        int count = getUShort(pos);
+        if (count == 0) {
+            return pos + 2;
+        }
+        int offSize = getUByte(pos + 2);
+        int last = getOffset(pos + 3 + count * offSize, offSize);
+        return pos + 3 + (count + 1) * offSize + last - 1;
+    }
+
+    /**
+     * Reads the INDEX
+     * @return count + 1 absolute offsets of the objects
+     */
+    private int[] readIndex(int pos) {
+        int count = getUShort(pos);
+        if (count == 0) {
+            return new int[1];
+        }
+        int offSize = getUByte(pos + 2);
+        int base = pos + 3 + (count + 1) * offSize - 1;
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            offsets[i] = base + getOffset(pos + 3 + i * offSize, offSize);
+        }
+        return offsets;
+    }
+
+    private int[] readPrivateSubrs(int cff, int size, int offset) {
+        int[] priv = new int[8];
+        float[] matrix = new float[6];
+        parseTopDict(cff + offset, cff + offset + size, priv, matrix);
+        // Subrs offset is relative to the private dict
+        return priv[5] > 0 ? readIndex(cff + offset + priv[5]) : null;
+    }
+
+    /**
+     * Parses the operators of the DICT used here:
+     * result[0] CharStrings, result[1..2] Private size and offset,
+     * result[3] FDArray, result[4] FDSelect, result[5] Subrs
+     */
+    private void parseTopDict(int pos, int end, int[] result, float[] matrix) {
+        float[] operands = new float[48];
+        int n = 0;
+        while (pos < end) {
+            int b0 = getUByte(pos);
+            if (b0 <= 21) {
+                int op = b0;
+                pos++;
+                if (b0 == 12) {
+                    op = 1200 + getUByte(pos++);
+                }
+                switch (op) {
+                    case 17:
+                        result[0] = (int) operands[0];
+                        break;
+                    case 18:
+                        result[1] = (int) operands[0];
+                        result[2] = (int) operands[1];
+                        break;
+                    case 19:
+                        result[5] = (int) operands[0];
+                        break;
+                    case 1207:
+                        for (int i = 0; i < 6 && i < n; i++) {
+                            matrix[i] = operands[i];
+                        }
+                        hasFontMatrix = matrix[0] != 0;
+                        break;
+                    case 1236:
+                        result[3] = (int) operands[0];
+                        break;
+                    case 1237:
+                        result[4] = (int) operands[0];
+                        break;
+                }
+                n = 0;
+                continue;
+            }
+            float v;
+            if (b0 == 28) {
+                v = data.getShort(pos + 1);
+                pos += 3;
+            } else if (b0 == 29) {
+                v = data.getInt(pos + 1);
+                pos += 5;
+            } else if (b0 == 30) {
+                pos = parseReal(pos + 1, operands, n < operands.length ? n : n - 1);
+                n = Math.min(n + 1, operands.length);
+                continue;
+            } else if (b0 >= 32 && b0 <= 246) {
+                v = b0 - 139;
+                pos++;
+            } else if (b0 >= 247 && b0 <= 250) {
+                v = (b0 - 247) * 256 + getUByte(pos + 1) + 108;
+                pos += 2;
+            } else if (b0 >= 251 && b0 <= 254) {
+                v = -(b0 - 251) * 256 - getUByte(pos + 1) - 108;
+                pos += 2;
+            } else {
+                // Reserved
+                pos++;
+                continue;
+            }
+            if (n < operands.length) {
+                operands[n++] = v;
+            }
+        }
+    }
+
+    /**
+     * Parses the real number encoded in nibbles
+     * @return the position after the number
+     */
+    private int parseReal(int pos, float[] operands, int n) {
+        StringBuilder sb = new StringBuilder();
+        boolean done = false;
+        while (!done) {
+            int b = getUByte(pos++);
+            for (int shift = 4; shift >= 0; shift -= 4) {
+                int nibble = (b >> shift) & 0xf;
+                if (nibble <= 9) {
+                    sb.append((char) ('0' + nibble));
+                } else if (nibble == 0xa) {
+                    sb.append('.');
+                } else if (nibble == 0xb) {
+                    sb.append('E');
+                } else if (nibble == 0xc) {
+                    sb.append("E-"); //$NON-NLS-1$
+                } else if (nibble == 0xe) {
+                    sb.append('-');
+                } else if (nibble == 0xf) {
+                    done = true;
+                    break;
+                }
+            }
+        }
+        try {
+            operands[n] = Float.parseFloat(sb.toString());
+        } catch (NumberFormatException e) {
+            operands[n] = 0;
+        }
+        return pos;
+    }
+
+    private int getFD(int gid) {
+        int format = getUByte(fdSelect);
+        if (format == 0) {
+            return getUByte(fdSelect + 1 + gid);
+        } else if (format == 3) {
+            int count = getUShort(fdSelect + 1);
+            for (int i = 0; i < count; i++) {
+                int rec = fdSelect + 3 + 3 * i;
+                if (gid < getUShort(rec + 3)) {
+                    return gid >= getUShort(rec) ? getUByte(rec + 2) : 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static int getBias(int[] subrs) {
+        int count = subrs == null ? 0 : subrs.length - 1;
+        return count < 1240 ? 107 : count < 33900 ? 1131 : 32768;
+    }
+
+    /**
+     * Interprets the charstring of the glyph
+     */
+    synchronized void getOutline(int gid, TTFontFile.OutlineSink sink, float size) {
+        if (gid + 1 >= charStrings.length) {
+            return;
+        }
+        int[] subrs = localSubrs;
+        if (fdSubrs != null && fdSelect >= 0) {
+            int fd = getFD(gid);
+            subrs = fd < fdSubrs.length ? fdSubrs[fd] : null;
+        }
+        this.sink = sink;
+        // The size is in em, the charstring in the font units
+        this.scale = size * fontScale;
+        sp = 0;
+        stems = 0;
+        widthParsed = false;
+        open = false;
+        x = y = 0;
+        try {
+            run(charStrings[gid], charStrings[gid + 1], subrs, 0);
+        } catch (IndexOutOfBoundsException e) {
+            // Bad charstring, the outline is truncated
+        }
+        if (open) {
+            sink.closePath();
+        }
+        this.sink = null;
+    }
+
+    private void moveTo(float dx, float dy) {
+        if (open) {
+            sink.closePath();
+        }
+        x += dx;
+        y += dy;
+        sink.moveTo(x * scale, -y * scale);
+        open = true;
+    }
+
+    private void lineTo(float dx, float dy) {
+        x += dx;
+        y += dy;
+        sink.lineTo(x * scale, -y * scale);
+    }
+
+    private void curveTo(float dx1, float dy1, float dx2, float dy2, float dx3, float dy3) {
+        float x1 = x + dx1, y1 = y + dy1;
+        float x2 = x1 + dx2, y2 = y1 + dy2;
+        x = x2 + dx3;
+        y = y2 + dy3;
+        sink.curveTo(x1 * scale, -y1 * scale, x2 * scale, -y2 * scale, x * scale, -y * scale);
+    }
+
+    /**
+     * The first stack clearing operator may have the advance width as
+     * the extra first argument
+     * @param odd true if the width makes the number of arguments odd
+     * @return the index of the first argument
+     */
+    private int skipWidth(boolean odd) {
+        if (!widthParsed) {
+            widthParsed = true;
+            if (odd == ((sp & 1) != 0)) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return true if endchar was reached
+     */
+    private boolean run(int pos, int end, int[] subrs, int depth) {
+        float[] s = stack;
+        while (pos < end) {
+            int b0 = data.get(pos++) & 0xff;
+            if (b0 >= 32 || b0 == 28) {
+                float v;
+                if (b0 == 28) {
+                    v = data.getShort(pos);
+                    pos += 2;
+                } else if (b0 <= 246) {
+                    v = b0 - 139;
+                } else if (b0 <= 250) {
+                    v = (b0 - 247) * 256 + (data.get(pos++) & 0xff) + 108;
+                } else if (b0 <= 254) {
+                    v = -(b0 - 251) * 256 - (data.get(pos++) & 0xff) - 108;
+                } else {
+                    v = data.getInt(pos) / 65536f;
+                    pos += 4;
+                }
+                if (sp < s.length) {
+                    s[sp++] = v;
+                }
+                continue;
+            }
+
+            int i;
+            switch (b0) {
+                case 1:  // hstem
+                case 3:  // vstem
+                case 18: // hstemhm
+                case 23: // vstemhm
+                    i = skipWidth(true);
+                    stems += (sp - i) / 2;
+                    sp = 0;
+                    break;
+                case 19: // hintmask
+                case 20: // cntrmask
+                    // The arguments are the implicit vstem
+                    i = skipWidth(true);
+                    stems += (sp - i) / 2;
+                    sp = 0;
+                    pos += (stems + 7) / 8;
+                    break;
+                case 21: // rmoveto
+                    i = skipWidth(true);
+                    moveTo(s[i], s[i + 1]);
+                    sp = 0;
+                    break;
+                case 22: // hmoveto
+                    i = skipWidth(false);
+                    moveTo(s[i], 0);
+                    sp = 0;
+                    break;
+                case 4:  // vmoveto
+                    i = skipWidth(false);
+                    moveTo(0, s[i]);
+                    sp = 0;
+                    break;
+                case 5:  // rlineto
+                    for (i = 0; i + 1 < sp; i += 2) {
+                        lineTo(s[i], s[i + 1]);
+                    }
+                    sp = 0;
+                    break;
+                case 6:  // hlineto
+                case 7:  // vlineto
+                    for (i = 0; i < sp; i++) {
+                        if (((b0 == 6) ? i & 1 : ~i & 1) == 0) {
+                            lineTo(s[i], 0);
+                        } else {
+                            lineTo(0, s[i]);
+                        }
+                    }
+                    sp = 0;
+                    break;
+                case 8:  // rrcurveto
+                    for (i = 0; i + 5 < sp; i += 6) {
+                        curveTo(s[i], s[i + 1], s[i + 2], s[i + 3], s[i + 4], s[i + 5]);
+                    }
+                    sp = 0;
+                    break;
+                case 24: // rcurveline
+                    for (i = 0; i + 5 < sp - 2; i += 6) {
+                        curveTo(s[i], s[i + 1], s[i + 2], s[i + 3], s[i + 4], s[i + 5]);
+                    }
+                    if (i + 1 < sp) {
+                        lineTo(s[i], s[i + 1]);
+                    }
+                    sp = 0;
+                    break;
+                case 25: // rlinecurve
+                    for (i = 0; i + 1 < sp - 6; i += 2) {
+                        lineTo(s[i], s[i + 1]);
+                    }
+                    if (i + 5 < sp) {
+                        curveTo(s[i], s[i + 1], s[i + 2], s[i + 3], s[i + 4], s[i + 5]);
+                    }
+                    sp = 0;
+                    break;
+                case 26: // vvcurveto
+                    i = 0;
+                    float dx1 = 0;
+                    if ((sp & 1) != 0) {
+                        dx1 = s[i++];
+                    }
+                    for (; i + 3 < sp; i += 4) {
+                        curveTo(dx1, s[i], s[i + 1], s[i + 2], 0, s[i + 3]);
+                        dx1 = 0;
+                    }
+                    sp = 0;
+                    break;
+                case 27: // hhcurveto
+                    i = 0;
+                    float dy1 = 0;
+                    if ((sp & 1) != 0) {
+                        dy1 = s[i++];
+                    }
+                    for (; i + 3 < sp; i += 4) {
+                        curveTo(s[i], dy1, s[i + 1], s[i + 2], s[i + 3], 0);
+                        dy1 = 0;
+                    }
+                    sp = 0;
+                    break;
+                case 30: // vhcurveto
+                case 31: // hvcurveto
+                    boolean horizontal = b0 == 31;
+                    for (i = 0; i + 3 < sp; i += 4) {
+                        // The last curve may have the extra argument
+                        float last = (sp - i == 5) ? s[i + 4] : 0;
+                        if (horizontal) {
+                            curveTo(s[i], 0, s[i + 1], s[i + 2], last, s[i + 3]);
+                        } else {
+                            curveTo(0, s[i], s[i + 1], s[i + 2], s[i + 3], last);
+                        }
+                        horizontal = !horizontal;
+                    }
+                    sp = 0;
+                    break;
+                case 10: // callsubr
+                case 29: { // callgsubr
+                    if (sp == 0 || depth >= MAX_CALLS) {
+                        return true;
+                    }
+                    int[] table = b0 == 10 ? subrs : globalSubrs;
+                    int index = (int) s[--sp] + getBias(table);
+                    if (table == null || index < 0 || index + 1 >= table.length) {
+                        return true;
+                    }
+                    if (run(table[index], table[index + 1], subrs, depth + 1)) {
+                        return true;
+                    }
+                    break;
+                }
+                case 11: // return
+                    return false;
+                case 14: // endchar
+                    // The accented characters of seac are not supported
+                    skipWidth(true);
+                    sp = 0;
+                    return true;
+                case 12:
+                    pos = escape(data.get(pos) & 0xff, pos + 1);
+                    break;
+                default:
+                    // Reserved operators
+                    sp = 0;
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Interprets the two-byte operator
+     * @return the position after the operator
+     */
+    private int escape(int op, int pos) {
+        float[] s = stack;
+        switch (op) {
+            case 35: // flex
+                if (sp >= 12) {
+                    curveTo(s[0], s[1], s[2], s[3], s[4], s[5]);
+                    curveTo(s[6], s[7], s[8], s[9], s[10], s[11]);
+                }
+                sp = 0;
+                break;
+            case 34: // hflex
+                if (sp >= 7) {
+                    float y0 = y;
+                    curveTo(s[0], 0, s[1], s[2], s[3], 0);
+                    curveTo(s[4], 0, s[5], y0 - y, s[6], 0);
+                }
+                sp = 0;
+                break;
+            case 36: // hflex1
+                if (sp >= 9) {
+                    float y0 = y;
+                    curveTo(s[0], s[1], s[2], s[3], s[4], 0);
+                    curveTo(s[5], 0, s[6], s[7], s[8], y0 - y - s[7]);
+                }
+                sp = 0;
+                break;
+            case 37: // flex1
+                if (sp >= 11) {
+                    float dx = 0, dy = 0;
+                    for (int i = 0; i < 10; i += 2) {
+                        dx += s[i];
+                        dy += s[i + 1];
+                    }
+                    float x0 = x, y0 = y;
+                    curveTo(s[0], s[1], s[2], s[3], s[4], s[5]);
+                    float d6x = s[6], d6y = s[7], d7x = s[8], d7y = s[9];
+                    float lx, ly;
+                    if (Math.abs(dx) > Math.abs(dy)) {
+                        lx = s[10];
+                        ly = -dy;
+                    } else {
+                        lx = -dx;
+                        ly = s[10];
+                    }
+                    curveTo(d6x, d6y, d7x, d7y, lx, ly);
+                    // Avoid the accumulation of the rounding errors
+                    if (Math.abs(dx) > Math.abs(dy)) {
+                        y = y0;
+                    } else {
+                        x = x0;
+                    }
+                }
+                sp = 0;
+                break;
+            case 3:  // and
+                binary(s[sp - 2] != 0 && s[sp - 1] != 0 ? 1 : 0);
+                break;
+            case 4:  // or
+                binary(s[sp - 2] != 0 || s[sp - 1] != 0 ? 1 : 0);
+                break;
+            case 5:  // not
+                s[sp - 1] = s[sp - 1] == 0 ? 1 : 0;
+                break;
+            case 9:  // abs
+                s[sp - 1] = Math.abs(s[sp - 1]);
+                break;
+            case 10: // add
+                binary(s[sp - 2] + s[sp - 1]);
+                break;
+            case 11: // sub
+                binary(s[sp - 2] - s[sp - 1]);
+                break;
+            case 12: // div
+                binary(s[sp - 1] != 0 ? s[sp - 2] / s[sp - 1] : 0);
+                break;
+            case 14: // neg
+                s[sp - 1] = -s[sp - 1];
+                break;
+            case 15: // eq
+                binary(s[sp - 2] == s[sp - 1] ? 1 : 0);
+                break;
+            case 18: // drop
+                sp--;
+                break;
+            case 20: { // put
+                int index = (int) s[sp - 1];
+                if (index >= 0 && index < transientArray.length) {
+                    transientArray[index] = s[sp - 2];
+                }
+                sp -= 2;
+                break;
+            }
+            case 21: { // get
+                int index = (int) s[sp - 1];
+                s[sp - 1] = index >= 0 && index < transientArray.length ? transientArray[index] : 0;
+                break;
+            }
+            case 22: // ifelse
+                s[sp - 4] = s[sp - 2] <= s[sp - 1] ? s[sp - 4] : s[sp - 3];
+                sp -= 3;
+                break;
+            case 24: // mul
+                binary(s[sp - 2] * s[sp - 1]);
+                break;
+            case 26: // sqrt
+                s[sp - 1] = (float) Math.sqrt(Math.abs(s[sp - 1]));
+                break;
+            case 27: // dup
+                if (sp < s.length) {
+                    s[sp] = s[sp - 1];
+                    sp++;
+                }
+                break;
+            case 28: { // exch
+                float t = s[sp - 1];
+                s[sp - 1] = s[sp - 2];
+                s[sp - 2] = t;
+                break;
+            }
+            case 29: { // index
+                int index = (int) s[sp - 1];
+                s[sp - 1] = index >= 0 && index < sp - 1 ? s[sp - 2 - index] : s[sp - 2];
+                break;
+            }
+            case 30: { // roll
+                int n = (int) s[sp - 2];
+                int j = (int) s[sp - 1];
+                sp -= 2;
+                if (n > 0 && n <= sp) {
+                    float[] tmp = new float[n];
+                    int base = sp - n;
+                    for (int i = 0; i < n; i++) {
+                        tmp[((i + j) % n + n) % n] = s[base + i];
+                    }
+                    System.arraycopy(tmp, 0, s, base, n);
+                }
+                break;
+            }
+            default:
+                sp = 0;
+                break;
+        }
+        if (sp < 0) {
+            sp = 0;
+        }
+        return pos;
+    }
+
+    private void binary(float v) {
+        sp--;
+        stack[sp - 1] = v;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.harmony.awt.Utils;
+
+/**
+ * Reads the font files. On the JVM the files are memory mapped, the
+ * mapping reader is loaded by name so that it is never linked where file
+ * channels are not available, there the file is read into a byte array.
+ */
+abstract class FontFileReader {
+
+    private static final FontFileReader mapping = createMapping();
+
+    private static FontFileReader createMapping() {
+        // Only the JVM has the Java home
+        if (Utils.getSystemProperty("java.home") == null) { //$NON-NLS-1$
+            return null;
+        }
+        try {
+            Class<?> c = Class.forName("org.apache.harmony.awt.gl.font.truetype.MappedFontFileReader"); //$NON-NLS-1$
+            return (FontFileReader) c.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // The runtime has no reflection or the class was not linked
+            return null;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        } catch (LinkageError e) {
+            // No file channels in the runtime
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the content of the font file
+     */
+    static ByteBuffer read(File file) throws IOException {
+        if (mapping != null) {
+            return mapping.map(file);
+        }
+        InputStream is = new FileInputStream(file);
+        try {
+            return ByteBuffer.wrap(readFully(is, (int) file.length()));
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Reads the stream to the end
+     * @param sizeHint the expected size, 0 if unknown
+     */
+    static byte[] readFully(InputStream is, int sizeHint) throws IOException {
+        byte[] buf = new byte[sizeHint > 0 ? sizeHint : 64 * 1024];
+        int length = 0;
+        int n;
+        while ((n = is.read(buf, length, buf.length - length)) > 0) {
+            length += n;
+            if (length == buf.length) {
+                int b = is.read();
+                if (b < 0) {
+                    return buf;
+                }
+                byte[] newBuf = new byte[buf.length * 2];
+                System.arraycopy(buf, 0, newBuf, 0, length);
+                buf = newBuf;
+                buf[length++] = (byte) b;
+            }
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(buf, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Maps the font file into the memory
+     */
+    abstract ByteBuffer map(File file) throws IOException;
+}
@@ -0,0 +1,1149 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.awt.FontFormatException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.harmony.awt.internal.nls.Messages;
+
+/**
+ * TrueType and OpenType font file. The tables are read directly from the
+ * font data when they are used for the first time: the character map,
+ * horizontal metrics and kerning pairs are looked up in place, only the
+ * small header tables and the CFF indices are parsed into fields.
+ * <p>
+ * The font data is memory mapped when the font is read from a file on
+ * the JVM and wraps the byte array otherwise, in the browser the byte
+ * array is backed by a typed array.
+ */
+public final class TTFontFile {
+
+    static final int TAG_CFF  = 0x43464620; // 'CFF '
+    static final int TAG_GPOS = 0x47504F53;
+    static final int TAG_OS2  = 0x4F532F32; // 'OS/2'
+    static final int TAG_CMAP = 0x636D6170;
+    static final int TAG_GLYF = 0x676C7966;
+    static final int TAG_HEAD = 0x68656164;
+    static final int TAG_HHEA = 0x68686561;
+    static final int TAG_HMTX = 0x686D7478;
+    static final int TAG_KERN = 0x6B65726E;
+    static final int TAG_LOCA = 0x6C6F6361;
+    static final int TAG_MAXP = 0x6D617870;
+    static final int TAG_NAME = 0x6E616D65;
+    static final int TAG_POST = 0x706F7374;
+    static final int TAG_TTCF = 0x74746366; // 'ttcf'
+
+    private static final int FEATURE_KERN = 0x6B65726E;
+
+    // getPairAdjustment() result for the pairs the subtable does not have
+    private static final int NO_PAIR = Integer.MIN_VALUE;
+
+    // the maximum nesting of the composite glyphs
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Receives the outline of the glyph in the device space
+     */
+    public interface OutlineSink {
+        void moveTo(float x, float y);
+        void lineTo(float x, float y);
+        void quadTo(float x1, float y1, float x2, float y2);
+        void curveTo(float x1, float y1, float x2, float y2, float x3, float y3);
+        void closePath();
+    }
+
+    final ByteBuffer data;
+
+    private int[] tableTags;
+    private int[] tableOffsets;
+    private int[] tableLengths;
+
+    // head, hhea, maxp, OS/2 and post
+    private boolean metricsLoaded;
+    private int unitsPerEm;
+    private int indexToLocFormat;
+    private int macStyle;
+    private int xMin, yMin, xMax, yMax;
+    private int ascender, descender, lineGap;
+    private int advanceWidthMax;
+    private int numberOfHMetrics;
+    private int numGlyphs;
+    private int avgCharWidth;
+    private int[] scriptMetrics;
+    private int strikeoutSize, strikeoutPosition;
+    private int underlinePosition, underlineThickness;
+    private float italicAngle;
+
+    // name
+    private String familyName;
+    private String fullName;
+    private String psName;
+
+    // cmap, the offset of the selected subtable
+    private boolean cmapLoaded;
+    private int cmapOffset = -1;
+    private int cmapFormat;
+    private boolean symbolCmap;
+
+    // kern and GPOS
+    private boolean kerningLoaded;
+    private int kernPairsOffset = -1;
+    private int kernPairsCount;
+    private int[] pairSubtables;
+    // the index of the first subtable of every lookup and the subtable count
+    private int[] pairLookupStarts;
+
+    private CFFCharStrings cff;
+    private boolean cffLoaded;
+
+    /**
+     * Creates the font from the font data
+     * @param data the font file, the position is ignored
+     * @param index the index of the font in the font collection
+     */
+    public TTFontFile(ByteBuffer data, int index) throws FontFormatException {
+        this.data = data.order(ByteOrder.BIG_ENDIAN);
+        readDirectory(index);
+    }
+
+    /**
+     * Reads the font file, the file is memory mapped where possible
+     */
+    public static TTFontFile open(File file) throws IOException, FontFormatException {
+        return new TTFontFile(FontFileReader.read(file), 0);
+    }
+
+    /**
+     * @return the number of the fonts in the font data, more than one
+     *         for the font collections
+     */
+    public static int getFontCount(ByteBuffer data) {
+        if (data.limit() >= 12 && data.getInt(0) == TAG_TTCF) {
+            return data.getInt(8);
+        }
+        return 1;
+    }
+
+    /**
+     * Reads the font from the stream, usually the bundled resource
+     */
+    public static TTFontFile read(InputStream is) throws IOException, FontFormatException {
+        return new TTFontFile(ByteBuffer.wrap(FontFileReader.readFully(is, 0)), 0);
+    }
+
+    private void readDirectory(int index) throws FontFormatException {
+        try {
+            int offset = 0;
+            int version = data.getInt(0);
+            if (version == TAG_TTCF) {
+                int count = data.getInt(8);
+                if (index >= count) {
+                    // awt.9A=Unsupported font format
+                    throw new FontFormatException(Messages.getString("awt.9A")); //$NON-NLS-1$
+                }
+                offset = data.getInt(12 + 4 * index);
+                version = data.getInt(offset);
+            }
+            // TrueType, OpenType CFF or Apple 'true'
+            if (version != 0x00010000 && version != 0x4F54544F && version != 0x74727565) {
+                // awt.9A=Unsupported font format
+                throw new FontFormatException(Messages.getString("awt.9A")); //$NON-NLS-1$
+            }
+            int numTables = getUShort(offset + 4);
+            tableTags = new int[numTables];
+            tableOffsets = new int[numTables];
+            tableLengths = new int[numTables];
+            for (int i = 0; i < numTables; i++) {
+                int rec = offset + 12 + 16 * i;
+                tableTags[i] = data.getInt(rec);
+                tableOffsets[i] = data.getInt(rec + 8);
+                tableLengths[i] = data.getInt(rec + 12);
+                if (tableOffsets[i] < 0 || tableLengths[i] < 0
+                        || tableOffsets[i] > data.limit() - tableLengths[i]) {
+                    // awt.9B=Can't create font - bad font data
+                    throw new FontFormatException(Messages.getString("awt.9B")); //$NON-NLS-1$
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // awt.9B=Can't create font - bad font data
+            throw new FontFormatException(Messages.getString("awt.9B")); //$NON-NLS-1$
+        }
+        if (getTableOffset(TAG_HEAD) < 0 || getTableOffset(TAG_HHEA) < 0
+                || getTableOffset(TAG_HMTX) < 0 || getTableOffset(TAG_MAXP) < 0) {
+            // awt.9B=Can't create font - bad font data
+            throw new FontFormatException(Messages.getString("awt.9B")); //$NON-NLS-1$
+        }
+    }
+
+    int getTableOffset(int tag) {
+        for (int i = 0; i < tableTags.length; i++) {
+            if (tableTags[i] == tag) {
+                return tableOffsets[i];
+            }
+        }
+        return -1;
+    }
+
+    int getTableLength(int tag) {
+        for (int i = 0; i < tableTags.length; i++) {
+            if (tableTags[i] == tag) {
+                return tableLengths[i];
+            }
+        }
+        return 0;
+    }
+
+    final int getUShort(int pos) {
+        return data.getShort(pos) & 0xffff;
+    }
+
+    final int getShort(int pos) {
+        return data.getShort(pos);
+    }
+
+    final int getUByte(int pos) {
+        return data.get(pos) & 0xff;
+    }
+
+    /*
+     * Header tables
+     */
+
+    private void loadMetrics() {
+        if (metricsLoaded) {
+            return;
+        }
+        int head = getTableOffset(TAG_HEAD);
+        unitsPerEm = getUShort(head + 18);
+        if (unitsPerEm == 0) {
+            unitsPerEm = 1000;
+        }
+        xMin = getShort(head + 36);
+        yMin = getShort(head + 38);
+        xMax = getShort(head + 40);
+        yMax = getShort(head + 42);
+        macStyle = getUShort(head + 44);
+        indexToLocFormat = getShort(head + 50);
+
+        int hhea = getTableOffset(TAG_HHEA);
+        ascender = getShort(hhea + 4);
+        descender = -getShort(hhea + 6);
+        lineGap = getShort(hhea + 8);
+        advanceWidthMax = getUShort(hhea + 10);
+        numberOfHMetrics = getUShort(hhea + 34);
+
+        numGlyphs = getUShort(getTableOffset(TAG_MAXP) + 4);
+        numberOfHMetrics = Math.max(1, Math.min(numberOfHMetrics, numGlyphs));
+
+        int os2 = getTableOffset(TAG_OS2);
+        scriptMetrics = new int[8];
+        if (os2 >= 0) {
+            avgCharWidth = getShort(os2 + 2);
+            for (int i = 0; i < 8; i++) {
+                scriptMetrics[i] = getShort(os2 + 10 + 2 * i);
+            }
+            strikeoutSize = getShort(os2 + 26);
+            strikeoutPosition = getShort(os2 + 28);
+            int fsSelection = getUShort(os2 + 62);
+            // USE_TYPO_METRICS
+            if ((fsSelection & 0x80) != 0 && getTableLength(TAG_OS2) >= 74) {
+                ascender = getShort(os2 + 68);
+                descender = -getShort(os2 + 70);
+                lineGap = getShort(os2 + 72);
+            }
+        } else {
+            avgCharWidth = advanceWidthMax / 2;
+            strikeoutSize = unitsPerEm / 20;
+            strikeoutPosition = ascender / 3;
+        }
+
+        int post = getTableOffset(TAG_POST);
+        if (post >= 0) {
+            italicAngle = data.getInt(post + 4) / 65536f;
+            underlinePosition = getShort(post + 8);
+            underlineThickness = getShort(post + 10);
+        } else {
+            underlinePosition = -unitsPerEm / 10;
+            underlineThickness = unitsPerEm / 20;
+        }
+        metricsLoaded = true;
+    }
+
+    public synchronized int getUnitsPerEm() {
+        loadMetrics();
+        return unitsPerEm;
+    }
+
+    public synchronized int getNumGlyphs() {
+        loadMetrics();
+        return numGlyphs;
+    }
+
+    /**
+     * @return the ascent in font units, positive above the baseline
+     */
+    public synchronized int getAscent() {
+        loadMetrics();
+        return ascender;
+    }
+
+    /**
+     * @return the descent in font units, positive below the baseline
+     */
+    public synchronized int getDescent() {
+        loadMetrics();
+        return descender;
+    }
+
+    public synchronized int getLineGap() {
+        loadMetrics();
+        return lineGap;
+    }
+
+    public synchronized int getAdvanceWidthMax() {
+        loadMetrics();
+        return advanceWidthMax;
+    }
+
+    public synchronized int getAverageCharWidth() {
+        loadMetrics();
+        return avgCharWidth;
+    }
+
+    /**
+     * Returns the subscript and superscript metrics from the OS/2 table:
+     * size x, size y, offset x, offset y of subscripts, then of superscripts
+     */
+    public synchronized int[] getScriptMetrics() {
+        loadMetrics();
+        return scriptMetrics.clone();
+    }
+
+    /**
+     * @return the bounds of all glyphs: xMin, yMin, xMax, yMax
+     */
+    public synchronized int[] getBounds() {
+        loadMetrics();
+        return new int[] {xMin, yMin, xMax, yMax};
+    }
+
+    public synchronized int getUnderlinePosition() {
+        loadMetrics();
+        return underlinePosition;
+    }
+
+    public synchronized int getUnderlineThickness() {
+        loadMetrics();
+        return underlineThickness;
+    }
+
+    public synchronized int getStrikeoutPosition() {
+        loadMetrics();
+        return strikeoutPosition;
+    }
+
+    public synchronized int getStrikeoutSize() {
+        loadMetrics();
+        return strikeoutSize;
+    }
+
+    public synchronized float getItalicAngle() {
+        loadMetrics();
+        return italicAngle;
+    }
+
+    /**
+     * @return the style of the font from the head table, Font.BOLD
+     * and Font.ITALIC bits
+     */
+    public synchronized int getStyle() {
+        loadMetrics();
+        return macStyle & 3;
+    }
+
+    /*
+     * Names
+     */
+
+    private void loadNames() {
+        if (familyName != null) {
+            return;
+        }
+        String family = null, typoFamily = null;
+        int name = getTableOffset(TAG_NAME);
+        if (name >= 0) {
+            int count = getUShort(name + 2);
+            int strings = name + getUShort(name + 4);
+            for (int i = 0; i < count; i++) {
+                int rec = name + 6 + 12 * i;
+                int platform = getUShort(rec);
+                int language = getUShort(rec + 4);
+                int nameId = getUShort(rec + 6);
+                // Prefer the English names
+                if (platform == 3 && (language & 0x3ff) != 0x09 || platform == 1 && language != 0) {
+                    continue;
+                }
+                if (platform != 0 && platform != 1 && platform != 3) {
+                    continue;
+                }
+                String s = readName(platform, strings + getUShort(rec + 10), getUShort(rec + 8));
+                switch (nameId) {
+                    case 1:
+                        family = family == null || platform == 3 ? s : family;
+                        break;
+                    case 4:
+                        fullName = fullName == null || platform == 3 ? s : fullName;
+                        break;
+                    case 6:
+                        psName = psName == null || platform == 3 ? s : psName;
+                        break;
+                    case 16:
+                        typoFamily = typoFamily == null || platform == 3 ? s : typoFamily;
+                        break;
+                }
+            }
+        }
+        familyName = typoFamily != null ? typoFamily : family != null ? family : ""; //$NON-NLS-1$
+        if (fullName == null) {
+            fullName = familyName;
+        }
+        if (psName == null) {
+            psName = fullName.replace(' ', '-');
+        }
+    }
+
+    private String readName(int platform, int pos, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        if (platform == 1) {
+            // Mac Roman, the ASCII subset is enough for the names
+            for (int i = 0; i < length; i++) {
+                sb.append((char) getUByte(pos + i));
+            }
+        } else {
+            for (int i = 0; i + 1 < length; i += 2) {
+                sb.append((char) getUShort(pos + i));
+            }
+        }
+        return sb.toString();
+    }
+
+    public synchronized String getFamilyName() {
+        loadNames();
+        return familyName;
+    }
+
+    public synchronized String getFullName() {
+        loadNames();
+        return fullName;
+    }
+
+    public synchronized String getPSName() {
+        loadNames();
+        return psName;
+    }
+
+    /*
+     * Character map
+     */
+
+    private void loadCmap() {
+        if (cmapLoaded) {
+            return;
+        }
+        cmapLoaded = true;
+        int cmap = getTableOffset(TAG_CMAP);
+        if (cmap < 0) {
+            return;
+        }
+        int count = getUShort(cmap + 2);
+        int best = -1;
+        int bestScore = 0;
+        for (int i = 0; i < count; i++) {
+            int rec = cmap + 4 + 8 * i;
+            int platform = getUShort(rec);
+            int encoding = getUShort(rec + 2);
+            int offset = cmap + data.getInt(rec + 4);
+            int format = getUShort(offset);
+            int score = 0;
+            if (format == 12 && (platform == 3 && encoding == 10 || platform == 0)) {
+                score = 5;
+            } else if (platform == 3 && encoding == 1 || platform == 0) {
+                score = 4;
+            } else if (platform == 3 && encoding == 0) {
+                score = 3;
+            } else if (platform == 1 && encoding == 0) {
+                score = 1;
+            }
+            if (score > bestScore && (format == 0 || format == 4 || format == 6 || format == 12)) {
+                best = offset;
+                bestScore = score;
+                symbolCmap = score == 3;
+            }
+        }
+        if (best >= 0) {
+            cmapOffset = best;
+            cmapFormat = getUShort(best);
+        }
+    }
+
+    /**
+     * Maps the character to the glyph index
+     * @return the glyph index or 0 for the missing glyph
+     */
+    public synchronized int getGlyphIndex(int codePoint) {
+        loadCmap();
+        if (cmapOffset < 0) {
+            return 0;
+        }
+        int gid = lookupCmap(codePoint);
+        if (gid == 0 && symbolCmap && codePoint < 0x100) {
+            // The symbol fonts map the characters to the private use area
+            gid = lookupCmap(codePoint | 0xF000);
+        }
+        return gid < getNumGlyphs() ? gid : 0;
+    }
+
+    private int lookupCmap(int c) {
+        int t = cmapOffset;
+        switch (cmapFormat) {
+            case 0:
+                return c < 256 ? getUByte(t + 6 + c) : 0;
+            case 6: {
+                int first = getUShort(t + 6);
+                int count = getUShort(t + 8);
+                c -= first;
+                return c >= 0 && c < count ? getUShort(t + 10 + 2 * c) : 0;
+            }
+            case 4: {
+                if (c > 0xffff) {
+                    return 0;
+                }
+                int segX2 = getUShort(t + 6);
+                int ends = t + 14;
+                int starts = ends + segX2 + 2;
+                int deltas = starts + segX2;
+                int ranges = deltas + segX2;
+                // Binary search of the first segment with end >= c
+                int lo = 0, hi = segX2 / 2 - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (getUShort(ends + 2 * mid) < c) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                int seg = 2 * lo;
+                int start = getUShort(starts + seg);
+                if (c < start || c > getUShort(ends + seg)) {
+                    return 0;
+                }
+                int delta = getShort(deltas + seg);
+                int rangeOffset = getUShort(ranges + seg);
+                if (rangeOffset == 0) {
+                    return (c + delta) & 0xffff;
+                }
+                int g = getUShort(ranges + seg + rangeOffset + 2 * (c - start));
+                return g == 0 ? 0 : (g + delta) & 0xffff;
+            }
+            case 12: {
+                int groups = data.getInt(t + 12);
+                int lo = 0, hi = groups - 1;
+                while (lo <= hi) {
+                    int mid = (lo + hi) >>> 1;
+                    int rec = t + 16 + 12 * mid;
+                    if (c < data.getInt(rec)) {
+                        hi = mid - 1;
+                    } else if (c > data.getInt(rec + 4)) {
+                        lo = mid + 1;
+                    } else {
+                        return data.getInt(rec + 8) + c - data.getInt(rec);
+                    }
+                }
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * Horizontal metrics
+     */
+
+    /**
+     * @return the advance width of the glyph in font units
+     */
+    public int getAdvance(int gid) {
+        int n;
+        synchronized (this) {
+            loadMetrics();
+            n = numberOfHMetrics;
+        }
+        int hmtx = getTableOffset(TAG_HMTX);
+        // The last advance is repeated for the rest of the glyphs
+        return getUShort(hmtx + 4 * Math.min(gid, n - 1));
+    }
+
+    /**
+     * @return the left side bearing of the glyph in font units
+     */
+    public int getLeftSideBearing(int gid) {
+        int n;
+        synchronized (this) {
+            loadMetrics();
+            n = numberOfHMetrics;
+        }
+        int hmtx = getTableOffset(TAG_HMTX);
+        if (gid < n) {
+            return getShort(hmtx + 4 * gid + 2);
+        }
+        return getShort(hmtx + 4 * n + 2 * (gid - n));
+    }
+
+    /*
+     * Kerning
+     */
+
+    private void loadKerning() {
+        if (kerningLoaded) {
+            return;
+        }
+        kerningLoaded = true;
+        loadGPOSKerning();
+        if (pairSubtables == null) {
+            loadKernTable();
+        }
+    }
+
+    /**
+     * Collects the pair adjustment subtables of the lookups
+     * of the 'kern' feature
+     */
+    private void loadGPOSKerning() {
+        int gpos = getTableOffset(TAG_GPOS);
+        if (gpos < 0) {
+            return;
+        }
+        int features = gpos + getUShort(gpos + 6);
+        int lookups = gpos + getUShort(gpos + 8);
+        int lookupCount = getUShort(lookups);
+        boolean[] used = new boolean[lookupCount];
+        int featureCount = getUShort(features);
+        for (int i = 0; i < featureCount; i++) {
+            int rec = features + 2 + 6 * i;
+            if (data.getInt(rec) != FEATURE_KERN) {
+                continue;
+            }
+            int feature = features + getUShort(rec + 4);
+            int count = getUShort(feature + 2);
+            for (int j = 0; j < count; j++) {
+                int index = getUShort(feature + 4 + 2 * j);
+                if (index < lookupCount) {
+                    used[index] = true;
+                }
+            }
+        }
+
+        int[] subtables = new int[16];
+        int n = 0;
+        int[] starts = new int[lookupCount + 1];
+        int lookupsFound = 0;
+        for (int i = 0; i < lookupCount; i++) {
+            if (!used[i]) {
+                continue;
+            }
+            int start = n;
+            int lookup = lookups + getUShort(lookups + 2 + 2 * i);
+            int type = getUShort(lookup);
+            int count = getUShort(lookup + 4);
+            for (int j = 0; j < count; j++) {
+                int sub = lookup + getUShort(lookup + 6 + 2 * j);
+                if (type == 9) {
+                    // Extension positioning
+                    if (getUShort(sub + 2) != 2) {
+                        continue;
+                    }
+                    sub += data.getInt(sub + 4);
+                } else if (type != 2) {
+                    continue;
+                }
+                int format = getUShort(sub);
+                if (format != 1 && format != 2) {
+                    continue;
+                }
+                if (n == subtables.length) {
+                    int[] tmp = new int[n * 2];
+                    System.arraycopy(subtables, 0, tmp, 0, n);
+                    subtables = tmp;
+                }
+                subtables[n++] = sub;
+            }
+            if (n > start) {
+                starts[lookupsFound++] = start;
+            }
+        }
+        if (n > 0) {
+            pairSubtables = new int[n];
+            System.arraycopy(subtables, 0, pairSubtables, 0, n);
+            starts[lookupsFound] = n;
+            pairLookupStarts = new int[lookupsFound + 1];
+            System.arraycopy(starts, 0, pairLookupStarts, 0, lookupsFound + 1);
+        }
+    }
+
+    /**
+     * Finds the horizontal format 0 subtable of the Windows kern table
+     */
+    private void loadKernTable() {
+        int kern = getTableOffset(TAG_KERN);
+        if (kern < 0 || getUShort(kern) != 0) {
+            return;
+        }
+        int count = getUShort(kern + 2);
+        int sub = kern + 4;
+        for (int i = 0; i < count; i++) {
+            int length = getUShort(sub + 2);
+            int coverage = getUShort(sub + 4);
+            // Horizontal, not minimum, not cross-stream, format 0
+            if ((coverage & 0xff07) == 0x0001) {
+                kernPairsCount = getUShort(sub + 6);
+                kernPairsOffset = sub + 14;
+                return;
+            }
+            sub += length;
+        }
+    }
+
+    /**
+     * @return true if the font has any kerning pairs
+     */
+    public synchronized boolean hasKerning() {
+        loadKerning();
+        return pairSubtables != null || kernPairsCount > 0;
+    }
+
+    /**
+     * Returns the adjustment of the advance of the first glyph of the pair.
+     * The adjustments of the GPOS lookups are added up, only the first
+     * subtable of a lookup which has the pair is applied.
+     * @return the kerning in font units
+     */
+    public synchronized int getKerning(int left, int right) {
+        loadKerning();
+        if (pairSubtables != null) {
+            int kerning = 0;
+            for (int i = 0; i + 1 < pairLookupStarts.length; i++) {
+                for (int j = pairLookupStarts[i]; j < pairLookupStarts[i + 1]; j++) {
+                    int adjustment = getPairAdjustment(pairSubtables[j], left, right);
+                    if (adjustment != NO_PAIR) {
+                        kerning += adjustment;
+                        break;
+                    }
+                }
+            }
+            return kerning;
+        }
+        if (kernPairsCount > 0) {
+            int key = left << 16 | right;
+            int lo = 0, hi = kernPairsCount - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int rec = kernPairsOffset + 6 * mid;
+                int k = data.getInt(rec);
+                if (k == key) {
+                    return getShort(rec + 4);
+                } else if ((k ^ 0x80000000) < (key ^ 0x80000000)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the x advance adjustment of the pair or NO_PAIR if the
+     *         subtable does not apply to the pair
+     */
+    private int getPairAdjustment(int sub, int left, int right) {
+        int coverage = getCoverageIndex(sub + getUShort(sub + 2), left);
+        if (coverage < 0) {
+            return NO_PAIR;
+        }
+        int format1 = getUShort(sub + 4);
+        int format2 = getUShort(sub + 6);
+        // No x advance in the first value record
+        boolean hasAdvance = (format1 & 0x0004) != 0;
+        // The x advance follows x and y placements
+        int advancePos = 2 * Integer.bitCount(format1 & 0x0003);
+        int size1 = 2 * Integer.bitCount(format1 & 0xff);
+        int size2 = 2 * Integer.bitCount(format2 & 0xff);
+
+        if (getUShort(sub) == 1) {
+            if (coverage >= getUShort(sub + 8)) {
+                return NO_PAIR;
+            }
+            int set = sub + getUShort(sub + 10 + 2 * coverage);
+            int recSize = 2 + size1 + size2;
+            int lo = 0, hi = getUShort(set) - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int rec = set + 2 + recSize * mid;
+                int g = getUShort(rec);
+                if (g == right) {
+                    return hasAdvance ? getShort(rec + 2 + advancePos) : 0;
+                } else if (g < right) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return NO_PAIR;
+        }
+
+        int class1 = getClass(sub + getUShort(sub + 8), left);
+        int class2 = getClass(sub + getUShort(sub + 10), right);
+        int class1Count = getUShort(sub + 12);
+        int class2Count = getUShort(sub + 14);
+        if (class1 >= class1Count || class2 >= class2Count) {
+            return NO_PAIR;
+        }
+        int rec = sub + 16 + (class1 * class2Count + class2) * (size1 + size2);
+        return hasAdvance ? getShort(rec + advancePos) : 0;
+    }
+
+    private int getCoverageIndex(int coverage, int gid) {
+        int format = getUShort(coverage);
+        int count = getUShort(coverage + 2);
+        int lo = 0, hi = count - 1;
+        if (format == 1) {
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int g = getUShort(coverage + 4 + 2 * mid);
+                if (g == gid) {
+                    return mid;
+                } else if (g < gid) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+        } else if (format == 2) {
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int rec = coverage + 4 + 6 * mid;
+                if (gid < getUShort(rec)) {
+                    hi = mid - 1;
+                } else if (gid > getUShort(rec + 2)) {
+                    lo = mid + 1;
+                } else {
+                    return getUShort(rec + 4) + gid - getUShort(rec);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int getClass(int classDef, int gid) {
+        int format = getUShort(classDef);
+        if (format == 1) {
+            int start = getUShort(classDef + 2);
+            int count = getUShort(classDef + 4);
+            gid -= start;
+            return gid >= 0 && gid < count ? getUShort(classDef + 6 + 2 * gid) : 0;
+        } else if (format == 2) {
+            int lo = 0, hi = getUShort(classDef + 2) - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int rec = classDef + 4 + 6 * mid;
+                if (gid < getUShort(rec)) {
+                    hi = mid - 1;
+                } else if (gid > getUShort(rec + 2)) {
+                    lo = mid + 1;
+                } else {
+                    return getUShort(rec + 4);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * Outlines
+     */
+
+    /**
+     * Writes the outline of the glyph scaled to the size, y axis
+     * is directed down as in the device space
+     * @param gid the glyph index
+     * @param size the font size in pixels
+     * @param sink the receiver of the outline
+     */
+    public void getOutline(int gid, float size, OutlineSink sink) {
+        float scale = size / getUnitsPerEm();
+        if (gid < 0 || gid >= getNumGlyphs()) {
+            return;
+        }
+        if (getTableOffset(TAG_GLYF) >= 0) {
+            appendGlyf(gid, sink, scale, 0, 0, -scale, 0, 0, 0);
+        } else {
+            CFFCharStrings cs = getCFF();
+            if (cs != null) {
+                cs.getOutline(gid, sink, size);
+            }
+        }
+    }
+
+    private synchronized CFFCharStrings getCFF() {
+        if (!cffLoaded) {
+            cffLoaded = true;
+            int offset = getTableOffset(TAG_CFF);
+            if (offset >= 0) {
+                try {
+                    cff = new CFFCharStrings(data, offset);
+                } catch (IndexOutOfBoundsException e) {
+                    // Bad CFF data, the glyphs are empty
+                }
+            }
+        }
+        return cff;
+    }
+
+    private int getGlyfOffset(int gid, int[] length) {
+        int format;
+        synchronized (this) {
+            loadMetrics();
+            format = indexToLocFormat;
+        }
+        int loca = getTableOffset(TAG_LOCA);
+        if (loca < 0) {
+            return -1;
+        }
+        int start, end;
+        if (format == 0) {
+            start = 2 * getUShort(loca + 2 * gid);
+            end = 2 * getUShort(loca + 2 * gid + 2);
+        } else {
+            start = data.getInt(loca + 4 * gid);
+            end = data.getInt(loca + 4 * gid + 4);
+        }
+        length[0] = end - start;
+        return end > start ? getTableOffset(TAG_GLYF) + start : -1;
+    }
+
+    /**
+     * Appends the glyph transformed by the matrix, the point (x, y) is
+     * transformed to (m00 * x + m01 * y + tx, m10 * x + m11 * y + ty)
+     */
+    private void appendGlyf(int gid, OutlineSink sink, float m00, float m10,
+            float m01, float m11, float tx, float ty, int depth) {
+        int[] length = new int[1];
+        int glyph = getGlyfOffset(gid, length);
+        if (glyph < 0 || depth > MAX_DEPTH) {
+            return;
+        }
+        int contours = getShort(glyph);
+        if (contours >= 0) {
+            appendSimpleGlyf(glyph, contours, sink, m00, m10, m01, m11, tx, ty);
+            return;
+        }
+
+        int pos = glyph + 10;
+        int flags;
+        do {
+            flags = getUShort(pos);
+            int component = getUShort(pos + 2);
+            pos += 4;
+            float dx, dy;
+            if ((flags & 0x0001) != 0) {
+                dx = getShort(pos);
+                dy = getShort(pos + 2);
+                pos += 4;
+            } else {
+                dx = data.get(pos);
+                dy = data.get(pos + 1);
+                pos += 2;
+            }
+            if ((flags & 0x0002) == 0) {
+                // Matching points are not supported, the component is
+                // placed at the origin
+                dx = dy = 0;
+            }
+            float a = 1, b = 0, c = 0, d = 1;
+            if ((flags & 0x0008) != 0) {
+                a = d = getF2Dot14(pos);
+                pos += 2;
+            } else if ((flags & 0x0040) != 0) {
+                a = getF2Dot14(pos);
+                d = getF2Dot14(pos + 2);
+                pos += 4;
+            } else if ((flags & 0x0080) != 0) {
+                a = getF2Dot14(pos);
+                b = getF2Dot14(pos + 2);
+                c = getF2Dot14(pos + 4);
+                d = getF2Dot14(pos + 6);
+                pos += 8;
+            }
+            // The component matrix is (a c; b d) with the offset (dx, dy)
+            appendGlyf(component, sink,
+                    m00 * a + m01 * b, m10 * a + m11 * b,
+                    m00 * c + m01 * d, m10 * c + m11 * d,
+                    m00 * dx + m01 * dy + tx, m10 * dx + m11 * dy + ty,
+                    depth + 1);
+        } while ((flags & 0x0020) != 0);
+    }
+
+    private float getF2Dot14(int pos) {
+        return getShort(pos) / 16384f;
+    }
+
+    private void appendSimpleGlyf(int glyph, int contours, OutlineSink sink,
+            float m00, float m10, float m01, float m11, float tx, float ty) {
+        int endPts = glyph + 10;
+        int numPoints = contours == 0 ? 0 : getUShort(endPts + 2 * (contours - 1)) + 1;
+        if (numPoints == 0) {
+            return;
+        }
+        int pos = endPts + 2 * contours;
+        pos += 2 + getUShort(pos);
+
+        // Flags, repeated ones are expanded
+        byte[] flags = new byte[numPoints];
+        for (int i = 0; i < numPoints;) {
+            byte f = data.get(pos++);
+            flags[i++] = f;
+            if ((f & 0x08) != 0) {
+                int repeat = getUByte(pos++);
+                while (repeat-- > 0 && i < numPoints) {
+                    flags[i++] = f;
+                }
+            }
+        }
+
+        float[] xs = new float[numPoints];
+        float[] ys = new float[numPoints];
+        int v = 0;
+        for (int i = 0; i < numPoints; i++) {
+            int f = flags[i];
+            if ((f & 0x02) != 0) {
+                int dx = getUByte(pos++);
+                v += (f & 0x10) != 0 ? dx : -dx;
+            } else if ((f & 0x10) == 0) {
+                v += getShort(pos);
+                pos += 2;
+            }
+            xs[i] = v;
+        }
+        v = 0;
+        for (int i = 0; i < numPoints; i++) {
+            int f = flags[i];
+            if ((f & 0x04) != 0) {
+                int dy = getUByte(pos++);
+                v += (f & 0x20) != 0 ? dy : -dy;
+            } else if ((f & 0x20) == 0) {
+                v += getShort(pos);
+                pos += 2;
+            }
+            ys[i] = v;
+        }
+        for (int i = 0; i < numPoints; i++) {
+            float x = xs[i];
+            float y = ys[i];
+            xs[i] = m00 * x + m01 * y + tx;
+            ys[i] = m10 * x + m11 * y + ty;
+        }
+
+        int start = 0;
+        for (int c = 0; c < contours; c++) {
+            int end = getUShort(endPts + 2 * c);
+            if (end >= numPoints || end < start) {
+                break;
+            }
+            appendContour(flags, xs, ys, start, end, sink);
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Appends the quadratic contour, two consecutive off curve points
+     * have the implied on curve point in the middle
+     */
+    private static void appendContour(byte[] flags, float[] xs, float[] ys,
+            int start, int end, OutlineSink sink) {
+        int n = end - start + 1;
+        if (n < 2) {
+            return;
+        }
+        // Find the starting on curve point
+        int first = -1;
+        for (int i = start; i <= end; i++) {
+            if ((flags[i] & 0x01) != 0) {
+                first = i;
+                break;
+            }
+        }
+        float sx, sy;
+        if (first < 0) {
+            // All points are off curve, start in the middle of the first two
+            sx = (xs[start] + xs[end]) / 2;
+            sy = (ys[start] + ys[end]) / 2;
+            first = end;
+        } else {
+            sx = xs[first];
+            sy = ys[first];
+        }
+        sink.moveTo(sx, sy);
+
+        boolean pending = false;
+        float cx = 0, cy = 0;
+        for (int k = 1; k <= n; k++) {
+            int i = first + k;
+            if (i > end) {
+                i -= n;
+            }
+            float x = xs[i];
+            float y = ys[i];
+            if ((flags[i] & 0x01) != 0) {
+                if (pending) {
+                    sink.quadTo(cx, cy, x, y);
+                    pending = false;
+                } else {
+                    sink.lineTo(x, y);
+                }
+            } else {
+                if (pending) {
+                    float mx = (cx + x) / 2;
+                    float my = (cy + y) / 2;
+                    sink.quadTo(cx, cy, mx, my);
+                }
+                cx = x;
+                cy = y;
+                pending = true;
+            }
+        }
+        if (pending) {
+            sink.quadTo(cx, cy, sx, sy);
+        }
+        sink.closePath();
+    }
+}
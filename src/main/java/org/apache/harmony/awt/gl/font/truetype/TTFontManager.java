@@ -0,0 +1,373 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.peer.FontPeer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.apache.harmony.awt.Utils;
+import org.apache.harmony.awt.gl.font.FontManager;
+
+/**
+ * Font manager of the pure Java TrueType and OpenType fonts.
+ * <p>
+ * The bundled fonts are listed in the fonts.properties resource of this
+ * package, the keys are the family and style names and the values are
+ * the resource names of the fonts relative to this package:
+ * <pre>
+ * DejaVu\ Sans.plain=DejaVuSans.ttf
+ * DejaVu\ Sans.bold=DejaVuSans-Bold.ttf
+ * </pre>
+ * The font data is read when the font is used for the first time. Without
+ * the bundled fonts the font directories of the system are searched. Only
+ * the file names are listed then, a font file is read when a font with a
+ * name similar to the file name is requested. Listing all the fonts
+ * reads all the files.
+ * <p>
+ * Without the font properties the logical fonts are DejaVu fonts: Serif
+ * is DejaVu Serif, Monospaced and DialogInput are DejaVu Sans Mono,
+ * SansSerif and Dialog are DejaVu Sans.
+ */
+public class TTFontManager extends FontManager {
+
+    /**
+     * The bundled or installed font, the bundled font is read on demand
+     */
+    static final class FontEntry {
+        final String family;
+        final int style;
+        String fullName;
+        final String resource;
+        TTFontFile font;
+        boolean failed;
+
+        FontEntry(String family, int style, String resource) {
+            this.family = family;
+            this.style = style;
+            this.resource = resource;
+            this.fullName = family;
+        }
+
+        FontEntry(TTFontFile font) {
+            this(font.getFamilyName(), font.getStyle(), null);
+            this.fullName = font.getFullName();
+            this.font = font;
+        }
+
+        synchronized TTFontFile getFont() {
+            if (font == null && !failed) {
+                try {
+                    InputStream is = TTFontManager.class.getResourceAsStream(resource);
+                    if (is != null) {
+                        try {
+                            font = TTFontFile.read(is);
+                        } finally {
+                            is.close();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Treated as the missing font
+                } catch (FontFormatException e) {
+                    // Treated as the missing font
+                }
+                failed = font == null;
+            }
+            return font;
+        }
+    }
+
+    // the known fonts, filled on the first use
+    private List<FontEntry> entries;
+
+    // the font files of the system which have not been read yet
+    private List<File> candidates;
+
+    private String defaultFamily;
+
+    public TTFontManager() {
+        super();
+    }
+
+    private synchronized List<FontEntry> getEntries() {
+        if (entries == null) {
+            entries = new ArrayList<FontEntry>();
+            candidates = new ArrayList<File>();
+            readBundledFonts();
+            if (entries.isEmpty()) {
+                AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                    public Object run() {
+                        String javaHome = Utils.getSystemProperty("java.home"); //$NON-NLS-1$
+                        if (javaHome != null) {
+                            addPath(new File(javaHome, "lib/fonts"), 0); //$NON-NLS-1$
+                        }
+                        addPath(new File("/usr/share/fonts"), 0); //$NON-NLS-1$
+                        String winDir = Utils.getSystemProperty("windir"); //$NON-NLS-1$
+                        addPath(new File(winDir != null ? winDir : "C:\\Windows", "Fonts"), 0); //$NON-NLS-1$ //$NON-NLS-2$
+                        return null;
+                    }
+                });
+            }
+        }
+        return entries;
+    }
+
+    private void readBundledFonts() {
+        InputStream is = TTFontManager.class.getResourceAsStream("fonts.properties"); //$NON-NLS-1$
+        if (is == null) {
+            return;
+        }
+        Properties props = new Properties();
+        try {
+            try {
+                props.load(is);
+            } finally {
+                is.close();
+            }
+        } catch (IOException e) {
+            return;
+        }
+        for (Enumeration<?> names = props.propertyNames(); names.hasMoreElements();) {
+            String key = (String) names.nextElement();
+            int dot = key.lastIndexOf('.');
+            int style = dot < 0 ? -1 : getLogicalStyle(key.substring(dot + 1).toLowerCase());
+            if (style < 0) {
+                continue;
+            }
+            entries.add(new FontEntry(key.substring(0, dot), style, props.getProperty(key)));
+        }
+    }
+
+    /**
+     * Lists the font files of the directory and its subdirectories
+     */
+    private void addPath(File path, int depth) {
+        if (depth > 4 || !path.canRead() || !path.isDirectory()) {
+            return;
+        }
+        File[] files = path.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (int i = 0; i < files.length; i++) {
+            File f = files[i];
+            if (f.isDirectory()) {
+                addPath(f, depth + 1);
+                continue;
+            }
+            String lower = f.getName().toLowerCase();
+            if (lower.endsWith(".ttf") || lower.endsWith(".otf") || lower.endsWith(".ttc")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                candidates.add(f);
+            }
+        }
+    }
+
+    /**
+     * Reads all the fonts of the file, every font of a collection
+     * gets its own entry
+     */
+    private void readFontFile(File file) {
+        try {
+            ByteBuffer data = FontFileReader.read(file);
+            int count = TTFontFile.getFontCount(data);
+            for (int i = 0; i < count; i++) {
+                try {
+                    entries.add(new FontEntry(new TTFontFile(data, i)));
+                } catch (FontFormatException e) {
+                    // Skip the unsupported font
+                } catch (IndexOutOfBoundsException e) {
+                    // Skip the broken font
+                }
+            }
+        } catch (IOException e) {
+            // Skip the unreadable font
+        }
+    }
+
+    /**
+     * Reads the font files which names look like the font name: the file
+     * name without the extension and the font name compared without the
+     * case and the characters other than the letters and the digits, one
+     * of them should start with another. "DejaVu Sans" matches
+     * DejaVuSans-Bold.ttf and "Times New Roman" matches times.ttf.
+     */
+    private void readCandidates(String name) {
+        String key = getSearchKey(name);
+        if (key.length() == 0) {
+            return;
+        }
+        for (Iterator<File> it = candidates.iterator(); it.hasNext();) {
+            File f = it.next();
+            String fileName = f.getName();
+            String fileKey = getSearchKey(fileName.substring(0, fileName.lastIndexOf('.')));
+            if (fileKey.length() > 0 && (fileKey.startsWith(key) || key.startsWith(fileKey))) {
+                it.remove();
+                readFontFile(f);
+            }
+        }
+    }
+
+    private void readAllCandidates() {
+        while (!candidates.isEmpty()) {
+            readFontFile(candidates.remove(candidates.size() - 1));
+        }
+    }
+
+    private static String getSearchKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private synchronized FontEntry findEntry(String name, int style) {
+        getEntries();
+        readCandidates(name);
+        FontEntry sameFamily = null;
+        for (FontEntry e : entries) {
+            if (e.family.equalsIgnoreCase(name)) {
+                if (e.style == style) {
+                    return e;
+                }
+                if (sameFamily == null || e.style == Font.PLAIN) {
+                    sameFamily = e;
+                }
+            } else if (e.fullName.equalsIgnoreCase(name) && sameFamily == null) {
+                sameFamily = e;
+            }
+        }
+        return sameFamily;
+    }
+
+    @Override
+    public FontPeer createPhysicalFontPeer(String name, int style, int size) {
+        FontEntry e = findEntry(name, style);
+        if (e == null || e.getFont() == null) {
+            e = getDefaultFamily() != null ? findEntry(defaultFamily, style) : null;
+        }
+        if (e == null || e.getFont() == null) {
+            return null;
+        }
+        return new TTFontPeer(e.getFont(), name, style, size);
+    }
+
+    /**
+     * DejaVu Sans if it is present, otherwise the first font which
+     * could be read
+     */
+    private synchronized String getDefaultFamily() {
+        if (defaultFamily == null) {
+            FontEntry e = findEntry("DejaVu Sans", Font.PLAIN); //$NON-NLS-1$
+            if (e == null) {
+                while (entries.isEmpty() && !candidates.isEmpty()) {
+                    readFontFile(candidates.remove(0));
+                }
+                if (!entries.isEmpty()) {
+                    e = entries.get(0);
+                }
+            }
+            defaultFamily = e != null ? e.family : null;
+        }
+        return defaultFamily;
+    }
+
+    @Override
+    protected FontPeer createLogicalFontPeer(String faceName, int style, int size) {
+        String family = getFamilyFromLogicalFace(faceName);
+        for (int i = 0; i < LOGICAL_FONT_FAMILIES.length; i++) {
+            if (LOGICAL_FONT_FAMILIES[i].equalsIgnoreCase(family)) {
+                family = LOGICAL_FONT_FAMILIES[i];
+            }
+        }
+        if (getFontProperties(family.toLowerCase() + "." + style) == null) { //$NON-NLS-1$
+            FontEntry e = findEntry(getPhysicalFamily(family), style);
+            if (e != null && e.getFont() != null) {
+                TTFontPeer peer = new TTFontPeer(e.getFont(), faceName, style, size);
+                peer.setFamily(family);
+                peer.setFontName(faceName);
+                peer.setPSName(faceName);
+                return peer;
+            }
+        }
+        return super.createLogicalFontPeer(faceName, style, size);
+    }
+
+    private static String getPhysicalFamily(String logicalFamily) {
+        String lower = logicalFamily.toLowerCase();
+        if (lower.equals("serif")) { //$NON-NLS-1$
+            return "DejaVu Serif"; //$NON-NLS-1$
+        }
+        if (lower.equals("monospaced") || lower.equals("dialoginput")) { //$NON-NLS-1$ //$NON-NLS-2$
+            return "DejaVu Sans Mono"; //$NON-NLS-1$
+        }
+        return "DejaVu Sans"; //$NON-NLS-1$
+    }
+
+    @Override
+    public FontPeer createDefaultFont(int style, int size) {
+        String family = getDefaultFamily();
+        return family == null ? null : createPhysicalFontPeer(family, style, size);
+    }
+
+    /**
+     * The names are read from the English records of the name table
+     */
+    @Override
+    public void initLCIDTable() {
+        tableLCID.put("en", Short.valueOf(ENGLISH_LANGID)); //$NON-NLS-1$
+        tableLCID.put("en_US", Short.valueOf(ENGLISH_LANGID)); //$NON-NLS-1$
+    }
+
+    @Override
+    public synchronized String[] getAllFamilies() {
+        getEntries();
+        readAllCandidates();
+        TreeSet<String> families = new TreeSet<String>();
+        for (FontEntry e : entries) {
+            families.add(e.family);
+        }
+        return families.toArray(new String[families.size()]);
+    }
+
+    @Override
+    public synchronized Font[] getAllFonts() {
+        getEntries();
+        readAllCandidates();
+        Font[] fonts = new Font[entries.size()];
+        for (int i = 0; i < fonts.length; i++) {
+            FontEntry e = entries.get(i);
+            fonts[i] = new Font(e.fullName, e.style, 1);
+        }
+        return fonts;
+    }
+}
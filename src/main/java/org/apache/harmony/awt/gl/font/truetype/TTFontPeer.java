@@ -0,0 +1,213 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Hashtable;
+
+import org.apache.harmony.awt.gl.font.FontExtraMetrics;
+import org.apache.harmony.awt.gl.font.FontPeerImpl;
+import org.apache.harmony.awt.gl.font.Glyph;
+import org.apache.harmony.awt.gl.font.GlyphCache;
+import org.apache.harmony.awt.gl.font.LineMetricsImpl;
+
+/**
+ * Font peer of the TrueType or OpenType font read by the pure Java
+ * TTFontFile, it needs no native font library.
+ */
+public final class TTFontPeer extends FontPeerImpl {
+
+    private final TTFontFile font;
+
+    // pixels per font unit
+    private final float scale;
+
+    private Glyph defGlyph;
+
+    // cached FontExtraMetrics object
+    private FontExtraMetrics extraMetrics;
+
+    // glyphs of this peer, their masks are kept by the GlyphCache
+    private final Hashtable<Character, TTGlyph> glyphTable = new Hashtable<Character, TTGlyph>();
+
+    public TTFontPeer(TTFontFile font, String name, int style, int size) {
+        super();
+        this.font = font;
+        this.name = name;
+        this.style = style;
+        this.size = size;
+        this.scale = (float) size / font.getUnitsPerEm();
+
+        setFamily(font.getFamilyName());
+        setFontName(font.getFullName());
+        setPSName(font.getPSName());
+
+        nlm = (LineMetricsImpl) getLineMetrics("", null, null); //$NON-NLS-1$
+        maxCharBounds = new Rectangle2D.Float(0, -nlm.getAscent(), nlm.getMaxCharWidth(), nlm.getHeight());
+    }
+
+    /**
+     * @return the font file of this peer
+     */
+    public TTFontFile getFontFile() {
+        return font;
+    }
+
+    @Override
+    public FontExtraMetrics getExtraMetrics() {
+        if (extraMetrics == null) {
+            int[] script = font.getScriptMetrics();
+            float[] metrics = new float[9];
+            metrics[0] = font.getAverageCharWidth() * scale;
+            for (int i = 0; i < 8; i++) {
+                metrics[i + 1] = script[i] * scale;
+            }
+            extraMetrics = new FontExtraMetrics(metrics);
+        }
+        return extraMetrics;
+    }
+
+    @Override
+    public LineMetrics getLineMetrics(String str, FontRenderContext frc, AffineTransform at) {
+        float ascent = font.getAscent() * scale;
+        float descent = font.getDescent() * scale;
+        float leading = font.getLineGap() * scale;
+
+        LineMetricsImpl lm = new LineMetricsImpl(
+                str.length(), //_numChars number of chars 
+                0, //_baseLineIndex index of the baseline offset
+                new float[]{0, (-ascent + descent) / 2, -ascent}, //_baselineOffsets an array of baseline offsets
+                font.getUnderlineThickness() * scale, //_underlineThickness underline thickness
+                -font.getUnderlinePosition() * scale, //_underlineOffset underline offset
+                font.getStrikeoutSize() * scale, //_strikethroughThickness strikethrough thickness
+                -font.getStrikeoutPosition() * scale, //_strikethroughOffset strinkethrough offset
+                leading, //_leading leading of the font
+                ascent + descent + leading, //_height font height
+                ascent, //_ascent ascent of the font
+                descent, //_descent descent of the font
+                font.getAdvanceWidthMax() * scale); //_maxCharWidth max char width
+
+        if ((at != null) && (!at.isIdentity())){
+            lm.scale((float)at.getScaleX(), (float)at.getScaleY());
+        }
+
+        return lm;
+    }
+
+    @Override
+    public String getPSName() {
+        return psName;
+    }
+
+    @Override
+    public int getMissingGlyphCode() {
+        return 0;
+    }
+
+    @Override
+    public Glyph getGlyph(char ch) {
+        Character id = Character.valueOf(ch);
+
+        TTGlyph glyph = glyphTable.get(id);
+        if (glyph == null) {
+            glyph = new TTGlyph(font, ch, font.getGlyphIndex(ch), size);
+            glyphTable.put(id, glyph);
+        }
+
+        return glyph;
+    }
+
+    @Override
+    public void dispose() {
+        glyphTable.clear();
+        GlyphCache.getInstance().removeFont(this);
+    }
+
+    @Override
+    public Glyph getDefaultGlyph() {
+        if (defGlyph == null) {
+            defGlyph = new TTGlyph(font, defaultChar, 0, size);
+        }
+        return defGlyph;
+    }
+
+    @Override
+    public boolean canDisplay(char c) {
+        return font.getGlyphIndex(c) != 0;
+    }
+
+    @Override
+    public char getUnicodeByIndex(int glyphCode) {
+        for (int c = 0; c < 0xffff; c++) {
+            if (font.getGlyphIndex(c) == glyphCode) {
+                return (char) c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the advance from the horizontal metrics, no glyph is created.
+     * It is rounded as the advance of the glyph.
+     */
+    @Override
+    protected float computeCharAdvance(char ch) {
+        return Math.round(font.getAdvance(font.getGlyphIndex(ch)) * scale);
+    }
+
+    @Override
+    public int getGlyphCode(char ch) {
+        return font.getGlyphIndex(ch);
+    }
+
+    /**
+     * Returns the precise advance of the glyph in pixels
+     * 
+     * @param glyphCode the glyph code
+     */
+    public float getAdvance(int glyphCode) {
+        return font.getAdvance(glyphCode) * scale;
+    }
+
+    @Override
+    public boolean hasKerning() {
+        return font.hasKerning();
+    }
+
+    @Override
+    public float getKerning(int leftGlyph, int rightGlyph) {
+        return font.getKerning(leftGlyph, rightGlyph) * scale;
+    }
+
+    @Override
+    public int getNumGlyphs() {
+        return font.getNumGlyphs();
+    }
+
+    @Override
+    public float getItalicAngle() {
+        return font.getItalicAngle();
+    }
+
+    @Override
+    public float getHeight() {
+        return nlm.getHeight();
+    }
+}
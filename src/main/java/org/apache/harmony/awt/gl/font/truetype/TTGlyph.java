@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.font.truetype;
+
+import java.awt.Shape;
+import java.awt.font.GlyphMetrics;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
+
+import org.apache.harmony.awt.gl.font.Glyph;
+
+/**
+ * The glyph of the TrueType or OpenType font. The outline is built from
+ * the font data on the first use, the masks of the glyph are rasterized
+ * from the outline by the GlyphCache.
+ */
+final class TTGlyph extends Glyph {
+
+    private final TTFontFile font;
+
+    // the font size in pixels
+    private final float size;
+
+    TTGlyph(TTFontFile font, char c, int glyphIndex, float size) {
+        this.font = font;
+        this.size = size;
+        glChar = c;
+        glCode = glyphIndex;
+    }
+
+    /**
+     * The glyph bitmaps are not used, the masks are kept by the GlyphCache
+     */
+    @Override
+    public byte[] getBitmap() {
+        return null;
+    }
+
+    @Override
+    public Shape initOutline(char c) {
+        if (glOutline == null) {
+            final GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO);
+            font.getOutline(glCode, size, new TTFontFile.OutlineSink() {
+                public void moveTo(float x, float y) {
+                    path.moveTo(x, y);
+                }
+
+                public void lineTo(float x, float y) {
+                    path.lineTo(x, y);
+                }
+
+                public void quadTo(float x1, float y1, float x2, float y2) {
+                    path.quadTo(x1, y1, x2, y2);
+                }
+
+                public void curveTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+                    path.curveTo(x1, y1, x2, y2, x3, y3);
+                }
+
+                public void closePath() {
+                    path.closePath();
+                }
+            });
+            glOutline = path;
+        }
+        return glOutline;
+    }
+
+    /**
+     * @return the advance of the glyph in pixels
+     */
+    float getAdvance() {
+        return font.getAdvance(glCode) * size / font.getUnitsPerEm();
+    }
+
+    @Override
+    public GlyphMetrics getGlyphMetrics() {
+        if (glMetrics == null) {
+            Rectangle2D bounds = getShape().getBounds2D();
+            glMetrics = new GlyphMetrics(
+                    true,
+                    getAdvance(),
+                    0,
+                    bounds,
+                    bounds.isEmpty() ? GlyphMetrics.WHITESPACE : GlyphMetrics.STANDARD);
+        }
+        return glMetrics;
+    }
+
+    @Override
+    public GlyphMetrics getGlyphPointMetrics() {
+        if (glPointMetrics == null) {
+            GlyphMetrics gm = getGlyphMetrics();
+            glPointMetrics = new GlyphMetrics(
+                    true,
+                    Math.round(gm.getAdvanceX()),
+                    0,
+                    gm.getBounds2D(),
+                    (byte) gm.getType());
+        }
+        return glPointMetrics;
+    }
+}
@@ -80,12 +80,14 @@ public class BufferedImageGraphics2D extends CommonGraphics2D {
     
     @Override
     public void drawString(String str, float x, float y) {
-        TShape sh = font.createGlyphVector(this.getFontRenderContext(), str).getOutline(x, y);
-        fill(sh);
+        drawGlyphVector(font.createGlyphVector(this.getFontRenderContext(), str), x, y);
     }
 
     @Override
     public void drawGlyphVector(TGlyphVector gv, float x, float y) {
+        if (drawCachedGlyphs(gv, x, y)) {
+            return;
+        }
         TShape sh = gv.getOutline(x, y);
         this.fill(sh);
     }
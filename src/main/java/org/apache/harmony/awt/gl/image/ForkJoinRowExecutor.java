@@ -0,0 +1,59 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.image;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * RowExecutor splitting the rows between the threads of the common
+ * fork/join pool. Loaded by RowExecutor by name only.
+ */
+final class ForkJoinRowExecutor extends RowExecutor {
+
+    // Rows processed by one task at least
+    static final int MIN_ROWS = 16;
+
+    @Override
+    void run(RowTask task, int height) {
+        ForkJoinPool.commonPool().invoke(new Rows(task, 0, height));
+    }
+
+    static final class Rows extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final RowTask task;
+        final int first;
+        final int last;
+
+        Rows(RowTask task, int first, int last) {
+            this.task = task;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first <= MIN_ROWS) {
+                task.run(first, last);
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new Rows(task, first, middle), new Rows(task, middle, last));
+        }
+    }
+}
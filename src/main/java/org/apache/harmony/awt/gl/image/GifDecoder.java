@@ -17,25 +17,32 @@
 
 package org.apache.harmony.awt.gl.image;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
 import org.teavm.classlib.java.awt.image.TColorModel;
 import org.teavm.classlib.java.awt.image.TImageConsumer;
-import org.teavm.classlib.java.awt.image.TIndexColorModel;
 
+/**
+ * Pure Java GIF decoder. Frames are composed on the ARGB logical screen:
+ * the LZW codes are expanded into one reusable index scanline, which is
+ * mapped through the int[] lookup table of the color table and sent to
+ * the consumers as soon as it is complete.
+ * <p>
+ * Animations are played by the loader thread. Only the compressed image
+ * data of the frames is kept for the replays, composed frames are cached
+ * in the frame cache shared by all the decoders, which is bounded by
+ * the total number of pixels, and decoded again when evicted.
+ */
 public class GifDecoder extends ImageDecoder {
-    // initializes proper field IDs
-    private static native void initIDs();
-
-    static {
-        org.apache.harmony.awt.Utils.loadLibrary("gl"); //$NON-NLS-1$
-        initIDs();
-    }
-
     // ImageConsumer hints: common
     private static final int baseHints =
             TImageConsumer.SINGLEPASS | TImageConsumer.COMPLETESCANLINES |
@@ -47,33 +54,67 @@ public class GifDecoder extends ImageDecoder {
     // Impossible color value - no translucent pixels allowed
     static final int IMPOSSIBLE_VALUE = 0x0FFFFFFF;
 
+    // Block introducers and extension labels
+    private static final int EXTENSION_INTRODUCER = 0x21;
+    private static final int IMAGE_SEPARATOR = 0x2C;
+    private static final int TRAILER = 0x3B;
+    private static final int GRAPHIC_CONTROL_LABEL = 0xF9;
+    private static final int COMMENT_LABEL = 0xFE;
+    private static final int APPLICATION_LABEL = 0xFF;
+
+    private static final int MAX_LZW_BITS = 12;
+    private static final int MAX_LZW_CODES = 1 << MAX_LZW_BITS;
+
+    // Interlaced images: first row and row increment of the passes
+    private static final int INTERLACE_START[] = {0, 4, 2, 1};
+    private static final int INTERLACE_STEP[] = {8, 8, 4, 2};
+
+    // Composed frames of all the animations together may take this
+    // number of pixels
+    private static final int FRAME_CACHE_BUDGET = 1 << 21;
+    private static final FrameCache frameCache = new FrameCache(FRAME_CACHE_BUDGET);
+
     // I/O buffer
     private static final int MIN_BUFFER_SIZE = 1024;
     private static final int MAX_BUFFER_SIZE = 2097152;
     private int buffer_size;
     private byte buffer[];
+    private int bufferPos;
+    private int bufferLength;
 
     GifDataStream gifDataStream = new GifDataStream();
     GifGraphicBlock currBlock;
 
-    // Pointer to native structure which store decoding state
-    // between subsequent decoding/IO-suspension cycles
-    private long hNativeDecoder; // NULL initially
-
-    // Number of bytes eaten by the native decoder
-    private int bytesConsumed;
-
-    private boolean consumersPrepared;
     private Hashtable<String, String> properties = new Hashtable<String, String>();
 
-    // Could be set up by java code or native method when
-    // transparent pixel index changes or local color table encountered
-    private boolean forceRGB;
-
-    private byte screenBuffer[];
-    private int screenRGBBuffer[];
-
-    TColorModel gcm;
+    private final TColorModel rgbModel = TColorModel.getRGBdefault();
+
+    // Composed logical screen, ARGB
+    private int screen[];
+    // Screen area under the frame which is disposed with DISPOSAL_RESTORE
+    private int savedPixels[];
+
+    // LZW decoder tables and state
+    private final short prefix[] = new short[MAX_LZW_CODES];
+    private final byte suffix[] = new byte[MAX_LZW_CODES];
+    private final byte pixelStack[] = new byte[MAX_LZW_CODES + 1];
+    private final byte subBlock[] = new byte[255];
+    private int datum;
+    private int bits;
+    private int codeSize;
+    private int codeMask;
+    private int available;
+    private int oldCode;
+    private int first;
+    private boolean dataEnded;
+
+    // Index scanline and output position of the current frame
+    private byte indexRow[];
+    private int rowX;
+    private int rowY;
+    private int rowsDone;
+    private int pass;
+    private int lut[];
 
     public GifDecoder(DecodingImageSource src, InputStream is) {
         super(src, is);
@@ -92,233 +133,520 @@ public class GifDecoder extends ImageDecoder {
         buffer = new byte[buffer_size];
     }
 
-    private static native int[] toRGB(byte imageData[], byte colormap[], int transparentColor);
-
-    private static native void releaseNativeDecoder(long hDecoder);
-
-    private native int decode(
-            byte input[],
-            int bytesInBuffer,
-            long hDecoder,
-            GifDataStream dataStream,
-            GifGraphicBlock currBlock
-            );
-
-    private int[] getScreenRGBBuffer() {
-        if (screenRGBBuffer == null) {
-            if (screenBuffer != null) {
-                int transparentColor =
-                        gifDataStream.logicalScreen.globalColorTable.cm.getTransparentPixel();
-                transparentColor = transparentColor > 0 ? transparentColor : IMPOSSIBLE_VALUE;
-                screenRGBBuffer =
-                        toRGB(
-                                screenBuffer,
-                                gifDataStream.logicalScreen.globalColorTable.colors,
-                                transparentColor
-                        );
-            } else {
-                int size = gifDataStream.logicalScreen.logicalScreenHeight *
-                        gifDataStream.logicalScreen.logicalScreenWidth;
-                screenRGBBuffer = new int[size];
-            }
-        }
-
-        return screenRGBBuffer;
-    }
-
     private void prepareConsumers() {
         GifLogicalScreen gls = gifDataStream.logicalScreen;
         setDimensions(gls.logicalScreenWidth,
                 gls.logicalScreenHeight);
         setProperties(properties);
+        setColorModel(rgbModel);
 
-        currBlock = gifDataStream.graphicBlocks.get(0);
-        if (forceRGB) {
-            setColorModel(TColorModel.getRGBdefault());
-        } else {
-            gcm = gls.globalColorTable.getColorModel(currBlock.transparentColor);
-            setColorModel(gcm);
-        }
-
-        // Fill screen buffer with the background or transparent color
-        if (forceRGB) {
-            int fillColor = 0xFF000000;
-            if (gls.backgroundColor != IMPOSSIBLE_VALUE) {
-                fillColor = gls.backgroundColor;
-            }
-
-            Arrays.fill(getScreenRGBBuffer(), fillColor);
-        } else {
-            int fillColor = 0;
-
-            if (gls.backgroundColor != IMPOSSIBLE_VALUE) {
-                fillColor = gls.backgroundColor;
-            } else {
-                fillColor = gls.globalColorTable.cm.getTransparentPixel();
-            }
-
-            screenBuffer = new byte[gls.logicalScreenHeight*gls.logicalScreenWidth];
-            Arrays.fill(screenBuffer, (byte) fillColor);
-        }
+        // Uncovered areas are transparent
+        screen = new int[gls.logicalScreenHeight * gls.logicalScreenWidth];
 
         setHints(interlacedHints); // XXX - always random pixel order
     }
 
     @Override
     public void decodeImage() throws IOException {
+        List<GifGraphicBlock> graphicBlocks = gifDataStream.graphicBlocks;
         try {
-            int bytesRead = 0;
-            int needBytes, offset, bytesInBuffer = 0;
-            boolean eosReached = false;
-            GifGraphicBlock blockToDispose = null;
+            try {
+                readLogicalScreen();
+                prepareConsumers();
 
-            // Create new graphic block
-            if (currBlock == null) {
+                GifGraphicBlock blockToDispose = null;
                 currBlock = new GifGraphicBlock();
-                gifDataStream.graphicBlocks.add(currBlock);
-            }
 
-            // Read from the input stream
-            for (;;) {
-                needBytes = buffer_size - bytesInBuffer;
-                offset = bytesInBuffer;
-
-                bytesRead = inputStream.read(buffer, offset, needBytes);
-
-                if (bytesRead < 0) {
-                    eosReached = true;
-                    bytesRead = 0;
-                } // Don't break, maybe something left in buffer
-
-                // Keep track on how much bytes left in buffer
-                bytesInBuffer += bytesRead;
-
-                // Here we pass number of new bytes read from the input stream (bytesRead)
-                // since native decoder uses java buffer and doesn't have its own
-                // buffer. So it adds this number to the number of bytes left
-                // in buffer from the previous call.
-                int numLines = decode(
-                        buffer,
-                        bytesRead,
-                        hNativeDecoder,
-                        gifDataStream,
-                        currBlock);
-
-                // Keep track on how much bytes left in buffer
-                bytesInBuffer -= bytesConsumed;
-
-                if (
-                        !consumersPrepared &&
-                        gifDataStream.logicalScreen.completed &&
-                        gifDataStream.logicalScreen.globalColorTable.completed &&
-                        (currBlock.imageData != null || // Have transparent pixel filled
-                        currBlock.rgbImageData != null)
-                ) {
-                    prepareConsumers();
-                    consumersPrepared = true;
-                }
+                while (!terminated) {
+                    int b = readByte();
+                    if (b == IMAGE_SEPARATOR) {
+                        readImageDescriptor(currBlock);
 
-                if (bytesConsumed < 0) {
-                    break; // Error exit
-                }
-
-                if (currBlock != null) {
-                    if (numLines != 0) {
                         // Dispose previous image only before showing next
                         if (blockToDispose != null) {
                             blockToDispose.dispose();
-                            blockToDispose = null;
                         }
 
-                        currBlock.sendNewData(this, numLines);
-                    }
+                        // Keep the data for the replays if the image is animated
+                        currBlock.keepData = gifDataStream.loopCount != 1;
+                        showFrame(currBlock, true);
+                        currBlock.completed = true;
+                        graphicBlocks.add(currBlock);
 
-                    if (currBlock.completed && hNativeDecoder != 0) {
-                        blockToDispose = currBlock; // Dispose only before showing new pixels
+                        blockToDispose = currBlock;
                         currBlock = new GifGraphicBlock();
-                        gifDataStream.graphicBlocks.add(currBlock);
+                    } else if (b == EXTENSION_INTRODUCER) {
+                        readExtension(currBlock);
+                    } else if (b == TRAILER) {
+                        break;
+                    } else if (b != 0) {
+                        break; // Garbage after the image, stop here
                     }
                 }
+                gifDataStream.completed = true;
+            } catch (EOFException e) {
+                // Image is truncated, show what has been decoded
+            } finally {
+                closeStream();
+            }
 
-                if (hNativeDecoder == 0) {
-                    break;
-                }
+            if (screen == null) {
+                imageComplete(TImageConsumer.IMAGEERROR);
+                return;
+            }
 
-                if (eosReached && numLines == 0) { // Maybe image is truncated...
-                    releaseNativeDecoder(hNativeDecoder);
-                    break;
+            // Here all animation goes
+            // Repeat image loopCount-1 times or infinitely if loopCount = 0
+            if (gifDataStream.loopCount != 1 && graphicBlocks.size() > 1 && !terminated) {
+                int numFrames = graphicBlocks.size();
+                // At first last block will be disposed
+                GifGraphicBlock gb = graphicBlocks.get(numFrames - 1);
+
+                ImageLoader.beginAnimation();
+                try {
+                    while (gifDataStream.loopCount != 1 && !terminated) {
+                        if (gifDataStream.loopCount != 0) {
+                            gifDataStream.loopCount--;
+                        }
+
+                        // Show all frames
+                        for (int i = 0; i < numFrames && !terminated; i++) {
+                            gb.dispose();
+                            gb = graphicBlocks.get(i);
+                            showFrame(gb, false);
+                        }
+                    }
+                } finally {
+                    ImageLoader.endAnimation();
                 }
             }
+
+            imageComplete(TImageConsumer.STATICIMAGEDONE);
+        } catch (RuntimeException e) {
+            imageComplete(TImageConsumer.IMAGEERROR);
+            throw e;
         } finally {
-            closeStream();
+            frameCache.removeAll(graphicBlocks);
+        }
+    }
+
+    void setComment(String newComment) {
+        Object currComment = properties.get("comment"); //$NON-NLS-1$
+
+        if (currComment == null) {
+            properties.put("comment", newComment); //$NON-NLS-1$
+        } else {
+            properties.put("comment", (String) currComment + "\n" + newComment); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        setProperties(properties);
+    }
+
+    /***************************************************************************
+     *
+     *  Blocks
+     *
+     ***************************************************************************/
+
+    private void readLogicalScreen() throws IOException {
+        skip(6); // Signature has been checked by ImageDecoder.createDecoder
+
+        GifLogicalScreen gls = gifDataStream.logicalScreen;
+        gls.logicalScreenWidth = readShort();
+        gls.logicalScreenHeight = readShort();
+        int flags = readByte();
+        int backgroundIndex = readByte();
+        skip(1); // Pixel aspect ratio
+
+        if ((flags & 0x80) != 0) {
+            readColorTable(gls.globalColorTable, flags & 0x07);
+            gls.backgroundColor = gls.globalColorTable.lut[backgroundIndex];
+        }
+        gls.completed = true;
+    }
+
+    private void readColorTable(GifColorTable table, int sizeBits) throws IOException {
+        table.size = 2 << sizeBits;
+        readBytes(table.colors, table.size * 3);
+        table.completed = true;
+        table.updateLut();
+    }
+
+    private void readImageDescriptor(GifGraphicBlock gb) throws IOException {
+        gb.imageLeft = readShort();
+        gb.imageTop = readShort();
+        gb.imageWidth = readShort();
+        gb.imageHeight = readShort();
+        int flags = readByte();
+        gb.interlace = (flags & 0x40) != 0;
+
+        GifLogicalScreen gls = gifDataStream.logicalScreen;
+        gb.imageRight = Math.min(gb.imageLeft + gb.imageWidth, gls.logicalScreenWidth);
+        gb.imageBottom = Math.min(gb.imageTop + gb.imageHeight, gls.logicalScreenHeight);
+
+        if ((flags & 0x80) != 0) {
+            gb.localColorTable = new GifColorTable();
+            readColorTable(gb.localColorTable, flags & 0x07);
+        }
+        gb.lzwMinCodeSize = readByte();
+    }
+
+    private void readExtension(GifGraphicBlock gb) throws IOException {
+        int label = readByte();
+        switch (label) {
+            case GRAPHIC_CONTROL_LABEL: {
+                int size = readByte();
+                if (size >= 4) {
+                    int flags = readByte();
+                    gb.disposalMethod = (flags >> 2) & 0x07;
+                    gb.delayTime = readShort() * 10;
+                    int transparentIndex = readByte();
+                    gb.transparentColor = (flags & 0x01) != 0 ? transparentIndex : IMPOSSIBLE_VALUE;
+                    skip(size - 4);
+                } else {
+                    skip(size);
+                }
+                break;
+            }
+            case APPLICATION_LABEL: {
+                int size = readByte();
+                byte id[] = new byte[size];
+                readBytes(id, size);
+                String appId = new String(id, 0, size, "ISO-8859-1"); //$NON-NLS-1$
+                if (appId.equals("NETSCAPE2.0") || appId.equals("ANIMEXTS1.0")) { //$NON-NLS-1$ //$NON-NLS-2$
+                    // Netscape looping extension
+                    int blockSize;
+                    while ((blockSize = readByte()) != 0) {
+                        if (blockSize >= 3 && readByte() == 1) {
+                            gifDataStream.loopCount = readShort();
+                            skip(blockSize - 3);
+                        } else {
+                            skip(blockSize - 1);
+                        }
+                    }
+                    return;
+                }
+                break;
+            }
+            case COMMENT_LABEL: {
+                StringBuilder comment = new StringBuilder();
+                int blockSize;
+                while ((blockSize = readByte()) != 0) {
+                    readBytes(subBlock, blockSize);
+                    comment.append(new String(subBlock, 0, blockSize, "ISO-8859-1")); //$NON-NLS-1$
+                }
+                setComment(comment.toString());
+                return;
+            }
+        }
+        skipSubBlocks();
+    }
+
+    /***************************************************************************
+     *
+     *  Frames
+     *
+     ***************************************************************************/
+
+    /**
+     * Draws the frame on the screen and sends the changed pixels
+     * to the consumers. Frame is decoded from the stream, taken from
+     * the frame cache or decoded from the kept data.
+     */
+    private void showFrame(GifGraphicBlock gb, boolean fromStream) throws IOException {
+        boolean visible = gb.imageLeft < gb.imageRight && gb.imageTop < gb.imageBottom;
+
+        if (gb.disposalMethod == GifGraphicBlock.DISPOSAL_RESTORE && visible) {
+            savedPixels = copyRect(gb, savedPixels);
+        }
+
+        if (!fromStream) {
+            int cached[] = frameCache.get(gb);
+            if (cached != null) {
+                pasteRect(gb, cached);
+                sendRect(gb);
+                return;
+            }
         }
 
-        // Here all animation goes
-        // Repeat image loopCount-1 times or infinitely if loopCount = 0
-        if (gifDataStream.loopCount != 1) {
-            if (currBlock.completed == false) {
-                gifDataStream.graphicBlocks.remove(currBlock);
+        GifColorTable table = gb.localColorTable != null ?
+                gb.localColorTable : gifDataStream.logicalScreen.globalColorTable;
+        lut = table.lut;
+
+        startFrame(gb);
+        if (fromStream) {
+            int blockSize;
+            while ((blockSize = readByte()) != 0) {
+                readBytes(subBlock, blockSize);
+                if (gb.keepData) {
+                    gb.appendData(subBlock, blockSize);
+                }
+                if (!dataEnded && !terminated) {
+                    decodeData(gb, subBlock, blockSize);
+                }
+            }
+        } else {
+            decodeData(gb, gb.data, gb.dataLength);
+            if (visible) {
+                frameCache.put(gb, copyRect(gb, null));
             }
+        }
+    }
 
-            int numFrames = gifDataStream.graphicBlocks.size();
-            // At first last block will be disposed
-            GifGraphicBlock gb =
-                    gifDataStream.graphicBlocks.get(numFrames-1);
+    private void startFrame(GifGraphicBlock gb) {
+        int minCodeSize = Math.max(2, Math.min(gb.lzwMinCodeSize, MAX_LZW_BITS - 1));
+        int clearCode = 1 << minCodeSize;
+        for (int i = 0; i < clearCode; i++) {
+            prefix[i] = 0;
+            suffix[i] = (byte) i;
+        }
+        codeSize = minCodeSize + 1;
+        codeMask = (1 << codeSize) - 1;
+        available = clearCode + 2;
+        oldCode = -1;
+        datum = 0;
+        bits = 0;
+        // Empty frames have nothing to decode
+        dataEnded = gb.imageWidth == 0 || gb.imageHeight == 0;
+
+        if (indexRow == null || indexRow.length < gb.imageWidth) {
+            indexRow = new byte[gb.imageWidth];
+        }
+        rowX = 0;
+        rowY = 0;
+        rowsDone = 0;
+        pass = 0;
+    }
 
-            ImageLoader.beginAnimation();
+    /**
+     * Expands the LZW codes from the data, complete scanlines are sent
+     * to the consumers
+     */
+    private void decodeData(GifGraphicBlock gb, byte data[], int length) {
+        int clearCode = 1 << Math.max(2, Math.min(gb.lzwMinCodeSize, MAX_LZW_BITS - 1));
+        int endCode = clearCode + 1;
+        int width = gb.imageWidth;
+        byte row[] = indexRow;
+        byte stack[] = pixelStack;
+
+        for (int i = 0; i < length && !dataEnded; i++) {
+            datum |= (data[i] & 0xFF) << bits;
+            bits += 8;
+
+            while (bits >= codeSize) {
+                int code = datum & codeMask;
+                datum >>>= codeSize;
+                bits -= codeSize;
+
+                if (code == clearCode) {
+                    codeSize = Integer.numberOfTrailingZeros(clearCode) + 1;
+                    codeMask = (1 << codeSize) - 1;
+                    available = clearCode + 2;
+                    oldCode = -1;
+                    continue;
+                }
+                if (code == endCode || code > available) {
+                    // End of information or corrupted data
+                    dataEnded = true;
+                    break;
+                }
 
-            while (gifDataStream.loopCount != 1) {
-                if (gifDataStream.loopCount != 0) {
-                    gifDataStream.loopCount--;
+                int top = 0;
+                if (oldCode == -1) {
+                    if (code >= clearCode) {
+                        dataEnded = true;
+                        break;
+                    }
+                    first = code;
+                    stack[top++] = (byte) code;
+                } else {
+                    int inCode = code;
+                    if (code == available) {
+                        stack[top++] = (byte) first;
+                        code = oldCode;
+                    }
+                    while (code > clearCode) {
+                        stack[top++] = suffix[code];
+                        code = prefix[code];
+                    }
+                    first = suffix[code] & 0xFF;
+                    stack[top++] = (byte) first;
+
+                    if (available < MAX_LZW_CODES) {
+                        prefix[available] = (short) oldCode;
+                        suffix[available] = (byte) first;
+                        available++;
+                        if ((available & codeMask) == 0 && available < MAX_LZW_CODES) {
+                            codeSize++;
+                            codeMask += available;
+                        }
+                    }
+                    code = inCode;
+                }
+                oldCode = code;
+
+                // Pixels are on the stack in reverse order
+                while (top > 0) {
+                    row[rowX++] = stack[--top];
+                    if (rowX == width) {
+                        sendRow(gb);
+                        if (dataEnded) {
+                            break;
+                        }
+                    }
                 }
+                if (dataEnded) {
+                    break;
+                }
+            }
+        }
+    }
 
-                // Show all frames
-                for (int i=0; i<numFrames; i++) {
-                    gb.dispose();
-                    gb = gifDataStream.graphicBlocks.get(i);
-
-                    // Show one frame
-                    if (forceRGB) {
-                        setPixels(
-                                gb.imageLeft,
-                                gb.imageTop,
-                                gb.imageWidth,
-                                gb.imageHeight,
-                                TColorModel.getRGBdefault(),
-                                gb.getRgbImageData(),
-                                0,
-                                gb.imageWidth
-                        );
-                    } else {
-                        setPixels(
-                                gb.imageLeft,
-                                gb.imageTop,
-                                gb.imageWidth,
-                                gb.imageHeight,
-                                gcm, 
-                                gb.imageData,
-                                0,
-                                gb.imageWidth
-                        );
+    /**
+     * Maps the index scanline through the color table on the screen
+     * and sends it to the consumers
+     */
+    private void sendRow(GifGraphicBlock gb) {
+        rowX = 0;
+        int screenWidth = gifDataStream.logicalScreen.logicalScreenWidth;
+        int y = gb.imageTop + rowY;
+
+        if (y < gb.imageBottom && gb.imageLeft < gb.imageRight) {
+            byte row[] = indexRow;
+            int colors[] = lut;
+            int transparent = gb.transparentColor;
+            int offset = y * screenWidth + gb.imageLeft;
+            int count = gb.imageRight - gb.imageLeft;
+
+            if (transparent == IMPOSSIBLE_VALUE) {
+                for (int x = 0; x < count; x++) {
+                    screen[offset + x] = colors[row[x] & 0xFF];
+                }
+            } else {
+                for (int x = 0; x < count; x++) {
+                    int index = row[x] & 0xFF;
+                    if (index != transparent) {
+                        screen[offset + x] = colors[index];
                     }
                 }
             }
-            ImageLoader.endAnimation();
+
+            setPixels(gb.imageLeft, y, count, 1, rgbModel, screen, offset, screenWidth);
         }
 
-        imageComplete(TImageConsumer.STATICIMAGEDONE);
+        // Next row
+        if (++rowsDone == gb.imageHeight) {
+            dataEnded = true;
+        } else if (gb.interlace) {
+            rowY += INTERLACE_STEP[pass];
+            while (rowY >= gb.imageHeight && pass < 3) {
+                pass++;
+                rowY = INTERLACE_START[pass];
+            }
+        } else {
+            rowY++;
+        }
     }
 
-    void setComment(String newComment) {
-        Object currComment = properties.get("comment"); //$NON-NLS-1$
+    private int[] copyRect(GifGraphicBlock gb, int dst[]) {
+        int screenWidth = gifDataStream.logicalScreen.logicalScreenWidth;
+        int w = gb.imageRight - gb.imageLeft;
+        int h = gb.imageBottom - gb.imageTop;
+        if (dst == null || dst.length < w * h) {
+            dst = new int[w * h];
+        }
+        for (int i = 0; i < h; i++) {
+            System.arraycopy(screen, (gb.imageTop + i) * screenWidth + gb.imageLeft, dst, i * w, w);
+        }
+        return dst;
+    }
 
-        if (currComment == null) {
-            properties.put("comment", newComment); //$NON-NLS-1$
-        } else {
-            properties.put("comment", (String) currComment + "\n" + newComment); //$NON-NLS-1$ //$NON-NLS-2$
+    private void pasteRect(GifGraphicBlock gb, int src[]) {
+        int screenWidth = gifDataStream.logicalScreen.logicalScreenWidth;
+        int w = gb.imageRight - gb.imageLeft;
+        int h = gb.imageBottom - gb.imageTop;
+        for (int i = 0; i < h; i++) {
+            System.arraycopy(src, i * w, screen, (gb.imageTop + i) * screenWidth + gb.imageLeft, w);
         }
+    }
 
-        setProperties(properties);
+    private void fillRect(GifGraphicBlock gb, int color) {
+        int screenWidth = gifDataStream.logicalScreen.logicalScreenWidth;
+        for (int y = gb.imageTop; y < gb.imageBottom; y++) {
+            int offset = y * screenWidth;
+            Arrays.fill(screen, offset + gb.imageLeft, offset + gb.imageRight, color);
+        }
+    }
+
+    private void sendRect(GifGraphicBlock gb) {
+        int screenWidth = gifDataStream.logicalScreen.logicalScreenWidth;
+        setPixels(
+                gb.imageLeft,
+                gb.imageTop,
+                gb.imageRight - gb.imageLeft,
+                gb.imageBottom - gb.imageTop,
+                rgbModel,
+                screen,
+                gb.imageTop * screenWidth + gb.imageLeft,
+                screenWidth
+        );
+    }
+
+    /***************************************************************************
+     *
+     *  Stream reading
+     *
+     ***************************************************************************/
+
+    private void fillBuffer() throws IOException {
+        int bytesRead = inputStream.read(buffer, 0, buffer_size);
+        if (bytesRead <= 0) {
+            throw new EOFException();
+        }
+        bufferPos = 0;
+        bufferLength = bytesRead;
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPos == bufferLength) {
+            fillBuffer();
+        }
+        return buffer[bufferPos++] & 0xFF;
+    }
+
+    // GIF is little endian
+    private int readShort() throws IOException {
+        return readByte() | readByte() << 8;
+    }
+
+    private void readBytes(byte res[], int length) throws IOException {
+        for (int pos = 0; pos < length;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(length - pos, bufferLength - bufferPos);
+            System.arraycopy(buffer, bufferPos, res, pos, n);
+            bufferPos += n;
+            pos += n;
+        }
+    }
+
+    private void skip(int length) throws IOException {
+        for (int remaining = length; remaining > 0;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(remaining, bufferLength - bufferPos);
+            bufferPos += n;
+            remaining -= n;
+        }
+    }
+
+    private void skipSubBlocks() throws IOException {
+        int blockSize;
+        while ((blockSize = readByte()) != 0) {
+            skip(blockSize);
+        }
     }
 
     class GifDataStream {
@@ -331,9 +659,6 @@ public class GifDecoder extends ImageDecoder {
 
         GifLogicalScreen logicalScreen = new GifLogicalScreen();
         List<GifGraphicBlock> graphicBlocks = new ArrayList<GifGraphicBlock>(10); // Of GifGraphicBlocks
-
-        // Comments from the image
-        String comments[];
     }
 
     class GifLogicalScreen {
@@ -366,108 +691,28 @@ public class GifDecoder extends ImageDecoder {
         int imageWidth;
         int imageHeight;
 
-        // Auxilliary variables to minimize computations
+        // Right and bottom coordinates clipped by the logical screen
         int imageRight;
         int imageBottom;
 
         boolean interlace;
 
-        // Don't need local color table - if it is specified
-        // image data are converted to RGB in the native code
-
-        byte imageData[] = null;
-        int rgbImageData[] = null;
-
-        private int currY = 0; // Current output scanline
-
-        int[] getRgbImageData() {
-            if (rgbImageData == null) {
-                rgbImageData =
-                        toRGB(
-                                imageData,
-                                gifDataStream.logicalScreen.globalColorTable.colors,
-                                transparentColor
-                        );
-                if (transparentColor != IMPOSSIBLE_VALUE) {
-                    transparentColor =
-                            gifDataStream.logicalScreen.globalColorTable.cm.getRGB(transparentColor);
-                    transparentColor &= 0x00FFFFFF;
-                }
-            }
-            return rgbImageData;
-        }
+        GifColorTable localColorTable;
 
-        private void replaceTransparentPixels(int numLines) {
-            List<GifGraphicBlock> graphicBlocks = gifDataStream.graphicBlocks;
-            int prevBlockIndex = graphicBlocks.indexOf(this) - 1;
-
-            if (prevBlockIndex >= 0) {
-                int maxY = currY + numLines + imageTop;
-                int offset = currY * imageWidth;
-
-                // Update right and bottom coordinates
-                imageRight = imageLeft + imageWidth;
-                imageBottom = imageTop + imageHeight;
-
-                int globalWidth = gifDataStream.logicalScreen.logicalScreenWidth;
-                int pixelValue, imageOffset;
-                int rgbData[] = forceRGB ? getRgbImageData() : null;
-
-                for (int y = currY + imageTop; y < maxY; y++) {
-                    imageOffset = globalWidth * y + imageLeft;
-                    for (int x = imageLeft; x < imageRight; x++) {
-                        pixelValue = forceRGB ?
-                                rgbData[offset] :
-                                imageData[offset] & 0xFF;
-                        if (pixelValue == transparentColor) {
-                            if (forceRGB) {
-                                pixelValue = getScreenRGBBuffer() [imageOffset];
-                                rgbData[offset] = pixelValue;
-                            } else {
-                                pixelValue = screenBuffer [imageOffset];
-                                imageData[offset] = (byte) pixelValue;
-                            }
-                        }
-                        offset++;
-                        imageOffset++;
-                    } // for
-                } // for
-
-            } // if (prevBlockIndex >= 0)
-        }
+        // Compressed image data, kept for the animation replays only
+        boolean keepData;
+        int lzwMinCodeSize;
+        byte data[];
+        int dataLength;
 
-        public void sendNewData(GifDecoder decoder, int numLines) {
-            // Get values for transparent pixels
-            // from the perevious frames
-            if (transparentColor != IMPOSSIBLE_VALUE) {
-                replaceTransparentPixels(numLines);
+        void appendData(byte bytes[], int length) {
+            if (data == null) {
+                data = new byte[Math.max(256, length)];
+            } else if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
             }
-
-            if (forceRGB) {
-                decoder.setPixels(
-                        imageLeft,
-                        imageTop + currY,
-                        imageWidth,
-                        numLines,
-                        TColorModel.getRGBdefault(),
-                        getRgbImageData(),
-                        currY*imageWidth,
-                        imageWidth
-                );
-            } else {
-                decoder.setPixels(
-                        imageLeft,
-                        imageTop + currY,
-                        imageWidth,
-                        numLines,
-                        gcm, 
-                        imageData,
-                        currY*imageWidth,
-                        imageWidth
-                );
-            }
-
-            currY += numLines;
+            System.arraycopy(bytes, 0, data, dataLength, length);
+            dataLength += length;
         }
 
         public void dispose() {
@@ -485,220 +730,100 @@ public class GifDecoder extends ImageDecoder {
             }
 
             // Don't dispose if image is outside of the visible area
-            if (imageLeft > gifDataStream.logicalScreen.logicalScreenWidth ||
-                    imageTop > gifDataStream.logicalScreen.logicalScreenHeight) {
-                disposalMethod = DISPOSAL_NONE;
+            if (imageLeft >= imageRight || imageTop >= imageBottom) {
+                return;
             }
 
             switch(disposalMethod) {
                 case DISPOSAL_BACKGROUND: {
-                    if (forceRGB) {
-                        getRgbImageData(); // Ensure that transparentColor is RGB, not index
-
-                        int data[] = new int[imageWidth*imageHeight];
-
-                        // Compatibility: Fill with transparent color if we have one
-                        if (transparentColor != IMPOSSIBLE_VALUE) {
-                            Arrays.fill(
-                                    data,
-                                    transparentColor
-                            );
-                        } else {
-                            Arrays.fill(
-                                    data,
-                                    gifDataStream.logicalScreen.backgroundColor
-                            );
-                        }
-
-                        setPixels(
-                                imageLeft,
-                                imageTop,
-                                imageWidth,
-                                imageHeight,
-                                TColorModel.getRGBdefault(),
-                                data,
-                                0,
-                                imageWidth
-                        );
-
-                        sendToScreenBuffer(data);
-                    } else {
-                        byte data[] = new byte[imageWidth*imageHeight];
-
-                        // Compatibility: Fill with transparent color if we have one
-                        if (transparentColor != IMPOSSIBLE_VALUE) {
-                            Arrays.fill(
-                                    data,
-                                    (byte) transparentColor
-                            );
-                        } else {
-                            Arrays.fill(
-                                    data,
-                                    (byte) gifDataStream.logicalScreen.backgroundColor
-                            );
-                        }
-
-                        setPixels(
-                                imageLeft,
-                                imageTop,
-                                imageWidth,
-                                imageHeight,
-                                gcm, 
-                                data,
-                                0,
-                                imageWidth
-                        );
-
-                        sendToScreenBuffer(data);
-                    }
+                    // Compatibility: Fill with transparent color if we have one
+                    GifLogicalScreen gls = gifDataStream.logicalScreen;
+                    fillRect(this, transparentColor != IMPOSSIBLE_VALUE ||
+                            gls.backgroundColor == IMPOSSIBLE_VALUE ? 0 : gls.backgroundColor);
+                    sendRect(this);
                     break;
                 }
                 case DISPOSAL_RESTORE: {
-                    screenBufferToScreen();
+                    if (savedPixels != null) {
+                        pasteRect(this, savedPixels);
+                        sendRect(this);
+                    }
                     break;
                 }
                 case DISPOSAL_NONE:
                 case DISPOSAL_NODISPOSAL:
-                default: {
-                    // Copy transmitted data to the screen buffer
-                    Object data = forceRGB ? (Object) getRgbImageData() : imageData;
-                    sendToScreenBuffer(data);
+                default:
+                    // Frame stays on the screen
                     break;
-                }
             }
         }
+    }
 
-        private void sendToScreenBuffer(Object data) {
-            int dataInt[];
-            byte dataByte[];
+    class GifColorTable {
+        //  Indicates that reading of this block accomplished
+        boolean completed = false;
 
-            int width = gifDataStream.logicalScreen.logicalScreenWidth;
+        int size = 0; // Actual number of colors in the color table
+        byte colors[] = new byte[256*3];
 
+        // ARGB value for every index, indices out of the table are black
+        int lut[] = new int[256];
 
-            if (forceRGB) {
-                dataInt = (int[]) data;
+        GifColorTable() {
+            Arrays.fill(lut, 0xFF000000);
+        }
 
-                if (imageWidth == width) {
-                    System.arraycopy(dataInt,
-                            0,
-                            getScreenRGBBuffer(),
-                            imageLeft + imageTop*width,
-                            dataInt.length
-                    );
-                } else { // Each scanline
-                    copyScanlines(dataInt, getScreenRGBBuffer(), width);
-                }
-            } else {
-                dataByte = (byte[]) data;
-
-                if (imageWidth == width) {
-                    System.arraycopy(dataByte,
-                            0,
-                            screenBuffer,
-                            imageLeft + imageTop*width,
-                            dataByte.length
-                    );
-                } else { // Each scanline
-                    copyScanlines(dataByte, screenBuffer, width);
-                }
+        void updateLut() {
+            for (int i = 0, j = 0; i < size; i++, j += 3) {
+                lut[i] = 0xFF000000 | (colors[j] & 0xFF) << 16 |
+                        (colors[j + 1] & 0xFF) << 8 | (colors[j + 2] & 0xFF);
             }
-        } // sendToScreenBuffer
-
-        private void copyScanlines(Object src, Object dst, int width) {
-            for (int i=0; i<imageHeight; i++) {
-                System.arraycopy(src,
-                        i*imageWidth,
-                        dst,
-                        imageLeft + i*width + imageTop*width,
-                        imageWidth
-                );
-            } // for
         }
+    }
 
-        private void screenBufferToScreen() {
-            int width = gifDataStream.logicalScreen.logicalScreenWidth;
+    /**
+     * LRU cache of the composed animation frames shared by all the
+     * decoders, the total number of cached pixels stays within the budget
+     */
+    static final class FrameCache {
+        private final int budget;
+        private int size;
 
-            Object dst = forceRGB ?
-                    (Object) new int[imageWidth*imageHeight] :
-                    new byte[imageWidth*imageHeight];
+        private final LinkedHashMap<Object, int[]> frames =
+                new LinkedHashMap<Object, int[]>(16, 0.75f, true);
 
-            Object src = forceRGB ?
-                    getScreenRGBBuffer() :
-                    (Object) screenBuffer;
+        FrameCache(int budget) {
+            this.budget = budget;
+        }
 
-            int offset = 0;
-            Object toSend;
+        synchronized int[] get(Object frame) {
+            return frames.get(frame);
+        }
 
-            if (width == imageWidth) {
-                offset = imageWidth * imageTop;
-                toSend = src;
-            } else {
-                for (int i=0; i<imageHeight; i++) {
-                    System.arraycopy(src,
-                            imageLeft + i*width + imageTop*width,
-                            dst,
-                            i*imageWidth,
-                            imageWidth
-                    );
-                } // for
-                toSend = dst;
+        synchronized void put(Object frame, int pixels[]) {
+            if (pixels.length > budget) {
+                return;
             }
+            int old[] = frames.put(frame, pixels);
+            if (old != null) {
+                size -= old.length;
+            }
+            size += pixels.length;
 
-            if (forceRGB) {
-                setPixels(
-                        imageLeft,
-                        imageTop,
-                        imageWidth,
-                        imageHeight,
-                        TColorModel.getRGBdefault(),
-                        (int [])toSend,
-                        offset,
-                        imageWidth
-                );
-            } else {
-                setPixels(
-                        imageLeft,
-                        imageTop,
-                        imageWidth,
-                        imageHeight,
-                        gcm, 
-                        (byte [])toSend,
-                        offset,
-                        imageWidth
-                );
+            for (Iterator<Map.Entry<Object, int[]>> i = frames.entrySet().iterator();
+                    size > budget && i.hasNext();) {
+                size -= i.next().getValue().length;
+                i.remove();
             }
         }
-    }
 
-    class GifColorTable {
-        //  Indicates that reading of this block accomplished
-        boolean completed = false;
-
-        TIndexColorModel cm = null;
-        int size = 0; // Actual number of colors in the color table
-        byte colors[] = new byte[256*3];
-
-        TIndexColorModel getColorModel(int transparentColor) {
-            if (cm != null) {
-                if (transparentColor != cm.getTransparentPixel()) {
-                    return cm = null; // Force default ARGB color model
+        synchronized void removeAll(List<?> frameList) {
+            for (Object frame : frameList) {
+                int pixels[] = frames.remove(frame);
+                if (pixels != null) {
+                    size -= pixels.length;
                 }
-                return cm;
-            } else
-                if (completed && size > 0) {
-                    if (transparentColor == IMPOSSIBLE_VALUE) {
-                        return cm =
-                                new TIndexColorModel(8, size, colors, 0, false);
-                    }
-
-                    if (transparentColor > size) {
-                        size = transparentColor + 1;
-                    }
-                    return cm =
-                            new TIndexColorModel(8, size, colors, 0, false, transparentColor);
-                }
-
-            return cm = null; // Force default ARGB color model
+            }
         }
     }
 }
@@ -0,0 +1,215 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.image;
+
+import org.teavm.classlib.java.awt.image.TRaster;
+import org.teavm.classlib.java.awt.image.TWritableRaster;
+
+/**
+ * Pure Java affine transformation of rasters working on their data
+ * arrays. Source coordinates are stepped in 16.16 fixed point along the
+ * destination rows, bilinear and bicubic interpolation use 8 bit weights.
+ * Destination pixels whose centers map outside of the source are left
+ * untouched.
+ */
+public final class JavaAffineTransformer {
+
+    public static final int TYPE_NEAREST_NEIGHBOR = 1;
+    public static final int TYPE_BILINEAR = 2;
+    public static final int TYPE_BICUBIC = 3;
+
+    // Interpolation weights by the 8 bit fraction, sum of every 2 or 4
+    // weights is 256
+    static final int bilinearWeights[] = new int[256 * 2];
+    static final int bicubicWeights[] = new int[256 * 4];
+
+    static {
+        for (int f = 0; f < 256; f++) {
+            bilinearWeights[f * 2] = 256 - f;
+            bilinearWeights[f * 2 + 1] = f;
+
+            // Keys cubic convolution with a = -0.5
+            double t = f / 256.0;
+            double a = -0.5;
+            double w0 = ((a * (t + 1) - 5 * a) * (t + 1) + 8 * a) * (t + 1) - 4 * a;
+            double w1 = ((a + 2) * t - (a + 3)) * t * t + 1;
+            double s = 1 - t;
+            double w2 = ((a + 2) * s - (a + 3)) * s * s + 1;
+            int i0 = (int) Math.round(w0 * 256);
+            int i1 = (int) Math.round(w1 * 256);
+            int i2 = (int) Math.round(w2 * 256);
+            bicubicWeights[f * 4] = i0;
+            bicubicWeights[f * 4 + 1] = i1;
+            bicubicWeights[f * 4 + 2] = i2;
+            bicubicWeights[f * 4 + 3] = 256 - i0 - i1 - i2;
+        }
+    }
+
+    private JavaAffineTransformer() {
+    }
+
+    /**
+     * Transforms the source raster into the area of the destination one
+     * @param m - the matrix of the inverse transform, destination to
+     * source, as returned by AffineTransform.getMatrix
+     * @param interpolation - one of the TYPE_* constants
+     * @param x, y, width, height - the area of the destination relative
+     * to its origin
+     * @return 0 if the operation is done, non-zero if the rasters are
+     * not supported
+     */
+    public static int filter(final double m[], int interpolation,
+            TRaster src, TWritableRaster dst,
+            final int x, int y, final int width, int height) {
+
+        final RasterAccess sa = RasterAccess.create(src);
+        final RasterAccess da = RasterAccess.create(dst);
+        if (sa == null || da == null || sa.numBands != da.numBands) {
+            return 1;
+        }
+        if (width <= 0 || height <= 0) {
+            return 0;
+        }
+
+        final int nb = sa.numBands;
+        final int sw = src.getWidth();
+        final int sh = src.getHeight();
+        final int rowLength = sw * nb;
+
+        final int taps;
+        final int weights[];
+        switch (interpolation) {
+            case TYPE_BILINEAR:
+                taps = 2;
+                weights = bilinearWeights;
+                break;
+            case TYPE_BICUBIC:
+                taps = 4;
+                weights = bicubicWeights;
+                break;
+            default:
+                taps = 1;
+                weights = null;
+        }
+        if (taps > 1) {
+            // Weighted sums should fit into int
+            for (int b = 0; b < nb; b++) {
+                if (sa.maxValues[b] > 0xfff) {
+                    return 1;
+                }
+            }
+        }
+
+        final int samples[] = new int[rowLength * sh];
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                for (int row = first; row < last; row++) {
+                    sa.getRow(0, row, sw, samples, row * rowLength);
+                }
+            }
+        }, sw, sh);
+
+        final long dux = toFixed(m[0]);
+        final long dvx = toFixed(m[1]);
+        final int y0 = y;
+        final int maxValues[] = sa.maxValues;
+
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                int row[] = new int[width * nb];
+                int xs[] = new int[taps];
+                int ys[] = new int[taps];
+                for (int j = first; j < last; j++) {
+                    int dy = y0 + j;
+                    // Pixel centers
+                    double cx = x + 0.5;
+                    double cy = dy + 0.5;
+                    long u = toFixed(m[0] * cx + m[2] * cy + m[4]);
+                    long v = toFixed(m[1] * cx + m[3] * cy + m[5]);
+
+                    // Pixels mapped inside of the source are contiguous
+                    int start = -1;
+                    int end = -1;
+                    for (int i = 0; i < width; i++, u += dux, v += dvx) {
+                        int px = (int) (u >> 16);
+                        int py = (int) (v >> 16);
+                        if (px < 0 || py < 0 || px >= sw || py >= sh) {
+                            if (start >= 0) {
+                                break;
+                            }
+                            continue;
+                        }
+                        if (start < 0) {
+                            start = i;
+                        }
+                        end = i + 1;
+
+                        int pos = i * nb;
+                        if (taps == 1) {
+                            System.arraycopy(samples, py * rowLength + px * nb, row, pos, nb);
+                            continue;
+                        }
+
+                        // Interpolation grid starts one pixel before the
+                        // center for bicubic
+                        long gu = u - 0x8000;
+                        long gv = v - 0x8000;
+                        int gx = (int) (gu >> 16) - (taps >> 2);
+                        int gy = (int) (gv >> 16) - (taps >> 2);
+                        int wx = ((int) (gu >> 8) & 0xff) * taps;
+                        int wy = ((int) (gv >> 8) & 0xff) * taps;
+                        for (int t = 0; t < taps; t++) {
+                            int sx = gx + t;
+                            int sy = gy + t;
+                            xs[t] = (sx < 0 ? 0 : sx >= sw ? sw - 1 : sx) * nb;
+                            ys[t] = (sy < 0 ? 0 : sy >= sh ? sh - 1 : sy) * rowLength;
+                        }
+
+                        for (int b = 0; b < nb; b++) {
+                            int sum = 0;
+                            for (int ty = 0; ty < taps; ty++) {
+                                int line = ys[ty] + b;
+                                int s = 0;
+                                for (int tx = 0; tx < taps; tx++) {
+                                    s += weights[wx + tx] * samples[line + xs[tx]];
+                                }
+                                sum += weights[wy + ty] * s;
+                            }
+                            sum = (sum + 0x8000) >> 16;
+                            row[pos + b] = sum < 0 ? 0 : sum > maxValues[b] ? maxValues[b] : sum;
+                        }
+                    }
+
+                    if (start >= 0) {
+                        da.setRow(x + start, dy, end - start, row, start * nb);
+                    }
+                }
+            }
+        }, width, height);
+        da.dataChanged();
+
+        return 0;
+    }
+
+    /**
+     * Rounds to the nearest fixed point value, so the coordinates which
+     * are integer in exact arithmetic don't fall to the previous pixel
+     */
+    static long toFixed(double d) {
+        return Math.round(d * 65536);
+    }
+}
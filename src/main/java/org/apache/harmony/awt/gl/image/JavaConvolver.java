@@ -0,0 +1,252 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.image;
+
+import org.teavm.classlib.java.awt.image.TRaster;
+import org.teavm.classlib.java.awt.image.TWritableRaster;
+
+/**
+ * Pure Java convolution working on the data arrays of the rasters.
+ * Kernels of rank one (box and gaussian blurs and like) are applied as
+ * a horizontal and a vertical pass, which costs kWidth + kHeight
+ * instead of kWidth * kHeight operations per sample.
+ */
+public final class JavaConvolver {
+
+    private JavaConvolver() {
+    }
+
+    /**
+     * Convolves the source raster into the destination one with the same
+     * results as ConvolveOp: sums are truncated and clamped to the range
+     * of the band.
+     * @param data - the kernel data, row by row
+     * @param edgeNoOp - true if edge pixels should be copied from the
+     * source, false if they should be zero
+     * @return 0 if the operation is done, non-zero if the rasters are
+     * not supported
+     */
+    public static int filter(float data[], int kWidth, int kHeight,
+            int xOrigin, int yOrigin, final boolean edgeNoOp,
+            TRaster src, TWritableRaster dst) {
+
+        final RasterAccess sa = RasterAccess.create(src);
+        final RasterAccess da = RasterAccess.create(dst);
+        if (sa == null || da == null || sa.numBands != da.numBands) {
+            return 1;
+        }
+        final int w = src.getWidth();
+        final int h = src.getHeight();
+        if (dst.getWidth() < w || dst.getHeight() < h) {
+            return 1;
+        }
+        final int nb = sa.numBands;
+        final int rowLength = w * nb;
+
+        // Convolution takes the kernel in the backward direction
+        int kSize = kWidth * kHeight;
+        final float k[] = new float[kSize];
+        for (int i = 0; i < kSize; i++) {
+            k[i] = data[kSize - 1 - i];
+        }
+
+        final int samples[] = new int[rowLength * h];
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                for (int y = first; y < last; y++) {
+                    sa.getRow(0, y, w, samples, y * rowLength);
+                }
+            }
+        }, w, h);
+
+        // Area where the kernel fits into the source
+        final int x0 = xOrigin;
+        final int y0 = yOrigin;
+        final int x1 = w - (kWidth - xOrigin - 1);
+        final int y1 = h - (kHeight - yOrigin - 1);
+        final float result[] = new float[rowLength * h];
+
+        if (x0 < x1 && y0 < y1) {
+            float u[] = new float[kWidth];
+            float v[] = new float[kHeight];
+            if (separate(k, kWidth, kHeight, u, v)) {
+                convolveSeparable(samples, result, w, h, nb, u, v,
+                        x0, y0, x1, y1);
+            } else {
+                convolve(samples, result, w, h, nb, k, kWidth, kHeight,
+                        x0, y0, x1, y1);
+            }
+        }
+
+        final int maxValues[] = sa.maxValues;
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                int row[] = new int[rowLength];
+                for (int y = first; y < last; y++) {
+                    int pos = y * rowLength;
+                    boolean inside = y >= y0 && y < y1;
+                    for (int x = 0, i = 0; x < w; x++) {
+                        boolean edge = !inside || x < x0 || x >= x1;
+                        for (int b = 0; b < nb; b++, i++) {
+                            if (edge) {
+                                row[i] = edgeNoOp ? samples[pos + i] : 0;
+                            } else {
+                                int s = (int) result[pos + i];
+                                row[i] = s < 0 ? 0 : s > maxValues[b] ? maxValues[b] : s;
+                            }
+                        }
+                    }
+                    da.setRow(0, y, w, row, 0);
+                }
+            }
+        }, w, h);
+        da.dataChanged();
+
+        return 0;
+    }
+
+    /**
+     * Splits the kernel into the column vector v and the row vector u
+     * if kernel[y][x] == v[y] * u[x]
+     * @return false if the kernel is not separable
+     */
+    static boolean separate(float k[], int kWidth, int kHeight, float u[], float v[]) {
+        if (kWidth == 1 || kHeight == 1) {
+            // Only one of the passes does something, but it is still
+            // cheaper than the full kernel loop
+            for (int x = 0; x < kWidth; x++) {
+                u[x] = kHeight == 1 ? k[x] : 1;
+            }
+            for (int y = 0; y < kHeight; y++) {
+                v[y] = kHeight == 1 ? 1 : k[y];
+            }
+            return true;
+        }
+
+        int pivot = 0;
+        float max = 0;
+        for (int i = 0; i < k.length; i++) {
+            float a = Math.abs(k[i]);
+            if (a > max) {
+                max = a;
+                pivot = i;
+            }
+        }
+        if (max == 0) {
+            return false;
+        }
+        int py = pivot / kWidth;
+        int px = pivot % kWidth;
+        for (int x = 0; x < kWidth; x++) {
+            u[x] = k[py * kWidth + x];
+        }
+        for (int y = 0; y < kHeight; y++) {
+            v[y] = k[y * kWidth + px] / k[pivot];
+        }
+
+        float eps = max * 1e-6f;
+        for (int y = 0; y < kHeight; y++) {
+            for (int x = 0; x < kWidth; x++) {
+                if (Math.abs(k[y * kWidth + x] - v[y] * u[x]) > eps) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static void convolveSeparable(final int samples[], final float result[],
+            final int w, int h, final int nb, final float u[], final float v[],
+            final int x0, final int y0, final int x1, final int y1) {
+
+        final int rowLength = w * nb;
+        final float tmp[] = new float[rowLength * h];
+
+        // Horizontal pass over all rows the vertical pass needs
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                int kw = u.length;
+                for (int y = first; y < last; y++) {
+                    int row = y * rowLength;
+                    int from = row + x0 * nb;
+                    int to = row + x1 * nb;
+                    for (int kx = 0; kx < kw; kx++) {
+                        float c = u[kx];
+                        if (c == 0) {
+                            continue;
+                        }
+                        int shift = (kx - x0) * nb;
+                        for (int i = from; i < to; i++) {
+                            tmp[i] += c * samples[i + shift];
+                        }
+                    }
+                }
+            }
+        }, w, h);
+
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                int kh = v.length;
+                int from = x0 * nb;
+                int to = x1 * nb;
+                for (int y = first + y0; y < last + y0; y++) {
+                    int row = y * rowLength;
+                    for (int ky = 0; ky < kh; ky++) {
+                        float c = v[ky];
+                        if (c == 0) {
+                            continue;
+                        }
+                        int srcRow = (y - y0 + ky) * rowLength;
+                        for (int i = from; i < to; i++) {
+                            result[row + i] += c * tmp[srcRow + i];
+                        }
+                    }
+                }
+            }
+        }, w, y1 - y0);
+    }
+
+    static void convolve(final int samples[], final float result[],
+            final int w, int h, final int nb, final float k[],
+            final int kWidth, final int kHeight,
+            final int x0, final int y0, final int x1, final int y1) {
+
+        final int rowLength = w * nb;
+        RowExecutor.execute(new RowExecutor.RowTask() {
+            public void run(int first, int last) {
+                int from = x0 * nb;
+                int to = x1 * nb;
+                for (int y = first + y0; y < last + y0; y++) {
+                    int row = y * rowLength;
+                    for (int ky = 0; ky < kHeight; ky++) {
+                        int srcRow = (y - y0 + ky) * rowLength;
+                        for (int kx = 0; kx < kWidth; kx++) {
+                            float c = k[ky * kWidth + kx];
+                            if (c == 0) {
+                                continue;
+                            }
+                            int shift = srcRow - row + (kx - x0) * nb;
+                            for (int i = row + from, end = row + to; i < end; i++) {
+                                result[i] += c * samples[i + shift];
+                            }
+                        }
+                    }
+                }
+            }
+        }, w, y1 - y0);
+    }
+}
@@ -19,8 +19,10 @@
  */
 package org.apache.harmony.awt.gl.image;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Hashtable;
 
 import org.apache.harmony.awt.internal.nls.Messages;
@@ -32,6 +34,17 @@ import org.teavm.classlib.java.awt.image.TDataBuffer;
 import org.teavm.classlib.java.awt.image.TDirectColorModel;
 import org.teavm.classlib.java.awt.image.TImageConsumer;
 
+/**
+ * Pure Java baseline and progressive JPEG decoder.
+ * <p>
+ * Sequential images with all the components in one scan are decoded
+ * MCU row by MCU row: each row of blocks is passed through the integer
+ * IDCT into the sample buffers of the components, upsampled, converted
+ * to RGB and delivered to the consumers right away. Progressive and
+ * multi-scan images keep the quantized coefficients of the whole image,
+ * the image is rendered from them when the stream is over and also after
+ * each scan which has been decoded while the stream had no more data yet.
+ */
 public class JpegDecoder extends ImageDecoder {
     // Only 2 output colorspaces expected. Others are converted into
     // these ones.
@@ -50,43 +63,114 @@ public class JpegDecoder extends ImageDecoder {
             TImageConsumer.SINGLEPASS |
             hintflagsProgressive;
 
+    // Markers
+    private static final int SOF0 = 0xC0; // Baseline
+    private static final int SOF1 = 0xC1; // Extended sequential, Huffman
+    private static final int SOF2 = 0xC2; // Progressive, Huffman
+    private static final int DHT = 0xC4;
+    private static final int DAC = 0xCC;
+    private static final int RST0 = 0xD0;
+    private static final int RST7 = 0xD7;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int DQT = 0xDB;
+    private static final int DNL = 0xDC;
+    private static final int DRI = 0xDD;
+    private static final int APP14 = 0xEE;
+
+    // Kinds of the block decoding
+    private static final int DECODE_SEQUENTIAL = 0;
+    private static final int DECODE_DC_FIRST = 1;
+    private static final int DECODE_DC_REFINE = 2;
+    private static final int DECODE_AC_FIRST = 3;
+    private static final int DECODE_AC_REFINE = 4;
+
+    // Natural order of the coefficients in the zigzag sequence,
+    // extra entries catch the run overflows in the corrupted data
+    private static final int ZIGZAG[] = {
+            0,  1,  8, 16,  9,  2,  3, 10, 17, 24, 32, 25, 18, 11,  4,  5,
+            12, 19, 26, 33, 40, 48, 41, 34, 27, 20, 13,  6,  7, 14, 21, 28,
+            35, 42, 49, 56, 57, 50, 43, 36, 29, 22, 15, 23, 30, 37, 44, 51,
+            58, 59, 52, 45, 38, 31, 39, 46, 53, 60, 61, 54, 47, 55, 62, 63,
+            63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63
+    };
+
+    // Fixed point constants of the IDCT, 13 fraction bits
+    private static final int CONST_BITS = 13;
+    private static final int PASS1_BITS = 2;
+    private static final int FIX_0_298631336 = 2446;
+    private static final int FIX_0_390180644 = 3196;
+    private static final int FIX_0_541196100 = 4433;
+    private static final int FIX_0_765366865 = 6270;
+    private static final int FIX_0_899976223 = 7373;
+    private static final int FIX_1_175875602 = 9633;
+    private static final int FIX_1_501321110 = 12299;
+    private static final int FIX_1_847759065 = 15137;
+    private static final int FIX_1_961570560 = 16069;
+    private static final int FIX_2_053119869 = 16819;
+    private static final int FIX_2_562915447 = 20995;
+    private static final int FIX_3_072711026 = 25172;
+
+    // YCbCr to RGB conversion tables, 16 fraction bits
+    private static final int CR_R[] = new int[256];
+    private static final int CB_B[] = new int[256];
+    private static final int CR_G[] = new int[256];
+    private static final int CB_G[] = new int[256];
+
     // Buffer for the stream
     private static final int MIN_BUFFER_SIZE = 1024;
     private static final int MAX_BUFFER_SIZE = 2097152;
     private int buffer_size;
     private byte buffer[];
+    private int bufferPos;
+    private int bufferLength;
 
     // 3 possible color models only
     private static TColorModel cmRGB;
     private static TColorModel cmGray;
 
-    // initializes proper field IDs
-    private static native void initIDs();
-
-    // Pointer to native structure which store decoding state
-    // between subsequent decoding/IO-suspension cycles
-    private long hNativeDecoder = 0; // NULL initially
-
     private boolean headerDone = false;
 
-    // Next 4 members are filled by the native method (decompress).
-    // We can simply check if imageWidth is still negative to find
-    // out if they are already filled.
     private int imageWidth = -1;
     private int imageHeight = -1;
     private boolean progressive = false;
     private int jpegColorSpace = 0;
 
-    // Stores number of bytes consumed by the native decoder
-    private int bytesConsumed = 0;
     // Stores current scanline returned by the decoder
     private int currScanline = 0;
 
     private TColorModel cm = null;
 
-    static {
-        org.apache.harmony.awt.Utils.loadLibrary("jpegdecoder"); //$NON-NLS-1$
+    // Frame
+    private Component components[];
+    private int maxH, maxV;
+    private int mcusPerLine, mcusPerColumn;
+    // Coefficients of the whole image are kept
+    private boolean bufferedMode;
+    // Coefficients have changed since the last rendering
+    private boolean dirty;
+
+    private final int quantTables[][] = new int[4][];
+    private final HuffmanTable dcTables[] = new HuffmanTable[4];
+    private final HuffmanTable acTables[] = new HuffmanTable[4];
+    private int restartInterval;
+    private boolean adobe;
+    private int adobeTransform;
+
+    // Entropy decoder state, valid bits are left aligned
+    private int bitBuffer;
+    private int bitCount;
+    // Marker met in the entropy coded data, -1 if none
+    private int marker = -1;
+    private int eobrun;
+    private int restartsToGo;
 
+    // Reusable work buffers
+    private final short block[] = new short[64];
+    private final int workspace[] = new int[64];
+    private int intOut[];
+
+    static {
         cmGray = new TComponentColorModel(
                 TColorSpace.getInstance(TColorSpace.CS_GRAY),
                 false, false,
@@ -96,7 +180,13 @@ public class JpegDecoder extends ImageDecoder {
         // Create RGB color model
         cmRGB = new TDirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
 
-        initIDs();
+        for (int i = 0; i < 256; i++) {
+            int x = i - 128;
+            CR_R[i] = (91881 * x + 32768) >> 16;
+            CB_B[i] = (116130 * x + 32768) >> 16;
+            CR_G[i] = -46802 * x;
+            CB_G[i] = -22554 * x + 32768;
+        }
     }
 
     public JpegDecoder(DecodingImageSource src, InputStream is) {
@@ -116,91 +206,70 @@ public class JpegDecoder extends ImageDecoder {
         buffer = new byte[buffer_size];
     }
 
-    /*
-    public JpegDecoder(InputStream iStream, ImageConsumer iConsumer) {
-    inputStream = iStream;
-    consumer = iConsumer;
-    }
-    */
-
-    /**
-     * @return - not NULL if call is successful
-     */
-    private native Object decode(
-            byte[] input,
-            int bytesInBuffer,
-            long hDecoder);
-
-    private static native void releaseNativeDecoder(long hDecoder);
-
     @Override
     public void decodeImage() throws IOException {
         try {
-            int bytesRead = 0, dataLength = 0;
-            boolean eosReached = false;
-            int needBytes, offset, bytesInBuffer = 0;
-            byte byteOut[] = null;
-            int intOut[] = null;
-            // Read from the input stream
-            for (;;) {
-                needBytes = buffer_size - bytesInBuffer;
-                offset = bytesInBuffer;
-
-                bytesRead = inputStream.read(buffer, offset, needBytes);
-
-                if (bytesRead < 0) {
-                    bytesRead = 0;//break;
-                    eosReached = true;
-                } // Don't break, maybe something left in buffer
-
-                // Keep track on how much bytes left in buffer
-                bytesInBuffer += bytesRead;
-
-                // Here we pass overall number of bytes left in the java buffer
-                // (bytesInBuffer) since jpeg decoder has its own buffer and consumes
-                // as many bytes as it can. If there are any unconsumed bytes
-                // it didn't add them to its buffer...
-                Object arr = decode(
-                        buffer,
-                        bytesInBuffer,
-                        hNativeDecoder);
-
-                // Keep track on how much bytes left in buffer
-                bytesInBuffer -= bytesConsumed;
-
-                if (!headerDone && imageWidth != -1) {
-                    returnHeader();
-                    headerDone = true;
-                }
-
-                if (bytesConsumed < 0) {
-                    break; // Error exit
-                }
-
-                if (arr instanceof byte[]) {
-                    byteOut = (byte[]) arr;
-                    dataLength = byteOut.length;
-                    returnData(byteOut, currScanline);
-                } else if (arr instanceof int[]) {
-                    intOut = (int[]) arr;
-                    dataLength = intOut.length;
-                    returnData(intOut, currScanline);
-                } else {
-                    dataLength = 0;
-                }
+            // Signature has been checked by ImageDecoder.createDecoder
+            skip(2);
 
-                if (hNativeDecoder == 0) {
-                    break;
+            boolean end = false;
+            while (!end && !terminated) {
+                int m = nextMarker();
+                switch (m) {
+                    case SOF0:
+                    case SOF1:
+                    case SOF2:
+                        readFrame(m == SOF2);
+                        break;
+                    case DHT:
+                        readHuffmanTables();
+                        break;
+                    case DQT:
+                        readQuantTables();
+                        break;
+                    case DRI:
+                        skip(2);
+                        restartInterval = readShort();
+                        break;
+                    case SOS:
+                        readScan();
+                        break;
+                    case APP14:
+                        readAdobe();
+                        break;
+                    case EOI:
+                        end = true;
+                        break;
+                    case DNL:
+                    case DAC:
+                        throw unsupported();
+                    default:
+                        if (m >= RST0 && m <= RST7) {
+                            break; // Stray restart marker, no length
+                        }
+                        if ((m & 0xF0) == 0xC0) {
+                            // Lossless, hierarchical and arithmetic processes
+                            throw unsupported();
+                        }
+                        skip(readShort() - 2);
                 }
+            }
 
-                if (dataLength == 0 && eosReached) {
-                    releaseNativeDecoder(hNativeDecoder);
-                    break; // Probably image is truncated
-                }
+            if (dirty && !terminated) {
+                render();
+            }
+            imageComplete(headerDone ? TImageConsumer.STATICIMAGEDONE : TImageConsumer.IMAGEERROR);
+        } catch (EOFException e) {
+            // Image is truncated, show what has been decoded
+            if (headerDone && dirty) {
+                render();
             }
-            imageComplete(TImageConsumer.STATICIMAGEDONE);
+            imageComplete(headerDone ? TImageConsumer.STATICIMAGEDONE : TImageConsumer.IMAGEERROR);
         } catch (IOException e) {
             throw e;
+        } catch (RuntimeException e) {
+            imageComplete(TImageConsumer.IMAGEERROR);
+            throw e;
         } finally {
             closeStream();
         }
@@ -225,25 +294,972 @@ public class JpegDecoder extends ImageDecoder {
 
     // Send the data to the consumer
     public void returnData(int data[], int currScanLine) {
-        // Send 1 or more scanlines to the consumer.
-        int numScanlines = data.length / imageWidth;
+        returnData(data, 0, imageWidth, data.length / imageWidth, currScanLine);
+    }
+
+    public void returnData(byte data[], int currScanLine) {
+        returnData(data, 0, imageWidth, data.length / imageWidth, currScanLine);
+    }
+
+    // Send numScanlines scanlines ending at currScanLine to the consumer
+    private void returnData(int data[], int offset, int scansize, int numScanlines, int currScanLine) {
         if (numScanlines > 0) {
             setPixels(
                     0, currScanLine - numScanlines,
                     imageWidth, numScanlines,
-                    cm, data, 0, imageWidth
+                    cm, data, offset, scansize
             );
         }
     }
 
-    public void returnData(byte data[], int currScanLine) {
-        int numScanlines = data.length / imageWidth;
+    private void returnData(byte data[], int offset, int scansize, int numScanlines, int currScanLine) {
         if (numScanlines > 0) {
             setPixels(
                     0, currScanLine - numScanlines,
                     imageWidth, numScanlines,
-                    cm, data, 0, imageWidth
+                    cm, data, offset, scansize
             );
         }
     }
+
+    /***************************************************************************
+     *
+     *  Markers
+     *
+     ***************************************************************************/
+
+    private void readFrame(boolean isProgressive) throws IOException {
+        if (components != null) {
+            // Only one frame is expected
+            throw unsupported();
+        }
+        int length = readShort();
+        int precision = readByte();
+        imageHeight = readShort();
+        imageWidth = readShort();
+        int numComponents = readByte();
+        if (length != 8 + 3 * numComponents) {
+            throw corrupted();
+        }
+        if (precision != 8 || imageHeight == 0) {
+            // 12 bit samples and the height defined by DNL are not supported
+            throw unsupported();
+        }
+        if (imageWidth == 0) {
+            throw corrupted();
+        }
+
+        components = new Component[numComponents];
+        maxH = maxV = 1;
+        for (int i = 0; i < numComponents; i++) {
+            Component c = new Component();
+            c.id = readByte();
+            int sampling = readByte();
+            c.h = sampling >> 4;
+            c.v = sampling & 0x0F;
+            c.tq = readByte() & 3;
+            if (c.h < 1 || c.h > 4 || c.v < 1 || c.v > 4) {
+                throw corrupted();
+            }
+            maxH = Math.max(maxH, c.h);
+            maxV = Math.max(maxV, c.v);
+            components[i] = c;
+        }
+
+        if (numComponents == 1) {
+            // Single component is never interleaved, MCU is one block
+            components[0].h = components[0].v = maxH = maxV = 1;
+        }
+
+        mcusPerLine = (imageWidth + 8 * maxH - 1) / (8 * maxH);
+        mcusPerColumn = (imageHeight + 8 * maxV - 1) / (8 * maxV);
+        for (int i = 0; i < numComponents; i++) {
+            Component c = components[i];
+            int compWidth = (imageWidth * c.h + maxH - 1) / maxH;
+            int compHeight = (imageHeight * c.v + maxV - 1) / maxV;
+            c.blocksPerLine = (compWidth + 7) / 8;
+            c.blocksPerColumn = (compHeight + 7) / 8;
+            c.blocksPerLineAlloc = mcusPerLine * c.h;
+            c.blocksPerColumnAlloc = mcusPerColumn * c.v;
+
+            // Samples of one MCU row
+            c.stride = c.blocksPerLineAlloc * 8;
+            c.pixels = new byte[c.stride * c.v * 8];
+
+            // Column of the sample for every image column
+            c.xmap = new int[imageWidth];
+            for (int x = 0; x < imageWidth; x++) {
+                c.xmap[x] = x * c.h / maxH;
+            }
+        }
+
+        switch (numComponents) {
+            case 1:
+                jpegColorSpace = JCS_GRAYSCALE;
+                break;
+            case 3:
+            case 4:
+                jpegColorSpace = JCS_RGB;
+                intOut = new int[imageWidth * maxV * 8];
+                break;
+            default:
+                // awt.3D=Unknown colorspace
+                throw new IllegalArgumentException(Messages.getString("awt.3D")); //$NON-NLS-1$
+        }
+
+        progressive = isProgressive;
+        returnHeader();
+        headerDone = true;
+    }
+
+    private void readHuffmanTables() throws IOException {
+        int length = readShort() - 2;
+        while (length > 0) {
+            int info = readByte();
+            int counts[] = new int[17];
+            int total = 0;
+            for (int i = 1; i <= 16; i++) {
+                counts[i] = readByte();
+                total += counts[i];
+            }
+            if (total > 256) {
+                throw corrupted();
+            }
+            byte symbols[] = new byte[total];
+            readBytes(symbols);
+
+            HuffmanTable table = new HuffmanTable(counts, symbols);
+            if ((info >> 4) == 0) {
+                dcTables[info & 3] = table;
+            } else {
+                acTables[info & 3] = table;
+            }
+            length -= 17 + total;
+        }
+    }
+
+    private void readQuantTables() throws IOException {
+        int length = readShort() - 2;
+        while (length > 0) {
+            int info = readByte();
+            boolean wide = (info >> 4) != 0;
+            int table[] = new int[64];
+            for (int k = 0; k < 64; k++) {
+                table[ZIGZAG[k]] = wide ? readShort() : readByte();
+            }
+            quantTables[info & 3] = table;
+            length -= wide ? 129 : 65;
+        }
+    }
+
+    private void readAdobe() throws IOException {
+        int length = readShort() - 2;
+        if (length >= 12) {
+            byte data[] = new byte[12];
+            readBytes(data);
+            length -= 12;
+            if (data[0] == 'A' && data[1] == 'd' && data[2] == 'o' &&
+                    data[3] == 'b' && data[4] == 'e') {
+                adobe = true;
+                adobeTransform = data[11];
+            }
+        }
+        skip(length);
+    }
+
+    private void readScan() throws IOException {
+        if (components == null) {
+            throw corrupted();
+        }
+        int length = readShort();
+        int ns = readByte();
+        if (ns < 1 || ns > 4 || length != 6 + 2 * ns) {
+            throw corrupted();
+        }
+        Component scanComponents[] = new Component[ns];
+        for (int i = 0; i < ns; i++) {
+            int id = readByte();
+            int tables = readByte();
+            Component c = null;
+            for (int j = 0; j < components.length; j++) {
+                if (components[j].id == id) {
+                    c = components[j];
+                }
+            }
+            if (c == null) {
+                throw corrupted();
+            }
+            c.dcTable = dcTables[tables >> 4 & 3];
+            c.acTable = acTables[tables & 3];
+            scanComponents[i] = c;
+        }
+        int ss = readByte();
+        int se = readByte();
+        int approx = readByte();
+        int ah = approx >> 4;
+        int al = approx & 0x0F;
+        if (ss > 63 || se > 63 || ss > se) {
+            throw corrupted();
+        }
+
+        int kind;
+        if (!progressive) {
+            kind = DECODE_SEQUENTIAL;
+        } else if (ss == 0) {
+            kind = ah == 0 ? DECODE_DC_FIRST : DECODE_DC_REFINE;
+        } else {
+            kind = ah == 0 ? DECODE_AC_FIRST : DECODE_AC_REFINE;
+        }
+
+        for (int i = 0; i < ns; i++) {
+            Component c = scanComponents[i];
+            c.pred = 0;
+            c.quant = quantTables[c.tq];
+            if (c.quant == null ||
+                    (kind != DECODE_DC_REFINE && kind != DECODE_AC_FIRST && kind != DECODE_AC_REFINE &&
+                    c.dcTable == null) ||
+                    ((kind == DECODE_SEQUENTIAL || kind == DECODE_AC_FIRST || kind == DECODE_AC_REFINE) &&
+                    c.acTable == null)) {
+                throw corrupted();
+            }
+        }
+
+        bitBuffer = 0;
+        bitCount = 0;
+        marker = -1;
+        eobrun = 0;
+        restartsToGo = restartInterval;
+
+        if (!bufferedMode && !progressive && ns == components.length) {
+            decodeSequentialRows(scanComponents);
+        } else {
+            if (!bufferedMode) {
+                bufferedMode = true;
+                for (int i = 0; i < components.length; i++) {
+                    Component c = components[i];
+                    c.coefs = new short[c.blocksPerLineAlloc * c.blocksPerColumnAlloc * 64];
+                }
+            }
+            decodeBufferedScan(scanComponents, kind, ss, se, al);
+            dirty = true;
+
+            // Show the intermediate result while the rest of the stream is coming
+            if (progressive && !terminated &&
+                    bufferPos == bufferLength && inputStream.available() == 0) {
+                render();
+            }
+        }
+    }
+
+    /***************************************************************************
+     *
+     *  Scan decoding
+     *
+     ***************************************************************************/
+
+    /**
+     * Decodes the interleaved sequential scan, every MCU row is delivered
+     * to the consumers when it is complete
+     */
+    private void decodeSequentialRows(Component scanComponents[]) throws IOException {
+        for (int my = 0; my < mcusPerColumn && !terminated; my++) {
+            for (int mx = 0; mx < mcusPerLine; mx++) {
+                checkRestart();
+                for (int i = 0; i < scanComponents.length; i++) {
+                    Component c = scanComponents[i];
+                    for (int by = 0; by < c.v; by++) {
+                        for (int bx = 0; bx < c.h; bx++) {
+                            Arrays.fill(block, (short) 0);
+                            decodeSequential(c, block, 0);
+                            idct(block, 0, c.quant, c.pixels,
+                                    by * 8 * c.stride + (mx * c.h + bx) * 8, c.stride);
+                        }
+                    }
+                }
+            }
+            outputRow(my);
+        }
+    }
+
+    /**
+     * Decodes the scan into the coefficient buffers
+     */
+    private void decodeBufferedScan(Component scanComponents[], int kind,
+            int ss, int se, int al) throws IOException {
+        if (scanComponents.length == 1) {
+            // Non-interleaved, MCU is one block
+            Component c = scanComponents[0];
+            for (int row = 0; row < c.blocksPerColumn && !terminated; row++) {
+                for (int col = 0; col < c.blocksPerLine; col++) {
+                    checkRestart();
+                    decodeBlock(kind, c, (row * c.blocksPerLineAlloc + col) * 64, ss, se, al);
+                }
+            }
+        } else {
+            for (int my = 0; my < mcusPerColumn && !terminated; my++) {
+                for (int mx = 0; mx < mcusPerLine; mx++) {
+                    checkRestart();
+                    for (int i = 0; i < scanComponents.length; i++) {
+                        Component c = scanComponents[i];
+                        for (int by = 0; by < c.v; by++) {
+                            int row = my * c.v + by;
+                            for (int bx = 0; bx < c.h; bx++) {
+                                int col = mx * c.h + bx;
+                                decodeBlock(kind, c, (row * c.blocksPerLineAlloc + col) * 64, ss, se, al);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void decodeBlock(int kind, Component c, int offset,
+            int ss, int se, int al) throws IOException {
+        switch (kind) {
+            case DECODE_SEQUENTIAL:
+                decodeSequential(c, c.coefs, offset);
+                break;
+            case DECODE_DC_FIRST:
+                decodeDCFirst(c, c.coefs, offset, al);
+                break;
+            case DECODE_DC_REFINE:
+                decodeDCRefine(c.coefs, offset, al);
+                break;
+            case DECODE_AC_FIRST:
+                decodeACFirst(c, c.coefs, offset, ss, se, al);
+                break;
+            case DECODE_AC_REFINE:
+                decodeACRefine(c, c.coefs, offset, ss, se, al);
+                break;
+        }
+    }
+
+    private void decodeSequential(Component c, short coefs[], int offset) throws IOException {
+        int t = decodeHuffman(c.dcTable);
+        int diff = t == 0 ? 0 : receiveExtend(t);
+        c.pred += diff;
+        coefs[offset] = (short) c.pred;
+
+        HuffmanTable ac = c.acTable;
+        for (int k = 1; k < 64;) {
+            int rs = decodeHuffman(ac);
+            int s = rs & 0x0F;
+            int r = rs >> 4;
+            if (s == 0) {
+                if (r < 15) {
+                    break; // EOB
+                }
+                k += 16;
+                continue;
+            }
+            k += r;
+            coefs[offset + ZIGZAG[k & 0x7F]] = (short) receiveExtend(s);
+            k++;
+        }
+    }
+
+    private void decodeDCFirst(Component c, short coefs[], int offset, int al) throws IOException {
+        int t = decodeHuffman(c.dcTable);
+        int diff = t == 0 ? 0 : receiveExtend(t);
+        c.pred += diff;
+        coefs[offset] = (short) (c.pred << al);
+    }
+
+    private void decodeDCRefine(short coefs[], int offset, int al) throws IOException {
+        if (readBit() != 0) {
+            coefs[offset] |= 1 << al;
+        }
+    }
+
+    private void decodeACFirst(Component c, short coefs[], int offset,
+            int ss, int se, int al) throws IOException {
+        if (eobrun > 0) {
+            eobrun--;
+            return;
+        }
+        HuffmanTable ac = c.acTable;
+        for (int k = ss; k <= se;) {
+            int rs = decodeHuffman(ac);
+            int s = rs & 0x0F;
+            int r = rs >> 4;
+            if (s == 0) {
+                if (r < 15) {
+                    eobrun = (1 << r) - 1;
+                    if (r > 0) {
+                        eobrun += receive(r);
+                    }
+                    break;
+                }
+                k += 16;
+                continue;
+            }
+            k += r;
+            coefs[offset + ZIGZAG[k & 0x7F]] = (short) (receiveExtend(s) * (1 << al));
+            k++;
+        }
+    }
+
+    private void decodeACRefine(Component c, short coefs[], int offset,
+            int ss, int se, int al) throws IOException {
+        int p1 = 1 << al;
+        int m1 = -1 << al;
+        int k = ss;
+
+        if (eobrun == 0) {
+            HuffmanTable ac = c.acTable;
+            for (; k <= se; k++) {
+                int rs = decodeHuffman(ac);
+                int s = rs & 0x0F;
+                int r = rs >> 4;
+                if (s != 0) {
+                    // New coefficient is always +-1 of the current bit
+                    s = readBit() != 0 ? p1 : m1;
+                } else if (r != 15) {
+                    eobrun = 1 << r;
+                    if (r > 0) {
+                        eobrun += receive(r);
+                    }
+                    break;
+                }
+
+                // Skip r zero coefficients, refining the nonzero ones on the way
+                do {
+                    int z = offset + ZIGZAG[k];
+                    if (coefs[z] != 0) {
+                        refine(coefs, z, p1, m1);
+                    } else if (--r < 0) {
+                        break;
+                    }
+                    k++;
+                } while (k <= se);
+
+                if (s != 0 && k <= se) {
+                    coefs[offset + ZIGZAG[k]] = (short) s;
+                }
+            }
+        }
+
+        if (eobrun > 0) {
+            // Only refinement bits for the rest of the band
+            for (; k <= se; k++) {
+                int z = offset + ZIGZAG[k];
+                if (coefs[z] != 0) {
+                    refine(coefs, z, p1, m1);
+                }
+            }
+            eobrun--;
+        }
+    }
+
+    private void refine(short coefs[], int z, int p1, int m1) throws IOException {
+        if (readBit() != 0 && (coefs[z] & p1) == 0) {
+            coefs[z] += coefs[z] >= 0 ? p1 : m1;
+        }
+    }
+
+    /***************************************************************************
+     *
+     *  Entropy coded data
+     *
+     ***************************************************************************/
+
+    /**
+     * Keeps at least 25 bits in the bit buffer. Zeros are fed
+     * after a marker.
+     */
+    private void fillBits() throws IOException {
+        while (bitCount <= 24) {
+            int b = 0;
+            if (marker < 0) {
+                b = readByte();
+                if (b == 0xFF) {
+                    int next = readByte();
+                    while (next == 0xFF) {
+                        next = readByte(); // Fill bytes
+                    }
+                    if (next != 0) {
+                        marker = next;
+                        b = 0;
+                    }
+                }
+            }
+            bitBuffer |= b << (24 - bitCount);
+            bitCount += 8;
+        }
+    }
+
+    private int readBit() throws IOException {
+        if (bitCount == 0) {
+            fillBits();
+        }
+        int bit = bitBuffer >>> 31;
+        bitBuffer <<= 1;
+        bitCount--;
+        return bit;
+    }
+
+    private int receive(int n) throws IOException {
+        if (bitCount < n) {
+            fillBits();
+        }
+        int v = bitBuffer >>> (32 - n);
+        bitBuffer <<= n;
+        bitCount -= n;
+        return v;
+    }
+
+    private int receiveExtend(int n) throws IOException {
+        int v = receive(n);
+        return v < 1 << (n - 1) ? v - (1 << n) + 1 : v;
+    }
+
+    private int decodeHuffman(HuffmanTable table) throws IOException {
+        if (bitCount < 16) {
+            fillBits();
+        }
+        int e = table.lookup[bitBuffer >>> (32 - HuffmanTable.LOOKUP_BITS)];
+        if (e != 0) {
+            int len = e >> 8;
+            bitBuffer <<= len;
+            bitCount -= len;
+            return e & 0xFF;
+        }
+        for (int len = HuffmanTable.LOOKUP_BITS + 1; len <= 16; len++) {
+            int code = bitBuffer >>> (32 - len);
+            if (code <= table.maxCode[len]) {
+                bitBuffer <<= len;
+                bitCount -= len;
+                return table.symbols[code + table.valOffset[len]] & 0xFF;
+            }
+        }
+        throw corrupted();
+    }
+
+    /**
+     * Starts a new restart interval if the current one is over
+     */
+    private void checkRestart() throws IOException {
+        if (restartInterval == 0) {
+            return;
+        }
+        if (restartsToGo == 0) {
+            // Padding bits of the interval are dropped
+            bitBuffer = 0;
+            bitCount = 0;
+            if (marker < 0) {
+                marker = findMarker();
+            }
+            if (marker >= RST0 && marker <= RST7) {
+                marker = -1;
+            }
+            for (int i = 0; i < components.length; i++) {
+                components[i].pred = 0;
+            }
+            eobrun = 0;
+            restartsToGo = restartInterval;
+        }
+        restartsToGo--;
+    }
+
+    /***************************************************************************
+     *
+     *  Output
+     *
+     ***************************************************************************/
+
+    /**
+     * Renders all the MCU rows from the coefficient buffers
+     */
+    private void render() {
+        dirty = false;
+        for (int my = 0; my < mcusPerColumn && !terminated; my++) {
+            for (int i = 0; i < components.length; i++) {
+                Component c = components[i];
+                if (c.quant == null) {
+                    continue; // Component has not been in any scan yet
+                }
+                for (int by = 0; by < c.v; by++) {
+                    int offset = (my * c.v + by) * c.blocksPerLineAlloc * 64;
+                    int pixelOffset = by * 8 * c.stride;
+                    for (int col = 0; col < c.blocksPerLineAlloc; col++) {
+                        idct(c.coefs, offset + col * 64, c.quant, c.pixels,
+                                pixelOffset + col * 8, c.stride);
+                    }
+                }
+            }
+            outputRow(my);
+        }
+    }
+
+    /**
+     * Upsamples and converts the samples of the MCU row to the output
+     * color space and sends them to the consumers
+     */
+    private void outputRow(int my) {
+        int y0 = my * maxV * 8;
+        int lines = Math.min(maxV * 8, imageHeight - y0);
+        currScanline = y0 + lines;
+
+        if (components.length == 1) {
+            Component c = components[0];
+            returnData(c.pixels, 0, c.stride, lines, currScanline);
+            return;
+        }
+
+        Component c0 = components[0];
+        Component c1 = components[1];
+        Component c2 = components[2];
+        Component c3 = components.length == 4 ? components[3] : null;
+        int map0[] = c0.xmap;
+        int map1[] = c1.xmap;
+        int map2[] = c2.xmap;
+        byte p0[] = c0.pixels;
+        byte p1[] = c1.pixels;
+        byte p2[] = c2.pixels;
+        boolean transform = hasColorTransform();
+
+        for (int line = 0, out = 0; line < lines; line++) {
+            int r0 = line * c0.v / maxV * c0.stride;
+            int r1 = line * c1.v / maxV * c1.stride;
+            int r2 = line * c2.v / maxV * c2.stride;
+
+            if (c3 == null) {
+                if (transform) {
+                    for (int x = 0; x < imageWidth; x++) {
+                        int y = p0[r0 + map0[x]] & 0xFF;
+                        int cb = p1[r1 + map1[x]] & 0xFF;
+                        int cr = p2[r2 + map2[x]] & 0xFF;
+                        intOut[out++] = clamp(y + CR_R[cr]) << 16 |
+                                clamp(y + ((CB_G[cb] + CR_G[cr]) >> 16)) << 8 |
+                                clamp(y + CB_B[cb]);
+                    }
+                } else {
+                    for (int x = 0; x < imageWidth; x++) {
+                        intOut[out++] = (p0[r0 + map0[x]] & 0xFF) << 16 |
+                                (p1[r1 + map1[x]] & 0xFF) << 8 |
+                                (p2[r2 + map2[x]] & 0xFF);
+                    }
+                }
+            } else {
+                // Adobe CMYK is stored inverted, so RGB = stored CMY * stored K
+                int map3[] = c3.xmap;
+                byte p3[] = c3.pixels;
+                int r3 = line * c3.v / maxV * c3.stride;
+                for (int x = 0; x < imageWidth; x++) {
+                    int c = p0[r0 + map0[x]] & 0xFF;
+                    int m = p1[r1 + map1[x]] & 0xFF;
+                    int ye = p2[r2 + map2[x]] & 0xFF;
+                    int k = p3[r3 + map3[x]] & 0xFF;
+                    if (transform) {
+                        // YCCK, the CMY part is stored as YCbCr
+                        int y = c;
+                        int cb = m;
+                        int cr = ye;
+                        c = 255 - clamp(y + CR_R[cr]);
+                        m = 255 - clamp(y + ((CB_G[cb] + CR_G[cr]) >> 16));
+                        ye = 255 - clamp(y + CB_B[cb]);
+                    }
+                    intOut[out++] = (c * k / 255) << 16 | (m * k / 255) << 8 | ye * k / 255;
+                }
+            }
+        }
+
+        returnData(intOut, 0, imageWidth, lines, currScanline);
+    }
+
+    /**
+     * Checks if the YCbCr to RGB conversion should be applied
+     */
+    private boolean hasColorTransform() {
+        if (adobe) {
+            return adobeTransform != 0;
+        }
+        if (components.length == 4) {
+            return false;
+        }
+        // JFIF is always YCbCr, but some encoders mark RGB with component ids
+        return !(components[0].id == 'R' && components[1].id == 'G' && components[2].id == 'B');
+    }
+
+    private static int clamp(int v) {
+        return v < 0 ? 0 : v > 255 ? 255 : v;
+    }
+
+    /**
+     * Dequantizes the block and does the integer inverse DCT, the same
+     * as the accurate integer method of the IJG library. Results are
+     * level shifted and clamped to the 0..255 range.
+     */
+    private void idct(short coefs[], int offset, int quant[], byte out[], int outOffset, int stride) {
+        int ws[] = workspace;
+
+        // Pass 1: process columns from the input, store into the work array
+        for (int col = 0; col < 8; col++) {
+            int in = offset + col;
+            if (coefs[in + 8] == 0 && coefs[in + 16] == 0 && coefs[in + 24] == 0 &&
+                    coefs[in + 32] == 0 && coefs[in + 40] == 0 && coefs[in + 48] == 0 &&
+                    coefs[in + 56] == 0) {
+                // AC terms are zero, the column is constant
+                int dc = coefs[in] * quant[col] << PASS1_BITS;
+                for (int i = col; i < 64; i += 8) {
+                    ws[i] = dc;
+                }
+                continue;
+            }
+
+            // Even part
+            int z2 = coefs[in + 16] * quant[col + 16];
+            int z3 = coefs[in + 48] * quant[col + 48];
+            int z1 = (z2 + z3) * FIX_0_541196100;
+            int tmp2 = z1 - z3 * FIX_1_847759065;
+            int tmp3 = z1 + z2 * FIX_0_765366865;
+
+            z2 = coefs[in] * quant[col];
+            z3 = coefs[in + 32] * quant[col + 32];
+            int tmp0 = (z2 + z3) << CONST_BITS;
+            int tmp1 = (z2 - z3) << CONST_BITS;
+
+            int tmp10 = tmp0 + tmp3;
+            int tmp13 = tmp0 - tmp3;
+            int tmp11 = tmp1 + tmp2;
+            int tmp12 = tmp1 - tmp2;
+
+            // Odd part
+            tmp0 = coefs[in + 56] * quant[col + 56];
+            tmp1 = coefs[in + 40] * quant[col + 40];
+            tmp2 = coefs[in + 24] * quant[col + 24];
+            tmp3 = coefs[in + 8] * quant[col + 8];
+
+            z1 = tmp0 + tmp3;
+            z2 = tmp1 + tmp2;
+            z3 = tmp0 + tmp2;
+            int z4 = tmp1 + tmp3;
+            int z5 = (z3 + z4) * FIX_1_175875602;
+
+            tmp0 *= FIX_0_298631336;
+            tmp1 *= FIX_2_053119869;
+            tmp2 *= FIX_3_072711026;
+            tmp3 *= FIX_1_501321110;
+            z1 *= -FIX_0_899976223;
+            z2 *= -FIX_2_562915447;
+            z3 = z3 * -FIX_1_961570560 + z5;
+            z4 = z4 * -FIX_0_390180644 + z5;
+
+            tmp0 += z1 + z3;
+            tmp1 += z2 + z4;
+            tmp2 += z2 + z3;
+            tmp3 += z1 + z4;
+
+            int shift = CONST_BITS - PASS1_BITS;
+            int round = 1 << (shift - 1);
+            ws[col] = (tmp10 + tmp3 + round) >> shift;
+            ws[col + 56] = (tmp10 - tmp3 + round) >> shift;
+            ws[col + 8] = (tmp11 + tmp2 + round) >> shift;
+            ws[col + 48] = (tmp11 - tmp2 + round) >> shift;
+            ws[col + 16] = (tmp12 + tmp1 + round) >> shift;
+            ws[col + 40] = (tmp12 - tmp1 + round) >> shift;
+            ws[col + 24] = (tmp13 + tmp0 + round) >> shift;
+            ws[col + 32] = (tmp13 - tmp0 + round) >> shift;
+        }
+
+        // Pass 2: process rows from the work array, store into the output
+        int shift = CONST_BITS + PASS1_BITS + 3;
+        int round = (1 << (shift - 1)) + (128 << shift);
+        for (int row = 0; row < 64; row += 8, outOffset += stride) {
+            if (ws[row + 1] == 0 && ws[row + 2] == 0 && ws[row + 3] == 0 &&
+                    ws[row + 4] == 0 && ws[row + 5] == 0 && ws[row + 6] == 0 &&
+                    ws[row + 7] == 0) {
+                byte dc = (byte) clamp((ws[row] + (1 << (PASS1_BITS + 2)) >> (PASS1_BITS + 3)) + 128);
+                for (int i = 0; i < 8; i++) {
+                    out[outOffset + i] = dc;
+                }
+                continue;
+            }
+
+            // Even part
+            int z2 = ws[row + 2];
+            int z3 = ws[row + 6];
+            int z1 = (z2 + z3) * FIX_0_541196100;
+            int tmp2 = z1 - z3 * FIX_1_847759065;
+            int tmp3 = z1 + z2 * FIX_0_765366865;
+
+            int tmp0 = (ws[row] + ws[row + 4]) << CONST_BITS;
+            int tmp1 = (ws[row] - ws[row + 4]) << CONST_BITS;
+
+            int tmp10 = tmp0 + tmp3;
+            int tmp13 = tmp0 - tmp3;
+            int tmp11 = tmp1 + tmp2;
+            int tmp12 = tmp1 - tmp2;
+
+            // Odd part
+            tmp0 = ws[row + 7];
+            tmp1 = ws[row + 5];
+            tmp2 = ws[row + 3];
+            tmp3 = ws[row + 1];
+
+            z1 = tmp0 + tmp3;
+            z2 = tmp1 + tmp2;
+            z3 = tmp0 + tmp2;
+            int z4 = tmp1 + tmp3;
+            int z5 = (z3 + z4) * FIX_1_175875602;
+
+            tmp0 *= FIX_0_298631336;
+            tmp1 *= FIX_2_053119869;
+            tmp2 *= FIX_3_072711026;
+            tmp3 *= FIX_1_501321110;
+            z1 *= -FIX_0_899976223;
+            z2 *= -FIX_2_562915447;
+            z3 = z3 * -FIX_1_961570560 + z5;
+            z4 = z4 * -FIX_0_390180644 + z5;
+
+            tmp0 += z1 + z3;
+            tmp1 += z2 + z4;
+            tmp2 += z2 + z3;
+            tmp3 += z1 + z4;
+
+            out[outOffset] = (byte) clamp((tmp10 + tmp3 + round) >> shift);
+            out[outOffset + 7] = (byte) clamp((tmp10 - tmp3 + round) >> shift);
+            out[outOffset + 1] = (byte) clamp((tmp11 + tmp2 + round) >> shift);
+            out[outOffset + 6] = (byte) clamp((tmp11 - tmp2 + round) >> shift);
+            out[outOffset + 2] = (byte) clamp((tmp12 + tmp1 + round) >> shift);
+            out[outOffset + 5] = (byte) clamp((tmp12 - tmp1 + round) >> shift);
+            out[outOffset + 3] = (byte) clamp((tmp13 + tmp0 + round) >> shift);
+            out[outOffset + 4] = (byte) clamp((tmp13 - tmp0 + round) >> shift);
+        }
+    }
+
+    private static IllegalArgumentException corrupted() {
+        // awt.2A0=Corrupted JPEG data
+        return new IllegalArgumentException(Messages.getString("awt.2A0")); //$NON-NLS-1$
+    }
+
+    private static IllegalArgumentException unsupported() {
+        // awt.2A1=Unsupported JPEG process
+        return new IllegalArgumentException(Messages.getString("awt.2A1")); //$NON-NLS-1$
+    }
+
+    /***************************************************************************
+     *
+     *  Stream reading
+     *
+     ***************************************************************************/
+
+    private void fillBuffer() throws IOException {
+        int bytesRead = inputStream.read(buffer, 0, buffer_size);
+        if (bytesRead <= 0) {
+            throw new EOFException();
+        }
+        bufferPos = 0;
+        bufferLength = bytesRead;
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPos == bufferLength) {
+            fillBuffer();
+        }
+        return buffer[bufferPos++] & 0xFF;
+    }
+
+    private int readShort() throws IOException {
+        return readByte() << 8 | readByte();
+    }
+
+    private void readBytes(byte res[]) throws IOException {
+        for (int pos = 0; pos < res.length;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(res.length - pos, bufferLength - bufferPos);
+            System.arraycopy(buffer, bufferPos, res, pos, n);
+            bufferPos += n;
+            pos += n;
+        }
+    }
+
+    private void skip(int length) throws IOException {
+        for (int remaining = length; remaining > 0;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(remaining, bufferLength - bufferPos);
+            bufferPos += n;
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Returns the marker met by the entropy decoder or the next one
+     * in the stream
+     */
+    private int nextMarker() throws IOException {
+        if (marker >= 0) {
+            int m = marker;
+            marker = -1;
+            return m;
+        }
+        return findMarker();
+    }
+
+    private int findMarker() throws IOException {
+        for (;;) {
+            if (readByte() == 0xFF) {
+                int m = readByte();
+                while (m == 0xFF) {
+                    m = readByte();
+                }
+                if (m != 0) {
+                    return m;
+                }
+            }
+        }
+    }
+
+    private static final class Component {
+        int id;
+        int h, v;
+        int tq;
+        int quant[];
+        int blocksPerLine, blocksPerColumn;
+        int blocksPerLineAlloc, blocksPerColumnAlloc;
+        HuffmanTable dcTable, acTable;
+        int pred;
+        // Quantized coefficients of the whole component, buffered mode only
+        short coefs[];
+        // Samples of one MCU row
+        byte pixels[];
+        int stride;
+        // Sample column for every image column
+        int xmap[];
+    }
+
+    private static final class HuffmanTable {
+        static final int LOOKUP_BITS = 9;
+
+        // (length << 8 | symbol) for the codes up to LOOKUP_BITS long
+        final int lookup[] = new int[1 << LOOKUP_BITS];
+        final int maxCode[] = new int[18];
+        final int valOffset[] = new int[18];
+        final byte symbols[];
+
+        HuffmanTable(int counts[], byte symbols[]) {
+            this.symbols = symbols;
+            int code = 0;
+            int k = 0;
+            for (int len = 1; len <= 16; len++) {
+                valOffset[len] = k - code;
+                for (int i = 0; i < counts[len]; i++, k++, code++) {
+                    if (len <= LOOKUP_BITS) {
+                        int shift = LOOKUP_BITS - len;
+                        int entry = len << 8 | (symbols[k] & 0xFF);
+                        for (int j = code << shift, end = (code + 1) << shift; j < end; j++) {
+                            lookup[j] = entry;
+                        }
+                    }
+                }
+                maxCode[len] = counts[len] > 0 ? code - 1 : -1;
+                code <<= 1;
+            }
+        }
+    }
 }
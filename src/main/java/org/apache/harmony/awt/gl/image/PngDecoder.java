@@ -20,36 +20,46 @@
  * @date: Jul 22, 2005
  */
 
+
 package org.apache.harmony.awt.gl.image;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import org.apache.harmony.awt.internal.nls.Messages;
-import org.teavm.classlib.java.awt.TTransparency;
-import org.teavm.classlib.java.awt.color.TColorSpace;
 import org.teavm.classlib.java.awt.image.TColorModel;
-import org.teavm.classlib.java.awt.image.TComponentColorModel;
-import org.teavm.classlib.java.awt.image.TDataBuffer;
 import org.teavm.classlib.java.awt.image.TDirectColorModel;
 import org.teavm.classlib.java.awt.image.TImageConsumer;
 import org.teavm.classlib.java.awt.image.TIndexColorModel;
 
+/**
+ * Pure Java PNG decoder. The chunks are read from the stream as they come,
+ * IDAT data is inflated directly into the scanline buffer, unfiltered and
+ * passed to the consumers one scanline at a time.
+ * <p>
+ * Palette and gray images up to 8 bits are delivered as bytes with
+ * IndexColorModel, all the others as ints with RGB color models.
+ * 16 bit samples are reduced to 8 bits. Interlaced images are kept in
+ * a whole image buffer and every image row is delivered again each time
+ * some pass changes it.
+ */
 public class PngDecoder extends ImageDecoder {
-    // initializes proper field IDs
-    private static native void initIDs();
-
-    static {
-        org.apache.harmony.awt.Utils.loadLibrary("gl"); //$NON-NLS-1$
-        initIDs();
-    }
 
     private static final int hintflags =
             TImageConsumer.SINGLEFRAME | // PNG is a static image
             TImageConsumer.TOPDOWNLEFTRIGHT | // This order is only one possible
             TImageConsumer.COMPLETESCANLINES; // Don't deliver incomplete scanlines
 
+    // Adam7 passes deliver pixels in arbitrary order
+    private static final int interlacedHintflags =
+            TImageConsumer.SINGLEFRAME |
+            TImageConsumer.COMPLETESCANLINES;
+
     // Each pixel is a grayscale sample.
     private static final int PNG_COLOR_TYPE_GRAY = 0;
     // Each pixel is an R,G,B triple.
@@ -61,34 +71,57 @@ public class PngDecoder extends ImageDecoder {
     // Each pixel is an R,G,B triple, followed by an alpha sample.
     private static final int PNG_COLOR_TYPE_RGBA = 6;
 
+    // Chunk types
+    private static final int IHDR = 0x49484452;
+    private static final int PLTE = 0x504C5445;
+    private static final int tRNS = 0x74524E53;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+
+    // Adam7 passes: first column and row, column and row increments
+    private static final int ADAM7_X0[] = {0, 4, 0, 2, 0, 1, 0};
+    private static final int ADAM7_Y0[] = {0, 0, 4, 0, 2, 0, 1};
+    private static final int ADAM7_DX[] = {8, 8, 4, 4, 2, 2, 1};
+    private static final int ADAM7_DY[] = {8, 8, 8, 4, 4, 2, 2};
+
     private static final int MIN_BUFFER_SIZE = 4096;
     private static final int MAX_BUFFER_SIZE = 2097152;
     private int buffer_size;
     private byte buffer[];
+    private int bufferPos;
+    private int bufferLength;
 
-    // Buffers for decoded image data
+    // Buffers for decoded image data: one scanline,
+    // or the whole image if it is interlaced
     byte byteOut[];
     int intOut[];
 
-    // Native pointer to png decoder data
-    private long hNativeDecoder;
-
     int imageWidth, imageHeight;
     int colorType;
     int bitDepth;
+    boolean interlaced;
     byte cmap[];
+    byte trns[];
 
     boolean transferInts; // Is transfer type int?.. or byte?
-    int dataElementsPerPixel = 1;
 
     TColorModel cm;
 
-    int updateFromScanline; // First scanline to update
-    int numScanlines; // Number of scanlines to update
+    private final Inflater inflater = new Inflater();
 
-    private native long decode(byte[] input, int bytesInBuffer, long hDecoder);
+    // Filtered scanlines with the filter type byte, reused for all rows
+    private byte curRow[];
+    private byte prevRow[];
+    private int rowPos;
+    private int rowLength;
+    private int bytesPerPixel;
 
-    private static native void releaseNativeDecoder(long hDecoder);
+    // Current Adam7 pass, 0 for non-interlaced images
+    private int pass;
+    private int passRow;
+    private int passWidth;
+    private int passHeight;
+    private boolean rowsDone;
 
     public PngDecoder(DecodingImageSource src, InputStream is) {
         super(src, is);
@@ -110,107 +143,180 @@ public class PngDecoder extends ImageDecoder {
     @Override
     public void decodeImage() throws IOException {
         try {
-            int bytesRead = 0;
-            // Read from the input stream
-            for (;;) {
-                bytesRead = inputStream.read(buffer, 0, buffer_size);
-
-                if (bytesRead < 0) {
-                    // Break, nothing to read from buffer, image truncated?
-                    releaseNativeDecoder(hNativeDecoder);
-                    break;
+            // Signature has been checked by ImageDecoder.createDecoder
+            skip(8);
+
+            boolean end = false;
+            while (!end && !terminated) {
+                int length = readInt();
+                int type = readInt();
+                if (length < 0) {
+                    throw corrupted();
                 }
 
-                hNativeDecoder = decode(buffer, bytesRead, hNativeDecoder);
-
-                returnData();
-
-                // OK, we decoded all the picture in the right way...
-                if (hNativeDecoder == 0) {
-                    break;
+                switch (type) {
+                    case IHDR:
+                        readHeader(length);
+                        break;
+                    case PLTE:
+                        // At most 256 RGB entries
+                        if (length > 768 || length % 3 != 0) {
+                            throw corrupted();
+                        }
+                        cmap = readBytes(length);
+                        break;
+                    case tRNS:
+                        // At most one alpha per palette entry
+                        if (length > 256) {
+                            throw corrupted();
+                        }
+                        trns = readBytes(length);
+                        break;
+                    case IDAT:
+                        if (cm == null) {
+                            returnHeader();
+                        }
+                        readImageData(length);
+                        break;
+                    case IEND:
+                        end = true;
+                        skip(length);
+                        break;
+                    default:
+                        // Ancillary chunks are ignored
+                        skip(length);
                 }
+                skip(4); // CRC
             }
 
-            imageComplete(TImageConsumer.STATICIMAGEDONE);
+            imageComplete(cm != null ? TImageConsumer.STATICIMAGEDONE : TImageConsumer.IMAGEERROR);
+        } catch (EOFException e) {
+            // Image truncated, show what has been decoded
+            imageComplete(cm != null ? TImageConsumer.STATICIMAGEDONE : TImageConsumer.IMAGEERROR);
         } catch (IOException e) {
             throw e;
         } catch (RuntimeException e) {
             imageComplete(TImageConsumer.IMAGEERROR);
             throw e;
         } finally {
+            inflater.end();
             closeStream();
         }
     }
 
-    @SuppressWarnings("unused")
-    private void returnHeader() { // Called from native code
+    private void readHeader(int length) throws IOException {
+        if (length != 13) {
+            throw corrupted();
+        }
+        imageWidth = readInt();
+        imageHeight = readInt();
+        bitDepth = readByte();
+        colorType = readByte();
+        int compression = readByte();
+        int filter = readByte();
+        interlaced = readByte() == 1;
+        if (imageWidth <= 0 || imageHeight <= 0 || compression != 0 || filter != 0) {
+            throw corrupted();
+        }
+    }
+
+    private void returnHeader() {
+        if (imageWidth <= 0) {
+            throw corrupted();
+        }
         setDimensions(imageWidth, imageHeight);
 
+        int samples;
         switch (colorType) {
             case PNG_COLOR_TYPE_GRAY: {
-                if (bitDepth != 8 && bitDepth != 4 && bitDepth != 2 && bitDepth != 1) {
-                    // awt.3C=Unknown PNG color type
-                    throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
+                checkBitDepth(bitDepth == 1 || bitDepth == 2 || bitDepth == 4 ||
+                        bitDepth == 8 || bitDepth == 16);
+                samples = 1;
+
+                if (bitDepth == 16 && trns != null) {
+                    // Transparent gray is compared on 16 bits
+                    cm = TColorModel.getRGBdefault();
+                    transferInts = true;
+                    break;
                 }
 
                 // Create gray color model
-                int numEntries = 1 << bitDepth;
+                int numEntries = 1 << Math.min(bitDepth, 8);
                 int scaleFactor = 255 / (numEntries-1);
                 byte comps[] = new byte[numEntries];
                 for (int i = 0; i < numEntries; i++) {
                     comps[i] = (byte) (i * scaleFactor);
                 }
-                cm = new TIndexColorModel(/*bitDepth*/8, numEntries, comps, comps, comps);
+                if (trns != null && trns.length >= 2) {
+                    byte alpha[] = new byte[numEntries];
+                    Arrays.fill(alpha, (byte) 0xFF);
+                    int transparent = getSample16(trns, 0) & (numEntries - 1);
+                    alpha[transparent] = 0;
+                    cm = new TIndexColorModel(/*bitDepth*/8, numEntries, comps, comps, comps, alpha);
+                } else {
+                    cm = new TIndexColorModel(/*bitDepth*/8, numEntries, comps, comps, comps);
+                }
 
                 transferInts = false;
                 break;
             }
 
             case PNG_COLOR_TYPE_RGB: {
-                if (bitDepth != 8) {
-                    // awt.3C=Unknown PNG color type
-                    throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
-                }
+                checkBitDepth(bitDepth == 8 || bitDepth == 16);
+                samples = 3;
 
-                cm = new TDirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+                if (trns != null) {
+                    cm = TColorModel.getRGBdefault();
+                } else {
+                    cm = new TDirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+                }
 
                 transferInts = true;
                 break;
             }
 
             case PNG_COLOR_TYPE_PLTE: {
-                if (bitDepth != 8 && bitDepth != 4 && bitDepth != 2 && bitDepth != 1) {
-                    // awt.3C=Unknown PNG color type
-                    throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
+                checkBitDepth(bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8);
+                samples = 1;
+                if (cmap == null) {
+                    throw corrupted();
                 }
 
-                cm = new TIndexColorModel(/*bitDepth*/8, cmap.length / 3, cmap, 0, false);
+                int numEntries = cmap.length / 3;
+                byte r[] = new byte[numEntries];
+                byte g[] = new byte[numEntries];
+                byte b[] = new byte[numEntries];
+                for (int i = 0, j = 0; i < numEntries; i++) {
+                    r[i] = cmap[j++];
+                    g[i] = cmap[j++];
+                    b[i] = cmap[j++];
+                }
+                if (trns != null) {
+                    byte alpha[] = new byte[numEntries];
+                    Arrays.fill(alpha, (byte) 0xFF);
+                    System.arraycopy(trns, 0, alpha, 0, Math.min(trns.length, numEntries));
+                    cm = new TIndexColorModel(/*bitDepth*/8, numEntries, r, g, b, alpha);
+                } else {
+                    cm = new TIndexColorModel(/*bitDepth*/8, numEntries, r, g, b);
+                }
 
                 transferInts = false;
                 break;
             }
 
             case PNG_COLOR_TYPE_GRAY_ALPHA: {
-                if (bitDepth != 8) {
-                    // awt.3C=Unknown PNG color type
-                    throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
-                }
+                checkBitDepth(bitDepth == 8 || bitDepth == 16);
+                samples = 2;
 
-                cm = new TComponentColorModel(TColorSpace.getInstance(TColorSpace.CS_GRAY),
-                        true, false,
-                        TTransparency.TRANSLUCENT,
-                        TDataBuffer.TYPE_BYTE);
+                cm = TColorModel.getRGBdefault();
 
-                transferInts = false;
-                dataElementsPerPixel = 2;
+                transferInts = true;
                 break;
             }
 
             case PNG_COLOR_TYPE_RGBA: {
-                if (bitDepth != 8) {
-                    // awt.3C=Unknown PNG color type
-                    throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
-                }
+                checkBitDepth(bitDepth == 8 || bitDepth == 16);
+                samples = 4;
 
                 cm = TColorModel.getRGBdefault();
 
@@ -222,58 +328,350 @@ public class PngDecoder extends ImageDecoder {
                 throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
         }
 
+        int bitsPerPixel = samples * bitDepth;
+        bytesPerPixel = Math.max(1, bitsPerPixel / 8);
+        int maxRowLength = 1 + (imageWidth * bitsPerPixel + 7) / 8;
+        curRow = new byte[maxRowLength];
+        prevRow = new byte[maxRowLength];
+
         // Create output buffer
+        int outSize = interlaced ? imageWidth * imageHeight : imageWidth;
         if (transferInts) {
-            intOut = new int[imageWidth * imageHeight];
+            intOut = new int[outSize];
         } else {
-            byteOut = new byte[imageWidth * imageHeight * dataElementsPerPixel];
+            byteOut = new byte[outSize];
         }
 
         setColorModel(cm);
 
-        setHints(hintflags);
+        setHints(interlaced ? interlacedHintflags : hintflags);
         setProperties(new Hashtable<Object, Object>()); // Empty
+
+        pass = interlaced ? 0 : -1;
+        startPass();
     }
 
-    // Send the data to the consumer
-    private void returnData() {
-        // Send 1 or more scanlines to the consumer.
-        if (numScanlines > 0) {
-            // Native decoder could have returned
-            // some data from the next pass, handle it here
-            int pass1, pass2;
-            if (updateFromScanline + numScanlines > imageHeight) {
-                pass1 = imageHeight - updateFromScanline;
-                pass2 = updateFromScanline + numScanlines - imageHeight;
+    /**
+     * Sets up the row geometry of the current pass, skipping empty passes
+     */
+    private void startPass() {
+        if (!interlaced) {
+            passWidth = imageWidth;
+            passHeight = imageHeight;
+        } else {
+            for (; pass < 7; pass++) {
+                passWidth = (imageWidth - ADAM7_X0[pass] + ADAM7_DX[pass] - 1) / ADAM7_DX[pass];
+                passHeight = (imageHeight - ADAM7_Y0[pass] + ADAM7_DY[pass] - 1) / ADAM7_DY[pass];
+                if (passWidth > 0 && passHeight > 0) {
+                    break;
+                }
+            }
+            if (pass == 7) {
+                rowsDone = true;
+                return;
+            }
+        }
+        int bitsPerPixel = bitDepth * getSamplesPerPixel();
+        rowLength = 1 + (passWidth * bitsPerPixel + 7) / 8;
+        passRow = 0;
+        rowPos = 0;
+        // The row above the first one is zero for the filters
+        Arrays.fill(prevRow, 0, rowLength, (byte) 0);
+    }
+
+    private int getSamplesPerPixel() {
+        switch (colorType) {
+            case PNG_COLOR_TYPE_RGB:
+                return 3;
+            case PNG_COLOR_TYPE_GRAY_ALPHA:
+                return 2;
+            case PNG_COLOR_TYPE_RGBA:
+                return 4;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Feeds the chunk data to the inflater in pieces of the input buffer
+     */
+    private void readImageData(int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(remaining, bufferLength - bufferPos);
+            if (!rowsDone) {
+                inflater.setInput(buffer, bufferPos, n);
+                inflateRows();
+            }
+            bufferPos += n;
+            remaining -= n;
+        }
+    }
+
+    private void inflateRows() {
+        try {
+            // Inflater may still hold output when all the input is consumed,
+            // so inflate until it can't give anything more
+            while (!rowsDone) {
+                int n = inflater.inflate(curRow, rowPos, rowLength - rowPos);
+                if (n == 0) {
+                    break;
+                }
+                rowPos += n;
+                if (rowPos == rowLength) {
+                    processRow();
+                }
+            }
+        } catch (DataFormatException e) {
+            throw corrupted();
+        }
+    }
+
+    private void processRow() {
+        unfilter();
+
+        int y, offset, step;
+        if (interlaced) {
+            y = ADAM7_Y0[pass] + passRow * ADAM7_DY[pass];
+            offset = y * imageWidth + ADAM7_X0[pass];
+            step = ADAM7_DX[pass];
+        } else {
+            y = passRow;
+            offset = 0;
+            step = 1;
+        }
+
+        if (transferInts) {
+            convertToInts(offset, step);
+        } else {
+            convertToBytes(offset, step);
+        }
+        returnData(y, interlaced ? y * imageWidth : 0);
+
+        byte tmp[] = prevRow;
+        prevRow = curRow;
+        curRow = tmp;
+        rowPos = 0;
+
+        if (++passRow == passHeight) {
+            if (interlaced) {
+                pass++;
+                startPass();
             } else {
-                pass1 = numScanlines;
-                pass2 = 0;
+                rowsDone = true;
+            }
+        }
+    }
+
+    private void unfilter() {
+        byte cur[] = curRow;
+        byte prev[] = prevRow;
+        int bpp = bytesPerPixel;
+        int len = rowLength;
+
+        switch (cur[0]) {
+            case 0: // None
+                break;
+            case 1: // Sub
+                for (int i = 1 + bpp; i < len; i++) {
+                    cur[i] += cur[i - bpp];
+                }
+                break;
+            case 2: // Up
+                for (int i = 1; i < len; i++) {
+                    cur[i] += prev[i];
+                }
+                break;
+            case 3: // Average
+                for (int i = 1; i <= bpp && i < len; i++) {
+                    cur[i] += (prev[i] & 0xFF) >>> 1;
+                }
+                for (int i = 1 + bpp; i < len; i++) {
+                    cur[i] += ((cur[i - bpp] & 0xFF) + (prev[i] & 0xFF)) >>> 1;
+                }
+                break;
+            case 4: // Paeth
+                for (int i = 1; i <= bpp && i < len; i++) {
+                    cur[i] += prev[i];
+                }
+                for (int i = 1 + bpp; i < len; i++) {
+                    int a = cur[i - bpp] & 0xFF;
+                    int b = prev[i] & 0xFF;
+                    int c = prev[i - bpp] & 0xFF;
+                    int pa = Math.abs(b - c);
+                    int pb = Math.abs(a - c);
+                    int pc = Math.abs(a + b - c - c);
+                    cur[i] += (pa <= pb && pa <= pc) ? a : (pb <= pc ? b : c);
+                }
+                break;
+            default:
+                throw corrupted();
+        }
+    }
+
+    private void convertToBytes(int offset, int step) {
+        byte row[] = curRow;
+        byte out[] = byteOut;
+        int end = offset + passWidth * step;
+
+        if (bitDepth == 8) {
+            for (int o = offset, p = 1; o < end; o += step) {
+                out[o] = row[p++];
             }
+        } else if (bitDepth == 16) {
+            // Gray, the high byte is used
+            for (int o = offset, p = 1; o < end; o += step, p += 2) {
+                out[o] = row[p];
+            }
+        } else {
+            int mask = (1 << bitDepth) - 1;
+            int shift = 8 - bitDepth;
+            for (int o = offset, p = 1; o < end; o += step) {
+                out[o] = (byte) ((row[p] >> shift) & mask);
+                shift -= bitDepth;
+                if (shift < 0) {
+                    shift = 8 - bitDepth;
+                    p++;
+                }
+            }
+        }
+    }
 
-            transfer(updateFromScanline, pass1);
-            if (pass2 != 0) {
-                transfer(0, pass2);
+    private void convertToInts(int offset, int step) {
+        byte row[] = curRow;
+        int out[] = intOut;
+        int end = offset + passWidth * step;
+        // 16 bit samples take 2 bytes, the high byte goes first
+        int inc = bitDepth == 16 ? 2 : 1;
+        int p = 1;
+
+        switch (colorType) {
+            case PNG_COLOR_TYPE_GRAY: {
+                // Only 16 bit gray with tRNS gets here
+                int transparent = getSample16(trns, 0);
+                for (int o = offset; o < end; o += step, p += 2) {
+                    int g = row[p] & 0xFF;
+                    int argb = 0xFF000000 | g << 16 | g << 8 | g;
+                    out[o] = getSample16(row, p) == transparent ? argb & 0xFFFFFF : argb;
+                }
+                break;
+            }
+            case PNG_COLOR_TYPE_RGB: {
+                if (trns == null || trns.length < 6) {
+                    for (int o = offset; o < end; o += step, p += 3 * inc) {
+                        out[o] = 0xFF000000 | (row[p] & 0xFF) << 16 |
+                                (row[p + inc] & 0xFF) << 8 | (row[p + 2 * inc] & 0xFF);
+                    }
+                } else {
+                    int tr = getSample16(trns, 0);
+                    int tg = getSample16(trns, 2);
+                    int tb = getSample16(trns, 4);
+                    for (int o = offset; o < end; o += step, p += 3 * inc) {
+                        int argb = 0xFF000000 | (row[p] & 0xFF) << 16 |
+                                (row[p + inc] & 0xFF) << 8 | (row[p + 2 * inc] & 0xFF);
+                        boolean transparent = inc == 2 ?
+                                getSample16(row, p) == tr && getSample16(row, p + 2) == tg &&
+                                getSample16(row, p + 4) == tb :
+                                (row[p] & 0xFF) == tr && (row[p + 1] & 0xFF) == tg &&
+                                (row[p + 2] & 0xFF) == tb;
+                        out[o] = transparent ? argb & 0xFFFFFF : argb;
+                    }
+                }
+                break;
+            }
+            case PNG_COLOR_TYPE_GRAY_ALPHA: {
+                for (int o = offset; o < end; o += step, p += 2 * inc) {
+                    int g = row[p] & 0xFF;
+                    out[o] = (row[p + inc] & 0xFF) << 24 | g << 16 | g << 8 | g;
+                }
+                break;
+            }
+            case PNG_COLOR_TYPE_RGBA: {
+                for (int o = offset; o < end; o += step, p += 4 * inc) {
+                    out[o] = (row[p + 3 * inc] & 0xFF) << 24 | (row[p] & 0xFF) << 16 |
+                            (row[p + inc] & 0xFF) << 8 | (row[p + 2 * inc] & 0xFF);
+                }
+                break;
             }
         }
     }
 
-    private void transfer(int updateFromScanline, int numScanlines) {
+    // Send the scanline to the consumer
+    private void returnData(int y, int offset) {
         if (transferInts) {
-            setPixels(
-                    0, updateFromScanline,
-                    imageWidth, numScanlines,
-                    cm, intOut,
-                    updateFromScanline * imageWidth,
-                    imageWidth
-            );
+            setPixels(0, y, imageWidth, 1, cm, intOut, offset, imageWidth);
         } else {
-            setPixels(
-                    0, updateFromScanline,
-                    imageWidth, numScanlines,
-                    cm, byteOut,
-                    updateFromScanline * imageWidth * dataElementsPerPixel,
-                    imageWidth * dataElementsPerPixel
-            );
+            setPixels(0, y, imageWidth, 1, cm, byteOut, offset, imageWidth);
+        }
+    }
+
+    private static int getSample16(byte data[], int offset) {
+        return (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF);
+    }
+
+    private static void checkBitDepth(boolean valid) {
+        if (!valid) {
+            // awt.3C=Unknown PNG color type
+            throw new IllegalArgumentException(Messages.getString("awt.3C")); //$NON-NLS-1$
+        }
+    }
+
+    private static IllegalArgumentException corrupted() {
+        // awt.29F=Corrupted PNG data
+        return new IllegalArgumentException(Messages.getString("awt.29F")); //$NON-NLS-1$
+    }
+
+    /***************************************************************************
+     *
+     *  Stream reading
+     *
+     ***************************************************************************/
+
+    private void fillBuffer() throws IOException {
+        int bytesRead = inputStream.read(buffer, 0, buffer_size);
+        if (bytesRead <= 0) {
+            throw new EOFException();
+        }
+        bufferPos = 0;
+        bufferLength = bytesRead;
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPos == bufferLength) {
+            fillBuffer();
+        }
+        return buffer[bufferPos++] & 0xFF;
+    }
+
+    private int readInt() throws IOException {
+        return readByte() << 24 | readByte() << 16 | readByte() << 8 | readByte();
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte res[] = new byte[length];
+        for (int pos = 0; pos < length;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(length - pos, bufferLength - bufferPos);
+            System.arraycopy(buffer, bufferPos, res, pos, n);
+            bufferPos += n;
+            pos += n;
+        }
+        return res;
+    }
+
+    private void skip(int length) throws IOException {
+        for (int remaining = length; remaining > 0;) {
+            if (bufferPos == bufferLength) {
+                fillBuffer();
+            }
+            int n = Math.min(remaining, bufferLength - bufferPos);
+            bufferPos += n;
+            remaining -= n;
         }
     }
 }
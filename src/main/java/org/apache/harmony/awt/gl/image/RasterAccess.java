@@ -0,0 +1,164 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.image;
+
+import org.teavm.classlib.java.awt.image.TComponentSampleModel;
+import org.teavm.classlib.java.awt.image.TDataBuffer;
+import org.teavm.classlib.java.awt.image.TRaster;
+import org.teavm.classlib.java.awt.image.TSampleModel;
+import org.teavm.classlib.java.awt.image.TSinglePixelPackedSampleModel;
+
+import org.apache.harmony.awt.gl.AwtImageBackdoorAccessor;
+
+/**
+ * Direct access to the samples of the raster data buffer for the pure
+ * Java image operations. Supported are packed int rasters (TYPE_INT_RGB,
+ * TYPE_INT_ARGB and like) and byte rasters with interleaved samples
+ * in one bank (TYPE_BYTE_GRAY, TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR and like).
+ * Rows are transferred as interleaved int samples.
+ */
+final class RasterAccess {
+
+    final TDataBuffer dataBuffer;
+    final int numBands;
+    final int maxValues[];
+
+    final int intData[];
+    final byte byteData[];
+
+    // Index of the raster's (minX, minY) pixel in the data array
+    final int base;
+    final int scanlineStride;
+    final int pixelStride;
+
+    // Packed int samples
+    final int masks[];
+    final int offsets[];
+
+    // Interleaved byte samples
+    final int bandOffsets[];
+
+    private RasterAccess(TRaster r, int intData[], byte byteData[], int scanlineStride,
+            int pixelStride, int masks[], int offsets[], int bandOffsets[], int base) {
+        this.dataBuffer = r.getDataBuffer();
+        this.numBands = r.getNumBands();
+        this.intData = intData;
+        this.byteData = byteData;
+        this.scanlineStride = scanlineStride;
+        this.pixelStride = pixelStride;
+        this.masks = masks;
+        this.offsets = offsets;
+        this.bandOffsets = bandOffsets;
+        this.base = base;
+
+        int sizes[] = r.getSampleModel().getSampleSize();
+        maxValues = new int[numBands];
+        for (int i = 0; i < numBands; i++) {
+            maxValues[i] = (1 << sizes[i]) - 1;
+        }
+    }
+
+    /**
+     * @return the access to the raster samples or null if the raster
+     * layout isn't supported
+     */
+    static RasterAccess create(TRaster r) {
+        TSampleModel sm = r.getSampleModel();
+        TDataBuffer db = r.getDataBuffer();
+        if (db.getNumBanks() != 1) {
+            return null;
+        }
+        int x = r.getMinX() - r.getSampleModelTranslateX();
+        int y = r.getMinY() - r.getSampleModelTranslateY();
+        AwtImageBackdoorAccessor ba = AwtImageBackdoorAccessor.getInstance();
+
+        if (sm instanceof TSinglePixelPackedSampleModel &&
+                db.getDataType() == TDataBuffer.TYPE_INT) {
+            TSinglePixelPackedSampleModel sppsm = (TSinglePixelPackedSampleModel) sm;
+            int stride = sppsm.getScanlineStride();
+            return new RasterAccess(r, ba.peekDataInt(db), null, stride, 1,
+                    sppsm.getBitMasks(), sppsm.getBitOffsets(), null,
+                    db.getOffset() + y * stride + x);
+        }
+
+        if (sm instanceof TComponentSampleModel &&
+                db.getDataType() == TDataBuffer.TYPE_BYTE) {
+            TComponentSampleModel csm = (TComponentSampleModel) sm;
+            int stride = csm.getScanlineStride();
+            int ps = csm.getPixelStride();
+            return new RasterAccess(r, null, ba.peekDataByte(db), stride, ps,
+                    null, null, csm.getBandOffsets(),
+                    db.getOffset() + y * stride + x * ps);
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads w pixels of the row starting from (x, y) relative to the
+     * raster origin
+     */
+    void getRow(int x, int y, int w, int samples[], int off) {
+        int pos = base + y * scanlineStride + x * pixelStride;
+        int nb = numBands;
+        if (intData != null) {
+            for (int end = pos + w; pos < end; pos++) {
+                int p = intData[pos];
+                for (int b = 0; b < nb; b++) {
+                    samples[off++] = (p & masks[b]) >>> offsets[b];
+                }
+            }
+        } else {
+            for (int i = 0; i < w; i++, pos += pixelStride) {
+                for (int b = 0; b < nb; b++) {
+                    samples[off++] = byteData[pos + bandOffsets[b]] & 0xff;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes w pixels of the row starting from (x, y) relative to the
+     * raster origin. Samples should be in the range of the bands.
+     */
+    void setRow(int x, int y, int w, int samples[], int off) {
+        int pos = base + y * scanlineStride + x * pixelStride;
+        int nb = numBands;
+        if (intData != null) {
+            for (int end = pos + w; pos < end; pos++) {
+                int p = intData[pos];
+                for (int b = 0; b < nb; b++) {
+                    p = (p & ~masks[b]) | ((samples[off++] << offsets[b]) & masks[b]);
+                }
+                intData[pos] = p;
+            }
+        } else {
+            for (int i = 0; i < w; i++, pos += pixelStride) {
+                for (int b = 0; b < nb; b++) {
+                    byteData[pos + bandOffsets[b]] = (byte) samples[off++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports modification of the data made by setRow
+     */
+    void dataChanged() {
+        AwtImageBackdoorAccessor.getInstance().notifyChanged(dataBuffer);
+    }
+}
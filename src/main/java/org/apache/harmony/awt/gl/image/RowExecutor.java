@@ -0,0 +1,79 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.image;
+
+/**
+ * Runs the rows of an image operation. On the JVM with several
+ * processors the rows of large images are split between the threads
+ * of the fork/join pool; the pool is loaded by name so that it is never
+ * linked where it is not available, there rows run in the caller thread.
+ */
+abstract class RowExecutor {
+
+    /**
+     * Images with less pixels are processed in the caller thread
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Rows of the image operation
+     */
+    interface RowTask {
+        /**
+         * Processes rows from first inclusive to last exclusive.
+         * Called concurrently for disjoint ranges.
+         */
+        void run(int first, int last);
+    }
+
+    private static final RowExecutor parallel = createParallel();
+
+    private static RowExecutor createParallel() {
+        try {
+            if (Runtime.getRuntime().availableProcessors() < 2) {
+                return null;
+            }
+            Class<?> c = Class.forName("org.apache.harmony.awt.gl.image.ForkJoinRowExecutor"); //$NON-NLS-1$
+            return (RowExecutor) c.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // The runtime has no reflection or the class was not linked
+            return null;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        } catch (LinkageError e) {
+            // No fork/join pool in the runtime
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs the task for the rows 0..height-1
+     * @param width - the row width, used to decide if the work is worth
+     * splitting
+     */
+    static void execute(RowTask task, int width, int height) {
+        if (parallel != null && height > 1 && (long) width * height >= PARALLEL_THRESHOLD) {
+            parallel.run(task, height);
+        } else {
+            task.run(0, height);
+        }
+    }
+
+    abstract void run(RowTask task, int height);
+}
@@ -0,0 +1,337 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.render;
+
+import org.teavm.classlib.java.awt.TAlphaComposite;
+import org.teavm.classlib.java.awt.TColor;
+import org.teavm.classlib.java.awt.TComposite;
+import org.teavm.classlib.java.awt.TTransparency;
+import org.teavm.classlib.java.awt.image.TBufferedImage;
+import org.teavm.classlib.java.awt.image.TColorModel;
+import org.teavm.classlib.java.awt.image.TComponentSampleModel;
+import org.teavm.classlib.java.awt.image.TIndexColorModel;
+import org.teavm.classlib.java.awt.image.TRaster;
+import org.teavm.classlib.java.awt.image.TSampleModel;
+import org.teavm.classlib.java.awt.image.TSinglePixelPackedSampleModel;
+
+import org.apache.harmony.awt.gl.ImageSurface;
+import org.apache.harmony.awt.gl.Surface;
+
+/**
+ * Specialized inner loop of the JavaBlitter for one combination of
+ * source surface type, destination surface type and composite rule.
+ * Loops work on the arrays of the data buffers directly and don't
+ * allocate anything per pixel. Combinations without registered loop
+ * are done by the generic code of the JavaBlitter.
+ */
+public abstract class BlitLoop {
+
+    static final int TYPES = TBufferedImage.TYPE_BYTE_INDEXED + 1;
+    static final int RULES = TAlphaComposite.XOR + 1;
+
+    static final BlitLoop loops[] = new BlitLoop[TYPES * TYPES * RULES];
+
+    static {
+        BlitLoop loop = new IntArgbPreToIntRgbSrcOver();
+        register(TBufferedImage.TYPE_INT_ARGB_PRE, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC_OVER, loop);
+
+        loop = new IntArgbToIntRgbSrcOver();
+        register(TBufferedImage.TYPE_INT_ARGB, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC_OVER, loop);
+
+        // Source is opaque, so Src and SrcOver are the same
+        loop = new IntCopy();
+        register(TBufferedImage.TYPE_INT_RGB, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC, loop);
+        register(TBufferedImage.TYPE_INT_RGB, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC_OVER, loop);
+
+        loop = new ByteLUTToIntRgb(false);
+        register(TBufferedImage.TYPE_BYTE_GRAY, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC, loop);
+        register(TBufferedImage.TYPE_BYTE_GRAY, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC_OVER, loop);
+        register(TBufferedImage.TYPE_BYTE_INDEXED, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC, loop);
+
+        loop = new ByteLUTToIntRgb(true);
+        register(TBufferedImage.TYPE_BYTE_INDEXED, TBufferedImage.TYPE_INT_RGB,
+                TAlphaComposite.SRC_OVER, loop);
+    }
+
+    /**
+     * Registers the loop, replacing the previous one
+     * @param srcType - the source surface type, TBufferedImage.TYPE_*
+     * @param dstType - the destination surface type, TBufferedImage.TYPE_*
+     * @param rule - the TAlphaComposite rule
+     * @param loop - the loop or null to use the generic code
+     */
+    public static synchronized void register(int srcType, int dstType, int rule, BlitLoop loop) {
+        loops[index(srcType, dstType, rule)] = loop;
+    }
+
+    /**
+     * Returns the loop for the blit or null if it should be done by the
+     * generic code. Composites with extra alpha and background color under
+     * translucent source are not specialized. Only image surfaces are
+     * supported, their data arrays are used without taking them.
+     */
+    public static BlitLoop find(Surface srcSurf, Surface dstSurf, TComposite comp,
+            TColor bgcolor) {
+
+        if (!(comp instanceof TAlphaComposite) ||
+                !(srcSurf instanceof ImageSurface) || !(dstSurf instanceof ImageSurface)) {
+            return null;
+        }
+        TAlphaComposite ac = (TAlphaComposite) comp;
+        if (ac.getAlpha() != 1f) {
+            return null;
+        }
+        int srcType = srcSurf.getSurfaceType();
+        int dstType = dstSurf.getSurfaceType();
+        if (srcType <= 0 || srcType >= TYPES || dstType <= 0 || dstType >= TYPES) {
+            return null;
+        }
+        BlitLoop loop = loops[index(srcType, dstType, ac.getRule())];
+        if (loop == null) {
+            return null;
+        }
+        TColorModel srcCM = srcSurf.getTColorModel();
+        boolean opaque = srcCM.getTransparency() == TTransparency.OPAQUE;
+        if (bgcolor != null && !opaque) {
+            return null;
+        }
+        if (ac.getRule() == TAlphaComposite.SRC && !opaque) {
+            return null;
+        }
+        return loop.accept(srcCM) ? loop : null;
+    }
+
+    static int index(int srcType, int dstType, int rule) {
+        return (srcType * TYPES + dstType) * RULES + rule;
+    }
+
+    /**
+     * Blits the rectangle. Coordinates are already clipped by the
+     * rasters and the clip.
+     * @param src - the data array of the source raster
+     * @param dst - the data array of the destination raster
+     * @return false if the layout of the rasters is not supported
+     * by the loop, the generic code should be used then
+     */
+    public boolean blit(TColorModel srcCM, TRaster srcRast, Object src, int srcX, int srcY,
+            TRaster dstRast, Object dst, int dstX, int dstY, int width, int height) {
+
+        if (width <= 0 || height <= 0) {
+            return true;
+        }
+        int srcScan = getScanlineStride(srcRast);
+        int dstScan = getScanlineStride(dstRast);
+        if (srcScan < 0 || dstScan < 0) {
+            return false;
+        }
+        if (src == null || dst == null) {
+            return false;
+        }
+        loop(srcCM, src, getOffset(srcRast, srcX, srcY), srcScan,
+                dst, getOffset(dstRast, dstX, dstY), dstScan, width, height);
+        return true;
+    }
+
+    /**
+     * @return true if the loop can handle the source color model
+     */
+    boolean accept(TColorModel srcCM) {
+        return true;
+    }
+
+    abstract void loop(TColorModel srcCM, Object src, int srcOff, int srcScan,
+            Object dst, int dstOff, int dstScan, int width, int height);
+
+    /**
+     * Returns the scanline stride of one pixel per element raster
+     * or -1 for other layouts
+     */
+    static int getScanlineStride(TRaster r) {
+        TSampleModel sm = r.getSampleModel();
+        if (r.getDataBuffer().getNumBanks() != 1) {
+            return -1;
+        }
+        if (sm instanceof TSinglePixelPackedSampleModel) {
+            return ((TSinglePixelPackedSampleModel) sm).getScanlineStride();
+        }
+        if (sm instanceof TComponentSampleModel && sm.getNumBands() == 1 &&
+                ((TComponentSampleModel) sm).getPixelStride() == 1) {
+            return ((TComponentSampleModel) sm).getScanlineStride();
+        }
+        return -1;
+    }
+
+    static int getOffset(TRaster r, int x, int y) {
+        TSampleModel sm = r.getSampleModel();
+        x -= r.getSampleModelTranslateX();
+        y -= r.getSampleModelTranslateY();
+        int off = sm instanceof TSinglePixelPackedSampleModel ?
+                ((TSinglePixelPackedSampleModel) sm).getOffset(x, y) :
+                ((TComponentSampleModel) sm).getOffset(x, y);
+        return off + r.getDataBuffer().getOffset();
+    }
+
+    /**
+     * Premultiplied ARGB over RGB: d = s + d * (1 - sa)
+     */
+    static class IntArgbPreToIntRgbSrcOver extends BlitLoop {
+        @Override
+        void loop(TColorModel srcCM, Object src, int srcOff, int srcScan,
+                Object dst, int dstOff, int dstScan, int width, int height) {
+            int s[] = (int[]) src;
+            int d[] = (int[]) dst;
+            for (int y = 0; y < height; y++, srcOff += srcScan, dstOff += dstScan) {
+                for (int sp = srcOff, dp = dstOff, end = srcOff + width; sp < end; sp++, dp++) {
+                    int argb = s[sp];
+                    int a = argb >>> 24;
+                    if (a == 0xff) {
+                        d[dp] = argb;
+                    } else if (a != 0) {
+                        int rgb = d[dp];
+                        int ia = 0xff - a;
+                        int r = mul((rgb >> 16) & 0xff, ia) + ((argb >> 16) & 0xff);
+                        int g = mul((rgb >> 8) & 0xff, ia) + ((argb >> 8) & 0xff);
+                        int b = mul(rgb & 0xff, ia) + (argb & 0xff);
+                        d[dp] = 0xff000000 | clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Non-premultiplied ARGB over RGB: d = d + (s - d) * sa
+     */
+    static class IntArgbToIntRgbSrcOver extends BlitLoop {
+        @Override
+        void loop(TColorModel srcCM, Object src, int srcOff, int srcScan,
+                Object dst, int dstOff, int dstScan, int width, int height) {
+            int s[] = (int[]) src;
+            int d[] = (int[]) dst;
+            for (int y = 0; y < height; y++, srcOff += srcScan, dstOff += dstScan) {
+                for (int sp = srcOff, dp = dstOff, end = srcOff + width; sp < end; sp++, dp++) {
+                    int argb = s[sp];
+                    int a = argb >>> 24;
+                    if (a == 0xff) {
+                        d[dp] = argb;
+                    } else if (a != 0) {
+                        d[dp] = blend(argb, a, d[dp]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Opaque int pixels copy
+     */
+    static class IntCopy extends BlitLoop {
+        @Override
+        void loop(TColorModel srcCM, Object src, int srcOff, int srcScan,
+                Object dst, int dstOff, int dstScan, int width, int height) {
+            int s[] = (int[]) src;
+            int d[] = (int[]) dst;
+            for (int y = 0; y < height; y++, srcOff += srcScan, dstOff += dstScan) {
+                System.arraycopy(s, srcOff, d, dstOff, width);
+            }
+        }
+    }
+
+    /**
+     * Byte pixels converted to RGB through the lookup table built from
+     * the source color model. The table of the last used color model
+     * is kept, so subsequent blits of the same image don't rebuild it.
+     */
+    static class ByteLUTToIntRgb extends BlitLoop {
+        final boolean blend;
+
+        TColorModel lutCM;
+        final int lut[] = new int[256];
+
+        ByteLUTToIntRgb(boolean blend) {
+            this.blend = blend;
+        }
+
+        @Override
+        boolean accept(TColorModel srcCM) {
+            return srcCM.getPixelSize() <= 8;
+        }
+
+        @Override
+        synchronized void loop(TColorModel srcCM, Object src, int srcOff, int srcScan,
+                Object dst, int dstOff, int dstScan, int width, int height) {
+            if (srcCM != lutCM) {
+                if (srcCM instanceof TIndexColorModel) {
+                    TIndexColorModel icm = (TIndexColorModel) srcCM;
+                    java.util.Arrays.fill(lut, 0);
+                    icm.getRGBs(lut);
+                } else {
+                    int max = (1 << srcCM.getPixelSize()) - 1;
+                    for (int i = 0; i < 256; i++) {
+                        lut[i] = srcCM.getRGB(i & max);
+                    }
+                }
+                lutCM = srcCM;
+            }
+            byte s[] = (byte[]) src;
+            int d[] = (int[]) dst;
+            int lut[] = this.lut;
+            for (int y = 0; y < height; y++, srcOff += srcScan, dstOff += dstScan) {
+                for (int sp = srcOff, dp = dstOff, end = srcOff + width; sp < end; sp++, dp++) {
+                    int argb = lut[s[sp] & 0xff];
+                    if (!blend) {
+                        d[dp] = argb;
+                        continue;
+                    }
+                    int a = argb >>> 24;
+                    if (a == 0xff) {
+                        d[dp] = argb;
+                    } else if (a != 0) {
+                        d[dp] = blend(argb, a, d[dp]);
+                    }
+                }
+            }
+        }
+    }
+
+    static int blend(int argb, int a, int rgb) {
+        int ia = 0xff - a;
+        int r = mul((argb >> 16) & 0xff, a) + mul((rgb >> 16) & 0xff, ia);
+        int g = mul((argb >> 8) & 0xff, a) + mul((rgb >> 8) & 0xff, ia);
+        int b = mul(argb & 0xff, a) + mul(rgb & 0xff, ia);
+        return 0xff000000 | clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+    }
+
+    /**
+     * Rounded a * b / 255
+     */
+    static int mul(int a, int b) {
+        int t = a * b + 0x80;
+        return (t + (t >> 8)) >> 8;
+    }
+
+    static int clamp(int c) {
+        return c > 0xff ? 0xff : c;
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.awt.gl.render;
+
+import org.teavm.classlib.java.awt.TRectangle;
+import org.teavm.classlib.java.awt.TShape;
+import org.teavm.classlib.java.awt.geom.TPathIterator;
+import org.teavm.classlib.java.awt.geom.TRectangle2D;
+
+import org.apache.harmony.awt.gl.MultiRectArea;
+
+/**
+ * Anti-aliased shape rasterizer. The flattened edges of the shape
+ * accumulate their exact signed area in the cells of one band of
+ * scanlines, summing the cells along the scanline gives the coverage
+ * of every pixel.
+ * <p>
+ * The shape is rasterized band by band:
+ * <pre>
+ * if (rasterizer.rasterize(shape, flatness, bounds)) {
+ *     while (rasterizer.nextBand()) {
+ *         fill(rasterizer.getOpaqueArea());
+ *         blend(rasterizer.getTranslucentArea(), rasterizer.getCoverage());
+ *     }
+ * }
+ * </pre>
+ * Edge, cell and coverage buffers as well as the band areas are kept
+ * between the calls, the areas of a band are refilled by the next one.
+ * So the instance should not be used by several threads at once.
+ */
+public class JavaAAShapeRasterizer {
+
+    /**
+     * Number of scanlines in the band
+     */
+    public static final int BAND_HEIGHT = 32;
+
+    static final int EDGE_CAPACITY = 64;
+
+    // Edges in the area coordinates: x0, y0, x1, y1
+    float[] edges = new float[EDGE_CAPACITY * 4];
+    int edgesCount;
+
+    // Signed area accumulated by the edges, width + 2 cells per scanline
+    float[] cells = new float[0];
+    byte[] coverage = new byte[0];
+
+    // Spans of the current scanline, pairs of inclusive x coordinates
+    int[] opaqueSpans = new int[0];
+    int[] translucentSpans = new int[0];
+
+    boolean evenOdd;
+
+    // Rasterized area
+    int areaX;
+    int areaY;
+    int areaWidth;
+    int areaHeight;
+
+    // Current band
+    int bandY;
+    int bandHeight;
+    MultiRectArea.LineCash opaqueArea = new MultiRectArea.LineCash(0);
+    MultiRectArea.LineCash translucentArea = new MultiRectArea.LineCash(0);
+
+    float[] coords = new float[6];
+
+    /**
+     * Prepares the shape for the rasterization
+     * @param shape - the shape in the device space
+     * @param flatness - the flatness of the curves
+     * @param bounds - the area to rasterize, usually the clip bounds
+     * @return false if nothing of the shape is inside of the bounds
+     */
+    public boolean rasterize(TShape shape, double flatness, TRectangle bounds) {
+        TRectangle2D b = shape.getBounds2D();
+        int x0 = Math.max((int) Math.floor(b.getMinX()), bounds.x);
+        int y0 = Math.max((int) Math.floor(b.getMinY()), bounds.y);
+        int x1 = Math.min((int) Math.ceil(b.getMaxX()), bounds.x + bounds.width);
+        int y1 = Math.min((int) Math.ceil(b.getMaxY()), bounds.y + bounds.height);
+        if (x1 <= x0 || y1 <= y0) {
+            return false;
+        }
+
+        areaX = x0;
+        areaY = y0;
+        areaWidth = x1 - x0;
+        areaHeight = y1 - y0;
+        bandY = 0;
+        bandHeight = 0;
+        edgesCount = 0;
+
+        TPathIterator path = shape.getPathIterator(null, flatness);
+        evenOdd = path.getWindingRule() == TPathIterator.WIND_EVEN_ODD;
+        float[] coords = this.coords;
+        float mx = 0, my = 0, cx = 0, cy = 0;
+        while (!path.isDone()) {
+            switch (path.currentSegment(coords)) {
+                case TPathIterator.SEG_MOVETO:
+                    addEdge(cx, cy, mx, my);
+                    mx = cx = coords[0] - x0;
+                    my = cy = coords[1] - y0;
+                    break;
+                case TPathIterator.SEG_LINETO:
+                    addEdge(cx, cy, coords[0] - x0, coords[1] - y0);
+                    cx = coords[0] - x0;
+                    cy = coords[1] - y0;
+                    break;
+                case TPathIterator.SEG_CLOSE:
+                    addEdge(cx, cy, mx, my);
+                    cx = mx;
+                    cy = my;
+                    break;
+            }
+            path.next();
+        }
+        // Subpaths are closed implicitly for filling
+        addEdge(cx, cy, mx, my);
+
+        if (edgesCount == 0) {
+            return false;
+        }
+
+        int stride = areaWidth + 2;
+        int bandSize = Math.min(BAND_HEIGHT, areaHeight);
+        if (cells.length < stride * bandSize) {
+            cells = new float[stride * bandSize];
+        }
+        if (coverage.length < areaWidth * bandSize) {
+            coverage = new byte[areaWidth * bandSize];
+        }
+        if (opaqueSpans.length < areaWidth + 2) {
+            opaqueSpans = new int[areaWidth + 2];
+            translucentSpans = new int[areaWidth + 2];
+        }
+        return true;
+    }
+
+    /**
+     * Rasterizes the next band of the shape
+     * @return false if there are no more bands
+     */
+    public boolean nextBand() {
+        bandY += bandHeight;
+        if (bandY >= areaHeight) {
+            return false;
+        }
+        bandHeight = Math.min(BAND_HEIGHT, areaHeight - bandY);
+
+        int stride = areaWidth + 2;
+        float[] cells = this.cells;
+        java.util.Arrays.fill(cells, 0, stride * bandHeight, 0f);
+
+        float top = bandY;
+        float bottom = bandY + bandHeight;
+        float[] edges = this.edges;
+        for (int i = 0, n = edgesCount * 4; i < n; i += 4) {
+            float ey0 = edges[i + 1];
+            float ey1 = edges[i + 3];
+            if ((ey0 < bottom || ey1 < bottom) && (ey0 > top || ey1 > top)) {
+                accumulate(edges[i], ey0, edges[i + 2], ey1);
+            }
+        }
+
+        opaqueArea.reset(areaY + bandY, areaWidth / 2 + 2);
+        translucentArea.reset(areaY + bandY, areaWidth / 2 + 2);
+
+        int[] opaque = opaqueSpans;
+        int[] translucent = translucentSpans;
+        byte[] coverage = this.coverage;
+        for (int row = 0; row < bandHeight; row++) {
+            int cell = row * stride;
+            int pos = row * areaWidth;
+            int opaqueCount = 0;
+            int translucentCount = 0;
+            // Kind of the current span: 0 - empty, 1 - translucent, 2 - opaque
+            int kind = 0;
+            float acc = 0;
+
+            for (int x = 0; x < areaWidth; x++) {
+                acc += cells[cell + x];
+                float cov = acc < 0 ? -acc : acc;
+                if (evenOdd) {
+                    cov %= 2f;
+                    if (cov > 1f) {
+                        cov = 2f - cov;
+                    }
+                } else if (cov > 1f) {
+                    cov = 1f;
+                }
+                int alpha = (int) (cov * 255f + 0.5f);
+                coverage[pos + x] = (byte) alpha;
+
+                int k = alpha == 0 ? 0 : alpha == 255 ? 2 : 1;
+                if (k != kind) {
+                    if (kind == 1) {
+                        translucent[translucentCount++] = areaX + x - 1;
+                    } else if (kind == 2) {
+                        opaque[opaqueCount++] = areaX + x - 1;
+                    }
+                    if (k == 1) {
+                        translucent[translucentCount++] = areaX + x;
+                    } else if (k == 2) {
+                        opaque[opaqueCount++] = areaX + x;
+                    }
+                    kind = k;
+                }
+            }
+            if (kind == 1) {
+                translucent[translucentCount++] = areaX + areaWidth - 1;
+            } else if (kind == 2) {
+                opaque[opaqueCount++] = areaX + areaWidth - 1;
+            }
+
+            if (opaqueCount == 0) {
+                opaqueArea.skipLine();
+            } else {
+                opaqueArea.addLine(opaque, opaqueCount);
+            }
+            if (translucentCount == 0) {
+                translucentArea.skipLine();
+            } else {
+                translucentArea.addLine(translucent, translucentCount);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the fully covered pixels of the current band
+     */
+    public MultiRectArea getOpaqueArea() {
+        return opaqueArea;
+    }
+
+    /**
+     * @return the partially covered pixels of the current band
+     */
+    public MultiRectArea getTranslucentArea() {
+        return translucentArea;
+    }
+
+    /**
+     * Returns the coverage of the current band, 0..255 per pixel. Pixel
+     * (x, y) is at (y - getBandY()) * getBandWidth() + x - getBandX().
+     */
+    public byte[] getCoverage() {
+        return coverage;
+    }
+
+    public int getBandX() {
+        return areaX;
+    }
+
+    public int getBandY() {
+        return areaY + bandY;
+    }
+
+    public int getBandWidth() {
+        return areaWidth;
+    }
+
+    public int getBandHeight() {
+        return bandHeight;
+    }
+
+    /**
+     * Adds the line clipped by the left and right sides of the area. Parts
+     * on the left are moved to the left side, they still cover the pixels
+     * on their right. Parts on the right cover nothing in the area.
+     */
+    void addEdge(float x0, float y0, float x1, float y1) {
+        if (y0 == y1) {
+            return;
+        }
+        float w = areaWidth;
+        if (x0 >= w && x1 >= w) {
+            return;
+        }
+        if (x0 <= 0 && x1 <= 0) {
+            storeEdge(0, y0, 0, y1);
+            return;
+        }
+        if (x0 < 0 || x1 < 0) {
+            float y = y0 + (0 - x0) * (y1 - y0) / (x1 - x0);
+            if (x0 < 0) {
+                storeEdge(0, y0, 0, y);
+                addEdge(0, y, x1, y1);
+            } else {
+                addEdge(x0, y0, 0, y);
+                storeEdge(0, y, 0, y1);
+            }
+            return;
+        }
+        if (x0 > w || x1 > w) {
+            float y = y0 + (w - x0) * (y1 - y0) / (x1 - x0);
+            if (x0 > w) {
+                storeEdge(w, y, x1, y1);
+            } else {
+                storeEdge(x0, y0, w, y);
+            }
+            return;
+        }
+        storeEdge(x0, y0, x1, y1);
+    }
+
+    void storeEdge(float x0, float y0, float x1, float y1) {
+        if (y0 == y1 || (y0 <= 0 && y1 <= 0) || (y0 >= areaHeight && y1 >= areaHeight)) {
+            return;
+        }
+        int i = edgesCount * 4;
+        if (i + 4 > edges.length) {
+            float[] tmp = new float[edges.length * 2];
+            System.arraycopy(edges, 0, tmp, 0, i);
+            edges = tmp;
+        }
+        edges[i] = x0;
+        edges[i + 1] = y0;
+        edges[i + 2] = x1;
+        edges[i + 3] = y1;
+        edgesCount++;
+    }
+
+    /**
+     * Adds the signed area of the line to the cells of the current band
+     */
+    void accumulate(float x0, float y0, float x1, float y1) {
+        float dir = 1f;
+        if (y0 > y1) {
+            dir = -1f;
+            float t = x0; x0 = x1; x1 = t;
+            t = y0; y0 = y1; y1 = t;
+        }
+        int top = bandY;
+        int bottom = bandY + bandHeight;
+        float dxdy = (x1 - x0) / (y1 - y0);
+        float yStart = Math.max(y0, top);
+        float x = x0 + (yStart - y0) * dxdy;
+        int yEnd = Math.min(bottom, (int) Math.ceil(y1));
+        int stride = areaWidth + 2;
+        float w = areaWidth;
+        float[] cells = this.cells;
+
+        for (int y = (int) Math.floor(yStart); y < yEnd; y++) {
+            int line = (y - top) * stride;
+            float dy = Math.min(y + 1, y1) - Math.max(y, y0);
+            float xnext = x + dxdy * dy;
+            float d = dy * dir;
+
+            float xa = x < xnext ? x : xnext;
+            float xb = x < xnext ? xnext : x;
+            // Rounding errors should not leave the area
+            if (xa < 0) {
+                xa = 0;
+            }
+            if (xb > w) {
+                xb = w;
+            }
+            if (xb < xa) {
+                xb = xa;
+            }
+
+            float xaFloor = (float) Math.floor(xa);
+            int xai = (int) xaFloor;
+            float xbCeil = (float) Math.ceil(xb);
+            int xbi = (int) xbCeil;
+
+            if (xbi <= xai + 1) {
+                // Line is inside of one pixel
+                float xmf = 0.5f * (xa + xb) - xaFloor;
+                cells[line + xai] += d - d * xmf;
+                cells[line + xai + 1] += d * xmf;
+            } else {
+                float s = 1f / (xb - xa);
+                float xaf = xa - xaFloor;
+                float a0 = 0.5f * s * (1f - xaf) * (1f - xaf);
+                float xbf = xb - xbCeil + 1f;
+                float am = 0.5f * s * xbf * xbf;
+                cells[line + xai] += d * a0;
+                if (xbi == xai + 2) {
+                    cells[line + xai + 1] += d * (1f - a0 - am);
+                } else {
+                    float a1 = s * (1.5f - xaf);
+                    cells[line + xai + 1] += d * (a1 - a0);
+                    for (int xi = xai + 2; xi < xbi - 1; xi++) {
+                        cells[line + xi] += d * s;
+                    }
+                    float a2 = a1 + (xbi - xai - 3) * s;
+                    cells[line + xbi - 1] += d * (1f - a2 - am);
+                }
+                cells[line + xbi] += d * am;
+            }
+            x = xnext;
+        }
+    }
+}
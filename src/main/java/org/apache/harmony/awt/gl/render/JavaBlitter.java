@@ -145,12 +145,21 @@ public class JavaBlitter implements Blitter {
             Surface dstSurf, int width, int height, TComposite comp,
             TColor bgcolor, MultiRectArea clip) {
 
+        BlitLoop loop = BlitLoop.find(srcSurf, dstSurf, comp, bgcolor);
+
         javaBlt(srcX, srcY, srcSurf.getWidth(), srcSurf.getHeight(),
                 srcSurf.getTColorModel(), srcSurf.getRaster(), dstX, dstY,
                 dstSurf.getWidth(), dstSurf.getHeight(),
                 dstSurf.getTColorModel(), dstSurf.getRaster(),
-                width, height, comp, bgcolor, clip);
-
+                width, height, comp, bgcolor, clip, loop,
+                loop == null ? null : srcSurf.getData(),
+                loop == null ? null : dstSurf.getData());
+
+        if(loop != null){
+            // Loops write the data arrays directly, so the data buffer
+            // listener of the surface isn't notified
+            dstSurf.invalidate();
+        }
         dstSurf.addDirtyRegion(new TRectangle(dstX, dstY, width, height));
 
     }
@@ -160,6 +169,21 @@ public class JavaBlitter implements Blitter {
             int width, int height, TComposite comp, TColor bgcolor,
             MultiRectArea clip){
 
+        javaBlt(srcX, srcY, srcW, srcH, srcCM, srcRast, dstX, dstY, dstW, dstH,
+                dstCM, dstRast, width, height, comp, bgcolor, clip, null, null, null);
+    }
+
+    /**
+     * Blits using the specialized loop if it is not null and supports
+     * the rasters, otherwise using the generic code. srcData and dstData
+     * are the data arrays of the rasters, used by the loop.
+     */
+    void javaBlt(int srcX, int srcY, int srcW, int srcH,
+            TColorModel srcCM, TRaster srcRast, int dstX, int dstY,
+            int dstW, int dstH, TColorModel dstCM, TWritableRaster dstRast,
+            int width, int height, TComposite comp, TColor bgcolor,
+            MultiRectArea clip, BlitLoop loop, Object srcData, Object dstData){
+
         int srcX2 = srcW - 1;
         int srcY2 = srcH - 1;
         int dstX2 = dstW - 1;
@@ -281,6 +305,11 @@ public class JavaBlitter implements Blitter {
                 continue;
             }
 
+            if(loop != null && loop.blit(srcCM, srcRast, srcData, _sx, _sy,
+                    dstRast, dstData, _dx, _dy, _w, _h)){
+                continue;
+            }
+
             if(isAlphaComp){
                 alphaCompose(_sx, _sy, srcCM, srcRast, _dx, _dy,
                         dstCM, dstRast, _w, _h, rule, alpha, bgcolor);
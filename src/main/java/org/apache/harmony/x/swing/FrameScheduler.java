@@ -0,0 +1,147 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing;
+
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
+
+/**
+ * Runs frame tasks (validation and painting of the RepaintManager) at most
+ * once per display refresh. All the requests made until the frame starts
+ * are coalesced into one run of every requested task. The tasks are run
+ * on the event dispatch thread.
+ * <p>
+ * Subclasses decide when the next frame comes by implementing
+ * {@link #requestRefresh()} and calling {@link #refresh()} at that time.
+ */
+public abstract class FrameScheduler {
+
+    private static FrameScheduler defaultScheduler;
+
+    private final ArrayList<Runnable> tasks = new ArrayList<Runnable>();
+    private final ArrayList<Runnable> runningTasks = new ArrayList<Runnable>();
+    private boolean refreshRequested;
+    private boolean framePosted;
+
+    private long requestCount;
+    private long frameCount;
+
+    private final Runnable frame = new Runnable() {
+        public void run() {
+            runFrame();
+        }
+    };
+
+    /**
+     * Returns the scheduler used by the RepaintManager. Unless another one
+     * has been set, it is AnimationFrameScheduler in the browser and
+     * TimerFrameScheduler in the headless environment.
+     */
+    public static synchronized FrameScheduler getDefault() {
+        if (defaultScheduler == null) {
+            if (GraphicsEnvironment.getLocalGraphicsEnvironment().isHeadlessInstance()) {
+                defaultScheduler = new TimerFrameScheduler();
+            } else {
+                defaultScheduler = new AnimationFrameScheduler();
+            }
+        }
+        return defaultScheduler;
+    }
+
+    public static synchronized void setDefault(FrameScheduler scheduler) {
+        defaultScheduler = scheduler;
+    }
+
+    /**
+     * Requests the task to be run in the next frame. Task requested several
+     * times before the frame is run only once.
+     */
+    public void requestFrame(Runnable task) {
+        boolean request;
+        synchronized (this) {
+            requestCount++;
+            if (!tasks.contains(task)) {
+                tasks.add(task);
+            }
+            request = !refreshRequested && !framePosted;
+            refreshRequested |= request;
+        }
+        if (request) {
+            requestRefresh();
+        }
+    }
+
+    /**
+     * @return true if there are tasks waiting for the next frame
+     */
+    public synchronized boolean isFramePending() {
+        return !tasks.isEmpty();
+    }
+
+    /**
+     * @return number of requestFrame calls
+     */
+    public synchronized long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return number of frames run
+     */
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Asks for the refresh call before the next display refresh.
+     * It is called once for every frame.
+     */
+    protected abstract void requestRefresh();
+
+    /**
+     * Starts the frame. May be called from any thread, the frame
+     * tasks are posted to the event queue.
+     */
+    protected void refresh() {
+        synchronized (this) {
+            refreshRequested = false;
+            if (tasks.isEmpty() || framePosted) {
+                return;
+            }
+            framePosted = true;
+        }
+        EventQueue.invokeLater(frame);
+    }
+
+    private void runFrame() {
+        synchronized (this) {
+            framePosted = false;
+            frameCount++;
+            runningTasks.addAll(tasks);
+            tasks.clear();
+        }
+        try {
+            // Requests made by the tasks go to the next frame
+            for (int i = 0; i < runningTasks.size(); i++) {
+                runningTasks.get(i).run();
+            }
+        } finally {
+            runningTasks.clear();
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Collects the events fired by an AbstractTableModel and delivers them to
+ * the model listeners merged, once per frame of the default FrameScheduler.
+ * <p>
+ * Updated cells are kept as sets of row intervals, one per column (and one
+ * for the whole rows), and are delivered as one UPDATE event per interval.
+ * Inserted and deleted rows shift the row indices, so pending updates are
+ * delivered before them, and adjacent inserts or deletes are merged.
+ * A structure or full data change makes all the events fired before it
+ * redundant, as well as the events fired after it until the delivery,
+ * since listeners read the whole model anyway.
+ * <p>
+ * Events may be fired from any thread, they are delivered on the event
+ * dispatch thread. The model changes before its listeners learn about it,
+ * so the RepaintManager delivers the pending events of all the batchers
+ * with {@link #flushPending()} before it validates and paints: the
+ * listeners never lay out or paint rows the model no longer has. Code
+ * painting the listeners in another way has to call flushPending() first.
+ */
+public class TableModelEventBatcher {
+    /**
+     * Number of row intervals a column may have before its updates are
+     * merged into one interval covering all of them.
+     */
+    private static final int MAX_INTERVALS = 32;
+
+    // Batchers having events to deliver
+    private static final List<TableModelEventBatcher> pendingBatchers = new ArrayList<TableModelEventBatcher>();
+
+    private final AbstractTableModel model;
+
+    private final List<TableModelEvent> pendingEvents = new ArrayList<TableModelEvent>();
+    private final Map<Integer, RowIntervals> updatedRows = new HashMap<Integer, RowIntervals>();
+    private TableModelEvent wholeTableEvent;
+    private boolean deliveryRequested;
+    private int pendingCount;
+
+    private long eventCount;
+    private long deliveryCount;
+    private long deliveredEventCount;
+    private int lastFoldedCount;
+    private int maxFoldedCount;
+
+    private final Runnable delivery = new Runnable() {
+        public void run() {
+            flush();
+        }
+    };
+
+    public TableModelEventBatcher(final AbstractTableModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Adds the event to the pending ones and requests the delivery.
+     */
+    public void add(final TableModelEvent e) {
+        boolean request;
+        synchronized (this) {
+            eventCount++;
+            pendingCount++;
+            addImpl(e);
+            request = !deliveryRequested;
+            deliveryRequested = true;
+            if (request) {
+                synchronized (pendingBatchers) {
+                    pendingBatchers.add(this);
+                }
+            }
+        }
+        if (request) {
+            FrameScheduler.getDefault().requestFrame(delivery);
+        }
+    }
+
+    /**
+     * Delivers the pending events of all the batchers. Must be called on
+     * the event dispatch thread.
+     *
+     * @return true if any events have been delivered
+     */
+    public static boolean flushPending() {
+        TableModelEventBatcher[] batchers;
+        synchronized (pendingBatchers) {
+            if (pendingBatchers.isEmpty()) {
+                return false;
+            }
+            batchers = pendingBatchers.toArray(new TableModelEventBatcher[pendingBatchers.size()]);
+        }
+        boolean delivered = false;
+        for (int i = 0; i < batchers.length; i++) {
+            delivered |= batchers[i].deliver();
+        }
+        return delivered;
+    }
+
+    /**
+     * Delivers pending events to the model listeners right away. Must be
+     * called on the event dispatch thread.
+     */
+    public void flush() {
+        deliver();
+    }
+
+    private boolean deliver() {
+        List<TableModelEvent> events;
+        synchronized (this) {
+            deliveryRequested = false;
+            synchronized (pendingBatchers) {
+                pendingBatchers.remove(this);
+            }
+            if (pendingCount == 0) {
+                return false;
+            }
+            events = takePendingEvents();
+            deliveryCount++;
+            deliveredEventCount += events.size();
+            lastFoldedCount = pendingCount;
+            maxFoldedCount = Math.max(maxFoldedCount, pendingCount);
+            pendingCount = 0;
+        }
+        TableModelListener[] listeners = model.getTableModelListeners();
+        for (int i = 0; i < events.size(); i++) {
+            TableModelEvent e = events.get(i);
+            for (int j = 0; j < listeners.length; j++) {
+                listeners[j].tableChanged(e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if there are events waiting for the delivery
+     */
+    public synchronized boolean hasPendingEvents() {
+        return pendingCount > 0;
+    }
+
+    /**
+     * @return number of events fired by the model
+     */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return number of deliveries made
+     */
+    public synchronized long getDeliveryCount() {
+        return deliveryCount;
+    }
+
+    /**
+     * @return number of merged events delivered to every listener
+     */
+    public synchronized long getDeliveredEventCount() {
+        return deliveredEventCount;
+    }
+
+    /**
+     * @return number of fired events folded into the last delivery
+     */
+    public synchronized int getLastFoldedCount() {
+        return lastFoldedCount;
+    }
+
+    /**
+     * @return the largest number of fired events folded into one delivery
+     */
+    public synchronized int getMaxFoldedCount() {
+        return maxFoldedCount;
+    }
+
+    private void addImpl(final TableModelEvent e) {
+        if (wholeTableEvent != null) {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                wholeTableEvent = e;
+            }
+            return;
+        }
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW
+                || e.getLastRow() == Integer.MAX_VALUE) {
+            pendingEvents.clear();
+            updatedRows.clear();
+            wholeTableEvent = e;
+            return;
+        }
+
+        if (e.getType() == TableModelEvent.UPDATE) {
+            Integer column = Integer.valueOf(e.getColumn());
+            RowIntervals rows = updatedRows.get(column);
+            if (rows == null) {
+                rows = new RowIntervals();
+                updatedRows.put(column, rows);
+            }
+            rows.add(e.getFirstRow(), e.getLastRow());
+            return;
+        }
+
+        drainUpdates();
+        int last = pendingEvents.size() - 1;
+        TableModelEvent merged = last >= 0 ? mergeRowEvents(pendingEvents.get(last), e) : null;
+        if (merged != null) {
+            pendingEvents.set(last, merged);
+        } else {
+            pendingEvents.add(e);
+        }
+    }
+
+    /**
+     * Merges two consecutive INSERT or DELETE events when the second one
+     * continues the first one.
+     *
+     * @return the merged event or null if the events can't be merged
+     */
+    private TableModelEvent mergeRowEvents(final TableModelEvent previous, final TableModelEvent e) {
+        if (previous.getType() != e.getType() || previous.getColumn() != e.getColumn()
+                || previous.getClass() != TableModelEvent.class || e.getClass() != TableModelEvent.class) {
+            return null;
+        }
+        int first = previous.getFirstRow();
+        int last = previous.getLastRow();
+        int count = e.getLastRow() - e.getFirstRow() + 1;
+        if (e.getType() == TableModelEvent.INSERT) {
+            if (e.getFirstRow() < first || e.getFirstRow() > last + 1) {
+                return null;
+            }
+            last += count;
+        } else if (e.getType() == TableModelEvent.DELETE) {
+            if (e.getFirstRow() == first) {
+                last += count;
+            } else if (e.getLastRow() + 1 == first) {
+                first = e.getFirstRow();
+            } else {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return new TableModelEvent(model, first, last, e.getColumn(), e.getType());
+    }
+
+    private void drainUpdates() {
+        for (Iterator<Map.Entry<Integer, RowIntervals>> it = updatedRows.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Integer, RowIntervals> entry = it.next();
+            int column = entry.getKey().intValue();
+            RowIntervals rows = entry.getValue();
+            for (int i = 0; i < rows.count; i++) {
+                pendingEvents.add(new TableModelEvent(model, rows.starts[i], rows.ends[i],
+                                                      column, TableModelEvent.UPDATE));
+            }
+        }
+        updatedRows.clear();
+    }
+
+    private List<TableModelEvent> takePendingEvents() {
+        List<TableModelEvent> result;
+        if (wholeTableEvent != null) {
+            result = new ArrayList<TableModelEvent>(1);
+            result.add(wholeTableEvent);
+            wholeTableEvent = null;
+        } else {
+            drainUpdates();
+            result = new ArrayList<TableModelEvent>(pendingEvents);
+            pendingEvents.clear();
+        }
+        return result;
+    }
+
+    /**
+     * Sorted disjoint row intervals, adjacent intervals are joined.
+     */
+    private static class RowIntervals {
+        int[] starts = new int[4];
+        int[] ends = new int[4];
+        int count;
+
+        void add(final int first, final int last) {
+            int start = Math.min(first, last);
+            int end = Math.max(first, last);
+
+            // The first interval which may touch [start, end]
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid] < start - 1) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int from = low;
+            int to = from;
+            while (to < count && starts[to] <= end + 1) {
+                start = Math.min(start, starts[to]);
+                end = Math.max(end, ends[to]);
+                to++;
+            }
+
+            if (from == to) {
+                if (count == starts.length) {
+                    int[] newStarts = new int[count * 2];
+                    int[] newEnds = new int[count * 2];
+                    System.arraycopy(starts, 0, newStarts, 0, count);
+                    System.arraycopy(ends, 0, newEnds, 0, count);
+                    starts = newStarts;
+                    ends = newEnds;
+                }
+                System.arraycopy(starts, from, starts, from + 1, count - from);
+                System.arraycopy(ends, from, ends, from + 1, count - from);
+                count++;
+            } else if (to - from > 1) {
+                System.arraycopy(starts, to, starts, from + 1, count - to);
+                System.arraycopy(ends, to, ends, from + 1, count - to);
+                count -= to - from - 1;
+            }
+            starts[from] = start;
+            ends[from] = end;
+
+            if (count > MAX_INTERVALS) {
+                ends[0] = ends[count - 1];
+                count = 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing;
+
+import org.apache.harmony.awt.SingleShotTimer;
+
+/**
+ * Frame scheduler driven by the timer, used when there is no display
+ * to synchronize with. The frame starts <code>period</code> milliseconds
+ * after the first request.
+ */
+public class TimerFrameScheduler extends FrameScheduler {
+
+    /**
+     * Default period which corresponds to 60 frames per second
+     */
+    public static final long DEFAULT_PERIOD = 16;
+
+    private final long period;
+
+    private final Runnable tick = new Runnable() {
+        public void run() {
+            refresh();
+        }
+    };
+
+    public TimerFrameScheduler() {
+        this(DEFAULT_PERIOD);
+    }
+
+    public TimerFrameScheduler(long period) {
+        this.period = period;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    @Override
+    protected void requestRefresh() {
+        new SingleShotTimer(period, tick).start();
+    }
+}
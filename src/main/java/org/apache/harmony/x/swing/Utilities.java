@@ -42,6 +42,7 @@ import java.awt.event.KeyEvent;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Comparator;
 
 import javax.swing.Icon;
 import javax.swing.InputMap;
@@ -67,6 +68,17 @@ import org.apache.harmony.x.swing.internal.nls.Messages;
  *
  */
 public class Utilities implements SwingConstants {
+    /**
+     * Compares Comparable objects by their natural order. Used by the
+     * row sorters for the columns without their own comparators.
+     */
+    public static final Comparator<Object> COMPARABLE_COMPARATOR = new Comparator<Object>() {
+        @SuppressWarnings("unchecked")
+        public int compare(final Object o1, final Object o2) {
+            return ((Comparable<Object>)o1).compareTo(o2);
+        }
+    };
+
     /**
      * This interface allows to access list data
      */
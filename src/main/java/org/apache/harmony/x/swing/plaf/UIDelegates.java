@@ -0,0 +1,268 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.harmony.x.swing.plaf;
+
+import java.util.Hashtable;
+
+import javax.swing.JComponent;
+import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicButtonUI;
+import javax.swing.plaf.basic.BasicCheckBoxMenuItemUI;
+import javax.swing.plaf.basic.BasicCheckBoxUI;
+import javax.swing.plaf.basic.BasicColorChooserUI;
+import javax.swing.plaf.basic.BasicComboBoxUI;
+import javax.swing.plaf.basic.BasicDesktopIconUI;
+import javax.swing.plaf.basic.BasicDesktopPaneUI;
+import javax.swing.plaf.basic.BasicEditorPaneUI;
+import javax.swing.plaf.basic.BasicFormattedTextFieldUI;
+import javax.swing.plaf.basic.BasicInternalFrameUI;
+import javax.swing.plaf.basic.BasicLabelUI;
+import javax.swing.plaf.basic.BasicListUI;
+import javax.swing.plaf.basic.BasicMenuBarUI;
+import javax.swing.plaf.basic.BasicMenuItemUI;
+import javax.swing.plaf.basic.BasicMenuUI;
+import javax.swing.plaf.basic.BasicOptionPaneUI;
+import javax.swing.plaf.basic.BasicPanelUI;
+import javax.swing.plaf.basic.BasicPasswordFieldUI;
+import javax.swing.plaf.basic.BasicPopupMenuSeparatorUI;
+import javax.swing.plaf.basic.BasicPopupMenuUI;
+import javax.swing.plaf.basic.BasicProgressBarUI;
+import javax.swing.plaf.basic.BasicRadioButtonMenuItemUI;
+import javax.swing.plaf.basic.BasicRadioButtonUI;
+import javax.swing.plaf.basic.BasicRootPaneUI;
+import javax.swing.plaf.basic.BasicScrollBarUI;
+import javax.swing.plaf.basic.BasicScrollPaneUI;
+import javax.swing.plaf.basic.BasicSeparatorUI;
+import javax.swing.plaf.basic.BasicSliderUI;
+import javax.swing.plaf.basic.BasicSpinnerUI;
+import javax.swing.plaf.basic.BasicSplitPaneUI;
+import javax.swing.plaf.basic.BasicTabbedPaneUI;
+import javax.swing.plaf.basic.BasicTableHeaderUI;
+import javax.swing.plaf.basic.BasicTableUI;
+import javax.swing.plaf.basic.BasicTextAreaUI;
+import javax.swing.plaf.basic.BasicTextFieldUI;
+import javax.swing.plaf.basic.BasicTextPaneUI;
+import javax.swing.plaf.basic.BasicToggleButtonUI;
+import javax.swing.plaf.basic.BasicToolBarSeparatorUI;
+import javax.swing.plaf.basic.BasicToolBarUI;
+import javax.swing.plaf.basic.BasicToolTipUI;
+import javax.swing.plaf.basic.BasicTreeUI;
+import javax.swing.plaf.basic.BasicViewportUI;
+import javax.swing.plaf.metal.MetalButtonUI;
+import javax.swing.plaf.metal.MetalCheckBoxUI;
+import javax.swing.plaf.metal.MetalComboBoxUI;
+import javax.swing.plaf.metal.MetalDesktopIconUI;
+import javax.swing.plaf.metal.MetalFileChooserUI;
+import javax.swing.plaf.metal.MetalInternalFrameUI;
+import javax.swing.plaf.metal.MetalLabelUI;
+import javax.swing.plaf.metal.MetalMenuBarUI;
+import javax.swing.plaf.metal.MetalPopupMenuSeparatorUI;
+import javax.swing.plaf.metal.MetalProgressBarUI;
+import javax.swing.plaf.metal.MetalRadioButtonUI;
+import javax.swing.plaf.metal.MetalRootPaneUI;
+import javax.swing.plaf.metal.MetalScrollBarUI;
+import javax.swing.plaf.metal.MetalScrollPaneUI;
+import javax.swing.plaf.metal.MetalSeparatorUI;
+import javax.swing.plaf.metal.MetalSliderUI;
+import javax.swing.plaf.metal.MetalSplitPaneUI;
+import javax.swing.plaf.metal.MetalTabbedPaneUI;
+import javax.swing.plaf.metal.MetalTextFieldUI;
+import javax.swing.plaf.metal.MetalToggleButtonUI;
+import javax.swing.plaf.metal.MetalToolBarUI;
+import javax.swing.plaf.metal.MetalToolTipUI;
+import javax.swing.plaf.metal.MetalTreeUI;
+import javax.swing.plaf.multi.MultiButtonUI;
+import javax.swing.plaf.multi.MultiColorChooserUI;
+import javax.swing.plaf.multi.MultiComboBoxUI;
+import javax.swing.plaf.multi.MultiDesktopIconUI;
+import javax.swing.plaf.multi.MultiDesktopPaneUI;
+import javax.swing.plaf.multi.MultiFileChooserUI;
+import javax.swing.plaf.multi.MultiInternalFrameUI;
+import javax.swing.plaf.multi.MultiLabelUI;
+import javax.swing.plaf.multi.MultiListUI;
+import javax.swing.plaf.multi.MultiMenuBarUI;
+import javax.swing.plaf.multi.MultiMenuItemUI;
+import javax.swing.plaf.multi.MultiOptionPaneUI;
+import javax.swing.plaf.multi.MultiPanelUI;
+import javax.swing.plaf.multi.MultiPopupMenuUI;
+import javax.swing.plaf.multi.MultiProgressBarUI;
+import javax.swing.plaf.multi.MultiRootPaneUI;
+import javax.swing.plaf.multi.MultiScrollBarUI;
+import javax.swing.plaf.multi.MultiScrollPaneUI;
+import javax.swing.plaf.multi.MultiSeparatorUI;
+import javax.swing.plaf.multi.MultiSliderUI;
+import javax.swing.plaf.multi.MultiSpinnerUI;
+import javax.swing.plaf.multi.MultiSplitPaneUI;
+import javax.swing.plaf.multi.MultiTabbedPaneUI;
+import javax.swing.plaf.multi.MultiTableHeaderUI;
+import javax.swing.plaf.multi.MultiTableUI;
+import javax.swing.plaf.multi.MultiTextUI;
+import javax.swing.plaf.multi.MultiToolBarUI;
+import javax.swing.plaf.multi.MultiToolTipUI;
+import javax.swing.plaf.multi.MultiTreeUI;
+import javax.swing.plaf.multi.MultiViewportUI;
+
+/**
+ * Reflection-free table of UI delegate factories. Maps the fully qualified
+ * name of a UI delegate class, as stored in <code>UIDefaults</code> under
+ * the component's UIClassID, to its static <code>createUI</code> method.
+ * <code>UIDefaults.getUI()</code> consults this table before falling back
+ * to <code>Class.forName()</code>, so the standard look and feels never
+ * load their delegates reflectively.
+ * <p>
+ * The built-in entries are generated from the delegates of the basic,
+ * metal and multi look and feels declaring
+ * <code>public static ComponentUI createUI(JComponent)</code>; regenerate
+ * them when a delegate is added to those packages.
+ */
+public final class UIDelegates {
+
+    /**
+     * Creates the UI delegate for a component.
+     */
+    public interface Factory {
+        ComponentUI createUI(JComponent c);
+    }
+
+    private static final Hashtable<String, Factory> factories = new Hashtable<String, Factory>();
+
+    static {
+        // javax.swing.plaf.basic
+        factories.put("javax.swing.plaf.basic.BasicButtonUI", BasicButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicCheckBoxMenuItemUI", BasicCheckBoxMenuItemUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicCheckBoxUI", BasicCheckBoxUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicColorChooserUI", BasicColorChooserUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicComboBoxUI", BasicComboBoxUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicDesktopIconUI", BasicDesktopIconUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicDesktopPaneUI", BasicDesktopPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicEditorPaneUI", BasicEditorPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicFormattedTextFieldUI", BasicFormattedTextFieldUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicInternalFrameUI", BasicInternalFrameUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicLabelUI", BasicLabelUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicListUI", BasicListUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicMenuBarUI", BasicMenuBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicMenuItemUI", BasicMenuItemUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicMenuUI", BasicMenuUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicOptionPaneUI", BasicOptionPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicPanelUI", BasicPanelUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicPasswordFieldUI", BasicPasswordFieldUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicPopupMenuSeparatorUI", BasicPopupMenuSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicPopupMenuUI", BasicPopupMenuUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicProgressBarUI", BasicProgressBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicRadioButtonMenuItemUI", BasicRadioButtonMenuItemUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicRadioButtonUI", BasicRadioButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicRootPaneUI", BasicRootPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicScrollBarUI", BasicScrollBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicScrollPaneUI", BasicScrollPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicSeparatorUI", BasicSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicSliderUI", BasicSliderUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicSpinnerUI", BasicSpinnerUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicSplitPaneUI", BasicSplitPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTabbedPaneUI", BasicTabbedPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTableHeaderUI", BasicTableHeaderUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTableUI", BasicTableUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTextAreaUI", BasicTextAreaUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTextFieldUI", BasicTextFieldUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTextPaneUI", BasicTextPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicToggleButtonUI", BasicToggleButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicToolBarSeparatorUI", BasicToolBarSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicToolBarUI", BasicToolBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicToolTipUI", BasicToolTipUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicTreeUI", BasicTreeUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.basic.BasicViewportUI", BasicViewportUI::createUI); //$NON-NLS-1$
+        // javax.swing.plaf.metal
+        factories.put("javax.swing.plaf.metal.MetalButtonUI", MetalButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalCheckBoxUI", MetalCheckBoxUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalComboBoxUI", MetalComboBoxUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalDesktopIconUI", MetalDesktopIconUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalFileChooserUI", MetalFileChooserUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalInternalFrameUI", MetalInternalFrameUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalLabelUI", MetalLabelUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalMenuBarUI", MetalMenuBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalPopupMenuSeparatorUI", MetalPopupMenuSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalProgressBarUI", MetalProgressBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalRadioButtonUI", MetalRadioButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalRootPaneUI", MetalRootPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalScrollBarUI", MetalScrollBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalScrollPaneUI", MetalScrollPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalSeparatorUI", MetalSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalSliderUI", MetalSliderUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalSplitPaneUI", MetalSplitPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalTabbedPaneUI", MetalTabbedPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalTextFieldUI", MetalTextFieldUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalToggleButtonUI", MetalToggleButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalToolBarUI", MetalToolBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalToolTipUI", MetalToolTipUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.metal.MetalTreeUI", MetalTreeUI::createUI); //$NON-NLS-1$
+        // javax.swing.plaf.multi
+        factories.put("javax.swing.plaf.multi.MultiButtonUI", MultiButtonUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiColorChooserUI", MultiColorChooserUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiComboBoxUI", MultiComboBoxUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiDesktopIconUI", MultiDesktopIconUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiDesktopPaneUI", MultiDesktopPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiFileChooserUI", MultiFileChooserUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiInternalFrameUI", MultiInternalFrameUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiLabelUI", MultiLabelUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiListUI", MultiListUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiMenuBarUI", MultiMenuBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiMenuItemUI", MultiMenuItemUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiOptionPaneUI", MultiOptionPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiPanelUI", MultiPanelUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiPopupMenuUI", MultiPopupMenuUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiProgressBarUI", MultiProgressBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiRootPaneUI", MultiRootPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiScrollBarUI", MultiScrollBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiScrollPaneUI", MultiScrollPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiSeparatorUI", MultiSeparatorUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiSliderUI", MultiSliderUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiSpinnerUI", MultiSpinnerUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiSplitPaneUI", MultiSplitPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiTabbedPaneUI", MultiTabbedPaneUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiTableHeaderUI", MultiTableHeaderUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiTableUI", MultiTableUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiTextUI", MultiTextUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiToolBarUI", MultiToolBarUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiToolTipUI", MultiToolTipUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiTreeUI", MultiTreeUI::createUI); //$NON-NLS-1$
+        factories.put("javax.swing.plaf.multi.MultiViewportUI", MultiViewportUI::createUI); //$NON-NLS-1$
+    }
+
+    private UIDelegates() {
+    }
+
+    /**
+     * Returns the factory registered for the UI delegate class
+     * <code>className</code>, or <code>null</code> if the delegate has to
+     * be resolved reflectively.
+     */
+    public static Factory getFactory(final String className) {
+        return className == null ? null : factories.get(className);
+    }
+
+    /**
+     * Registers a factory for the UI delegate class <code>className</code>.
+     * Lets third-party look and feels opt out of reflective lookup.
+     */
+    public static void registerFactory(final String className, final Factory factory) {
+        if (factory == null) {
+            factories.remove(className);
+        } else {
+            factories.put(className, factory);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing.table;
+
+import java.awt.Component;
+
+import javax.swing.JTable;
+import javax.swing.table.TableCellRenderer;
+
+/**
+ * Renderer able to read a cell of {@link ColumnarTableModel} itself.
+ * JTable calls it instead of getTableCellRendererComponent() when its model
+ * is a ColumnarTableModel, so the cell value is never boxed.
+ */
+public interface ColumnarCellRenderer extends TableCellRenderer {
+    /**
+     * @param modelRow row index in the model
+     * @param modelColumn column index in the model
+     * @param row row index in the view
+     * @param column column index in the view
+     */
+    Component getColumnarCellRendererComponent(JTable table, ColumnarTableModel model,
+                                               int modelRow, int modelColumn,
+                                               boolean isSelected, boolean hasFocus,
+                                               int row, int column);
+}
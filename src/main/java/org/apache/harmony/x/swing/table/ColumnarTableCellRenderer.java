@@ -0,0 +1,94 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing.table;
+
+import java.awt.Component;
+import java.text.NumberFormat;
+
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * Renders cells of {@link ColumnarTableModel} reading int, long, double and
+ * String columns with the typed getters. Numbers are right aligned.
+ * Other values are rendered as DefaultTableCellRenderer does.
+ */
+public class ColumnarTableCellRenderer extends DefaultTableCellRenderer implements ColumnarCellRenderer {
+    private NumberFormat numberFormat;
+
+    /**
+     * Makes the table render Integer, Long, Double and String columns with
+     * a new ColumnarTableCellRenderer.
+     */
+    public static void install(final JTable table) {
+        ColumnarTableCellRenderer renderer = new ColumnarTableCellRenderer();
+        table.setDefaultRenderer(Integer.class, renderer);
+        table.setDefaultRenderer(Long.class, renderer);
+        table.setDefaultRenderer(Double.class, renderer);
+        table.setDefaultRenderer(String.class, renderer);
+    }
+
+    public Component getColumnarCellRendererComponent(final JTable table,
+                                                      final ColumnarTableModel model,
+                                                      final int modelRow,
+                                                      final int modelColumn,
+                                                      final boolean isSelected,
+                                                      final boolean hasFocus,
+                                                      final int row,
+                                                      final int column) {
+        super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+        Class<?> type = model.getColumnType(modelColumn);
+        if (type == int.class) {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+            setText(Integer.toString(model.getInt(modelRow, modelColumn)));
+        } else if (type == long.class) {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+            setText(Long.toString(model.getLong(modelRow, modelColumn)));
+        } else if (type == double.class) {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+            setText(getNumberFormat().format(model.getDouble(modelRow, modelColumn)));
+        } else if (type == String.class) {
+            setHorizontalAlignment(SwingConstants.LEADING);
+            String value = model.getString(modelRow, modelColumn);
+            setText(value != null ? value : ""); //$NON-NLS-1$
+        } else {
+            setHorizontalAlignment(SwingConstants.LEADING);
+            setValue(model.getValueAt(modelRow, modelColumn));
+        }
+        return this;
+    }
+
+    public Component getTableCellRendererComponent(final JTable table,
+                                                   final Object value,
+                                                   final boolean isSelected,
+                                                   final boolean hasFocus,
+                                                   final int row,
+                                                   final int column) {
+        setHorizontalAlignment(value instanceof Number ? SwingConstants.RIGHT : SwingConstants.LEADING);
+        return super.getTableCellRendererComponent(table, value instanceof Double
+                                                          ? getNumberFormat().format(value) : value,
+                                                   isSelected, hasFocus, row, column);
+    }
+
+    private NumberFormat getNumberFormat() {
+        if (numberFormat == null) {
+            numberFormat = NumberFormat.getNumberInstance();
+        }
+        return numberFormat;
+    }
+}
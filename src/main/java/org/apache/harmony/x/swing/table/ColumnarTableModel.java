@@ -0,0 +1,704 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.harmony.x.swing.table;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+
+import org.apache.harmony.x.swing.internal.nls.Messages;
+
+/**
+ * TableModel keeping every column in one array of its own type. Columns of
+ * int, long, double and boolean values are stored unboxed (booleans as
+ * bits), String columns keep a code per row and each distinct string once.
+ * Other column types are kept in Object arrays.
+ * <p>
+ * Arrays grow by half of their size when rows are added, use
+ * {@link #ensureCapacity(int)} before a large load and
+ * {@link #trimToSize()} after it. Bulk methods fire one event per call.
+ * The typed getters read values without boxing, see
+ * {@link ColumnarCellRenderer}.
+ */
+public class ColumnarTableModel extends AbstractTableModel {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final List<Column> columns = new ArrayList<Column>();
+    private int rowCount;
+    private int capacity;
+
+    public ColumnarTableModel() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarTableModel(final int initialCapacity) {
+        capacity = Math.max(initialCapacity, 1);
+    }
+
+    /**
+     * Adds a column keeping values of the given type. int.class,
+     * long.class, double.class, boolean.class and String.class columns
+     * are stored compactly.
+     *
+     * @return index of the new column
+     */
+    public int addColumn(final String name, final Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException(Messages.getString("swing.BE")); //$NON-NLS-1$
+        }
+        Column column;
+        if (type == int.class) {
+            column = new IntColumn();
+        } else if (type == long.class) {
+            column = new LongColumn();
+        } else if (type == double.class) {
+            column = new DoubleColumn();
+        } else if (type == boolean.class) {
+            column = new BooleanColumn();
+        } else if (type == String.class) {
+            column = new StringColumn();
+        } else {
+            column = new ObjectColumn(type);
+        }
+        column.name = name;
+        column.resize(capacity);
+        columns.add(column);
+        fireTableStructureChanged();
+        return columns.size() - 1;
+    }
+
+    /**
+     * @return the type the column was added with
+     */
+    public Class<?> getColumnType(final int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public String getColumnName(final int column) {
+        String name = columns.get(column).name;
+        return name != null ? name : super.getColumnName(column);
+    }
+
+    @Override
+    public Class<?> getColumnClass(final int column) {
+        return columns.get(column).getValueClass();
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Object getValueAt(final int row, final int column) {
+        checkRow(row);
+        return columns.get(column).get(row);
+    }
+
+    /**
+     * Sets the value converting it to the column type, null is stored as
+     * zero or false in the primitive columns.
+     */
+    @Override
+    public void setValueAt(final Object value, final int row, final int column) {
+        checkRow(row);
+        columns.get(column).set(row, value);
+        fireTableCellUpdated(row, column);
+    }
+
+    public int getInt(final int row, final int column) {
+        checkRow(row);
+        return getIntColumn(column).values[row];
+    }
+
+    /**
+     * Reads long and int columns.
+     */
+    public long getLong(final int row, final int column) {
+        checkRow(row);
+        Column c = columns.get(column);
+        if (c instanceof IntColumn) {
+            return ((IntColumn)c).values[row];
+        }
+        return getLongColumn(column).values[row];
+    }
+
+    /**
+     * Reads double, long and int columns.
+     */
+    public double getDouble(final int row, final int column) {
+        checkRow(row);
+        Column c = columns.get(column);
+        if (c instanceof IntColumn) {
+            return ((IntColumn)c).values[row];
+        }
+        if (c instanceof LongColumn) {
+            return ((LongColumn)c).values[row];
+        }
+        return getDoubleColumn(column).values[row];
+    }
+
+    public boolean getBoolean(final int row, final int column) {
+        checkRow(row);
+        return getBooleanColumn(column).get(row) == Boolean.TRUE;
+    }
+
+    public String getString(final int row, final int column) {
+        checkRow(row);
+        return getStringColumn(column).getString(row);
+    }
+
+    public void setInt(final int row, final int column, final int value) {
+        checkRow(row);
+        getIntColumn(column).values[row] = value;
+        fireTableCellUpdated(row, column);
+    }
+
+    public void setLong(final int row, final int column, final long value) {
+        checkRow(row);
+        getLongColumn(column).values[row] = value;
+        fireTableCellUpdated(row, column);
+    }
+
+    public void setDouble(final int row, final int column, final double value) {
+        checkRow(row);
+        getDoubleColumn(column).values[row] = value;
+        fireTableCellUpdated(row, column);
+    }
+
+    public void setBoolean(final int row, final int column, final boolean value) {
+        checkRow(row);
+        getBooleanColumn(column).setBit(row, value);
+        fireTableCellUpdated(row, column);
+    }
+
+    public void setString(final int row, final int column, final String value) {
+        checkRow(row);
+        StringColumn c = getStringColumn(column);
+        c.codes[row] = c.encode(value);
+        fireTableCellUpdated(row, column);
+    }
+
+    /**
+     * @return dictionary code of the string in the cell, -1 for null.
+     *         Equal strings of a column have equal codes.
+     */
+    public int getStringCode(final int row, final int column) {
+        checkRow(row);
+        return getStringColumn(column).codes[row];
+    }
+
+    /**
+     * @return the string having the code in the column
+     */
+    public String getDictionaryString(final int column, final int code) {
+        return code == -1 ? null : getStringColumn(column).dictionary.get(code);
+    }
+
+    /**
+     * @return number of distinct strings the column has kept
+     */
+    public int getDictionarySize(final int column) {
+        return getStringColumn(column).dictionary.size();
+    }
+
+    public void setInts(final int column, final int firstRow, final int[] values, final int offset, final int length) {
+        checkRange(firstRow, length);
+        System.arraycopy(values, offset, getIntColumn(column).values, firstRow, length);
+        fireRangeUpdated(firstRow, length, column);
+    }
+
+    public void setLongs(final int column, final int firstRow, final long[] values, final int offset, final int length) {
+        checkRange(firstRow, length);
+        System.arraycopy(values, offset, getLongColumn(column).values, firstRow, length);
+        fireRangeUpdated(firstRow, length, column);
+    }
+
+    public void setDoubles(final int column, final int firstRow, final double[] values, final int offset, final int length) {
+        checkRange(firstRow, length);
+        System.arraycopy(values, offset, getDoubleColumn(column).values, firstRow, length);
+        fireRangeUpdated(firstRow, length, column);
+    }
+
+    public void setBooleans(final int column, final int firstRow, final boolean[] values, final int offset, final int length) {
+        checkRange(firstRow, length);
+        BooleanColumn c = getBooleanColumn(column);
+        for (int i = 0; i < length; i++) {
+            c.setBit(firstRow + i, values[offset + i]);
+        }
+        fireRangeUpdated(firstRow, length, column);
+    }
+
+    public void setStrings(final int column, final int firstRow, final String[] values, final int offset, final int length) {
+        checkRange(firstRow, length);
+        StringColumn c = getStringColumn(column);
+        for (int i = 0; i < length; i++) {
+            c.codes[firstRow + i] = c.encode(values[offset + i]);
+        }
+        fireRangeUpdated(firstRow, length, column);
+    }
+
+    /**
+     * Appends rows of zero, false and null values.
+     *
+     * @return index of the first added row
+     */
+    public int addRows(final int count) {
+        int firstRow = rowCount;
+        insertRows(firstRow, count);
+        return firstRow;
+    }
+
+    /**
+     * Appends a row, values are converted as by setValueAt().
+     */
+    public void addRow(final Object[] values) {
+        int row = rowCount;
+        ensureCapacity(row + 1);
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).set(row, values != null && i < values.length ? values[i] : null);
+        }
+        rowCount++;
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Inserts rows of zero, false and null values before the row.
+     */
+    public void insertRows(final int row, final int count) {
+        if (row < 0 || row > rowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B6", row)); //$NON-NLS-1$
+        }
+        if (count <= 0) {
+            return;
+        }
+        ensureCapacity(rowCount + count);
+        for (int i = 0; i < columns.size(); i++) {
+            Column c = columns.get(i);
+            c.move(row, row + count, rowCount - row);
+            c.clear(row, row + count);
+        }
+        rowCount += count;
+        fireTableRowsInserted(row, row + count - 1);
+    }
+
+    public void removeRows(final int firstRow, final int lastRow) {
+        if (firstRow < 0 || firstRow > lastRow || lastRow >= rowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B9", //$NON-NLS-1$
+                                                                   Integer.toString(firstRow),
+                                                                   Integer.toString(lastRow)));
+        }
+        int count = lastRow - firstRow + 1;
+        for (int i = 0; i < columns.size(); i++) {
+            Column c = columns.get(i);
+            c.move(lastRow + 1, firstRow, rowCount - lastRow - 1);
+            c.clear(rowCount - count, rowCount);
+        }
+        rowCount -= count;
+        fireTableRowsDeleted(firstRow, lastRow);
+    }
+
+    /**
+     * Removes all the rows. String dictionaries are cleared as well.
+     */
+    public void clear() {
+        int oldRowCount = rowCount;
+        for (int i = 0; i < columns.size(); i++) {
+            Column c = columns.get(i);
+            c.clear(0, rowCount);
+            if (c instanceof StringColumn) {
+                ((StringColumn)c).clearDictionary();
+            }
+        }
+        rowCount = 0;
+        if (oldRowCount > 0) {
+            fireTableRowsDeleted(0, oldRowCount - 1);
+        }
+    }
+
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity <= capacity) {
+            return;
+        }
+        setCapacity(Math.max(minCapacity, capacity + (capacity >> 1)));
+    }
+
+    public void trimToSize() {
+        if (rowCount < capacity) {
+            setCapacity(Math.max(rowCount, 1));
+        }
+    }
+
+    private void setCapacity(final int newCapacity) {
+        capacity = newCapacity;
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).resize(capacity);
+        }
+    }
+
+    private void fireRangeUpdated(final int firstRow, final int length, final int column) {
+        if (length > 0) {
+            fireTableChanged(new TableModelEvent(this, firstRow, firstRow + length - 1, column));
+        }
+    }
+
+    private void checkRow(final int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B6", row)); //$NON-NLS-1$
+        }
+    }
+
+    private void checkRange(final int firstRow, final int length) {
+        if (firstRow < 0 || length < 0 || firstRow + length > rowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B9", //$NON-NLS-1$
+                                                                   Integer.toString(firstRow),
+                                                                   Integer.toString(firstRow + length - 1)));
+        }
+    }
+
+    private IntColumn getIntColumn(final int column) {
+        return (IntColumn)getColumn(column, IntColumn.class, "int"); //$NON-NLS-1$
+    }
+
+    private LongColumn getLongColumn(final int column) {
+        return (LongColumn)getColumn(column, LongColumn.class, "long"); //$NON-NLS-1$
+    }
+
+    private DoubleColumn getDoubleColumn(final int column) {
+        return (DoubleColumn)getColumn(column, DoubleColumn.class, "double"); //$NON-NLS-1$
+    }
+
+    private BooleanColumn getBooleanColumn(final int column) {
+        return (BooleanColumn)getColumn(column, BooleanColumn.class, "boolean"); //$NON-NLS-1$
+    }
+
+    private StringColumn getStringColumn(final int column) {
+        return (StringColumn)getColumn(column, StringColumn.class, "String"); //$NON-NLS-1$
+    }
+
+    private Column getColumn(final int column, final Class<? extends Column> columnClass, final String typeName) {
+        Column result = columns.get(column);
+        if (result.getClass() != columnClass) {
+            throw new IllegalArgumentException(Messages.getString("swing.BD", //$NON-NLS-1$
+                                                                  Integer.toString(column), typeName));
+        }
+        return result;
+    }
+
+    private abstract static class Column {
+        String name;
+
+        abstract Class<?> getType();
+
+        abstract Class<?> getValueClass();
+
+        abstract Object get(int row);
+
+        abstract void set(int row, Object value);
+
+        abstract void resize(int capacity);
+
+        /**
+         * Copies length values starting at from to the rows starting at to.
+         */
+        abstract void move(int from, int to, int length);
+
+        /**
+         * Resets values of the rows from..to - 1 to the default one.
+         */
+        abstract void clear(int from, int to);
+    }
+
+    private static class IntColumn extends Column {
+        int[] values = new int[0];
+
+        Class<?> getType() {
+            return int.class;
+        }
+
+        Class<?> getValueClass() {
+            return Integer.class;
+        }
+
+        Object get(final int row) {
+            return Integer.valueOf(values[row]);
+        }
+
+        void set(final int row, final Object value) {
+            values[row] = value != null ? ((Number)value).intValue() : 0;
+        }
+
+        void resize(final int capacity) {
+            int[] newValues = new int[capacity];
+            System.arraycopy(values, 0, newValues, 0, Math.min(values.length, capacity));
+            values = newValues;
+        }
+
+        void move(final int from, final int to, final int length) {
+            System.arraycopy(values, from, values, to, length);
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                values[i] = 0;
+            }
+        }
+    }
+
+    private static class LongColumn extends Column {
+        long[] values = new long[0];
+
+        Class<?> getType() {
+            return long.class;
+        }
+
+        Class<?> getValueClass() {
+            return Long.class;
+        }
+
+        Object get(final int row) {
+            return Long.valueOf(values[row]);
+        }
+
+        void set(final int row, final Object value) {
+            values[row] = value != null ? ((Number)value).longValue() : 0;
+        }
+
+        void resize(final int capacity) {
+            long[] newValues = new long[capacity];
+            System.arraycopy(values, 0, newValues, 0, Math.min(values.length, capacity));
+            values = newValues;
+        }
+
+        void move(final int from, final int to, final int length) {
+            System.arraycopy(values, from, values, to, length);
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                values[i] = 0;
+            }
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        double[] values = new double[0];
+
+        Class<?> getType() {
+            return double.class;
+        }
+
+        Class<?> getValueClass() {
+            return Double.class;
+        }
+
+        Object get(final int row) {
+            return Double.valueOf(values[row]);
+        }
+
+        void set(final int row, final Object value) {
+            values[row] = value != null ? ((Number)value).doubleValue() : 0;
+        }
+
+        void resize(final int capacity) {
+            double[] newValues = new double[capacity];
+            System.arraycopy(values, 0, newValues, 0, Math.min(values.length, capacity));
+            values = newValues;
+        }
+
+        void move(final int from, final int to, final int length) {
+            System.arraycopy(values, from, values, to, length);
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                values[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Keeps 64 values in a long.
+     */
+    private static class BooleanColumn extends Column {
+        long[] bits = new long[0];
+
+        Class<?> getType() {
+            return boolean.class;
+        }
+
+        Class<?> getValueClass() {
+            return Boolean.class;
+        }
+
+        Object get(final int row) {
+            return (bits[row >> 6] & (1L << row)) != 0 ? Boolean.TRUE : Boolean.FALSE;
+        }
+
+        void set(final int row, final Object value) {
+            setBit(row, value != null && ((Boolean)value).booleanValue());
+        }
+
+        void setBit(final int row, final boolean value) {
+            if (value) {
+                bits[row >> 6] |= 1L << row;
+            } else {
+                bits[row >> 6] &= ~(1L << row);
+            }
+        }
+
+        void resize(final int capacity) {
+            long[] newBits = new long[(capacity + 63) >> 6];
+            System.arraycopy(bits, 0, newBits, 0, Math.min(bits.length, newBits.length));
+            bits = newBits;
+        }
+
+        void move(final int from, final int to, final int length) {
+            if (to < from) {
+                for (int i = 0; i < length; i++) {
+                    setBit(to + i, get(from + i) == Boolean.TRUE);
+                }
+            } else {
+                for (int i = length - 1; i >= 0; i--) {
+                    setBit(to + i, get(from + i) == Boolean.TRUE);
+                }
+            }
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                setBit(i, false);
+            }
+        }
+    }
+
+    /**
+     * Keeps a dictionary code per row, -1 stands for null.
+     */
+    private static class StringColumn extends Column {
+        int[] codes = new int[0];
+        final List<String> dictionary = new ArrayList<String>();
+        final Map<String, Integer> codesByString = new HashMap<String, Integer>();
+
+        Class<?> getType() {
+            return String.class;
+        }
+
+        Class<?> getValueClass() {
+            return String.class;
+        }
+
+        Object get(final int row) {
+            return getString(row);
+        }
+
+        String getString(final int row) {
+            int code = codes[row];
+            return code == -1 ? null : dictionary.get(code);
+        }
+
+        void set(final int row, final Object value) {
+            codes[row] = encode(value != null ? value.toString() : null);
+        }
+
+        int encode(final String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codesByString.get(value);
+            if (code == null) {
+                code = Integer.valueOf(dictionary.size());
+                dictionary.add(value);
+                codesByString.put(value, code);
+            }
+            return code.intValue();
+        }
+
+        void clearDictionary() {
+            dictionary.clear();
+            codesByString.clear();
+        }
+
+        void resize(final int capacity) {
+            int oldLength = codes.length;
+            int[] newCodes = new int[capacity];
+            System.arraycopy(codes, 0, newCodes, 0, Math.min(oldLength, capacity));
+            for (int i = oldLength; i < capacity; i++) {
+                newCodes[i] = -1;
+            }
+            codes = newCodes;
+        }
+
+        void move(final int from, final int to, final int length) {
+            System.arraycopy(codes, from, codes, to, length);
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                codes[i] = -1;
+            }
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        private final Class<?> type;
+        Object[] values = new Object[0];
+
+        ObjectColumn(final Class<?> type) {
+            this.type = type;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        Class<?> getValueClass() {
+            return type;
+        }
+
+        Object get(final int row) {
+            return values[row];
+        }
+
+        void set(final int row, final Object value) {
+            values[row] = value;
+        }
+
+        void resize(final int capacity) {
+            Object[] newValues = new Object[capacity];
+            System.arraycopy(values, 0, newValues, 0, Math.min(values.length, capacity));
+            values = newValues;
+        }
+
+        void move(final int from, final int to, final int length) {
+            System.arraycopy(values, from, values, to, length);
+        }
+
+        void clear(final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                values[i] = null;
+            }
+        }
+    }
+}
@@ -45,6 +45,8 @@ import javax.accessibility.AccessibleState;
 import javax.accessibility.AccessibleStateSet;
 
 import org.apache.harmony.awt.ClipRegion;
+import org.apache.harmony.awt.ComponentInternals;
+import org.apache.harmony.awt.EventCoalescer;
 import org.apache.harmony.awt.FieldsAccessor;
 import org.apache.harmony.awt.gl.CommonGraphics2D;
 import org.apache.harmony.awt.gl.MultiRectArea;
@@ -67,8 +69,6 @@ public abstract class TComponent implements TImageObserver, TMenuContainer, Seri
 
     public static final float RIGHT_ALIGNMENT = 1.0f;
 
-    private static final Hashtable<Class<?>, Boolean> childClassesFlags = new Hashtable<Class<?>, Boolean>();
-
     private static final TComponentPeer peer = new TComponentPeer() {
     };
 
@@ -912,34 +912,14 @@ public abstract class TComponent implements TImageObserver, TMenuContainer, Seri
     }
 
     /**
-     * Determine that the class inherited from Component declares the method
-     * coalesceEvents(), and put the results to the childClassesFlags map
+     * Determine that the class inherited from Component overrides the method
+     * coalesceEvents(). Such classes implement EventCoalescer or are
+     * registered with ComponentInternals.registerCoalescer()
      * 
      */
     private void deriveCoalescerFlag() {
-        Class<?> thisClass = getClass();
-        boolean flag = true;
-        synchronized (childClassesFlags) {
-            Boolean flagWrapper = childClassesFlags.get(thisClass);
-            if (flagWrapper == null) {
-                Method coalesceMethod = null;
-                for (Class<?> c = thisClass; c != Component.class; c = c.getSuperclass()) {
-                    try {
-                        coalesceMethod = c.getDeclaredMethod("coalesceEvents", new Class[] { //$NON-NLS-1$
-                                Class.forName("java.awt.TAWTEvent"), //$NON-NLS-1$
-                                Class.forName("java.awt.TAWTEvent") }); //$NON-NLS-1$
-                    } catch (Exception e) {
-                    }
-                    if (coalesceMethod != null) {
-                        break;
-                    }
-                }
-                flag = (coalesceMethod != null);
-                childClassesFlags.put(thisClass, Boolean.valueOf(flag));
-            } else {
-                flag = flagWrapper.booleanValue();
-            }
-        }
+        boolean flag = this instanceof EventCoalescer
+                || ComponentInternals.isCoalescer(getClass());
         coalescer = flag;
         if (flag) {
             eventsTable = new Hashtable<Integer, LinkedList<TAWTEvent>>();
@@ -24,18 +24,43 @@ import java.awt.event.InputEvent;
 import java.awt.event.InputMethodEvent;
 import java.awt.event.InvocationEvent;
 import java.awt.event.MouseEvent;
+import java.awt.event.PaintEvent;
+import java.util.HashMap;
 import java.util.LinkedList;
 
 import org.apache.harmony.awt.internal.nls.Messages;
 
 /**
  * The events storage for EventQueue
+ * <p>
+ * Events are kept in the ring buffer addressed by the sequence number of
+ * the event. Events having the same id are chained, so peekEvent(id) takes
+ * the head of the chain. MOUSE_MOVED, MOUSE_DRAGGED and PAINT events are
+ * indexed by their source and coalesced with the queued event in place.
  */
 final class TEventQueueCore {
     
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_IDLE_CAPACITY = 1024;
+
     private final LinkedList<EventQueue> queueStack = new LinkedList<EventQueue>();
-    private final LinkedList<AWTEvent> events = new LinkedList<AWTEvent>();
-    
+
+    // Ring buffer, the event with sequence number seq is at [seq & mask]
+    private AWTEvent[] events = new AWTEvent[INITIAL_CAPACITY];
+    // Sequence number of the next event with the same id
+    private int[] nextSameId = new int[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    // Sequence numbers of the first queued event and of the next posted one
+    private int head;
+    private int tail;
+
+    // Open addressing table of the event id chains
+    private IdChain[] chains = new IdChain[16];
+    private int chainCount;
+
+    // Queued coalescable events by source
+    private final HashMap<Object, SourceEntry> sourceIndex = new HashMap<Object, SourceEntry>();
+
     private Toolkit toolkit;
     private EventQueue activeQueue;
     private Thread dispatchThread;
@@ -79,12 +104,13 @@ final class TEventQueueCore {
     }
 
     synchronized void postEvent(AWTEvent event) {
-        events.addLast(event);
+        if (!coalesceEvent(event)) {
+            addLast(event);
+        }
         if ((toolkit == null) && (dispatchThread == null)) {
             dispatchThread = new EventQueueThread(this);
             dispatchThread.start();
         }
-        // TODO: add event coalescing
         if (toolkit != null) {
             toolkit.shutdownWatchdog.setAwtQueueEmpty(false);
             notifyEventMonitor(toolkit);
@@ -100,25 +126,221 @@ final class TEventQueueCore {
     }
     
     synchronized AWTEvent getNextEvent() throws InterruptedException {
-        while (events.isEmpty()) {
+        while (head == tail) {
             wait();
         }
-        AWTEvent event = events.removeFirst();
-        // TODO: add event coalescing
-        return event;
+        return removeFirst();
     }    
     
     synchronized AWTEvent peekEvent() {
-        return events.isEmpty() ? null : events.getFirst();
+        return head == tail ? null : events[head & mask];
     }
     
     synchronized AWTEvent peekEvent(int id) {
-        for (AWTEvent event : events) {
-            if (event.getID() == id) {
-                return event;
+        IdChain chain = getChain(id, false);
+        return (chain == null || chain.count == 0) ? null : events[chain.first & mask];
+    }
+
+    /**
+     * Merges the event with the queued event of the same source and id.
+     * Mouse motion replaces the queued one only if nothing else has been
+     * posted for the source since, otherwise the order of events changes.
+     * @return true if the event has been coalesced
+     */
+    private boolean coalesceEvent(AWTEvent event) {
+        if (sourceIndex.isEmpty()) {
+            return false;
+        }
+        SourceEntry entry = sourceIndex.get(event.getSource());
+        if (entry == null) {
+            return false;
+        }
+        switch (event.getID()) {
+        case MouseEvent.MOUSE_MOVED:
+            if (entry.hasMoved && entry.lastSeq == entry.movedSeq) {
+                events[entry.movedSeq & mask] = event;
+                return true;
+            }
+            break;
+        case MouseEvent.MOUSE_DRAGGED:
+            if (entry.hasDragged && entry.lastSeq == entry.draggedSeq) {
+                events[entry.draggedSeq & mask] = event;
+                return true;
+            }
+            break;
+        case PaintEvent.PAINT:
+            if (entry.hasPaint) {
+                PaintEvent queued = (PaintEvent) events[entry.paintSeq & mask];
+                queued.setUpdateRect(queued.getUpdateRect().union(
+                        ((PaintEvent) event).getUpdateRect()));
+                return true;
+            }
+            break;
+        }
+        return false;
+    }
+
+    private void addLast(AWTEvent event) {
+        if (tail - head == events.length) {
+            resize(events.length << 1);
+        }
+        int seq = tail++;
+        int id = event.getID();
+        events[seq & mask] = event;
+
+        IdChain chain = getChain(id, true);
+        if (chain.count == 0) {
+            chain.first = seq;
+        } else {
+            nextSameId[chain.last & mask] = seq;
+        }
+        chain.last = seq;
+        chain.count++;
+
+        Object source = event.getSource();
+        SourceEntry entry = sourceIndex.isEmpty() ? null : sourceIndex.get(source);
+        if (entry == null && isCoalescable(id)) {
+            entry = new SourceEntry();
+            sourceIndex.put(source, entry);
+        }
+        if (entry != null) {
+            entry.lastSeq = seq;
+            switch (id) {
+            case MouseEvent.MOUSE_MOVED:
+                entry.hasMoved = true;
+                entry.movedSeq = seq;
+                break;
+            case MouseEvent.MOUSE_DRAGGED:
+                entry.hasDragged = true;
+                entry.draggedSeq = seq;
+                break;
+            case PaintEvent.PAINT:
+                entry.hasPaint = true;
+                entry.paintSeq = seq;
+                break;
+            }
+        }
+    }
+
+    private AWTEvent removeFirst() {
+        int seq = head++;
+        int slot = seq & mask;
+        AWTEvent event = events[slot];
+        events[slot] = null;
+        int id = event.getID();
+
+        // The event is always the oldest one in its chain
+        IdChain chain = getChain(id, false);
+        if (--chain.count > 0) {
+            chain.first = nextSameId[slot];
+        }
+
+        if (isCoalescable(id)) {
+            Object source = event.getSource();
+            SourceEntry entry = sourceIndex.get(source);
+            if (entry != null) {
+                if (entry.hasMoved && entry.movedSeq == seq) {
+                    entry.hasMoved = false;
+                } else if (entry.hasDragged && entry.draggedSeq == seq) {
+                    entry.hasDragged = false;
+                } else if (entry.hasPaint && entry.paintSeq == seq) {
+                    entry.hasPaint = false;
+                }
+                if (!entry.hasMoved && !entry.hasDragged && !entry.hasPaint) {
+                    sourceIndex.remove(source);
+                }
+            }
+        }
+
+        if (head == tail && events.length > MAX_IDLE_CAPACITY) {
+            // Give back the memory taken by the event storm
+            resize(INITIAL_CAPACITY);
+        }
+        return event;
+    }
+
+    private void resize(int capacity) {
+        AWTEvent[] newEvents = new AWTEvent[capacity];
+        int[] newNext = new int[capacity];
+        int newMask = capacity - 1;
+        for (int seq = head; seq != tail; seq++) {
+            newEvents[seq & newMask] = events[seq & mask];
+            newNext[seq & newMask] = nextSameId[seq & mask];
+        }
+        events = newEvents;
+        nextSameId = newNext;
+        mask = newMask;
+    }
+
+    private IdChain getChain(int id, boolean create) {
+        int m = chains.length - 1;
+        for (int i = (id * 0x9E3779B9 >>> 16) & m; ; i = (i + 1) & m) {
+            IdChain chain = chains[i];
+            if (chain == null) {
+                if (!create) {
+                    return null;
+                }
+                if ((chainCount + 1) * 2 > chains.length) {
+                    rehashChains();
+                    return getChain(id, true);
+                }
+                chain = new IdChain(id);
+                chains[i] = chain;
+                chainCount++;
+                return chain;
+            }
+            if (chain.id == id) {
+                return chain;
             }
         }
-        return null;
+    }
+
+    private void rehashChains() {
+        IdChain[] old = chains;
+        chains = new IdChain[old.length << 1];
+        int m = chains.length - 1;
+        for (IdChain chain : old) {
+            if (chain != null) {
+                int i = (chain.id * 0x9E3779B9 >>> 16) & m;
+                while (chains[i] != null) {
+                    i = (i + 1) & m;
+                }
+                chains[i] = chain;
+            }
+        }
+    }
+
+    private static boolean isCoalescable(int id) {
+        return id == MouseEvent.MOUSE_MOVED || id == MouseEvent.MOUSE_DRAGGED
+                || id == PaintEvent.PAINT;
+    }
+
+    /**
+     * Queued events having the same id
+     */
+    private static final class IdChain {
+        final int id;
+        int first;
+        int last;
+        int count;
+
+        IdChain(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Sequence numbers of the coalescable events of one source
+     * and of the last event posted for it
+     */
+    private static final class SourceEntry {
+        int lastSeq;
+        boolean hasMoved;
+        int movedSeq;
+        boolean hasDragged;
+        int draggedSeq;
+        boolean hasPaint;
+        int paintSeq;
     }
     
     synchronized void dispatchEvent(AWTEvent event) {
@@ -217,14 +439,14 @@ final class TEventQueueCore {
 
     synchronized AWTEvent getNextEventNoWait() {
         try {
-            return events.isEmpty() ? null : activeQueue.getNextEvent();
+            return head == tail ? null : activeQueue.getNextEvent();
         } catch (InterruptedException e) {
             return null;
         }
     }
 
     synchronized boolean isEmpty() {
-        return (currentEvent == null) && events.isEmpty();
+        return (currentEvent == null) && head == tail;
     }
     
     synchronized boolean isEmpty(long timeout) {
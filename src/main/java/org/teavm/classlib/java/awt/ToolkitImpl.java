@@ -20,6 +20,7 @@ package org.teavm.classlib.java.awt;
 import java.io.Serializable;
 import java.net.URL;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import org.apache.harmony.awt.gl.font.FontMetricsImpl;
@@ -36,7 +37,18 @@ import org.teavm.classlib.java.awt.peer.TTextFieldPeer;
 class ToolkitImpl extends TToolkit {
     static final Hashtable<Serializable, TImage> imageCache = new Hashtable<Serializable, TImage>();
 
-    static final TFontMetrics cacheFM[] =  new TFontMetrics[10];
+    // the maximum number of the cached font metrics
+    static final int FONT_METRICS_CACHE_SIZE = 64;
+
+    // font metrics in the access order, the least recently used are removed
+    static final Map<Object, TFontMetrics> cacheFM = new LinkedHashMap<Object, TFontMetrics>(16, 0.75f, true) {
+        private static final long serialVersionUID = -3268937201446751391L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, TFontMetrics> eldest) {
+            return size() > FONT_METRICS_CACHE_SIZE;
+        }
+    };
 
     @Override
     public void sync() {
@@ -137,21 +149,11 @@ class ToolkitImpl extends TToolkit {
     public FontMetrics getFontMetrics(Font font) {
         lockAWT();
         try {
-            TFontMetrics fm;
-            for (TFontMetrics element : cacheFM) {
-                fm = element;
-                if (fm == null){
-                    break;
-                }
-
-                if (fm.getFont().equals(font)){
-                    return fm;
-                }
+            TFontMetrics fm = cacheFM.get(font);
+            if (fm == null) {
+                fm = new FontMetricsImpl(font);
+                cacheFM.put(font, fm);
             }
-            fm = new FontMetricsImpl(font);
-
-            System.arraycopy(cacheFM, 0, cacheFM, 1, cacheFM.length -1);
-            cacheFM[0] = fm;
 
             return fm;
 
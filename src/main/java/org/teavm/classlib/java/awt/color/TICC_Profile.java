@@ -33,7 +33,7 @@ import java.io.Serializable;
 import java.util.StringTokenizer;
 
 import org.apache.harmony.awt.gl.color.ICC_ProfileHelper;
-import org.apache.harmony.awt.gl.color.NativeCMM;
+import org.apache.harmony.awt.gl.color.JavaCMM;
 import org.apache.harmony.awt.internal.nls.Messages;
 
 
@@ -320,8 +320,8 @@ public class TICC_Profile implements Serializable {
     private transient TICC_Profile openedProfileObject;
 
     private TICC_Profile(byte[] data) {
-        profileHandle = NativeCMM.cmmOpenProfile(data);
-        NativeCMM.addHandle(this, profileHandle);
+        profileHandle = JavaCMM.cmmOpenProfile(data);
+        JavaCMM.addHandle(this, profileHandle);
     }
 
     /**
@@ -338,7 +338,7 @@ public class TICC_Profile implements Serializable {
     TICC_Profile(long profileHandle) {
         this.profileHandle = profileHandle;
         // A new object reference, need to add it.
-        NativeCMM.addHandle(this, profileHandle);
+        JavaCMM.addHandle(this, profileHandle);
     }
 
     public void write(String fileName) throws IOException {
@@ -397,7 +397,7 @@ public class TICC_Profile implements Serializable {
     }
 
     public void setData(int tagSignature, byte[] tagData) {
-        NativeCMM.cmmSetProfileElement(profileHandle, tagSignature, tagData);
+        JavaCMM.cmmSetProfileElement(profileHandle, tagSignature, tagData);
         // Remove cached header data if header is modified
         if (tagSignature == icSigHead) {
             headerData = null;
@@ -407,7 +407,7 @@ public class TICC_Profile implements Serializable {
     public byte[] getData(int tagSignature) {
         int tagSize = 0;
         try {
-            tagSize = NativeCMM.cmmGetProfileElementSize(
+            tagSize = JavaCMM.cmmGetProfileElementSize(
                     profileHandle,
                     tagSignature
                 );
@@ -418,26 +418,26 @@ public class TICC_Profile implements Serializable {
         }
 
         byte[] data = new byte[tagSize];
-        NativeCMM.cmmGetProfileElement(profileHandle, tagSignature, data);
+        JavaCMM.cmmGetProfileElement(profileHandle, tagSignature, data);
         return data;
     }
 
     public byte[] getData() {
-        int profileSize = NativeCMM.cmmGetProfileSize(profileHandle);
+        int profileSize = JavaCMM.cmmGetProfileSize(profileHandle);
         byte[] data = new byte[profileSize];
-        NativeCMM.cmmGetProfile(profileHandle, data);
+        JavaCMM.cmmGetProfile(profileHandle, data);
         return data;
     }
 
     @Override
     protected void finalize() {
         if (profileHandle!=0 && !handleStolen) {
-            NativeCMM.cmmCloseProfile(profileHandle);
+            JavaCMM.cmmCloseProfile(profileHandle);
         }
 
         // Always remove because key no more exist
         // when object is destroyed
-        NativeCMM.removeHandle(this);
+        JavaCMM.removeHandle(this);
     }
 
     public int getProfileClass() {
@@ -683,31 +683,31 @@ public class TICC_Profile implements Serializable {
 
       case TColorSpace.CS_sRGB:
         if (sRGBProfile == null) {
-            sRGBProfile = getInstance("sRGB.pf"); //$NON-NLS-1$
+            sRGBProfile = getPredefinedInstance("sRGB.pf", cspace); //$NON-NLS-1$
         }
         return sRGBProfile;
 
       case TColorSpace.CS_CIEXYZ:
         if (xyzProfile == null) {
-            xyzProfile = getInstance("CIEXYZ.pf"); //$NON-NLS-1$
+            xyzProfile = getPredefinedInstance("CIEXYZ.pf", cspace); //$NON-NLS-1$
         }
         return xyzProfile;
 
       case TColorSpace.CS_GRAY:
         if (grayProfile == null) {
-            grayProfile = getInstance("GRAY.pf"); //$NON-NLS-1$
+            grayProfile = getPredefinedInstance("GRAY.pf", cspace); //$NON-NLS-1$
         }
         return grayProfile;
 
       case TColorSpace.CS_PYCC:
         if (pyccProfile == null) {
-            pyccProfile = getInstance("PYCC.pf"); //$NON-NLS-1$
+            pyccProfile = getPredefinedInstance("PYCC.pf", cspace); //$NON-NLS-1$
         }
         return pyccProfile;
 
       case TColorSpace.CS_LINEAR_RGB:
         if (linearRGBProfile == null) {
-            linearRGBProfile = getInstance("LINEAR_RGB.pf"); //$NON-NLS-1$
+            linearRGBProfile = getPredefinedInstance("LINEAR_RGB.pf", cspace); //$NON-NLS-1$
         }
         return linearRGBProfile;
       }
@@ -815,13 +815,30 @@ public class TICC_Profile implements Serializable {
         throw new IllegalArgumentException (Messages.getString("awt.165")); //$NON-NLS-1$
     }
 
+    /**
+     * Loads the predefined profile, if the .pf file is not
+     * available the profile is created by the CMM
+     */
+    private static TICC_Profile getPredefinedInstance(String fileName, int cspace)
+            throws IOException {
+        try {
+            return getInstance(fileName);
+        } catch (IOException e) {
+            byte data[] = JavaCMM.getPredefinedProfileData(cspace);
+            if (data == null) {
+                throw e;
+            }
+            return getInstance(data);
+        }
+    }
+
     private long getProfileHandle() {
         handleStolen = true;
         return profileHandle;
     }
 
     private int getDataSize(int tagSignature) {
-        return NativeCMM.cmmGetProfileElementSize(
+        return JavaCMM.cmmGetProfileElementSize(
                 profileHandle,
                 tagSignature
             );
@@ -25,9 +25,9 @@ import java.awt.geom.Rectangle2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.*;
-import java.util.Arrays;
+import org.teavm.classlib.java.awt.TRectangle;
 
-import org.apache.harmony.awt.gl.AwtImageBackdoorAccessor;
+import org.apache.harmony.awt.gl.image.JavaAffineTransformer;
 import org.apache.harmony.awt.internal.nls.Messages;
 
 public class TAffineTransformOp implements TBufferedImageOp, TRasterOp {
@@ -39,11 +39,6 @@ public class TAffineTransformOp implements TBufferedImageOp, TRasterOp {
     private AffineTransform at;
     private RenderingHints hints;
 
-    static {
-        // TODO - uncomment
-        //System.loadLibrary("imageops");
-    }
-
     public TAffineTransformOp(AffineTransform xform, RenderingHints hints) {
         this(xform, TYPE_NEAREST_NEIGHBOR);
         this.hints = hints;
@@ -234,12 +229,10 @@ public class TAffineTransformOp implements TBufferedImageOp, TRasterOp {
         }
 
         // Skip alpha channel for TYPE_INT_RGB images
-        if (slowFilter(src.getRaster(), dst.getRaster()) != 0) {
+        if (javaFilter(src.getRaster(), dst.getRaster()) != 0 &&
+                slowFilter(src.getRaster(), dst.getRaster()) != 0) {
             // awt.21F=Unable to transform source
             throw new TImagingOpException (Messages.getString("awt.21F")); //$NON-NLS-1$
-        // TODO - uncomment
-        //if (ippFilter(src.getRaster(), dst.getRaster(), src.getType()) != 0)
-            //throw new ImagingOpException ("Unable to transform source");
         }
 
         if (finalDst != null) {
@@ -266,177 +259,35 @@ public class TAffineTransformOp implements TBufferedImageOp, TRasterOp {
             throw new IllegalArgumentException(Messages.getString("awt.253")); //$NON-NLS-1$
         }
 
-        if (slowFilter(src, dst) != 0) {
+        if (javaFilter(src, dst) != 0 && slowFilter(src, dst) != 0) {
             // awt.21F=Unable to transform source
             throw new TImagingOpException(Messages.getString("awt.21F")); //$NON-NLS-1$
-        // TODO - uncomment
-        //if (ippFilter(src, dst, BufferedImage.TYPE_CUSTOM) != 0)
-        //    throw new ImagingOpException("Unable to transform source");
         }
 
         return dst;
     }
 
-    // TODO remove when method is used
-    @SuppressWarnings("unused")
-    private int ippFilter(TRaster src, TWritableRaster dst, int imageType) {
-        int srcStride, dstStride;
-        boolean skipChannel = false;
-        int channels;
-        int offsets[] = null;
-
-        switch (imageType) {
-            case TBufferedImage.TYPE_INT_RGB:
-            case TBufferedImage.TYPE_INT_BGR: {
-                channels = 4;
-                srcStride = src.getWidth()*4;
-                dstStride = dst.getWidth()*4;
-                skipChannel = true;
-                break;
-            }
-
-            case TBufferedImage.TYPE_INT_ARGB:
-            case TBufferedImage.TYPE_INT_ARGB_PRE:
-            case TBufferedImage.TYPE_4BYTE_ABGR:
-            case TBufferedImage.TYPE_4BYTE_ABGR_PRE: {
-                channels = 4;
-                srcStride = src.getWidth()*4;
-                dstStride = dst.getWidth()*4;
-                break;
-            }
-
-            case TBufferedImage.TYPE_BYTE_GRAY:
-            case TBufferedImage.TYPE_BYTE_INDEXED: {
-                channels = 1;
-                srcStride = src.getWidth();
-                dstStride = dst.getWidth();
-                break;
-            }
-
-            case TBufferedImage.TYPE_3BYTE_BGR: {
-                channels = 3;
-                srcStride = src.getWidth()*3;
-                dstStride = dst.getWidth()*3;
-                break;
-            }
-
-            case TBufferedImage.TYPE_USHORT_GRAY: // TODO - could be done in native code?
-            case TBufferedImage.TYPE_USHORT_565_RGB:
-            case TBufferedImage.TYPE_USHORT_555_RGB:
-            case TBufferedImage.TYPE_BYTE_BINARY: {
-                return slowFilter(src, dst);
-            }
-
-            default: {
-                TSampleModel srcSM = src.getSampleModel();
-                TSampleModel dstSM = dst.getSampleModel();
-
-                if (
-                        srcSM instanceof TPixelInterleavedSampleModel &&
-                        dstSM instanceof TPixelInterleavedSampleModel
-                ) {
-                    // Check PixelInterleavedSampleModel
-                    if (
-                            srcSM.getDataType() != TDataBuffer.TYPE_BYTE ||
-                            dstSM.getDataType() != TDataBuffer.TYPE_BYTE
-                    ) {
-                        return slowFilter(src, dst);
-                    }
-
-                    channels = srcSM.getNumBands(); // Have IPP functions for 1, 3 and 4 channels
-                    if (channels != 1 && channels != 3 && channels != 4) {
-                        return slowFilter(src, dst);
-                    }
-
-                    int dataTypeSize = TDataBuffer.getDataTypeSize(srcSM.getDataType()) / 8;
-
-                    srcStride = ((TComponentSampleModel) srcSM).getScanlineStride() * dataTypeSize;
-                    dstStride = ((TComponentSampleModel) dstSM).getScanlineStride() * dataTypeSize;
-                } else if (
-                        srcSM instanceof TSinglePixelPackedSampleModel &&
-                        dstSM instanceof TSinglePixelPackedSampleModel
-                ) {
-                    // Check SinglePixelPackedSampleModel
-                    TSinglePixelPackedSampleModel sppsm1 = (TSinglePixelPackedSampleModel) srcSM;
-                    TSinglePixelPackedSampleModel sppsm2 = (TSinglePixelPackedSampleModel) dstSM;
-
-                    // No IPP function for this type
-                    if (sppsm1.getDataType() == TDataBuffer.TYPE_USHORT) {
-                        return slowFilter(src, dst);
-                    }
-
-                    channels = sppsm1.getNumBands();
-                    // Have IPP functions for 1, 3 and 4 channels
-                    if (channels != 1 && channels != 3 && channels != 4) {
-                        return slowFilter(src, dst);
-                    }
-
-                    // Check compatibility of sample models
-                    if (
-                            sppsm1.getDataType() != sppsm2.getDataType() ||
-                            !Arrays.equals(sppsm1.getBitOffsets(), sppsm2.getBitOffsets()) ||
-                            !Arrays.equals(sppsm1.getBitMasks(), sppsm2.getBitMasks())
-                    ) {
-                        return slowFilter(src, dst);
-                    }
-
-                    for (int i=0; i<channels; i++) {
-                        if (sppsm1.getSampleSize(i) != 8) {
-                            return slowFilter(src, dst);
-                        }
-                    }
-
-                    if (channels == 3) {
-                        channels = 4;
-                    }
-
-                    int dataTypeSize = TDataBuffer.getDataTypeSize(sppsm1.getDataType()) / 8;
-
-                    srcStride = sppsm1.getScanlineStride() * dataTypeSize;
-                    dstStride = sppsm2.getScanlineStride() * dataTypeSize;
-                } else {
-                    return slowFilter(src, dst);
-                }
-
-                // Fill offsets if there's a child raster
-                if (src.getParent() != null || dst.getParent() != null) {
-                    if (
-                            src.getSampleModelTranslateX() != 0 ||
-                            src.getSampleModelTranslateY() != 0 ||
-                            dst.getSampleModelTranslateX() != 0 ||
-                            dst.getSampleModelTranslateY() != 0
-                    ) {
-                        offsets = new int[4];
-                        offsets[0] = -src.getSampleModelTranslateX() + src.getMinX();
-                        offsets[1] = -src.getSampleModelTranslateY() + src.getMinY();
-                        offsets[2] = -dst.getSampleModelTranslateX() + dst.getMinX();
-                        offsets[3] = -dst.getSampleModelTranslateY() + dst.getMinY();
-                    }
-                }
-            }
-        }
-
-        double m00 = at.getScaleX();
-        double m01 = at.getShearX();
-        double m02 = at.getTranslateX();
-        double m10 = at.getShearY();
-        double m11 = at.getScaleY();
-        double m12 = at.getTranslateY();
+    /**
+     * Transforms the rasters in pure Java on their data arrays
+     * @return non-zero if the rasters are not supported
+     */
+    private int javaFilter(TRaster src, TWritableRaster dst) {
+        TRectangle dstBounds = dst.getBounds();
+        Rectangle normDstBounds = new Rectangle(0, 0, dstBounds.width, dstBounds.height);
+        Rectangle bounds = getBounds2D(src).getBounds().intersection(normDstBounds);
 
-        Object srcData, dstData;
-        AwtImageBackdoorAccessor dbAccess = AwtImageBackdoorAccessor.getInstance();
+        AffineTransform inv = null;
         try {
-            srcData = dbAccess.getData(src.getDataBuffer());
-            dstData = dbAccess.getData(dst.getDataBuffer());
-        } catch (IllegalArgumentException e) {
-            return -1; // Unknown data buffer type
+             inv = at.createInverse();
+        } catch (NoninvertibleTransformException e) {
+            return -1;
         }
 
-        return ippAffineTransform(
-            m00, m01, m02, m10, m11, m12,
-            srcData, src.getWidth(), src.getHeight(), srcStride,
-            dstData, dst.getWidth(), dst.getHeight(), dstStride,
-            iType, channels, skipChannel, offsets);
+        double[] m = new double[6];
+        inv.getMatrix(m);
+
+        return JavaAffineTransformer.filter(m, iType, src, dst,
+                bounds.x, bounds.y, bounds.width, bounds.height);
     }
 
     private int slowFilter(TRaster src, TWritableRaster dst) {
@@ -513,13 +364,4 @@ public class TAffineTransformOp implements TBufferedImageOp, TRasterOp {
 
         return 0;
     }
-
-    private native int ippAffineTransform(
-            double m00, double m01,
-            double m02, double m10,
-            double m11, double m12,
-            Object src, int srcWidth, int srcHeight, int srcStride,
-            Object dst, int dstWidth, int dstHeight, int dstStride,
-            int iType, int channels, boolean skipChannel,
-            int offsets[]);
-}
\ No newline at end of file
+}
@@ -141,4 +141,25 @@ class TAwtImageBackdoorAccessorImpl extends AwtImageBackdoorAccessor {
     public void releaseData(TDataBuffer db) {
         db.releaseData();
     }
+
+    @Override
+    public int[] peekDataInt(TDataBuffer db) {
+        if (db instanceof TDataBufferInt){
+            return ((TDataBufferInt)db).data[0];
+        }
+        return null;
+    }
+
+    @Override
+    public byte[] peekDataByte(TDataBuffer db) {
+        if (db instanceof TDataBufferByte){
+            return ((TDataBufferByte)db).data[0];
+        }
+        return null;
+    }
+
+    @Override
+    public void notifyChanged(TDataBuffer db) {
+        db.notifyChanged();
+    }
 }
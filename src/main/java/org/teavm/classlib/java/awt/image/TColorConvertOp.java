@@ -20,12 +20,7 @@
 package org.teavm.classlib.java.awt.image;
 
 
-import java.awt.Graphics2D;
-import java.awt.Point;
 import java.awt.RenderingHints;
-import java.awt.color.ColorSpace;
-import java.awt.color.ICC_ColorSpace;
-import java.awt.color.ICC_Profile;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
@@ -34,16 +29,21 @@ import org.apache.harmony.awt.gl.color.ColorConverter;
 import org.apache.harmony.awt.gl.color.ColorScaler;
 import org.apache.harmony.awt.gl.color.ICC_Transform;
 import org.apache.harmony.awt.internal.nls.Messages;
+import org.teavm.classlib.java.awt.TGraphics2D;
+import org.teavm.classlib.java.awt.TPoint;
+import org.teavm.classlib.java.awt.color.TColorSpace;
+import org.teavm.classlib.java.awt.color.TICC_ColorSpace;
+import org.teavm.classlib.java.awt.color.TICC_Profile;
 
 public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
     // Unused but required by interfaces
     RenderingHints renderingHints;
         
-    // Sequence consisting of ColorSpace and ICC_Profile elements
-    Object conversionSequence[] = new ICC_Profile[0]; // To eliminate checks for null
+    // Sequence consisting of TColorSpace and TICC_Profile elements
+    Object conversionSequence[] = new TICC_Profile[0]; // To eliminate checks for null
     
     // Not null if ColorConvertOp is constructed from the array of ICC profiles
-    private ICC_Profile midProfiles[];   
+    private TICC_Profile midProfiles[];   
 
     private final ColorConverter cc = new ColorConverter();
     private final ICC_TransfomCreator tCreator = new ICC_TransfomCreator();
@@ -62,7 +62,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
          * @param convSeq
          * @return
          */
-        public ICC_Transform getTransform(ICC_Profile src, ICC_Profile dst, ICC_Profile convSeq[]) {
+        public ICC_Transform getTransform(TICC_Profile src, TICC_Profile dst, TICC_Profile convSeq[]) {
             if (transform != null &&
                src == transform.getSrc() && 
                dst == transform.getDst()) {
@@ -83,12 +83,12 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
                 }
             }
             
-            ICC_Profile profiles[];
+            TICC_Profile profiles[];
             int nProfiles = length + srcFlg + dstFlg;
             if (nProfiles == length) {
                 profiles = convSeq;
             } else {
-                profiles = new ICC_Profile[nProfiles];
+                profiles = new TICC_Profile[nProfiles];
                 int pos = 0;
                 if (srcFlg != 0) {
                     profiles[pos++] = src;
@@ -117,7 +117,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             ArrayList<Object> sequence = new ArrayList<Object>(10);         
 
             // We need this profile anyway
-            ICC_Profile xyzProfile = ICC_Profile.getInstance(ColorSpace.CS_CIEXYZ);
+            TICC_Profile xyzProfile = TICC_Profile.getInstance(TColorSpace.CS_CIEXYZ);
 
             Object conversionFirst = null, conversionLast = null;
             int conversionLength = conversionSequence.length;
@@ -129,7 +129,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             boolean iccSequenceStarted = false;
             
             if (src != conversionFirst && src != null) {
-                if (src instanceof ICC_Profile) {
+                if (src instanceof TICC_Profile) {
                     profiles.add(src);
                     iccSequenceStarted = true;
                 } else {
@@ -141,7 +141,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             }
             
             for (int i=0; i<conversionLength; i++) {
-                if (conversionSequence[i] instanceof ICC_Profile) {
+                if (conversionSequence[i] instanceof TICC_Profile) {
                     profiles.add(conversionSequence[i]);
                     iccSequenceStarted = true;
                 } else if (iccSequenceStarted) {
@@ -161,7 +161,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
                     // If only one profile left we skip the transform -
                     // it can be only CIEXYZ
                     if (profiles.size() > 1) {
-                        sequence.add(new ICC_Transform(profiles.toArray(new ICC_Profile[0])));
+                        sequence.add(new ICC_Transform(profiles.toArray(new TICC_Profile[0])));
 
                         // Add non-ICC color space to the sequence
                         sequence.add(conversionSequence[i]);
@@ -176,7 +176,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             }
             
             if (dst != conversionLast && dst != null) { // Add last profile if needed
-                if (dst instanceof ICC_Profile) {
+                if (dst instanceof TICC_Profile) {
                     profiles.add(dst);
                     iccSequenceStarted = true;
                 } else if (iccSequenceStarted) {
@@ -187,8 +187,8 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             }
             
             if (iccSequenceStarted) { // Make last transform if needed
-                sequence.add(new ICC_Transform(profiles.toArray(new ICC_Profile[0])));
-                if (dst != null && !(dst instanceof ICC_Profile)) {
+                sequence.add(new ICC_Transform(profiles.toArray(new TICC_Profile[0])));
+                if (dst != null && !(dst instanceof TICC_Profile)) {
                     sequence.add(dst); // Add last non-ICC color space to the
                                         // sequence
                 }
@@ -211,7 +211,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
                             maxComponents : 
                             t.getNumOutputChannels() + 1;
                 } else {
-                    ColorSpace cs = (ColorSpace) o;
+                    TColorSpace cs = (TColorSpace) o;
                     maxComponents = 
                         (maxComponents > cs.getNumComponents() + 1) ?
                             maxComponents : 
@@ -223,37 +223,37 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         }
     }
     
-    public TColorConvertOp(ColorSpace srcCS, ColorSpace dstCS, RenderingHints hints) {
+    public TColorConvertOp(TColorSpace srcCS, TColorSpace dstCS, RenderingHints hints) {
         if (srcCS == null || dstCS == null) {
             throw new NullPointerException(Messages.getString("awt.25B")); //$NON-NLS-1$
         }
         
         renderingHints = hints;
         
-        boolean srcICC = srcCS instanceof ICC_ColorSpace;
-        boolean dstICC = dstCS instanceof ICC_ColorSpace;
+        boolean srcICC = srcCS instanceof TICC_ColorSpace;
+        boolean dstICC = dstCS instanceof TICC_ColorSpace;
         
         if (srcICC && dstICC) {
-            conversionSequence = new ICC_Profile[2];
+            conversionSequence = new TICC_Profile[2];
         } else {
             conversionSequence = new Object[2];
             isICC = false;
         }
         
         if (srcICC) {
-            conversionSequence[0] = ((ICC_ColorSpace) srcCS).getProfile();
+            conversionSequence[0] = ((TICC_ColorSpace) srcCS).getProfile();
         } else {
             conversionSequence[0] = srcCS;
         }
         
         if (dstICC) {
-            conversionSequence[1] = ((ICC_ColorSpace) dstCS).getProfile();
+            conversionSequence[1] = ((TICC_ColorSpace) dstCS).getProfile();
         } else {
             conversionSequence[1] = dstCS;
         }
     }
 
-    public TColorConvertOp(ICC_Profile profiles[], RenderingHints hints) {
+    public TColorConvertOp(TICC_Profile profiles[], RenderingHints hints) {
         if (profiles == null) {
             throw new NullPointerException(Messages.getString("awt.25C")); //$NON-NLS-1$
         }
@@ -264,7 +264,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         // Store it only to return back
         midProfiles = profiles;  
         
-        conversionSequence = new ICC_Profile[midProfiles.length];
+        conversionSequence = new TICC_Profile[midProfiles.length];
         
         // Add profiles to the conversion sequence
         for (int i=0, length=midProfiles.length; i<length; i++) {
@@ -272,16 +272,16 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         }       
     }
 
-    public TColorConvertOp(ColorSpace cs, RenderingHints hints) {
+    public TColorConvertOp(TColorSpace cs, RenderingHints hints) {
         if (cs == null) {
             throw new NullPointerException(Messages.getString("awt.25B")); //$NON-NLS-1$
         }
         
         renderingHints = hints;
                         
-        if (cs instanceof ICC_ColorSpace) {
-            conversionSequence = new ICC_Profile[1];
-            conversionSequence[0] = ((ICC_ColorSpace) cs).getProfile();
+        if (cs instanceof TICC_ColorSpace) {
+            conversionSequence = new TICC_Profile[1];
+            conversionSequence[0] = ((TICC_ColorSpace) cs).getProfile();
         } else {
             conversionSequence = new Object[1];
             conversionSequence[0] = cs;
@@ -298,30 +298,30 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             throw new IllegalArgumentException(Messages.getString("awt.25D")); //$NON-NLS-1$
         }
 
-        ICC_Profile srcPf = null, dstPf = null; // unused if isICC is false
+        TICC_Profile srcPf = null, dstPf = null; // unused if isICC is false
         int nSrcColorComps, nDstColorComps;
         Object first = conversionSequence[0];
         Object last = conversionSequence[conversionSequence.length - 1];
         
         // Get the number of input/output color components
         if (isICC) {
-            srcPf = (ICC_Profile) first;
-            dstPf = (ICC_Profile) last;
+            srcPf = (TICC_Profile) first;
+            dstPf = (TICC_Profile) last;
             nSrcColorComps = srcPf.getNumComponents();
             nDstColorComps = dstPf.getNumComponents();
         } else {
-            if (first instanceof ICC_Profile) {
-                srcPf = (ICC_Profile) first;
+            if (first instanceof TICC_Profile) {
+                srcPf = (TICC_Profile) first;
                 nSrcColorComps = srcPf.getNumComponents();
             } else {
-                nSrcColorComps = ((ColorSpace) first).getNumComponents();
+                nSrcColorComps = ((TColorSpace) first).getNumComponents();
             }
             
-            if (last instanceof ICC_Profile) {
-                dstPf = (ICC_Profile) last;
+            if (last instanceof TICC_Profile) {
+                dstPf = (TICC_Profile) last;
                 nDstColorComps = dstPf.getNumComponents();
             } else {
-                nDstColorComps = ((ColorSpace) last).getNumComponents();
+                nDstColorComps = ((TColorSpace) last).getNumComponents();
             }
         }
 
@@ -354,7 +354,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         if (isICC) {
             // Create transform
             ICC_Transform t = tCreator.getTransform(srcPf, dstPf, 
-                    (ICC_Profile[])conversionSequence); 
+                    (TICC_Profile[])conversionSequence); 
             cc.translateColor(t, src, dst);         
         } else {
             Object[] sequence = tCreator.getSequence(null, null);
@@ -365,12 +365,12 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             float tmpData[][] = scaler.scaleNormalize(src);
             
             // Get source and destination color spaces
-            ColorSpace srcCS = (srcPf == null) ? 
-                    (ColorSpace) first:
-                    new ICC_ColorSpace(srcPf);
-            ColorSpace dstCS = (dstPf == null) ? 
-                    (ColorSpace) last:
-                    new ICC_ColorSpace(dstPf);
+            TColorSpace srcCS = (srcPf == null) ? 
+                    (TColorSpace) first:
+                    new TICC_ColorSpace(srcPf);
+            TColorSpace dstCS = (dstPf == null) ? 
+                    (TColorSpace) last:
+                    new TICC_ColorSpace(dstPf);
                     
             applySequence(sequence, tmpData, srcCS, dstCS);
             
@@ -398,10 +398,10 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         
         // Get destination color space
         Object destination = conversionSequence[nSpaces-1];
-        ColorSpace dstCS = 
-            (destination instanceof ColorSpace) ? 
-                    (ColorSpace) destination : 
-                    new ICC_ColorSpace((ICC_Profile) destination);
+        TColorSpace dstCS = 
+            (destination instanceof TColorSpace) ? 
+                    (TColorSpace) destination : 
+                    new TICC_ColorSpace((TICC_Profile) destination);
         
         TColorModel srcCM = src.getColorModel();     
         TColorModel dstCM = new TComponentColorModel(dstCS, 
@@ -426,7 +426,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         if (srcCM instanceof TIndexColorModel) {            
             src = ((TIndexColorModel) srcCM).convertToIntDiscrete(src.getRaster(), false);
         }
-        ColorSpace srcCS = srcCM.getColorSpace();        
+        TColorSpace srcCS = srcCM.getColorSpace();        
                 
         TBufferedImage res;
         boolean isDstIndex = false;
@@ -447,21 +447,21 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
             res = createCompatibleDestImage(src, null);
         }
         TColorModel dstCM = res.getColorModel();
-        ColorSpace dstCS = dstCM.getColorSpace();
+        TColorSpace dstCS = dstCM.getColorSpace();
         
-        ICC_Profile srcPf = null, dstPf = null;
-        if (srcCS instanceof ICC_ColorSpace) {
-            srcPf = ((ICC_ColorSpace)srcCS).getProfile();
+        TICC_Profile srcPf = null, dstPf = null;
+        if (srcCS instanceof TICC_ColorSpace) {
+            srcPf = ((TICC_ColorSpace)srcCS).getProfile();
         }
-        if (dstCS instanceof ICC_ColorSpace) {
-            dstPf = ((ICC_ColorSpace)dstCS).getProfile();
+        if (dstCS instanceof TICC_ColorSpace) {
+            dstPf = ((TICC_ColorSpace)dstCS).getProfile();
         }
         
         boolean isFullICC = isICC && srcPf != null && dstPf != null;
         
         if (isFullICC) {
             ICC_Transform t =
-                    tCreator.getTransform(srcPf, dstPf, (ICC_Profile[]) conversionSequence);
+                    tCreator.getTransform(srcPf, dstPf, (TICC_Profile[]) conversionSequence);
             cc.translateColor(t, src, res);
         } else { // Perform non-ICC transform
             Object sequence[] = tCreator.getSequence(
@@ -522,7 +522,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         }               
 
         if (isDstIndex) { // Convert image into indexed color
-            Graphics2D g2d = dst.createGraphics();
+            TGraphics2D g2d = dst.createGraphics();
             g2d.drawImage(res, 0, 0, null);
             g2d.dispose();
             return dst;
@@ -534,10 +534,10 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
     private void applySequence(
             Object sequence[], 
             float tmpData[][],
-            ColorSpace srcCS, 
-            ColorSpace dstCS
+            TColorSpace srcCS, 
+            TColorSpace dstCS
             ) {
-        ColorSpace xyzCS = ColorSpace.getInstance(ColorSpace.CS_CIEXYZ);
+        TColorSpace xyzCS = TColorSpace.getInstance(TColorSpace.CS_CIEXYZ);
         
         int numPixels = tmpData.length;
         
@@ -557,7 +557,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
                 ICC_Transform t = (ICC_Transform)element;
                 cc.translateColor(t, tmpData, null, null, numPixels);
             } else {
-                ColorSpace cs = (ColorSpace) element;
+                TColorSpace cs = (TColorSpace) element;
                 for (int k=0; k<numPixels; k++) {
                     tmpData[k] = cs.fromCIEXYZ(tmpData[k]);
                     tmpData[k] = cs.toCIEXYZ(tmpData[k]); 
@@ -593,10 +593,10 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         }
         
         Object lastCS = conversionSequence[nSpaces-1];
-        if (lastCS instanceof ColorSpace) {
-            nComps = ((ColorSpace) lastCS).getNumComponents();
+        if (lastCS instanceof TColorSpace) {
+            nComps = ((TColorSpace) lastCS).getNumComponents();
         } else {
-            nComps = ((ICC_Profile) lastCS).getNumComponents(); 
+            nComps = ((TICC_Profile) lastCS).getNumComponents(); 
         }
         
         // Calculate correct data type
@@ -611,7 +611,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
                 src.getWidth(),
                 src.getHeight(),
                 nComps,
-                new Point(src.getMinX(), src.getMinY())
+                new TPoint(src.getMinX(), src.getMinY())
             );
     }
 
@@ -623,7 +623,7 @@ public class TColorConvertOp implements TBufferedImageOp, TRasterOp {
         return src.getRaster().getBounds();
     }
 
-    public final ICC_Profile[] getICC_Profiles() {
+    public final TICC_Profile[] getICC_Profiles() {
         if (midProfiles != null) {
             return midProfiles;
         }
@@ -25,9 +25,8 @@ package org.teavm.classlib.java.awt.image;
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Arrays;
 
-import org.apache.harmony.awt.gl.AwtImageBackdoorAccessor;
+import org.apache.harmony.awt.gl.image.JavaConvolver;
 import org.apache.harmony.awt.internal.nls.Messages;
 
 public class TConvolveOp implements TBufferedImageOp, TRasterOp {
@@ -40,11 +39,6 @@ public class TConvolveOp implements TBufferedImageOp, TRasterOp {
     private int edgeCond;
     private RenderingHints rhs = null;
 
-    static {
-        // TODO
-        //System.loadLibrary("imageops");
-    }
-
     public TConvolveOp(TKernel kernel, int edgeCondition, RenderingHints hints) {
         this.kernel = kernel;
         this.edgeCond = edgeCondition;
@@ -130,12 +124,10 @@ public class TConvolveOp implements TBufferedImageOp, TRasterOp {
                 Messages.getString("awt.258", src.getNumBands(), dst.getNumBands())); //$NON-NLS-1$
         }
 
-        // TODO
-        //if (ippFilter(src, dst, TBufferedImage.TYPE_CUSTOM) != 0)
-            if (slowFilter(src, dst) != 0) {
-                // awt.21F=Unable to transform source
-                throw new TImagingOpException (Messages.getString("awt.21F")); //$NON-NLS-1$
-            }
+        if (javaFilter(src, dst) != 0 && slowFilter(src, dst) != 0) {
+            // awt.21F=Unable to transform source
+            throw new TImagingOpException (Messages.getString("awt.21F")); //$NON-NLS-1$
+        }
 
         return dst;
     }
@@ -280,12 +272,11 @@ public class TConvolveOp implements TBufferedImageOp, TRasterOp {
         }
 
         // Skip alpha channel for TYPE_INT_RGB images
-        // TODO
-        //if (ippFilter(src.getRaster(), dst.getRaster(), src.getType()) != 0)
-            if (slowFilter(src.getRaster(), dst.getRaster()) != 0) {
-                // awt.21F=Unable to transform source
-                throw new TImagingOpException (Messages.getString("awt.21F")); //$NON-NLS-1$
-            }
+        if (javaFilter(src.getRaster(), dst.getRaster()) != 0 &&
+                slowFilter(src.getRaster(), dst.getRaster()) != 0) {
+            // awt.21F=Unable to transform source
+            throw new TImagingOpException (Messages.getString("awt.21F")); //$NON-NLS-1$
+        }
 
         if (finalDst != null) {
             Graphics2D g = finalDst.createGraphics();
@@ -298,163 +289,13 @@ public class TConvolveOp implements TBufferedImageOp, TRasterOp {
         return finalDst;
     }
 
-    // TODO remove when this method is used
-    @SuppressWarnings("unused")
-    private int ippFilter(TRaster src, TWritableRaster dst, int imageType) {
-        int srcStride, dstStride;
-        boolean skipChannel = false;
-        int channels;
-        int offsets[] = null;
-
-        switch (imageType) {
-            case TBufferedImage.TYPE_INT_RGB:
-            case TBufferedImage.TYPE_INT_BGR: {
-                channels = 4;
-                srcStride = src.getWidth()*4;
-                dstStride = dst.getWidth()*4;
-                skipChannel = true;
-                break;
-            }
-
-            case TBufferedImage.TYPE_INT_ARGB:
-            case TBufferedImage.TYPE_INT_ARGB_PRE:
-            case TBufferedImage.TYPE_4BYTE_ABGR:
-            case TBufferedImage.TYPE_4BYTE_ABGR_PRE: {
-                channels = 4;
-                srcStride = src.getWidth()*4;
-                dstStride = dst.getWidth()*4;
-                break;
-            }
-
-            case TBufferedImage.TYPE_BYTE_GRAY: {
-                channels = 1;
-                srcStride = src.getWidth();
-                dstStride = dst.getWidth();
-                break;
-            }
-
-            case TBufferedImage.TYPE_3BYTE_BGR: {
-                channels = 3;
-                srcStride = src.getWidth()*3;
-                dstStride = dst.getWidth()*3;
-                break;
-            }
-
-            case TBufferedImage.TYPE_USHORT_GRAY: // TODO - could be done in native code?
-            case TBufferedImage.TYPE_USHORT_565_RGB:
-            case TBufferedImage.TYPE_USHORT_555_RGB:
-            case TBufferedImage.TYPE_BYTE_BINARY: {
-                return slowFilter(src, dst);
-            }
-
-            default: {
-                TSampleModel srcSM = src.getSampleModel();
-                TSampleModel dstSM = dst.getSampleModel();
-
-                if (
-                        srcSM instanceof TPixelInterleavedSampleModel &&
-                        dstSM instanceof TPixelInterleavedSampleModel
-                ) {
-                    // Check TPixelInterleavedSampleModel
-                    if (
-                            srcSM.getDataType() != TDataBuffer.TYPE_BYTE ||
-                            dstSM.getDataType() != TDataBuffer.TYPE_BYTE
-                    ) {
-                        return slowFilter(src, dst);
-                    }
-
-                    channels = srcSM.getNumBands(); // Have IPP functions for 1, 3 and 4 channels
-                    if (!(channels == 1 || channels == 3 || channels == 4)) {
-                        return slowFilter(src, dst);
-                    }
-
-                    srcStride = ((TComponentSampleModel) srcSM).getScanlineStride();
-                    dstStride = ((TComponentSampleModel) dstSM).getScanlineStride();
-                } else if (
-                        srcSM instanceof TSinglePixelPackedSampleModel &&
-                        dstSM instanceof TSinglePixelPackedSampleModel
-                ) {
-                    // Check TSinglePixelPackedSampleModel
-                    TSinglePixelPackedSampleModel sppsm1 = (TSinglePixelPackedSampleModel) srcSM;
-                    TSinglePixelPackedSampleModel sppsm2 = (TSinglePixelPackedSampleModel) dstSM;
-
-                    channels = sppsm1.getNumBands();
-
-                     // TYPE_INT_RGB, TYPE_INT_ARGB...
-                    if (
-                            sppsm1.getDataType() != TDataBuffer.TYPE_INT ||
-                            sppsm2.getDataType() != TDataBuffer.TYPE_INT ||
-                            !(channels == 3 || channels == 4)
-                    ) {
-                        return slowFilter(src, dst);
-                    }
-
-                    // Check compatibility of sample models
-                    if (
-                            !Arrays.equals(sppsm1.getBitOffsets(), sppsm2.getBitOffsets()) ||
-                            !Arrays.equals(sppsm1.getBitMasks(), sppsm2.getBitMasks())
-                    ) {
-                        return slowFilter(src, dst);
-                    }
-
-                    for (int i=0; i<channels; i++) {
-                        if (sppsm1.getSampleSize(i) != 8) {
-                            return slowFilter(src, dst);
-                        }
-                    }
-
-                    if (channels == 3) { // Cannot skip channel, don't know which is alpha...
-                        channels = 4;
-                    }
-
-                    srcStride = sppsm1.getScanlineStride() * 4;
-                    dstStride = sppsm2.getScanlineStride() * 4;
-                } else {
-                    return slowFilter(src, dst);
-                }
-
-                // Fill offsets if there's a child raster
-                if (src.getParent() != null || dst.getParent() != null) {
-                    if (
-                            src.getSampleModelTranslateX() != 0 ||
-                            src.getSampleModelTranslateY() != 0 ||
-                            dst.getSampleModelTranslateX() != 0 ||
-                            dst.getSampleModelTranslateY() != 0
-                    ) {
-                        offsets = new int[4];
-                        offsets[0] = -src.getSampleModelTranslateX() + src.getMinX();
-                        offsets[1] = -src.getSampleModelTranslateY() + src.getMinY();
-                        offsets[2] = -dst.getSampleModelTranslateX() + dst.getMinX();
-                        offsets[3] = -dst.getSampleModelTranslateY() + dst.getMinY();
-                    }
-                }
-            }
-        }
-
-        Object srcData, dstData;
-        AwtImageBackdoorAccessor dbAccess = AwtImageBackdoorAccessor.getInstance();
-        try {
-            srcData = dbAccess.getData(src.getDataBuffer());
-            dstData = dbAccess.getData(dst.getDataBuffer());
-        } catch (IllegalArgumentException e) {
-            return -1; // Unknown data buffer type
-        }
-
-        return ippFilter32f(
-            kernel.data, kernel.getWidth(), kernel.getHeight(),
-            kernel.getXOrigin(), kernel.getYOrigin(), edgeCond,
-            srcData, src.getWidth(), src.getHeight(), srcStride,
-            dstData, dst.getWidth(), dst.getHeight(), dstStride,
-            channels, skipChannel, offsets
-        );
+    /**
+     * Convolves the rasters in pure Java on their data arrays
+     * @return non-zero if the rasters are not supported
+     */
+    private int javaFilter(TRaster src, TWritableRaster dst) {
+        return JavaConvolver.filter(kernel.data, kernel.getWidth(), kernel.getHeight(),
+                kernel.getXOrigin(), kernel.getYOrigin(), edgeCond == EDGE_NO_OP,
+                src, dst);
     }
-
-    private native int ippFilter32f(
-                float kernel[], int kWidth, int kHeight,
-                int anchorX, int anchorY, int borderType,
-                Object src, int srcWidth, int srcHeight, int srcStride,
-                Object dst, int dstWidth, int dstHeight, int dstStride,
-                int channels, boolean skipChannel, int offsets[]
-            );
 }
-
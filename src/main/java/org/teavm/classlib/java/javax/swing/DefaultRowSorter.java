@@ -0,0 +1,683 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.swing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.harmony.x.swing.Utilities;
+import org.apache.harmony.x.swing.internal.nls.Messages;
+
+/**
+ * RowSorter working over a grid of values.
+ * <p>
+ * The view order is kept in an array of model indices, and its inverse is
+ * rebuilt on demand, so both index conversions are array lookups. The sort
+ * values of the sorted columns are fetched once and kept in per-column
+ * arrays along with the comparators, so the sort itself doesn't call the
+ * model. Inserted rows are placed with a binary search, deleted rows are
+ * dropped from the order, and updated rows are only moved if they went out
+ * of order with their neighbours or changed their filter state.
+ */
+public abstract class DefaultRowSorter<M, I> extends RowSorter<M> {
+    /**
+     * Changes of more than 1/INCREMENTAL_RATIO of the rows are handled by
+     * sorting all the rows again.
+     */
+    private static final int INCREMENTAL_RATIO = 8;
+
+    protected abstract static class ModelWrapper<M, I> {
+        protected ModelWrapper() {
+        }
+
+        public abstract M getModel();
+
+        public abstract int getColumnCount();
+
+        public abstract int getRowCount();
+
+        public abstract Object getValueAt(int row, int column);
+
+        public String getStringValueAt(final int row, final int column) {
+            Object value = getValueAt(row, column);
+            return value != null ? value.toString() : "";
+        }
+
+        public abstract I getIdentifier(int row);
+    }
+
+    private ModelWrapper<M, I> modelWrapper;
+    private List<? extends SortKey> sortKeys = Collections.<SortKey>emptyList();
+    private Comparator<?>[] comparators;
+    private boolean[] unsortable;
+    private int maxSortKeys = 3;
+    private boolean sortsOnUpdates;
+    private RowFilter<? super M, ? super I> filter;
+    private FilterEntry filterEntry;
+
+    private int modelRowCount;
+    private boolean sorted;
+
+    /**
+     * Model indices in the view order, null if the view shows all the model
+     * rows in the model order.
+     */
+    private int[] viewToModel;
+    private int viewRowCount;
+
+    /**
+     * View indices of the model rows, -1 for the filtered out rows. It is
+     * null when it needs to be rebuilt from viewToModel.
+     */
+    private int[] modelToView;
+
+    private int[] keyColumns;
+    private boolean[] keyDescending;
+    private boolean[] keyToString;
+    private Comparator<Object>[] keyComparators;
+    private Object[][] keyValues;
+
+    public DefaultRowSorter() {
+    }
+
+    protected final void setModelWrapper(final ModelWrapper<M, I> modelWrapper) {
+        if (modelWrapper == null) {
+            throw new IllegalArgumentException(Messages.getString("swing.16")); //$NON-NLS-1$
+        }
+        ModelWrapper<M, I> oldWrapper = this.modelWrapper;
+        this.modelWrapper = modelWrapper;
+        if (oldWrapper != null) {
+            modelStructureChanged();
+        } else {
+            modelRowCount = modelWrapper.getRowCount();
+        }
+    }
+
+    protected final ModelWrapper<M, I> getModelWrapper() {
+        return modelWrapper;
+    }
+
+    @Override
+    public final M getModel() {
+        return modelWrapper.getModel();
+    }
+
+    public void setSortable(final int column, final boolean sortable) {
+        checkColumn(column);
+        if (unsortable == null || unsortable.length <= column) {
+            boolean[] flags = new boolean[modelWrapper.getColumnCount()];
+            if (unsortable != null) {
+                System.arraycopy(unsortable, 0, flags, 0, unsortable.length);
+            }
+            unsortable = flags;
+        }
+        unsortable[column] = !sortable;
+    }
+
+    public boolean isSortable(final int column) {
+        checkColumn(column);
+        return unsortable == null || unsortable.length <= column || !unsortable[column];
+    }
+
+    @Override
+    public void setSortKeys(final List<? extends SortKey> keys) {
+        List<SortKey> newKeys = new ArrayList<SortKey>();
+        if (keys != null) {
+            for (int i = 0; i < keys.size(); i++) {
+                SortKey key = keys.get(i);
+                if (key == null) {
+                    throw new IllegalArgumentException();
+                }
+                if (key.getColumn() < 0 || key.getColumn() >= modelWrapper.getColumnCount()) {
+                    throw new IllegalArgumentException(Messages.getString("swing.B7", key.getColumn())); //$NON-NLS-1$
+                }
+                newKeys.add(key);
+            }
+        }
+        if (newKeys.equals(sortKeys)) {
+            return;
+        }
+        sortKeys = Collections.unmodifiableList(newKeys);
+        fireSortOrderChanged();
+        sort();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    public void setMaxSortKeys(final int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException(Messages.getString("swing.B8")); //$NON-NLS-1$
+        }
+        maxSortKeys = max;
+    }
+
+    public int getMaxSortKeys() {
+        return maxSortKeys;
+    }
+
+    public void setSortsOnUpdates(final boolean sortsOnUpdates) {
+        this.sortsOnUpdates = sortsOnUpdates;
+    }
+
+    public boolean getSortsOnUpdates() {
+        return sortsOnUpdates;
+    }
+
+    public void setRowFilter(final RowFilter<? super M, ? super I> filter) {
+        this.filter = filter;
+        sort();
+    }
+
+    public RowFilter<? super M, ? super I> getRowFilter() {
+        return filter;
+    }
+
+    @Override
+    public void toggleSortOrder(final int column) {
+        checkColumn(column);
+        if (!isSortable(column)) {
+            return;
+        }
+        List<SortKey> keys = new ArrayList<SortKey>(getSortKeys());
+        SortKey newKey = new SortKey(column, SortOrder.ASCENDING);
+        for (int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            if (key.getColumn() == column) {
+                if (i == 0 && key.getSortOrder() == SortOrder.ASCENDING) {
+                    newKey = new SortKey(column, SortOrder.DESCENDING);
+                }
+                keys.remove(i);
+                break;
+            }
+        }
+        keys.add(0, newKey);
+        while (keys.size() > getMaxSortKeys()) {
+            keys.remove(keys.size() - 1);
+        }
+        setSortKeys(keys);
+    }
+
+    @Override
+    public int convertRowIndexToView(final int index) {
+        if (index < 0 || index >= modelRowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B6", index)); //$NON-NLS-1$
+        }
+        return viewToModel == null ? index : getModelToView()[index];
+    }
+
+    @Override
+    public int convertRowIndexToModel(final int index) {
+        if (index < 0 || index >= getViewRowCount()) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B6", index)); //$NON-NLS-1$
+        }
+        return viewToModel == null ? index : viewToModel[index];
+    }
+
+    public void sort() {
+        sorted = true;
+        int[] oldViewToModel = getViewToModel();
+        boolean wasTransformed = viewToModel != null;
+        modelRowCount = modelWrapper.getRowCount();
+        modelToView = null;
+        cacheSortKeys();
+        if (keyColumns.length == 0 && filter == null) {
+            viewToModel = null;
+            keyValues = null;
+            if (wasTransformed) {
+                fireRowSorterChanged(oldViewToModel);
+            }
+            return;
+        }
+
+        keyValues = new Object[keyColumns.length][];
+        for (int i = 0; i < keyColumns.length; i++) {
+            keyValues[i] = new Object[Math.max(modelRowCount, 1)];
+            for (int row = 0; row < modelRowCount; row++) {
+                keyValues[i][row] = fetchSortValue(row, i);
+            }
+        }
+
+        int[] rows = new int[Math.max(modelRowCount, 1)];
+        int count = 0;
+        for (int row = 0; row < modelRowCount; row++) {
+            if (include(row)) {
+                rows[count++] = row;
+            }
+        }
+        if (keyColumns.length > 0) {
+            mergeSort(rows, new int[count], 0, count);
+        }
+        viewToModel = rows;
+        viewRowCount = count;
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel == null ? modelWrapper.getRowCount() : viewRowCount;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return modelWrapper.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        comparators = null;
+        unsortable = null;
+        modelRowCount = modelWrapper.getRowCount();
+        if (sortKeys.isEmpty()) {
+            sort();
+        } else {
+            setSortKeys(null);
+        }
+    }
+
+    @Override
+    public void allRowsChanged() {
+        sort();
+    }
+
+    @Override
+    public void rowsInserted(final int firstRow, final int endRow) {
+        // Only the first inserted row is checked against the known rows
+        checkRange(firstRow, firstRow, modelRowCount + 1);
+        checkRange(firstRow, endRow, Integer.MAX_VALUE);
+        int count = endRow - firstRow + 1;
+        if (viewToModel == null) {
+            modelRowCount += count;
+            return;
+        }
+        if (!sorted || count > modelRowCount / INCREMENTAL_RATIO) {
+            sort();
+            return;
+        }
+
+        int[] oldViewToModel = getViewToModel();
+        for (int i = 0; i < viewRowCount; i++) {
+            if (viewToModel[i] >= firstRow) {
+                viewToModel[i] += count;
+            }
+        }
+        modelRowCount += count;
+        if (viewToModel.length < modelRowCount) {
+            viewToModel = grow(viewToModel, modelRowCount);
+        }
+        for (int i = 0; i < keyColumns.length; i++) {
+            Object[] values = keyValues[i];
+            if (values.length < modelRowCount) {
+                Object[] newValues = new Object[Math.max(modelRowCount, values.length + (values.length >> 1))];
+                System.arraycopy(values, 0, newValues, 0, modelRowCount - count);
+                values = newValues;
+                keyValues[i] = values;
+            }
+            System.arraycopy(values, firstRow, values, endRow + 1, modelRowCount - endRow - 1);
+            for (int row = firstRow; row <= endRow; row++) {
+                values[row] = fetchSortValue(row, i);
+            }
+        }
+        for (int row = firstRow; row <= endRow; row++) {
+            if (include(row)) {
+                insertInOrder(row);
+            }
+        }
+        modelToView = null;
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public void rowsDeleted(final int firstRow, final int endRow) {
+        checkRange(firstRow, endRow, modelRowCount);
+        int count = endRow - firstRow + 1;
+        if (viewToModel == null) {
+            modelRowCount -= count;
+            return;
+        }
+        if (!sorted) {
+            sort();
+            return;
+        }
+
+        int[] oldViewToModel = getViewToModel();
+        int newCount = 0;
+        for (int i = 0; i < viewRowCount; i++) {
+            int row = viewToModel[i];
+            if (row > endRow) {
+                viewToModel[newCount++] = row - count;
+            } else if (row < firstRow) {
+                viewToModel[newCount++] = row;
+            }
+        }
+        viewRowCount = newCount;
+        for (int i = 0; i < keyColumns.length; i++) {
+            Object[] values = keyValues[i];
+            System.arraycopy(values, endRow + 1, values, firstRow, modelRowCount - endRow - 1);
+            for (int row = modelRowCount - count; row < modelRowCount; row++) {
+                values[row] = null;
+            }
+        }
+        modelRowCount -= count;
+        modelToView = null;
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public void rowsUpdated(final int firstRow, final int endRow) {
+        checkRange(firstRow, endRow, modelRowCount);
+        if (viewToModel == null) {
+            return;
+        }
+        if (!getSortsOnUpdates()) {
+            sorted = false;
+            return;
+        }
+        if (!sorted || endRow - firstRow + 1 > modelRowCount / INCREMENTAL_RATIO) {
+            sort();
+            return;
+        }
+
+        for (int i = 0; i < keyColumns.length; i++) {
+            for (int row = firstRow; row <= endRow; row++) {
+                keyValues[i][row] = fetchSortValue(row, i);
+            }
+        }
+        if (isInPlace(firstRow, endRow)) {
+            return;
+        }
+
+        int[] oldViewToModel = getViewToModel();
+        int newCount = 0;
+        for (int i = 0; i < viewRowCount; i++) {
+            int row = viewToModel[i];
+            if (row < firstRow || row > endRow) {
+                viewToModel[newCount++] = row;
+            }
+        }
+        viewRowCount = newCount;
+        for (int row = firstRow; row <= endRow; row++) {
+            if (include(row)) {
+                insertInOrder(row);
+            }
+        }
+        modelToView = null;
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public void rowsUpdated(final int firstRow, final int endRow, final int column) {
+        checkColumn(column);
+        if (filter == null && viewToModel != null && !isSortKeyColumn(column)) {
+            checkRange(firstRow, endRow, modelRowCount);
+            return;
+        }
+        rowsUpdated(firstRow, endRow);
+    }
+
+    public void setComparator(final int column, final Comparator<?> comparator) {
+        checkColumn(column);
+        if (comparators == null || comparators.length <= column) {
+            Comparator<?>[] newComparators = new Comparator<?>[modelWrapper.getColumnCount()];
+            if (comparators != null) {
+                System.arraycopy(comparators, 0, newComparators, 0, comparators.length);
+            }
+            comparators = newComparators;
+        }
+        comparators[column] = comparator;
+    }
+
+    public Comparator<?> getComparator(final int column) {
+        checkColumn(column);
+        return comparators != null && comparators.length > column ? comparators[column] : null;
+    }
+
+    protected boolean useToString(final int column) {
+        return getComparator(column) == null;
+    }
+
+    private void checkColumn(final int column) {
+        if (column < 0 || column >= modelWrapper.getColumnCount()) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B7", column)); //$NON-NLS-1$
+        }
+    }
+
+    private static void checkRange(final int firstRow, final int endRow, final int rowCount) {
+        if (firstRow < 0 || firstRow > endRow || endRow >= rowCount) {
+            throw new IndexOutOfBoundsException(Messages.getString("swing.B9", //$NON-NLS-1$
+                                                                   Integer.toString(firstRow),
+                                                                   Integer.toString(endRow)));
+        }
+    }
+
+    /**
+     * Resolves the comparators of the sort keys and whether their values
+     * are converted to strings, so they are not looked up for every
+     * comparison and every fetched value.
+     */
+    @SuppressWarnings("unchecked")
+    private void cacheSortKeys() {
+        int count = 0;
+        for (int i = 0; i < sortKeys.size(); i++) {
+            if (sortKeys.get(i).getSortOrder() != SortOrder.UNSORTED) {
+                count++;
+            }
+        }
+        keyColumns = new int[count];
+        keyDescending = new boolean[count];
+        keyToString = new boolean[count];
+        keyComparators = new Comparator[count];
+        int index = 0;
+        for (int i = 0; i < sortKeys.size(); i++) {
+            SortKey key = sortKeys.get(i);
+            if (key.getSortOrder() == SortOrder.UNSORTED) {
+                continue;
+            }
+            int column = key.getColumn();
+            Comparator<?> comparator = getComparator(column);
+            keyColumns[index] = column;
+            keyDescending[index] = key.getSortOrder() == SortOrder.DESCENDING;
+            keyToString[index] = useToString(column);
+            keyComparators[index] = comparator != null ? (Comparator<Object>)comparator : Utilities.COMPARABLE_COMPARATOR;
+            index++;
+        }
+    }
+
+    private boolean isSortKeyColumn(final int column) {
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (keyColumns[i] == column) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object fetchSortValue(final int row, final int key) {
+        int column = keyColumns[key];
+        return keyToString[key] ? modelWrapper.getStringValueAt(row, column)
+                                : modelWrapper.getValueAt(row, column);
+    }
+
+    private boolean include(final int row) {
+        if (filter == null) {
+            return true;
+        }
+        if (filterEntry == null) {
+            filterEntry = new FilterEntry();
+        }
+        filterEntry.row = row;
+        return filter.include(filterEntry);
+    }
+
+    private int compareRows(final int row1, final int row2) {
+        for (int i = 0; i < keyColumns.length; i++) {
+            Object value1 = keyValues[i][row1];
+            Object value2 = keyValues[i][row2];
+            int result;
+            if (value1 == null) {
+                result = value2 == null ? 0 : -1;
+            } else if (value2 == null) {
+                result = 1;
+            } else {
+                result = keyComparators[i].compare(value1, value2);
+            }
+            if (result != 0) {
+                return keyDescending[i] ? -result : result;
+            }
+        }
+        return row1 - row2;
+    }
+
+    private void mergeSort(final int[] rows, final int[] buffer, final int from, final int to) {
+        if (to - from < 8) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i;
+                while (j > from && compareRows(rows[j - 1], row) > 0) {
+                    rows[j] = rows[j - 1];
+                    j--;
+                }
+                rows[j] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, middle);
+        mergeSort(rows, buffer, middle, to);
+        if (compareRows(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compareRows(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    private void insertInOrder(final int row) {
+        int low = 0;
+        int high = viewRowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareRows(viewToModel[middle], row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        System.arraycopy(viewToModel, low, viewToModel, low + 1, viewRowCount - low);
+        viewToModel[low] = row;
+        viewRowCount++;
+    }
+
+    /**
+     * @return true if the updated rows kept their filter state and are still
+     *         in order with their neighbours in the view
+     */
+    private boolean isInPlace(final int firstRow, final int endRow) {
+        int[] toView = getModelToView();
+        for (int row = firstRow; row <= endRow; row++) {
+            int viewIndex = toView[row];
+            if (include(row) != (viewIndex != -1)) {
+                return false;
+            }
+            if (viewIndex == -1) {
+                continue;
+            }
+            if (viewIndex > 0 && compareRows(viewToModel[viewIndex - 1], row) > 0
+                || viewIndex < viewRowCount - 1 && compareRows(row, viewToModel[viewIndex + 1]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] getModelToView() {
+        if (modelToView == null || modelToView.length != modelRowCount) {
+            modelToView = new int[modelRowCount];
+            for (int i = 0; i < modelRowCount; i++) {
+                modelToView[i] = -1;
+            }
+            for (int i = 0; i < viewRowCount; i++) {
+                modelToView[viewToModel[i]] = i;
+            }
+        }
+        return modelToView;
+    }
+
+    /**
+     * @return copy of the current view order, the identity one if the rows
+     *         are neither sorted nor filtered
+     */
+    private int[] getViewToModel() {
+        int[] result;
+        if (viewToModel == null) {
+            result = new int[modelRowCount];
+            for (int i = 0; i < modelRowCount; i++) {
+                result[i] = i;
+            }
+        } else {
+            result = new int[viewRowCount];
+            System.arraycopy(viewToModel, 0, result, 0, viewRowCount);
+        }
+        return result;
+    }
+
+    private static int[] grow(final int[] array, final int minLength) {
+        int[] result = new int[Math.max(minLength, array.length + (array.length >> 1))];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    private class FilterEntry extends RowFilter.Entry<M, I> {
+        int row;
+
+        @Override
+        public M getModel() {
+            return modelWrapper.getModel();
+        }
+
+        @Override
+        public int getValueCount() {
+            return modelWrapper.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(final int index) {
+            return modelWrapper.getValueAt(row, index);
+        }
+
+        @Override
+        public String getStringValue(final int index) {
+            return modelWrapper.getStringValueAt(row, index);
+        }
+
+        @Override
+        public I getIdentifier() {
+            return modelWrapper.getIdentifier(row);
+        }
+    }
+}
@@ -61,6 +61,8 @@ import javax.swing.event.CellEditorListener;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
+import javax.swing.event.RowSorterEvent;
+import javax.swing.event.RowSorterListener;
 import javax.swing.event.TableColumnModelEvent;
 import javax.swing.event.TableColumnModelListener;
 import javax.swing.event.TableModelEvent;
@@ -75,8 +77,11 @@ import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
 import org.apache.harmony.luni.util.NotImplementedException;
 import org.apache.harmony.x.swing.StringConstants;
+import org.apache.harmony.x.swing.table.ColumnarCellRenderer;
+import org.apache.harmony.x.swing.table.ColumnarTableModel;
 
 import org.apache.harmony.x.swing.internal.nls.Messages;
 
@@ -748,16 +753,50 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
 
     private boolean dragEnabled;
 
-    private final Vector rowHeights = new Vector();
+    /**
+     * Heights of the rows, null while all the rows are rowHeight high, in
+     * which case row geometry is plain arithmetic.
+     */
+    private SizeSequence rowModel;
+
+    private int[] columnOffsets;
+
+    private TableColumnModel columnOffsetsModel;
 
     private boolean surrendersFocusOnKeystroke;
 
     private boolean wasConsumed;
 
+    private RowSorter<? extends TableModel> rowSorter;
+
+    private final RowSorterListener rowSorterHandler = new RowSorterHandler();
+
+    private boolean autoCreateRowSorter;
+
+    private boolean updateSelectionOnSort = true;
+
+    /**
+     * Set while the row sorter processes a model event, the view changes
+     * it makes are then handled by tableChanged().
+     */
+    private boolean sorterUpdateUnderway;
+
+    /**
+     * The first view change the row sorter has made while processing a
+     * model event, it keeps the previous view rows.
+     */
+    private RowSorterEvent sortedByModelEvent;
+
     private static final String HEADER_PROPERTY = "tableHeader";
 
     private static final String ROW_HEIGHT_PROPERTY = "rowHeight";
 
+    private static final String ROW_SORTER_PROPERTY = "rowSorter";
+
+    private static final String AUTO_CREATE_ROW_SORTER_PROPERTY = "autoCreateRowSorter";
+
+    private static final String UPDATE_SELECTION_ON_SORT_PROPERTY = "updateSelectionOnSort";
+
     private static final String ROW_MARGIN_PROPERTY = "rowMargin";
 
     private static final String GRID_COLOR_PROPERTY = "gridColor";
@@ -864,6 +903,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
         }
         int oldValue = this.rowHeight;
         this.rowHeight = rowHeight;
+        rowModel = null;
         firePropertyChange(ROW_HEIGHT_PROPERTY, oldValue, rowHeight);
     }
 
@@ -875,22 +915,25 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
         if (height <= 0) {
             throw new IllegalArgumentException(Messages.getString("swing.38")); //$NON-NLS-1$
         }
-        if (rowHeights.size() <= row) {
-            rowHeights.setSize(row + 1);
-        }
-        if (rowHeights.get(row) == null) {
-            rowHeights.set(row, new MutableInteger());
+        if (row < 0 || row >= getRowCount()) {
+            return;
         }
-        if (row < getRowCount()) {
-            ((MutableInteger) rowHeights.get(row)).setValue(height);
+        if (rowModel == null) {
+            if (height == rowHeight) {
+                return;
+            }
+            rowModel = new SizeSequence(getRowCount(), rowHeight);
         }
+        rowModel.setSize(row, height);
+        resizeAndRepaint();
     }
 
     public int getRowHeight(int row) {
-        int result = rowHeights.size() > row && rowHeights.get(row) != null ? ((MutableInteger) rowHeights
-                .get(row)).getValue()
-                : -1;
-        return result != -1 ? result : getRowHeight();
+        if (rowModel == null) {
+            return getRowHeight();
+        }
+        int result = rowModel.getSize(row);
+        return result > 0 ? result : getRowHeight();
     }
 
     public void setRowMargin(int margin) {
@@ -969,6 +1012,61 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
         firePropertyChange(AUTO_CREATE_COLUMNS_FROM_MODEL_PROPERTY, oldValue, autoCreate);
     }
 
+    public void setAutoCreateRowSorter(boolean autoCreate) {
+        boolean oldValue = autoCreateRowSorter;
+        autoCreateRowSorter = autoCreate;
+        if (autoCreate) {
+            setRowSorter(new TableRowSorter<TableModel>(getModel()));
+        }
+        firePropertyChange(AUTO_CREATE_ROW_SORTER_PROPERTY, oldValue, autoCreate);
+    }
+
+    public boolean getAutoCreateRowSorter() {
+        return autoCreateRowSorter;
+    }
+
+    public void setRowSorter(RowSorter<? extends TableModel> sorter) {
+        RowSorter<? extends TableModel> oldValue = rowSorter;
+        if (oldValue != null) {
+            oldValue.removeRowSorterListener(rowSorterHandler);
+        }
+        rowSorter = sorter;
+        if (sorter != null) {
+            sorter.addRowSorterListener(rowSorterHandler);
+        }
+        if (isEditing()) {
+            getCellEditor().cancelCellEditing();
+        }
+        rowModel = null;
+        if (getSelectionModel() != null) {
+            getSelectionModel().clearSelection();
+        }
+        firePropertyChange(ROW_SORTER_PROPERTY, oldValue, sorter);
+        resizeAndRepaint();
+    }
+
+    public RowSorter<? extends TableModel> getRowSorter() {
+        return rowSorter;
+    }
+
+    public void setUpdateSelectionOnSort(boolean update) {
+        boolean oldValue = updateSelectionOnSort;
+        updateSelectionOnSort = update;
+        firePropertyChange(UPDATE_SELECTION_ON_SORT_PROPERTY, oldValue, update);
+    }
+
+    public boolean getUpdateSelectionOnSort() {
+        return updateSelectionOnSort;
+    }
+
+    public int convertRowIndexToView(int modelRowIndex) {
+        return rowSorter != null ? rowSorter.convertRowIndexToView(modelRowIndex) : modelRowIndex;
+    }
+
+    public int convertRowIndexToModel(int viewRowIndex) {
+        return rowSorter != null ? rowSorter.convertRowIndexToModel(viewRowIndex) : viewRowIndex;
+    }
+
     public boolean getAutoCreateColumnsFromModel() {
         return autoCreateColumnsFromModel;
     }
@@ -1222,7 +1320,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public int getRowCount() {
-        return getModel().getRowCount();
+        return rowSorter != null ? rowSorter.getViewRowCount() : getModel().getRowCount();
     }
 
     public int getColumnCount() {
@@ -1238,15 +1336,15 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public Object getValueAt(int row, int viewColumn) {
-        return getModel().getValueAt(row, convertColumnIndexToModel(viewColumn));
+        return getModel().getValueAt(convertRowIndexToModel(row), convertColumnIndexToModel(viewColumn));
     }
 
     public void setValueAt(Object value, int row, int viewColumn) {
-        getModel().setValueAt(value, row, convertColumnIndexToModel(viewColumn));
+        getModel().setValueAt(value, convertRowIndexToModel(row), convertColumnIndexToModel(viewColumn));
     }
 
     public boolean isCellEditable(int row, int viewColumn) {
-        return getModel().isCellEditable(row, convertColumnIndexToModel(viewColumn));
+        return getModel().isCellEditable(convertRowIndexToModel(row), convertColumnIndexToModel(viewColumn));
     }
 
     public void addColumn(TableColumn column) {
@@ -1273,43 +1371,30 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public int rowAtPoint(Point p) {
-        int previousWidth = 0;
-        for (int i = 0; i < getRowCount(); i++) {
-            int height = getRowHeight(i);
-            if (p.y >= previousWidth && p.y < previousWidth + height) {
-                return i;
-            }
-            previousWidth += height;
+        if (p.y < 0) {
+            return -1;
         }
-        return -1;
+        int result = rowModel != null ? rowModel.getIndex(p.y) : p.y / getRowHeight();
+        return result < getRowCount() ? result : -1;
     }
 
     public Rectangle getCellRect(int row, int viewColumn, boolean includeSpacing) {
         Rectangle result = new Rectangle();
         boolean useSpacing = includeSpacing;
         if (row >= 0 && row < getRowCount()) {
-            for (int i = 0; i < row; i++) {
-                result.y += getRowHeight(i);
-            }
+            result.y = rowModel != null ? rowModel.getPosition(row) : row * getRowHeight();
             result.height = getRowHeight(row);
         } else {
             useSpacing = true;
         }
         if (viewColumn >= 0 && viewColumn < getColumnCount()) {
-            TableColumnModel columnModel = getColumnModel();
+            int[] offsets = getColumnOffsets();
             if (getComponentOrientation().isLeftToRight()) {
-                for (int i = 0; i < viewColumn; i++) {
-                    result.x += columnModel.getColumn(i).getWidth();
-                }
+                result.x = offsets[viewColumn];
             } else {
-                for (int i = 0; i < columnModel.getColumnCount(); i++) {
-                    result.x += columnModel.getColumn(i).getWidth();
-                }
-                for (int i = 0; i <= viewColumn; i++) {
-                    result.x -= columnModel.getColumn(i).getWidth();
-                }
+                result.x = offsets[offsets.length - 1] - offsets[viewColumn + 1];
             }
-            result.width = columnModel.getColumn(viewColumn).getWidth();
+            result.width = offsets[viewColumn + 1] - offsets[viewColumn];
         } else {
             useSpacing = true;
         }
@@ -1456,6 +1541,9 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
             tableChanged(new TableModelEvent(dataModel, TableModelEvent.HEADER_ROW,
                     TableModelEvent.HEADER_ROW, TableModelEvent.ALL_COLUMNS,
                     TableModelEvent.UPDATE));
+            if (getAutoCreateRowSorter()) {
+                setRowSorter(new TableRowSorter<TableModel>(dataModel));
+            }
         }
     }
 
@@ -1473,6 +1561,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
             oldValue.removeColumnModelListener(getTableHeader());
         }
         columnModel = model;
+        columnOffsets = null;
         JTableHeader header = getTableHeader();
         if (header != null) {
             columnModel.addColumnModelListener(header);
@@ -1510,17 +1599,29 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
                 createDefaultColumnsFromModel();
             }
         }
+        if (getRowSorter() != null && sortedTableChanged(e)) {
+            return;
+        }
+        updateRowModel(e);
         if (getSelectionModel() != null) {
             updateSelectionModel(getSelectionModel(), e);
         }
         if (getColumnModel().getSelectionModel() != null) {
             updateColumnSelectionModel(getColumnModel().getSelectionModel(), e);
         }
-        revalidate();
-        repaint();
+        if (isWholeTableChanged(e)) {
+            revalidate();
+            repaint();
+        } else if (e.getType() == TableModelEvent.UPDATE) {
+            repaintCells(e.getFirstRow(), e.getLastRow(), e.getColumn());
+        } else {
+            revalidate();
+            repaintRowsFrom(e.getFirstRow());
+        }
     }
 
     public void columnAdded(TableColumnModelEvent e) {
+        columnOffsets = null;
         if (isEditing()) {
             getCellEditor().cancelCellEditing();
         }
@@ -1528,6 +1629,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public void columnRemoved(TableColumnModelEvent e) {
+        columnOffsets = null;
         if (isEditing()) {
             getCellEditor().cancelCellEditing();
         }
@@ -1535,6 +1637,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public void columnMoved(TableColumnModelEvent e) {
+        columnOffsets = null;
         if (isEditing()) {
             getCellEditor().cancelCellEditing();
         }
@@ -1542,6 +1645,7 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public void columnMarginChanged(ChangeEvent e) {
+        columnOffsets = null;
         if (isEditing()) {
             getCellEditor().cancelCellEditing();
         }
@@ -1617,7 +1721,15 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
     }
 
     public Component prepareRenderer(TableCellRenderer renderer, int row, int viewColumn) {
-        boolean hasFocus = false;
+        boolean hasFocus = isFocusOwner()
+                && getSelectionModel().getLeadSelectionIndex() == row
+                && getColumnModel().getSelectionModel().getLeadSelectionIndex() == viewColumn;
+        if (renderer instanceof ColumnarCellRenderer && getModel() instanceof ColumnarTableModel) {
+            return ((ColumnarCellRenderer) renderer).getColumnarCellRendererComponent(this,
+                    (ColumnarTableModel) getModel(), convertRowIndexToModel(row),
+                    convertColumnIndexToModel(viewColumn), isCellSelected(row, viewColumn),
+                    hasFocus, row, viewColumn);
+        }
         return renderer.getTableCellRendererComponent(this, getValueAt(row, viewColumn),
                 isCellSelected(row, viewColumn), hasFocus, row, viewColumn);
     }
@@ -1921,7 +2033,8 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
             alignSelectionModelToRows();
         }
         if (e.getType() == TableModelEvent.UPDATE
-                && e.getColumn() == TableModelEvent.ALL_COLUMNS) {
+                && e.getColumn() == TableModelEvent.ALL_COLUMNS
+                && isWholeTableChanged(e)) {
             model.clearSelection();
         }
     }
@@ -1936,6 +2049,348 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
         }
     }
 
+    private static boolean isWholeTableChanged(TableModelEvent e) {
+        return e.getFirstRow() == TableModelEvent.HEADER_ROW
+                || e.getLastRow() == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Updated rows keep their geometry, so only the visible part of the
+     * changed cells is repainted and the table is not revalidated.
+     */
+    private void repaintCells(int viewFirstRow, int viewLastRow, int modelColumn) {
+        int firstRow = Math.max(viewFirstRow, 0);
+        int lastRow = Math.min(viewLastRow, getRowCount() - 1);
+        if (firstRow > lastRow) {
+            return;
+        }
+        Rectangle dirtyRect = getCellRect(firstRow, -1, true);
+        Rectangle lastRect = getCellRect(lastRow, -1, true);
+        dirtyRect.height = lastRect.y + lastRect.height - dirtyRect.y;
+        if (modelColumn == TableModelEvent.ALL_COLUMNS) {
+            dirtyRect.x = 0;
+            dirtyRect.width = getWidth();
+        } else {
+            int viewColumn = convertColumnIndexToView(modelColumn);
+            if (viewColumn == -1) {
+                return;
+            }
+            Rectangle columnRect = getCellRect(firstRow, viewColumn, true);
+            dirtyRect.x = columnRect.x;
+            dirtyRect.width = columnRect.width;
+        }
+        dirtyRect = dirtyRect.intersection(getVisibleRect());
+        if (!dirtyRect.isEmpty()) {
+            repaint(dirtyRect);
+        }
+    }
+
+    /**
+     * Rows above the inserted or deleted ones don't move, so the damage is
+     * the visible area from the first changed row down.
+     */
+    private void repaintRowsFrom(int row) {
+        Rectangle visibleRect = getVisibleRect();
+        int top = 0;
+        if (row > 0 && row < getRowCount()) {
+            top = getCellRect(row, -1, true).y;
+        } else if (row > 0 && getRowCount() > 0) {
+            Rectangle lastRect = getCellRect(getRowCount() - 1, -1, true);
+            top = lastRect.y + lastRect.height;
+        }
+        int bottom = visibleRect.y + visibleRect.height;
+        top = Math.max(top, visibleRect.y);
+        if (top < bottom) {
+            repaint(visibleRect.x, top, visibleRect.width, bottom - top);
+        }
+    }
+
+    /**
+     * Passes the model event to the row sorter and handles the view changes
+     * it makes.
+     *
+     * @return false if the view rows are the model rows, so the event is
+     *         to be handled as if there were no sorter
+     */
+    private boolean sortedTableChanged(TableModelEvent e) {
+        if (isWholeTableChanged(e)) {
+            notifySorter(e);
+            return false;
+        }
+
+        sortedByModelEvent = null;
+        notifySorter(e);
+        RowSorterEvent sorted = sortedByModelEvent;
+        sortedByModelEvent = null;
+        if (sorted == null) {
+            if (e.getType() != TableModelEvent.UPDATE || isUnsortedView()) {
+                return false;
+            }
+            repaintModelRows(e.getFirstRow(), e.getLastRow(), e.getColumn());
+            return true;
+        }
+
+        // Only a changed view needs the rows kept by their model indices
+        ModelRowState state = new ModelRowState(sorted);
+        if (isEditing()) {
+            getCellEditor().cancelCellEditing();
+        }
+        if (e.getType() == TableModelEvent.INSERT) {
+            state.rowsInserted(e.getFirstRow(), e.getLastRow());
+        } else if (e.getType() == TableModelEvent.DELETE) {
+            state.rowsDeleted(e.getFirstRow(), e.getLastRow());
+        }
+        state.restore();
+        resizeAndRepaint();
+        return true;
+    }
+
+    private void notifySorter(TableModelEvent e) {
+        RowSorter<? extends TableModel> sorter = getRowSorter();
+        sorterUpdateUnderway = true;
+        try {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                sorter.modelStructureChanged();
+            } else if (e.getLastRow() == Integer.MAX_VALUE) {
+                sorter.allRowsChanged();
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                sorter.rowsInserted(e.getFirstRow(), e.getLastRow());
+            } else if (e.getType() == TableModelEvent.DELETE) {
+                sorter.rowsDeleted(e.getFirstRow(), e.getLastRow());
+            } else if (e.getColumn() == TableModelEvent.ALL_COLUMNS) {
+                sorter.rowsUpdated(e.getFirstRow(), e.getLastRow());
+            } else {
+                sorter.rowsUpdated(e.getFirstRow(), e.getLastRow(), e.getColumn());
+            }
+        } finally {
+            sorterUpdateUnderway = false;
+        }
+    }
+
+    /**
+     * @return true if the sorter is known to show the model rows as they are
+     */
+    private boolean isUnsortedView() {
+        if (!(rowSorter instanceof DefaultRowSorter)) {
+            return rowSorter == null;
+        }
+        DefaultRowSorter<?, ?> sorter = (DefaultRowSorter<?, ?>)rowSorter;
+        if (sorter.getRowFilter() != null) {
+            return false;
+        }
+        for (int i = 0; i < sorter.getSortKeys().size(); i++) {
+            if (sorter.getSortKeys().get(i).getSortOrder() != SortOrder.UNSORTED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Repaints the view rows of the updated model rows. Rows of a long range
+     * are spread over the view, so the whole visible area is repainted.
+     */
+    private void repaintModelRows(int firstRow, int lastRow, int modelColumn) {
+        int first = Math.max(firstRow, 0);
+        int last = Math.min(lastRow, getModel().getRowCount() - 1);
+        if (last - first >= getVisibleRect().height / getRowHeight() + 1) {
+            repaint(getVisibleRect());
+            return;
+        }
+        for (int row = first; row <= last; row++) {
+            int viewRow = convertRowIndexToView(row);
+            if (viewRow != -1) {
+                repaintCells(viewRow, viewRow, modelColumn);
+            }
+        }
+    }
+
+    /**
+     * Selection and heights of the rows kept by their model indices while
+     * the row sorter changes the view order.
+     */
+    private class ModelRowState {
+        private int[] selectedRows = new int[0];
+        private int selectedCount;
+        private int leadRow = -1;
+        private int[] heights;
+
+        /**
+         * @param e event of the sorter which has already changed the view
+         */
+        public ModelRowState(RowSorterEvent e) {
+            int viewRowCount = e.getPreviousRowCount();
+            ListSelectionModel selection = getSelectionModel();
+            if (getUpdateSelectionOnSort() && selection != null && !selection.isSelectionEmpty()) {
+                selectedRows = new int[getSelectedCount(selection)];
+                int max = Math.min(selection.getMaxSelectionIndex(), viewRowCount - 1);
+                for (int i = selection.getMinSelectionIndex(); i <= max; i++) {
+                    if (selection.isSelectedIndex(i)) {
+                        selectedRows[selectedCount++] = toModel(i, e, viewRowCount);
+                    }
+                }
+                leadRow = toModel(selection.getLeadSelectionIndex(), e, viewRowCount);
+            }
+            if (rowModel != null) {
+                int modelRowCount = 0;
+                for (int i = 0; i < viewRowCount; i++) {
+                    modelRowCount = Math.max(modelRowCount, toModel(i, e, viewRowCount) + 1);
+                }
+                heights = new int[modelRowCount];
+                for (int i = 0; i < viewRowCount; i++) {
+                    heights[toModel(i, e, viewRowCount)] = getRowHeight(i);
+                }
+            }
+        }
+
+        public void rowsInserted(int firstRow, int lastRow) {
+            int count = lastRow - firstRow + 1;
+            for (int i = 0; i < selectedCount; i++) {
+                if (selectedRows[i] >= firstRow) {
+                    selectedRows[i] += count;
+                }
+            }
+            if (leadRow >= firstRow) {
+                leadRow += count;
+            }
+            if (heights != null && firstRow < heights.length) {
+                int[] newHeights = new int[heights.length + count];
+                System.arraycopy(heights, 0, newHeights, 0, firstRow);
+                System.arraycopy(heights, firstRow, newHeights, lastRow + 1, heights.length - firstRow);
+                heights = newHeights;
+            }
+        }
+
+        public void rowsDeleted(int firstRow, int lastRow) {
+            int count = lastRow - firstRow + 1;
+            int newCount = 0;
+            for (int i = 0; i < selectedCount; i++) {
+                int row = selectedRows[i];
+                if (row < firstRow) {
+                    selectedRows[newCount++] = row;
+                } else if (row > lastRow) {
+                    selectedRows[newCount++] = row - count;
+                }
+            }
+            selectedCount = newCount;
+            if (leadRow > lastRow) {
+                leadRow -= count;
+            } else if (leadRow >= firstRow) {
+                leadRow = -1;
+            }
+            if (heights != null && firstRow < heights.length) {
+                int end = Math.min(lastRow + 1, heights.length);
+                int[] newHeights = new int[heights.length - (end - firstRow)];
+                System.arraycopy(heights, 0, newHeights, 0, firstRow);
+                System.arraycopy(heights, end, newHeights, firstRow, heights.length - end);
+                heights = newHeights;
+            }
+        }
+
+        /**
+         * Applies the kept state to the current view rows.
+         */
+        public void restore() {
+            ListSelectionModel selection = getSelectionModel();
+            if (getUpdateSelectionOnSort() && selection != null) {
+                selection.setValueIsAdjusting(true);
+                selection.clearSelection();
+                int leadViewRow = -1;
+                for (int i = 0; i < selectedCount; i++) {
+                    int viewRow = toView(selectedRows[i]);
+                    if (viewRow == -1) {
+                        continue;
+                    }
+                    if (selectedRows[i] == leadRow) {
+                        leadViewRow = viewRow;
+                    } else {
+                        selection.addSelectionInterval(viewRow, viewRow);
+                    }
+                }
+                if (leadViewRow != -1) {
+                    selection.addSelectionInterval(leadViewRow, leadViewRow);
+                }
+                selection.setValueIsAdjusting(false);
+            }
+            if (heights != null) {
+                int[] sizes = new int[getRowCount()];
+                for (int i = 0; i < sizes.length; i++) {
+                    int row = convertRowIndexToModel(i);
+                    sizes[i] = row < heights.length && heights[row] > 0 ? heights[row] : getRowHeight();
+                }
+                rowModel = new SizeSequence(sizes);
+            }
+        }
+
+        private int toModel(int viewRow, RowSorterEvent e, int viewRowCount) {
+            if (viewRow < 0 || viewRow >= viewRowCount) {
+                return -1;
+            }
+            return e.convertPreviousRowIndexToModel(viewRow);
+        }
+
+        private int toView(int modelRow) {
+            return modelRow >= 0 && modelRow < getModel().getRowCount() ? convertRowIndexToView(modelRow) : -1;
+        }
+    }
+
+    private class RowSorterHandler implements RowSorterListener {
+        public void sorterChanged(RowSorterEvent e) {
+            if (e.getType() == RowSorterEvent.Type.SORT_ORDER_CHANGED) {
+                if (getTableHeader() != null) {
+                    getTableHeader().repaint();
+                }
+                return;
+            }
+            if (sorterUpdateUnderway) {
+                if (sortedByModelEvent == null) {
+                    sortedByModelEvent = e;
+                }
+                return;
+            }
+            if (isEditing()) {
+                getCellEditor().cancelCellEditing();
+            }
+            new ModelRowState(e).restore();
+            resizeAndRepaint();
+        }
+    }
+
+    private void updateRowModel(TableModelEvent e) {
+        if (rowModel == null) {
+            return;
+        }
+        if (isWholeTableChanged(e)) {
+            rowModel = null;
+            return;
+        }
+        int count = e.getLastRow() - e.getFirstRow() + 1;
+        if (e.getType() == TableModelEvent.INSERT) {
+            rowModel.insertEntries(e.getFirstRow(), count, getRowHeight());
+        }
+        if (e.getType() == TableModelEvent.DELETE) {
+            rowModel.removeEntries(e.getFirstRow(), count);
+        }
+    }
+
+    /**
+     * @return x positions of the column edges in the left to right order,
+     *         the last element is the total column width
+     */
+    private int[] getColumnOffsets() {
+        TableColumnModel model = getColumnModel();
+        if (columnOffsets == null || columnOffsetsModel != model
+                || columnOffsets.length != model.getColumnCount() + 1) {
+            int[] offsets = new int[model.getColumnCount() + 1];
+            for (int i = 0; i < offsets.length - 1; i++) {
+                offsets[i + 1] = offsets[i] + model.getColumn(i).getWidth();
+            }
+            columnOffsets = offsets;
+            columnOffsetsModel = model;
+        }
+        return columnOffsets;
+    }
+
     private void autoResizeSubsequentColumns(TableColumn resizingColumn) {
         final int resizingColIndex = getColumnModel().getColumnIndex(
                 resizingColumn.getIdentifier());
@@ -2105,18 +2560,6 @@ public class JTable extends JComponent implements TableModelListener, Scrollable
         TableColumn getElement(int i);
     }
 
-    private class MutableInteger {
-        private int value = -1;
-
-        public void setValue(int value) {
-            this.value = value;
-        }
-
-        public int getValue() {
-            return value;
-        }
-    }
-
     private class BooleanTableCellRenderer extends JCheckBox implements TableCellRenderer {
         private static final long serialVersionUID = 1L;
 
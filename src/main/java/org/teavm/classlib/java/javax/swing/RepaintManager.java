@@ -24,7 +24,6 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
-import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.GraphicsEnvironment;
 import java.awt.Image;
@@ -45,6 +44,9 @@ import java.util.Set;
 import org.apache.harmony.awt.ClipRegion;
 import org.apache.harmony.awt.ComponentInternals;
 import org.apache.harmony.awt.gl.MultiRectArea;
+import org.apache.harmony.awt.gl.canvas.CanvasCommandBuffer;
+import org.apache.harmony.x.swing.FrameScheduler;
+import org.apache.harmony.x.swing.TableModelEventBatcher;
 
 public class RepaintManager {
     private Set invalidRoots = Collections.synchronizedSet(new HashSet());
@@ -55,7 +57,6 @@ public class RepaintManager {
     private boolean doubleBufferingEnabled = true;
     private Map dirtyRegions = new Hashtable();
     private Map optimizedDirtyRegions = new HashMap();
-    private int numberOfScheduledPaintEvents;
 
     private static final Rectangle COMPLETELY_DIRTY_RECT = new Rectangle(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
 
@@ -69,15 +70,8 @@ public class RepaintManager {
 
     private final Runnable paintEvent = new Runnable() {
         public void run() {
-            boolean shouldPaint = false;
-            synchronized(RepaintManager.this) {
-                numberOfScheduledPaintEvents--;
-                shouldPaint = numberOfScheduledPaintEvents == 0;
-            }
-            if (shouldPaint) {
-                validateInvalidComponents();
-                paintDirtyRegions();
-            }
+            validateInvalidComponents();
+            paintDirtyRegions();
         }
     };
 
@@ -119,6 +113,8 @@ public class RepaintManager {
     }
 
     public void validateInvalidComponents() {
+        // Batched table events may invalidate components
+        TableModelEventBatcher.flushPending();
         while(!invalidRoots.isEmpty()) {
             List processingRoots;
             synchronized(invalidRoots) {
@@ -177,13 +173,23 @@ public class RepaintManager {
     }
 
     public void paintDirtyRegions() {
+        // Listeners have to catch up with their models before painting
+        if (TableModelEventBatcher.flushPending()) {
+            validateInvalidComponents();
+        }
         prepareOptimizedDirtyRegions();
-        for (Iterator it = optimizedDirtyRegions.entrySet().iterator(); it.hasNext(); ) {
-            Map.Entry entry = (Map.Entry)it.next();
-            MultiRectArea repaintRegion = (MultiRectArea)entry.getValue();
-            if (!repaintRegion.isEmpty()) {
-                ((JComponent)entry.getKey()).paintImmediately(new ClipRegion(repaintRegion));
+        // Canvas commands recorded while painting are sent to the browser at once
+        CanvasCommandBuffer.beginFrame();
+        try {
+            for (Iterator it = optimizedDirtyRegions.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry entry = (Map.Entry)it.next();
+                MultiRectArea repaintRegion = (MultiRectArea)entry.getValue();
+                if (!repaintRegion.isEmpty()) {
+                    ((JComponent)entry.getKey()).paintImmediately(new ClipRegion(repaintRegion));
+                }
             }
+        } finally {
+            CanvasCommandBuffer.endFrame();
         }
     }
 
@@ -251,31 +257,12 @@ public class RepaintManager {
     }
 
 
-    /*
-     * That is not the best way to do scheduling.
-     * There are two issues with it:
-     * 1. Each repaint() call puts an event to the queue. All such events excepting
-     *    the latest one do nothing, but queue is loaded anyway
-     * 2. There could be a case when no painting is done at all.
-     *    Such situation could be if repaint() is scheduled regularly.
-     *    <code>
-     *    An example:
-     *       final Runnable overload = new Runnable() {
-     *           public void run() {
-     *               SwingUtilities.invokeLater(this);
-     *               component.repaint();
-     *           }
-     *       };
-     *    </code>
-     *    In this example component will never be painted since because every time
-     *    repaint() is processed another repaint is sceduled and therefore effective
-     *    painting is delayed.
+    /**
+     * Validation and painting are done once per frame, all the requests
+     * made before it are coalesced by the FrameScheduler.
      */
     private void scheduleProcessingEvent() {
-        synchronized(this) {
-            numberOfScheduledPaintEvents++;
-        }
-        EventQueue.invokeLater(paintEvent);
+        FrameScheduler.getDefault().requestFrame(paintEvent);
     }
 
     private Component getValidationRoot(final Component c) {
@@ -0,0 +1,239 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.swing;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.harmony.x.swing.internal.nls.Messages;
+
+/**
+ * Decides which rows of a model are shown by a RowSorter.
+ */
+public abstract class RowFilter<M, I> {
+    public enum ComparisonType {
+        BEFORE,
+        AFTER,
+        EQUAL,
+        NOT_EQUAL
+    }
+
+    /**
+     * The row of the model offered to the filter.
+     */
+    public abstract static class Entry<M, I> {
+        public Entry() {
+        }
+
+        public abstract M getModel();
+
+        public abstract int getValueCount();
+
+        public abstract Object getValue(int index);
+
+        public String getStringValue(final int index) {
+            Object value = getValue(index);
+            return value != null ? value.toString() : "";
+        }
+
+        public abstract I getIdentifier();
+    }
+
+    public abstract boolean include(Entry<? extends M, ? extends I> entry);
+
+    public static <M, I> RowFilter<M, I> regexFilter(final String regex, final int... indices) {
+        final Pattern pattern = Pattern.compile(regex);
+        checkIndices(indices);
+        return new ValueFilter<M, I>(indices) {
+            private final Matcher matcher = pattern.matcher("");
+
+            @Override
+            protected boolean include(final Entry<? extends M, ? extends I> entry, final int index) {
+                return matcher.reset(entry.getStringValue(index)).find();
+            }
+        };
+    }
+
+    public static <M, I> RowFilter<M, I> dateFilter(final ComparisonType type, final Date date, final int... indices) {
+        if (date == null) {
+            throw new IllegalArgumentException(Messages.getString("swing.BB")); //$NON-NLS-1$
+        }
+        checkComparisonType(type);
+        checkIndices(indices);
+        final long time = date.getTime();
+        return new ValueFilter<M, I>(indices) {
+            @Override
+            protected boolean include(final Entry<? extends M, ? extends I> entry, final int index) {
+                Object value = entry.getValue(index);
+                if (!(value instanceof Date)) {
+                    return false;
+                }
+                long valueTime = ((Date)value).getTime();
+                return matches(type, valueTime < time ? -1 : (valueTime == time ? 0 : 1));
+            }
+        };
+    }
+
+    public static <M, I> RowFilter<M, I> numberFilter(final ComparisonType type, final Number number, final int... indices) {
+        if (number == null) {
+            throw new IllegalArgumentException(Messages.getString("swing.BA")); //$NON-NLS-1$
+        }
+        checkComparisonType(type);
+        checkIndices(indices);
+        return new ValueFilter<M, I>(indices) {
+            @Override
+            protected boolean include(final Entry<? extends M, ? extends I> entry, final int index) {
+                Object value = entry.getValue(index);
+                if (!(value instanceof Number)) {
+                    return false;
+                }
+                return matches(type, compareNumbers((Number)value, number));
+            }
+        };
+    }
+
+    public static <M, I> RowFilter<M, I> orFilter(final Iterable<? extends RowFilter<? super M, ? super I>> filters) {
+        final List<RowFilter<? super M, ? super I>> list = copyFilters(filters);
+        return new RowFilter<M, I>() {
+            @Override
+            public boolean include(final Entry<? extends M, ? extends I> entry) {
+                for (int i = 0; i < list.size(); i++) {
+                    if (list.get(i).include(entry)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    public static <M, I> RowFilter<M, I> andFilter(final Iterable<? extends RowFilter<? super M, ? super I>> filters) {
+        final List<RowFilter<? super M, ? super I>> list = copyFilters(filters);
+        return new RowFilter<M, I>() {
+            @Override
+            public boolean include(final Entry<? extends M, ? extends I> entry) {
+                for (int i = 0; i < list.size(); i++) {
+                    if (!list.get(i).include(entry)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    public static <M, I> RowFilter<M, I> notFilter(final RowFilter<M, I> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException(Messages.getString("swing.BC")); //$NON-NLS-1$
+        }
+        return new RowFilter<M, I>() {
+            @Override
+            public boolean include(final Entry<? extends M, ? extends I> entry) {
+                return !filter.include(entry);
+            }
+        };
+    }
+
+    /**
+     * Includes the row if any of the checked values is accepted. All the
+     * values are checked if no indices are given.
+     */
+    private abstract static class ValueFilter<M, I> extends RowFilter<M, I> {
+        private final int[] indices;
+
+        ValueFilter(final int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public boolean include(final Entry<? extends M, ? extends I> entry) {
+            if (indices.length == 0) {
+                for (int i = entry.getValueCount() - 1; i >= 0; i--) {
+                    if (include(entry, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (int i = 0; i < indices.length; i++) {
+                if (include(entry, indices[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        protected abstract boolean include(Entry<? extends M, ? extends I> entry, int index);
+    }
+
+    private static boolean matches(final ComparisonType type, final int compared) {
+        switch (type) {
+        case BEFORE:
+            return compared < 0;
+        case AFTER:
+            return compared > 0;
+        case EQUAL:
+            return compared == 0;
+        default:
+            return compared != 0;
+        }
+    }
+
+    private static int compareNumbers(final Number value, final Number number) {
+        if (isIntegral(value) && isIntegral(number)) {
+            long v = value.longValue();
+            long n = number.longValue();
+            return v < n ? -1 : (v == n ? 0 : 1);
+        }
+        return Double.compare(value.doubleValue(), number.doubleValue());
+    }
+
+    private static boolean isIntegral(final Number number) {
+        return number instanceof Integer || number instanceof Long
+               || number instanceof Short || number instanceof Byte;
+    }
+
+    private static void checkComparisonType(final ComparisonType type) {
+        if (type == null) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private static void checkIndices(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException(Messages.getString("swing.B7", indices[i])); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private static <M, I> List<RowFilter<? super M, ? super I>> copyFilters(final Iterable<? extends RowFilter<? super M, ? super I>> filters) {
+        List<RowFilter<? super M, ? super I>> result = new ArrayList<RowFilter<? super M, ? super I>>();
+        for (Iterator<? extends RowFilter<? super M, ? super I>> it = filters.iterator(); it.hasNext();) {
+            RowFilter<? super M, ? super I> filter = it.next();
+            if (filter == null) {
+                throw new IllegalArgumentException(Messages.getString("swing.BC")); //$NON-NLS-1$
+            }
+            result.add(filter);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.swing;
+
+import java.util.List;
+
+import javax.swing.event.EventListenerList;
+import javax.swing.event.RowSorterEvent;
+import javax.swing.event.RowSorterListener;
+
+/**
+ * Maps the rows of a model to the rows of a view, which may be sorted
+ * and may skip some of the model rows.
+ */
+public abstract class RowSorter<M> {
+    private final EventListenerList listenerList = new EventListenerList();
+
+    public static class SortKey {
+        private final int column;
+        private final SortOrder sortOrder;
+
+        public SortKey(final int column, final SortOrder sortOrder) {
+            if (sortOrder == null) {
+                throw new IllegalArgumentException();
+            }
+            this.column = column;
+            this.sortOrder = sortOrder;
+        }
+
+        public final int getColumn() {
+            return column;
+        }
+
+        public final SortOrder getSortOrder() {
+            return sortOrder;
+        }
+
+        @Override
+        public int hashCode() {
+            return 37 * column + sortOrder.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof SortKey)) {
+                return false;
+            }
+            SortKey key = (SortKey)o;
+            return key.column == column && key.sortOrder == sortOrder;
+        }
+    }
+
+    public abstract M getModel();
+
+    public abstract void toggleSortOrder(int column);
+
+    public abstract int convertRowIndexToModel(int index);
+
+    public abstract int convertRowIndexToView(int index);
+
+    public abstract void setSortKeys(List<? extends SortKey> keys);
+
+    public abstract List<? extends SortKey> getSortKeys();
+
+    public abstract int getViewRowCount();
+
+    public abstract int getModelRowCount();
+
+    public abstract void modelStructureChanged();
+
+    public abstract void allRowsChanged();
+
+    public abstract void rowsInserted(int firstRow, int endRow);
+
+    public abstract void rowsDeleted(int firstRow, int endRow);
+
+    public abstract void rowsUpdated(int firstRow, int endRow);
+
+    public abstract void rowsUpdated(int firstRow, int endRow, int column);
+
+    public void addRowSorterListener(final RowSorterListener l) {
+        listenerList.add(RowSorterListener.class, l);
+    }
+
+    public void removeRowSorterListener(final RowSorterListener l) {
+        listenerList.remove(RowSorterListener.class, l);
+    }
+
+    protected void fireSortOrderChanged() {
+        fireRowSorterEvent(new RowSorterEvent(this));
+    }
+
+    protected void fireRowSorterChanged(final int[] lastRowIndexToModel) {
+        fireRowSorterEvent(new RowSorterEvent(this, RowSorterEvent.Type.SORTED, lastRowIndexToModel));
+    }
+
+    private void fireRowSorterEvent(final RowSorterEvent e) {
+        RowSorterListener[] listeners = (RowSorterListener[])listenerList.getListeners(RowSorterListener.class);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].sorterChanged(e);
+        }
+    }
+}
@@ -20,18 +20,26 @@
  */
 package javax.swing;
 
-public class SizeSequence {    
-    private int[] tree;   
+/**
+ * Sizes are kept both as is and in a binary indexed (Fenwick) tree, so
+ * getSize() is O(1) while setSize(), getPosition() and getIndex() are
+ * O(log n). Both arrays keep spare capacity: insertEntries() and
+ * removeEntries() shift the sizes and rebuild only the tree nodes at and
+ * after the first changed entry, which makes appending at the end cheap.
+ */
+public class SizeSequence {
+    private int[] sizes;
+    private int[] tree;
     private int sizesCount;
-    
+
     public SizeSequence() {
         this(new int[0]);
     }
-    
+
     public SizeSequence(final int numEntries) {
         this(numEntries, 0);
     }
-    
+
     public SizeSequence(final int numEntries, final int value) {
         int[] sizes = new int[numEntries];
         for (int i = 0; i < numEntries; i++) {
@@ -39,183 +47,114 @@ public class SizeSequence {
         }
         setSizes(sizes);
     }
-    
+
     public SizeSequence(final int[] sizes) {
         setSizes(sizes);
     }
-    
+
     public void setSizes(final int[] sizes) {
-        if (sizes.length == 0) {
-            tree = new int[0];
-            sizesCount = 0; 
-            return;
-        }
-        int upper = 1;
-        while (upper - 1 < sizes.length) {
-            upper <<= 1; 
-        }
-        tree = new int[upper - 1];        
         sizesCount = sizes.length;
-        setSizesImpl(sizes, 0, upper - 1, 0);
-}
-    
+        this.sizes = new int[sizesCount];
+        System.arraycopy(sizes, 0, this.sizes, 0, sizesCount);
+        tree = new int[sizesCount + 1];
+        rebuildTree(0);
+    }
+
     public int[] getSizes() {
-        if (sizesCount == 0) {
-            return new int[0];
-        }
-        int[] allSizes = new int[tree.length];
-        getSizesImpl(allSizes, 0, tree.length - 1);        
         int[] result = new int[sizesCount];
-        System.arraycopy(allSizes, 0, result, 0, sizesCount);
+        System.arraycopy(sizes, 0, result, 0, sizesCount);
         return result;
-    }    
-    
+    }
+
     public int getPosition(final int index) {
         if (index < 0 || sizesCount == 0) {
             return 0;
         }
-        if (index >= sizesCount) {
-            return tree[(tree.length - 1) / 2];
-        }
         int position = 0;
-        int left = 0;
-        int right = tree.length - 1;
-        int cur = (left + right) / 2;
-      
-        do {
-            if (cur > index) {
-                right = cur - 1;
-            } else if (cur < index) {
-                position += tree[cur];
-                position -= (right + cur + 1) / 2 == cur ? 0 : tree[(right + cur + 1) / 2];
-                left = cur + 1;
-            }
-            cur = (left + right) / 2;
-        } while(cur != index);
-        position += (cur + left) / 2 == cur ? 0 : tree[(cur + left) / 2];
+        for (int i = Math.min(index, sizesCount); i > 0; i -= i & -i) {
+            position += tree[i];
+        }
         return position;
     }
-    
-    public int getIndex(final int position) {                
+
+    public int getIndex(final int position) {
         if (position < 0 || sizesCount == 0) {
             return 0;
         }
-        if (position >= tree[(tree.length - 1) / 2]) {
-            return sizesCount;
-        }
-        
         int pos = position;
-        int left = 0;
-        int right = tree.length - 1;
-        int cur = (left + right) / 2;
-        
-        while (left != right) {
-            if (pos - tree[(cur + left) / 2] < 0) {
-                right = cur - 1;
-            } else {
-                pos -= tree[(cur + left) / 2];
-                int size = tree[cur];                
-                size -= (right + cur + 1) / 2 == cur ? 0 : tree[(right + cur + 1) / 2];
-                size -= (cur + left) / 2 == cur ? 0 : tree[(cur + left) / 2];
-                if (pos < size) {
-                    return cur < sizesCount ? cur : sizesCount;
-                } else {
-                    pos -= size;
-                    left = cur + 1;
-                }
+        int index = 0;
+        for (int bit = Integer.highestOneBit(sizesCount); bit > 0; bit >>= 1) {
+            int next = index + bit;
+            if (next <= sizesCount && tree[next] <= pos) {
+                index = next;
+                pos -= tree[next];
             }
-            cur = (left + right) / 2;
         }
-        return cur < sizesCount ? cur : sizesCount; 
+        return index;
     }
-    
+
     public int getSize(final int index) {
-        if (!isValidIndex(index)) {
-            return 0;
-        }        
-        int result = tree[index];
-        int left = 0;
-        int right = tree.length - 1;
-        int cur = (left + right) / 2;
-        while (cur != index) {
-            if (cur < index) {
-                left = cur + 1; 
-            } 
-            if (cur > index) {
-                right = cur - 1;
-            }                
-            cur = (left + right) / 2;
-        }        
-        result -= (right + cur + 1) / 2 == cur ? 0 : tree[(right + cur + 1) / 2];
-        result -= (cur + left) / 2 == cur ? 0 : tree[(cur + left) / 2];
-        return result;
+        return isValidIndex(index) ? sizes[index] : 0;
     }
-    
+
     public void setSize(final int index, final int size) {
         if (!isValidIndex(index)) {
             return;
         }
-        int delta = size - getSize(index); 
-        int left = 0;
-        int right = tree.length - 1;
-        int cur = (left + right) / 2;
-        tree[cur] += delta;
-        while (cur != index) {
-            if (cur < index) {
-                left = cur + 1; 
-            } 
-            if (cur > index) {
-                right = cur - 1;
-            }                
-            cur = (left + right) / 2;
-            tree[cur] += delta;
+        int delta = size - sizes[index];
+        sizes[index] = size;
+        for (int i = index + 1; i <= sizesCount; i += i & -i) {
+            tree[i] += delta;
         }
     }
-    
+
     public void insertEntries(final int start, final int length, final int value) {
-        int[] newSizes = new int[sizesCount + length];
-        int[] sizes = getSizes();
-        System.arraycopy(sizes, 0, newSizes, 0, start);
+        ensureCapacity(sizesCount + length);
+        System.arraycopy(sizes, start, sizes, start + length, sizesCount - start);
         for (int i = start; i < start + length; i++) {
-            newSizes[i] = value;
+            sizes[i] = value;
         }
-        System.arraycopy(sizes, start, newSizes, start + length, sizes.length - start);        
-        setSizes(newSizes);
+        sizesCount += length;
+        rebuildTree(start);
     }
-    
+
     public void removeEntries(final int start, final int length) {
-        int[] newSizes = new int[sizesCount - length];
-        int[] sizes = getSizes();
-        System.arraycopy(sizes, 0, newSizes, 0, start);
-        System.arraycopy(sizes, start + length, newSizes, start, sizes.length - start - length);
-        setSizes(newSizes);
+        System.arraycopy(sizes, start + length, sizes, start, sizesCount - start - length);
+        sizesCount -= length;
+        rebuildTree(start);
     }
-    
+
     private boolean isValidIndex(final int index) {
         return (index >= 0 && index < sizesCount);
-    }    
-    
-    private int setSizesImpl(final int[] sizes, final int left, final int right, final int depth) {
-        int cur = (right + left) / 2;
-        int size = (cur < sizes.length) ? sizes[cur] : 0;
-        if ((right - left) / 2 > 0) {
-            tree[cur] = size + setSizesImpl(sizes, left, cur - 1, depth + 1) + setSizesImpl(sizes, cur + 1, right, depth + 1);
-        } else if ((right - left) / 2 == 0) {            
-            tree[cur] = size;
-        } else {
-            return 0;
+    }
+
+    private void ensureCapacity(final int count) {
+        if (count <= sizes.length) {
+            return;
         }
-        return tree[cur];
+        int capacity = Math.max(count, sizes.length + (sizes.length >> 1) + 1);
+        int[] newSizes = new int[capacity];
+        System.arraycopy(sizes, 0, newSizes, 0, sizesCount);
+        sizes = newSizes;
+        int[] newTree = new int[capacity + 1];
+        System.arraycopy(tree, 0, newTree, 0, sizesCount + 1);
+        tree = newTree;
     }
-    
-    private int getSizesImpl(final int[] sizes, final int left, final int right) {        
-        int cur = (right + left) / 2;        
-        int length = tree[cur];
-        if ((right - left) / 2 > 0) {
-            sizes[cur] = length - getSizesImpl(sizes, left, cur - 1) - getSizesImpl(sizes, cur + 1, right);
-        } else if ((right - left) / 2 == 0) {            
-            sizes[cur] = length;
+
+    /**
+     * Recomputes tree nodes for entries start..sizesCount - 1. A node covers
+     * its own entry and the nodes right below it, all of which are either
+     * untouched (they precede start) or have just been recomputed, so the
+     * whole pass is linear in the number of rebuilt nodes.
+     */
+    private void rebuildTree(final int start) {
+        for (int i = start + 1; i <= sizesCount; i++) {
+            int sum = sizes[i - 1];
+            int lowBit = i & -i;
+            for (int child = 1; child < lowBit; child <<= 1) {
+                sum += tree[i - child];
+            }
+            tree[i] = sum;
         }
-        return (right - left) / 2 < 0 ? 0 : length;
-    }        
+    }
 }
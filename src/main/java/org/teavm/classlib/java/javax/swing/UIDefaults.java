@@ -32,11 +32,17 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 import javax.swing.border.Border;
 import javax.swing.event.SwingPropertyChangeSupport;
@@ -44,6 +50,7 @@ import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 
 import org.apache.harmony.x.swing.internal.nls.Messages;
+import org.apache.harmony.x.swing.plaf.UIDelegates;
 
 public class UIDefaults extends Hashtable<Object, Object> {
 
@@ -171,11 +178,35 @@ public class UIDefaults extends Hashtable<Object, Object> {
         }
     }
 
+    /**
+     * Section of defaults registered with <code>putLazyDefaults()</code>
+     * and not yet merged into the table.
+     */
+    private static class LazySection {
+        final LazyValue defaults;
+        final int sequence;
+
+        LazySection(final LazyValue defaults, final int sequence) {
+            this.defaults = defaults;
+            this.sequence = sequence;
+        }
+    }
+
     private static final String CREATE_UI_METHOD_NAME = "createUI";
     private Locale defaultLocale = Locale.getDefault();
     private SwingPropertyChangeSupport propertyChangeSupport = new SwingPropertyChangeSupport(this);
     private List resourceBundles = new ArrayList();
 
+    /**
+     * Pending lazy sections by key prefix, <code>null</code> when there are
+     * none. <code>shadowedKeys</code> holds, for keys of pending prefixes,
+     * the sequence number of their last eager modification: a section
+     * registered before that modification must not override it.
+     */
+    private Map<String, List<LazySection>> lazySections;
+    private Map<Object, Integer> shadowedKeys;
+    private int lazySequence;
+
     public UIDefaults() {
     }
 
@@ -211,6 +242,7 @@ public class UIDefaults extends Hashtable<Object, Object> {
     }
 
     public Object get(final Object key, final Locale locale) {
+        loadLazyDefaults(key);
         Object result = super.get(key);
         if (result == null) {
             result = getFromResourceBundles(key, locale);
@@ -325,6 +357,12 @@ public class UIDefaults extends Hashtable<Object, Object> {
                 return null;
             }
             Class uiClass = (Class)get(fullClassName);
+            if (uiClass == null) {
+                UIDelegates.Factory factory = UIDelegates.getFactory(fullClassName);
+                if (factory != null) {
+                    return factory.createUI(comp);
+                }
+            }
             Method method = null;
             if (uiClass == null) {
                 uiClass = getUIClass(classID, comp.getClass().getClassLoader());
@@ -379,6 +417,7 @@ public class UIDefaults extends Hashtable<Object, Object> {
     }
 
     public Object put(final Object key, final Object value) {
+        loadLazyDefaults(key);
         Object previousValue = super.get(key);
         if (value == null) {
             super.remove(key);
@@ -392,15 +431,116 @@ public class UIDefaults extends Hashtable<Object, Object> {
     }
 
     public void putDefaults(final Object[] array) {
-        for (int i = 0; i < array.length; i += 2) {
-            if (array[i + 1] != null) {
-                super.put(array[i], array[i + 1]);
+        synchronized (this) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i + 1] != null) {
+                    shadowLazyDefault(array[i]);
+                    super.put(array[i], array[i + 1]);
+                }
             }
         }
 
         firePropertyChange("UIDefaults", null, null);
     }
 
+    /**
+     * Registers a section of defaults which is merged into the table only
+     * when a key starting with <code>prefix</code> is first requested.
+     * <code>defaults.createValue()</code> must return a key/value array in
+     * the format of <code>putDefaults()</code> whose keys are all strings
+     * of the form <code>prefix</code> or <code>prefix.*</code>, e.g.
+     * <code>"Button.font"</code> for the prefix <code>"Button"</code>.
+     * <p>
+     * The result is the same as of calling <code>putDefaults()</code> with
+     * that array now: values put to the table afterwards take precedence
+     * over the section ones. The look and feels use it to defer building
+     * the defaults of components which are never shown.
+     *
+     * @param prefix key prefix common to all keys of the section
+     * @param defaults creates the key/value array of the section
+     */
+    public void putLazyDefaults(final String prefix, final LazyValue defaults) {
+        synchronized (this) {
+            if (lazySections == null) {
+                lazySections = new HashMap<String, List<LazySection>>();
+                shadowedKeys = new HashMap<Object, Integer>();
+            }
+            List<LazySection> sections = lazySections.get(prefix);
+            if (sections == null) {
+                sections = new ArrayList<LazySection>(2);
+                lazySections.put(prefix, sections);
+            }
+            sections.add(new LazySection(defaults, ++lazySequence));
+        }
+
+        firePropertyChange("UIDefaults", null, null);
+    }
+
+    public synchronized Object remove(final Object key) {
+        loadLazyDefaults(key);
+        return super.remove(key);
+    }
+
+    public synchronized boolean containsKey(final Object key) {
+        loadLazyDefaults(key);
+        return super.containsKey(key);
+    }
+
+    public synchronized boolean contains(final Object value) {
+        loadLazyDefaults();
+        return super.contains(value);
+    }
+
+    public boolean containsValue(final Object value) {
+        return contains(value);
+    }
+
+    public synchronized int size() {
+        loadLazyDefaults();
+        return super.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        loadLazyDefaults();
+        return super.isEmpty();
+    }
+
+    public synchronized Enumeration<Object> keys() {
+        loadLazyDefaults();
+        return super.keys();
+    }
+
+    public synchronized Enumeration<Object> elements() {
+        loadLazyDefaults();
+        return super.elements();
+    }
+
+    public synchronized Set<Object> keySet() {
+        loadLazyDefaults();
+        return super.keySet();
+    }
+
+    public synchronized Collection<Object> values() {
+        loadLazyDefaults();
+        return super.values();
+    }
+
+    public synchronized Set<Map.Entry<Object, Object>> entrySet() {
+        loadLazyDefaults();
+        return super.entrySet();
+    }
+
+    public synchronized void clear() {
+        lazySections = null;
+        shadowedKeys = null;
+        super.clear();
+    }
+
+    public synchronized Object clone() {
+        loadLazyDefaults();
+        return super.clone();
+    }
+
     public void setDefaultLocale(final Locale locale) {
         this.defaultLocale = locale;
     }
@@ -409,6 +549,87 @@ public class UIDefaults extends Hashtable<Object, Object> {
         propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
     }
 
+    /**
+     * Merges the pending sections for the prefix of <code>key</code>.
+     */
+    private void loadLazyDefaults(final Object key) {
+        if (lazySections == null || !(key instanceof String)) {
+            return;
+        }
+        synchronized (this) {
+            if (lazySections != null) {
+                loadLazySections(getLazyPrefix((String)key));
+            }
+        }
+    }
+
+    /**
+     * Merges all pending sections.
+     */
+    private synchronized void loadLazyDefaults() {
+        while (lazySections != null) {
+            Iterator<String> it = lazySections.keySet().iterator();
+            if (!it.hasNext()) {
+                lazySections = null;
+                shadowedKeys = null;
+                break;
+            }
+            loadLazySections(it.next());
+        }
+    }
+
+    /**
+     * Detaches the sections of the prefix and the shadowed keys of the
+     * prefix from the pending ones before merging them: the sections may
+     * call back into the table and change the pending sections.
+     */
+    private void loadLazySections(final String prefix) {
+        List<LazySection> sections = lazySections.remove(prefix);
+        if (sections == null) {
+            return;
+        }
+        Map<Object, Integer> shadowed = new HashMap<Object, Integer>();
+        for (Iterator<Map.Entry<Object, Integer>> it = shadowedKeys.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Object, Integer> entry = it.next();
+            if (prefix.equals(getLazyPrefix((String)entry.getKey()))) {
+                shadowed.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+        }
+        if (lazySections.isEmpty()) {
+            lazySections = null;
+            shadowedKeys = null;
+        }
+
+        for (int i = 0; i < sections.size(); i++) {
+            LazySection section = sections.get(i);
+            Object[] array = (Object[])section.defaults.createValue(this);
+            for (int j = 0; j < array.length; j += 2) {
+                Integer sequence = shadowed.get(array[j]);
+                if ((sequence == null || sequence.intValue() < section.sequence)
+                        && array[j + 1] != null) {
+                    super.put(array[j], array[j + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records an eager modification of <code>key</code> so that sections
+     * registered before it do not override the new value.
+     */
+    private void shadowLazyDefault(final Object key) {
+        if (lazySections != null && key instanceof String
+                && lazySections.containsKey(getLazyPrefix((String)key))) {
+            shadowedKeys.put(key, Integer.valueOf(lazySequence));
+        }
+    }
+
+    private static String getLazyPrefix(final String key) {
+        int dot = key.indexOf('.');
+        return dot < 0 ? key : key.substring(0, dot);
+    }
+
     protected void getUIError(final String message) {
         System.err.println(Messages.getString("swing.err.06",message)); //$NON-NLS-1$
     }
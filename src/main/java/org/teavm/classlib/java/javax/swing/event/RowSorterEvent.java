@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.swing.event;
+
+import java.util.EventObject;
+
+import javax.swing.RowSorter;
+
+public class RowSorterEvent extends EventObject {
+    public static enum Type {
+        SORT_ORDER_CHANGED,
+        SORTED
+    }
+
+    private final Type type;
+    private final int[] oldViewToModel;
+
+    public RowSorterEvent(final RowSorter source) {
+        this(source, Type.SORT_ORDER_CHANGED, null);
+    }
+
+    public RowSorterEvent(final RowSorter source, final Type type, final int[] previousRowIndexToModel) {
+        super(source);
+        if (type == null) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.oldViewToModel = previousRowIndexToModel != null ? previousRowIndexToModel : new int[0];
+    }
+
+    @Override
+    public RowSorter getSource() {
+        return (RowSorter)super.getSource();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the model index the view row had before the sort, or -1 if
+     *         the index is out of range of the previous view
+     */
+    public int convertPreviousRowIndexToModel(final int index) {
+        return index >= 0 && index < oldViewToModel.length ? oldViewToModel[index] : -1;
+    }
+
+    public int getPreviousRowCount() {
+        return oldViewToModel.length;
+    }
+}
@@ -45,6 +45,7 @@ import javax.swing.ListCellRenderer;
 import javax.swing.ListModel;
 import javax.swing.ListSelectionModel;
 import javax.swing.LookAndFeel;
+import javax.swing.SizeSequence;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.TransferHandler;
@@ -501,7 +502,27 @@ public class BasicListUI extends ListUI {
         maybeUpdateLayoutState();
 
         Rectangle clipRect = g.getClipBounds();
-        if (clipRect != null) {
+        ListLayouter.VerticalLayoutStategy vertical = layouter.getVerticalStrategy();
+        if (clipRect != null && vertical != null) {
+            // Rows above the first visible one keep their positions while
+            // the visible rows are measured
+            int size = list.getModel().getSize();
+            int clipBottom = clipRect.y + clipRect.height;
+            for (int i = Math.max(vertical.getIndexAt(clipRect.y), 0); i < size; i++) {
+                Rectangle bounds = layouter.getLayoutStrategy().getBounds(i);
+                if (bounds.y >= clipBottom) {
+                    break;
+                }
+                if (bounds.intersects(clipRect)) {
+                    paintCell(g, i, bounds, list.getCellRenderer(), list.getModel(), list.getSelectionModel(), i);
+                }
+            }
+            // The painted rows are measured now, the size is updated in
+            // the next layout pass
+            if (vertical.isSizeChanged()) {
+                list.revalidate();
+            }
+        } else if (clipRect != null) {
             for (int i = 0; i < list.getModel().getSize(); i++) {
                 Rectangle bounds = layouter.getLayoutStrategy().getBounds(i);
                 if (bounds.intersects(clipRect)) {
@@ -768,8 +789,18 @@ public class BasicListUI extends ListUI {
             public abstract int getColumnCount();
 
             public AbstractLayoutStrategy() {
-                cellWidth = getMaximumWidth();
-                cellHeight = getMaximumHeight();
+                this(true);
+            }
+
+            /**
+             * @param measureCells - if false the subclass initializes
+             *        cellWidth and cellHeight itself
+             */
+            AbstractLayoutStrategy(final boolean measureCells) {
+                if (measureCells) {
+                    cellWidth = getMaximumWidth();
+                    cellHeight = getMaximumHeight();
+                }
                 cellHeights = null;
             }
 
@@ -787,15 +818,39 @@ public class BasicListUI extends ListUI {
             }
         }
 
+        /**
+         * Single column layout. If the cell height is not fixed, the rows are
+         * measured only when their bounds are requested, unmeasured rows are
+         * assumed to be as high as the first one. Row positions are kept in
+         * SizeSequence, so index to y and y to index lookups are O(log n).
+         * The size is computed from the measured and the estimated rows, it
+         * changes as more rows get measured.
+         */
         public class VerticalLayoutStategy extends AbstractLayoutStrategy {
+            private SizeSequence rowSizes;
+            private boolean[] measured;
+            private int maximumWidth = -1;
+            private boolean sizeChanged;
+
             public VerticalLayoutStategy() {
+                super(list.getFixedCellHeight() > 0);
                 if (list.getFixedCellHeight() <= 0) {
                     cellHeight = -1;
-
-                    cellHeights = new int[getNumberOfElements()];
-                    for (int i = 0; i < getNumberOfElements(); i++) {
-                        cellHeights[i] = getPreferredSize(i).height;
+                    cellWidth = list.getFixedCellWidth();
+
+                    int size = getNumberOfElements();
+                    cellHeights = new int[size];
+                    measured = new boolean[size];
+                    rowSizes = new SizeSequence(size);
+                    if (size > 0) {
+                        measureCell(0);
+                        int estimatedHeight = cellHeights[0];
+                        for (int i = 1; i < size; i++) {
+                            cellHeights[i] = estimatedHeight;
+                        }
+                        rowSizes.setSizes(cellHeights);
                     }
+                    sizeChanged = false;
                 }
             }
 
@@ -804,9 +859,10 @@ public class BasicListUI extends ListUI {
                 int y = 0;
                 int height = cellHeight;
                 if (cellHeight == -1) {
-                    for (int i = 0; i < index; i++) {
-                        y += cellHeights[i];
+                    if (!measured[index]) {
+                        measureCell(index);
                     }
+                    y = rowSizes.getPosition(index);
                     height = cellHeights[index];
                 } else if (index > 0) {
                     y = cellHeight * index;
@@ -815,6 +871,46 @@ public class BasicListUI extends ListUI {
                 return new Rectangle(insets.left, insets.top + y, list.getWidth() - insets.left - insets.right, height);
             }
 
+            /**
+             * @return index of the row containing y, -1 if y is above
+             *         the first row or getRowCount() if it is below the last one
+             */
+            public int getIndexAt(final int y) {
+                int position = y - insets.top;
+                if (position < 0) {
+                    return -1;
+                }
+                if (cellHeight == -1) {
+                    return rowSizes.getIndex(position);
+                }
+                return cellHeight > 0 ? Math.min(position / cellHeight, getRowCount()) : getRowCount();
+            }
+
+            /**
+             * @return true if the rows measured since the last getSize()
+             *         call have changed the size
+             */
+            public boolean isSizeChanged() {
+                return sizeChanged;
+            }
+
+            private void measureCell(final int index) {
+                Dimension size = getPreferredSize(index);
+                if (cellHeights[index] != size.height) {
+                    cellHeights[index] = size.height;
+                    rowSizes.setSize(index, size.height);
+                    sizeChanged = true;
+                }
+                if (maximumWidth < size.width) {
+                    maximumWidth = size.width;
+                    if (list.getFixedCellWidth() < 0) {
+                        cellWidth = maximumWidth;
+                        sizeChanged = true;
+                    }
+                }
+                measured[index] = true;
+            }
+
             public int getRow(final int index) {
                 return index;
             }
@@ -841,9 +937,8 @@ public class BasicListUI extends ListUI {
             public Dimension getSize() {
                 int height = 0;
                 if (cellHeight == -1) {
-                    for (int i = 0; i < getRowCount(); i++) {
-                        height += cellHeights[i];
-                    }
+                    sizeChanged = false;
+                    height = rowSizes.getPosition(getRowCount());
                 } else {
                     height = cellHeight * getRowCount();
                 }
@@ -1095,7 +1190,31 @@ public class BasicListUI extends ListUI {
             return list;
         }
 
+        /**
+         * @return the vertical strategy used, unwrapped from the orientation
+         *         strategy, or null if the layout orientation isn't VERTICAL
+         */
+        public VerticalLayoutStategy getVerticalStrategy() {
+            LayoutStrategy s = getLayoutStrategy();
+            if (s instanceof OrientationStrategy) {
+                s = ((OrientationStrategy)s).strategy;
+            }
+            return s instanceof VerticalLayoutStategy ? (VerticalLayoutStategy)s : null;
+        }
+
         public int getNearestIndex(final Point location) {
+            VerticalLayoutStategy vertical = getVerticalStrategy();
+            if (vertical != null) {
+                // All the cells have the same horizontal bounds,
+                // so the nearest one is the closest by y
+                int size = getNumberOfElements();
+                if (size == 0) {
+                    return -1;
+                }
+                int index = vertical.getIndexAt(location.y);
+                return index < 0 ? 0 : Math.min(index, size - 1);
+            }
+
             int result = -1;
             int distance = Integer.MAX_VALUE;
             LayoutStrategy s = getLayoutStrategy();
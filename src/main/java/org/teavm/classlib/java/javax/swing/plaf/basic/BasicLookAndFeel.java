@@ -39,10 +39,11 @@ import javax.swing.LookAndFeel;
 import javax.swing.SwingUtilities;
 import javax.swing.UIDefaults;
 import javax.swing.UIManager;
-import javax.swing.UIDefaults.ProxyLazyValue;
 import javax.swing.plaf.ActionMapUIResource;
+import javax.swing.plaf.BorderUIResource;
 import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.DimensionUIResource;
+import javax.swing.plaf.FontUIResource;
 import javax.swing.plaf.InsetsUIResource;
 import javax.swing.text.DefaultEditorKit;
 
@@ -388,217 +389,6 @@ public abstract class BasicLookAndFeel extends LookAndFeel implements Serializab
                                                           "END", "endPassThrough",
                                                           "ENTER", "enterPressed" };
 
-        Object basicCompDefaults[] = {
-                                      "AuditoryCues.allAuditoryCues", auditoryCuesAllAuditoryCues,
-                                      "AuditoryCues.cueList", auditoryCuesCueList,
-                                      "AuditoryCues.noAuditoryCues", new Object[] { "mute" },
-                                      "Button.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getButtonBorder"),
-                                      "Button.focusInputMap", new UIDefaults.LazyInputMap(new Object[] {"SPACE", "pressed", "released SPACE", "released", "ENTER", "pressed", "released ENTER", "released" }),
-                                      "Button.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Button.margin", new InsetsUIResource(2, 14, 2, 14),
-                                      "Button.textIconGap", new Integer(4),
-                                      "Button.textShiftOffset", new Integer(0),
-                                      "CheckBox.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getRadioButtonBorder"),
-                                      "CheckBox.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
-                                      "CheckBox.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "CheckBox.icon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getCheckBoxIcon"),
-                                      "CheckBox.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "CheckBox.textIconGap", new Integer(4),
-                                      "CheckBox.textShiftOffset", new Integer(0),
-                                      "CheckBoxMenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "CheckBoxMenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuItemArrowIcon"),
-                                      "CheckBoxMenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "CheckBoxMenuItem.borderPainted", Boolean.FALSE,
-                                      "CheckBoxMenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getCheckBoxMenuItemIcon"),
-                                      "CheckBoxMenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "CheckBoxMenuItem.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "ColorChooser.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "ColorChooser.swatchesRecentSwatchSize", new DimensionUIResource(10, 10),
-                                      "ColorChooser.swatchesSwatchSize", new DimensionUIResource(10, 10),
-                                      "ComboBox.ancestorInputMap", new UIDefaults.LazyInputMap(comboBoxAncestorInputMap),
-                                      "ComboBox.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
-                                      "Desktop.ancestorInputMap", new UIDefaults.LazyInputMap(desktopAncestorInputMap),
-                                      "DesktopIcon.border",  new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getInternalFrameBorder"),
-                                      "EditorPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "EditorPane.caretBlinkRate", BLINK_RATE,
-                                      "EditorPane.font", lazyValueForFont("Serif", Font.PLAIN, 12),
-                                      "EditorPane.margin", new InsetsUIResource(3, 3, 3, 3),
-                                      "FileChooser.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] {"ESCAPE", "cancelSelection" }),
-                                      "FileChooser.detailsViewIcon", makeIcon(BasicLookAndFeel.class, "icons/DetailsView.gif"),
-                                      "FileChooser.homeFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/HomeFolder.gif"),
-                                      "FileChooser.listViewIcon", makeIcon(BasicLookAndFeel.class, "icons/ListView.gif"),
-                                      "FileChooser.newFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/NewFolder.gif"),
-                                      "FileChooser.upFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/UpFolder.gif"),
-                                      "FileView.computerIcon", makeIcon(BasicLookAndFeel.class, "icons/Computer.gif"),
-                                      "FileView.directoryIcon", makeIcon(BasicLookAndFeel.class, "icons/Directory.gif"),
-                                      "FileView.fileIcon", makeIcon(BasicLookAndFeel.class, "icons/File.gif"),
-                                      "FileView.floppyDriveIcon", makeIcon(BasicLookAndFeel.class, "icons/FloppyDrive.gif"),
-                                      "FileView.hardDriveIcon", makeIcon(BasicLookAndFeel.class, "icons/HardDrive.gif"),
-                                      "FormattedTextField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getTextFieldBorder"),
-                                      "FormattedTextField.caretBlinkRate", BLINK_RATE,
-                                      "FormattedTextField.focusInputMap", new UIDefaults.LazyInputMap(formattedTextFieldFocusInputMap),
-                                      "FormattedTextField.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
-                                      "FormattedTextField.margin", new InsetsUIResource(0, 0, 0, 0),
-                                      "InternalFrame.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getInternalFrameBorder"),
-                                      "InternalFrame.closeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "createEmptyFrameIcon"),
-                                      "InternalFrame.icon", makeIcon(BasicLookAndFeel.class, "icons/Logo.gif"),
-                                      "InternalFrame.iconifyIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "createEmptyFrameIcon"),
-                                      "InternalFrame.maximizeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "createEmptyFrameIcon"),
-                                      "InternalFrame.minimizeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "createEmptyFrameIcon"),
-                                      "InternalFrame.titleFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "InternalFrame.windowBindings", new Object[] { "shift ESCAPE", "showSystemMenu", "ctrl SPACE", "showSystemMenu", "ESCAPE", "hideSystemMenu" },
-                                      "Label.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "List.cellRenderer", makeListCellRenderer(),
-                                      "List.focusCellHighlightBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] {new ColorUIResource(Color.BLACK)}),
-                                      "List.focusInputMap", new UIDefaults.LazyInputMap(listFocusInputMap),
-                                      "List.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(listFocusInputMapRightToLeft),
-                                      "List.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Menu.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Menu.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuArrowIcon"),
-                                      "Menu.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "Menu.borderPainted", Boolean.FALSE,
-                                      "Menu.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuItemCheckIcon"),
-                                      "Menu.crossMenuMnemonic", Boolean.TRUE,
-                                      "Menu.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Menu.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "Menu.menuPopupOffsetX", new Integer(0),
-                                      "Menu.menuPopupOffsetY", new Integer(0),
-                                      "Menu.shortcutKeys", new int[] { KeyEvent.ALT_MASK },
-                                      "Menu.submenuPopupOffsetX", new Integer(-2),
-                                      "Menu.submenuPopupOffsetY", new Integer(-2),
-                                      "MenuBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getMenuBarBorder"),
-                                      "MenuBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "MenuBar.windowBindings", new Object[] {"F10", "takeFocus"},
-                                      "MenuItem.acceleratorDelimiter", new String("+"),
-                                      "MenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "MenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuItemArrowIcon"),
-                                      "MenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "MenuItem.borderPainted", Boolean.FALSE,
-                                      "MenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuItemCheckIcon"),
-                                      "MenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "MenuItem.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "OptionPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$EmptyBorderUIResource", new Object[] { new Integer(10), new Integer(10), new Integer(12), new Integer(10)}),
-                                      "OptionPane.buttonAreaBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$EmptyBorderUIResource", new Object[] {new Integer(6), new Integer(0), new Integer(0), new Integer(0)}),
-                                      "OptionPane.buttonClickThreshhold", new Integer(500),
-                                      "OptionPane.errorIcon", makeIcon(BasicLookAndFeel.class, "icons/Error.gif"),
-                                      "OptionPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "OptionPane.informationIcon", makeIcon(BasicLookAndFeel.class, "icons/Inform.gif"),
-                                      "OptionPane.messageAreaBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$EmptyBorderUIResource", new Object[] {new Integer(0), new Integer(0), new Integer(0), new Integer(0)}),
-                                      "OptionPane.minimumSize", new DimensionUIResource(262, 90),
-                                      "OptionPane.questionIcon", makeIcon(BasicLookAndFeel.class, "icons/Question.gif"),
-                                      "OptionPane.warningIcon", makeIcon(BasicLookAndFeel.class, "icons/Warn.gif"),
-                                      "OptionPane.windowBindings", new Object[] {"ESCAPE", "close"},
-                                      "Panel.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "PasswordField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getTextFieldBorder"),
-                                      "PasswordField.caretBlinkRate", BLINK_RATE,
-                                      "PasswordField.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12),
-                                      "PasswordField.margin", new InsetsUIResource(0, 0, 0, 0),
-                                      "PopupMenu.border",  new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getInternalFrameBorder"),
-                                      "PopupMenu.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "PopupMenu.selectedWindowInputMapBindings", new UIDefaults.LazyInputMap(popupMenuSelectedWindowInputMapBindings),
-                                      "PopupMenu.selectedWindowInputMapBindings.RightToLeft", new UIDefaults.LazyInputMap(new Object[] { "LEFT", "selectChild", "KP_LEFT", "selectChild", "RIGHT", "selectParent", "KP_RIGHT", "selectParent" }),
-                                      "ProgressBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getProgressBarBorder"),
-                                      "ProgressBar.verticalSize", new DimensionUIResource(12, 146),
-                                      "ProgressBar.horizontalSize", new DimensionUIResource(146, 12),
-                                      "ProgressBar.cellLength", new Integer(3),
-                                      "ProgressBar.cellSpacing", new Integer(2),
-                                      "ProgressBar.cycleTime", new Integer(500),
-                                      "ProgressBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "ProgressBar.repaintInterval", new Integer(60),
-                                      "RadioButton.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getRadioButtonBorder"),
-                                      "RadioButton.focusInputMap", new UIDefaults.LazyInputMap(radioButtonFocusInputMap),
-                                      "RadioButton.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "RadioButton.icon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getRadioButtonIcon"),
-                                      "RadioButton.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "RadioButton.textIconGap", new Integer(4),
-                                      "RadioButton.textShiftOffset", new Integer(0),
-                                      "RadioButtonMenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "RadioButtonMenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getMenuItemArrowIcon"),
-                                      "RadioButtonMenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "RadioButtonMenuItem.borderPainted", Boolean.FALSE,
-                                      "RadioButtonMenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicIconFactory", "getRadioButtonMenuItemIcon"),
-                                      "RadioButtonMenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "RadioButtonMenuItem.margin", new InsetsUIResource(2, 2, 2, 2),
-                                      "RootPane.defaultButtonWindowKeyBindings", new Object[] { "ENTER", "press", "released ENTER", "release", "ctrl ENTER", "press", "ctrl released ENTER", "release"},
-                                      "RootPane.ancestorInputMap", new UIDefaults.LazyInputMap(rootPaneAncestorInputMap),
-                                      "ScrollBar.ancestorInputMap", new UIDefaults.LazyInputMap(scrollBarAncestorInputMap),
-                                      "ScrollBar.ancestorInputMap.RightToLeft",  new UIDefaults.LazyInputMap(scrollBarAncestorInputMapRightToLeft),
-                                      "ScrollBar.maximumThumbSize", new DimensionUIResource(4096, 4096),
-                                      "ScrollBar.minimumThumbSize", new DimensionUIResource(8, 8),
-                                      "ScrollBar.width", new Integer(16),
-                                      "ScrollPane.ancestorInputMap", new UIDefaults.LazyInputMap(scrollPaneAncestorInputMap),
-                                      "ScrollPane.ancestorInputMap.RightToLeft", new UIDefaults.LazyInputMap(scrollPaneAncestorInputMapRightToLeft),
-                                      "ScrollPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getTextFieldBorder"),
-                                      "ScrollPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Slider.focusInputMap", new UIDefaults.LazyInputMap(sliderFocusInputMap),
-                                      "Slider.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(new Object[] {"RIGHT", "negativeUnitIncrement", "KP_RIGHT", "negativeUnitIncrement", "LEFT", "positiveUnitIncrement", "KP_LEFT", "positiveUnitIncrement" }),
-                                      "Slider.focusInsets", new InsetsUIResource(2, 2, 2, 2),
-                                      "Spinner.ancestorInputMap", new UIDefaults.LazyInputMap(spinnerAncestorInputMap),
-                                      "Spinner.arrowButtonSize", new DimensionUIResource(16, 5),
-                                      "Spinner.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getTextFieldBorder"),
-                                      "Spinner.editorBorderPainted", Boolean.FALSE,
-                                      "Spinner.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12),
-                                      "SplitPane.ancestorInputMap",  new UIDefaults.LazyInputMap(splitPaneAncestorInputMap),
-                                      "SplitPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getSplitPaneBorder"),
-                                      "SplitPane.dividerSize", new Integer(7),
-                                      "SplitPaneDivider.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getSplitPaneDividerBorder"),
-                                      "TabbedPane.ancestorInputMap",  new UIDefaults.LazyInputMap(tabbedPaneAncestorInputMap),
-                                      "TabbedPane.contentBorderInsets", new InsetsUIResource(2, 2, 3, 3),
-                                      "TabbedPane.focusInputMap", new UIDefaults.LazyInputMap(tabbedPaneFocusInputMap),
-                                      "TabbedPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "TabbedPane.selectedTabPadInsets", new InsetsUIResource(2, 2, 2, 1),
-                                      "TabbedPane.tabAreaInsets", new InsetsUIResource(3, 2, 0, 2),
-                                      "TabbedPane.tabInsets", new InsetsUIResource(0, 4, 1, 4),
-                                      "TabbedPane.tabRunOverlay", new Integer(2),
-                                      "TabbedPane.textIconGap", new Integer(4),
-                                      "Table.ancestorInputMap", new UIDefaults.LazyInputMap(tableAncestorInputMap),
-                                      "Table.ancestorInputMap.RightToLeft", new UIDefaults.LazyInputMap(tableAncestorInputMapRightToLeft),
-                                      "Table.focusCellHighlightBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] {new ColorUIResource(Color.BLACK) }),
-                                      "Table.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Table.scrollPaneBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource", "getLoweredBevelBorderUIResource"),
-                                      "TableHeader.cellBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$BevelBorderUIResource", new Object[] {new Integer(0), null, null, null, null}),
-                                      "TableHeader.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "TextArea.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "TextArea.caretBlinkRate", BLINK_RATE,
-                                      "TextArea.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12),
-                                      "TextArea.margin", new InsetsUIResource(0, 0, 0, 0),
-                                      "TextField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getTextFieldBorder"),
-                                      "TextField.caretBlinkRate", BLINK_RATE,
-                                      "TextField.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
-                                      "TextField.margin", new InsetsUIResource(0, 0, 0, 0),
-                                      "TextPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders$MarginBorder"),
-                                      "TextPane.caretBlinkRate", BLINK_RATE,
-                                      "TextPane.font", lazyValueForFont("Serif", Font.PLAIN, 12),
-                                      "TextPane.margin", new InsetsUIResource(3, 3, 3, 3),
-                                      "TitledBorder.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource", "getEtchedBorderUIResource"),
-                                      "TitledBorder.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "ToggleButton.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.basic.BasicBorders", "getToggleButtonBorder"),
-                                      "ToggleButton.focusInputMap",  new UIDefaults.LazyInputMap(toggleButtonFocusInputMap),
-                                      "ToggleButton.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "ToggleButton.margin", new InsetsUIResource(2, 14, 2, 14),
-                                      "ToggleButton.textIconGap", new Integer(4),
-                                      "ToggleButton.textShiftOffset", new Integer(0),
-                                      "ToolBar.ancestorInputMap", new UIDefaults.LazyInputMap(toolBarAncestorInputMap),
-                                      "ToolBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource", "getEtchedBorderUIResource"),
-                                      "ToolBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "ToolBar.separatorSize", new DimensionUIResource(10, 10),
-                                      "ToolTip.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource", "getBlackLineBorderUIResource"),
-                                      "ToolTip.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
-                                      "Tree.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] {"ESCAPE", "cancel" }),
-                                      "Tree.changeSelectionWithFocus", Boolean.TRUE,
-                                      "Tree.closedIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeClosed.gif"),
-                                      "Tree.drawsFocusBorderAroundIcon", Boolean.FALSE,
-                                      "Tree.editorBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource", "getBlackLineBorderUIResource"),
-                                      "Tree.focusInputMap",  new UIDefaults.LazyInputMap(treeFocusInputMap),
-                                      "Tree.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(treeFocusInputMapRightToLeft),
-                                      "Tree.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
-                                      "Tree.leafIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeLeaf.gif"),
-                                      "Tree.leftChildIndent", new Integer(7),
-                                      "Tree.openIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeOpen.gif"),
-                                      "Tree.rightChildIndent", new Integer(13),
-                                      "Tree.rowHeight", new Integer(16),
-                                      "Tree.scrollsOnExpand", Boolean.TRUE,
-                                      "Viewport.font", lazyValueForFont("Dialog", Font.PLAIN, 12) };
         Object[] componentColors = {
                                     "Button.background", uiDefs.get("control"),
                                     "Button.darkShadow", uiDefs.get("controlDkShadow"),
@@ -799,7 +589,305 @@ public abstract class BasicLookAndFeel extends LookAndFeel implements Serializab
                                     "Viewport.foreground", uiDefs.get("textText") };
 
         uiDefs.putDefaults(componentColors);
-        uiDefs.putDefaults(basicCompDefaults);
+
+        uiDefs.putLazyDefaults("AuditoryCues", table -> new Object[] {
+                "AuditoryCues.allAuditoryCues", auditoryCuesAllAuditoryCues,
+                "AuditoryCues.cueList", auditoryCuesCueList,
+                "AuditoryCues.noAuditoryCues", new Object[] { "mute" }
+        });
+        uiDefs.putLazyDefaults("Button", table -> new Object[] {
+                "Button.border", (UIDefaults.LazyValue)defs -> BasicBorders.getButtonBorder(),
+                "Button.focusInputMap", new UIDefaults.LazyInputMap(new Object[] {"SPACE", "pressed", "released SPACE", "released", "ENTER", "pressed", "released ENTER", "released" }),
+                "Button.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "Button.margin", new InsetsUIResource(2, 14, 2, 14),
+                "Button.textIconGap", new Integer(4),
+                "Button.textShiftOffset", new Integer(0)
+        });
+        uiDefs.putLazyDefaults("CheckBox", table -> new Object[] {
+                "CheckBox.border", (UIDefaults.LazyValue)defs -> BasicBorders.getRadioButtonBorder(),
+                "CheckBox.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
+                "CheckBox.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "CheckBox.icon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getCheckBoxIcon(),
+                "CheckBox.margin", new InsetsUIResource(2, 2, 2, 2),
+                "CheckBox.textIconGap", new Integer(4),
+                "CheckBox.textShiftOffset", new Integer(0)
+        });
+        uiDefs.putLazyDefaults("CheckBoxMenuItem", table -> new Object[] {
+                "CheckBoxMenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "CheckBoxMenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuItemArrowIcon(),
+                "CheckBoxMenuItem.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "CheckBoxMenuItem.borderPainted", Boolean.FALSE,
+                "CheckBoxMenuItem.checkIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getCheckBoxMenuItemIcon(),
+                "CheckBoxMenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "CheckBoxMenuItem.margin", new InsetsUIResource(2, 2, 2, 2)
+        });
+        uiDefs.putLazyDefaults("ColorChooser", table -> new Object[] {
+                "ColorChooser.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "ColorChooser.swatchesRecentSwatchSize", new DimensionUIResource(10, 10),
+                "ColorChooser.swatchesSwatchSize", new DimensionUIResource(10, 10)
+        });
+        uiDefs.putLazyDefaults("ComboBox", table -> new Object[] {
+                "ComboBox.ancestorInputMap", new UIDefaults.LazyInputMap(comboBoxAncestorInputMap),
+                "ComboBox.font", lazyValueForFont("SansSerif", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("Desktop", table -> new Object[] {
+                "Desktop.ancestorInputMap", new UIDefaults.LazyInputMap(desktopAncestorInputMap)
+        });
+        uiDefs.putLazyDefaults("DesktopIcon", table -> new Object[] {
+                "DesktopIcon.border", (UIDefaults.LazyValue)defs -> BasicBorders.getInternalFrameBorder()
+        });
+        uiDefs.putLazyDefaults("EditorPane", table -> new Object[] {
+                "EditorPane.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "EditorPane.caretBlinkRate", BLINK_RATE,
+                "EditorPane.font", lazyValueForFont("Serif", Font.PLAIN, 12),
+                "EditorPane.margin", new InsetsUIResource(3, 3, 3, 3)
+        });
+        uiDefs.putLazyDefaults("FileChooser", table -> new Object[] {
+                "FileChooser.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] {"ESCAPE", "cancelSelection" }),
+                "FileChooser.detailsViewIcon", makeIcon(BasicLookAndFeel.class, "icons/DetailsView.gif"),
+                "FileChooser.homeFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/HomeFolder.gif"),
+                "FileChooser.listViewIcon", makeIcon(BasicLookAndFeel.class, "icons/ListView.gif"),
+                "FileChooser.newFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/NewFolder.gif"),
+                "FileChooser.upFolderIcon", makeIcon(BasicLookAndFeel.class, "icons/UpFolder.gif")
+        });
+        uiDefs.putLazyDefaults("FileView", table -> new Object[] {
+                "FileView.computerIcon", makeIcon(BasicLookAndFeel.class, "icons/Computer.gif"),
+                "FileView.directoryIcon", makeIcon(BasicLookAndFeel.class, "icons/Directory.gif"),
+                "FileView.fileIcon", makeIcon(BasicLookAndFeel.class, "icons/File.gif"),
+                "FileView.floppyDriveIcon", makeIcon(BasicLookAndFeel.class, "icons/FloppyDrive.gif"),
+                "FileView.hardDriveIcon", makeIcon(BasicLookAndFeel.class, "icons/HardDrive.gif")
+        });
+        uiDefs.putLazyDefaults("FormattedTextField", table -> new Object[] {
+                "FormattedTextField.border", (UIDefaults.LazyValue)defs -> BasicBorders.getTextFieldBorder(),
+                "FormattedTextField.caretBlinkRate", BLINK_RATE,
+                "FormattedTextField.focusInputMap", new UIDefaults.LazyInputMap(formattedTextFieldFocusInputMap),
+                "FormattedTextField.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
+                "FormattedTextField.margin", new InsetsUIResource(0, 0, 0, 0)
+        });
+        uiDefs.putLazyDefaults("InternalFrame", table -> new Object[] {
+                "InternalFrame.border", (UIDefaults.LazyValue)defs -> BasicBorders.getInternalFrameBorder(),
+                "InternalFrame.closeIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.createEmptyFrameIcon(),
+                "InternalFrame.icon", makeIcon(BasicLookAndFeel.class, "icons/Logo.gif"),
+                "InternalFrame.iconifyIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.createEmptyFrameIcon(),
+                "InternalFrame.maximizeIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.createEmptyFrameIcon(),
+                "InternalFrame.minimizeIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.createEmptyFrameIcon(),
+                "InternalFrame.titleFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "InternalFrame.windowBindings", new Object[] { "shift ESCAPE", "showSystemMenu", "ctrl SPACE", "showSystemMenu", "ESCAPE", "hideSystemMenu" }
+        });
+        uiDefs.putLazyDefaults("Label", table -> new Object[] {
+                "Label.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("List", table -> new Object[] {
+                "List.cellRenderer", makeListCellRenderer(),
+                "List.focusCellHighlightBorder", (UIDefaults.LazyValue)defs -> new BorderUIResource.LineBorderUIResource(new ColorUIResource(Color.BLACK)),
+                "List.focusInputMap", new UIDefaults.LazyInputMap(listFocusInputMap),
+                "List.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(listFocusInputMapRightToLeft),
+                "List.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("Menu", table -> new Object[] {
+                "Menu.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "Menu.arrowIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuArrowIcon(),
+                "Menu.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "Menu.borderPainted", Boolean.FALSE,
+                "Menu.checkIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuItemCheckIcon(),
+                "Menu.crossMenuMnemonic", Boolean.TRUE,
+                "Menu.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "Menu.margin", new InsetsUIResource(2, 2, 2, 2),
+                "Menu.menuPopupOffsetX", new Integer(0),
+                "Menu.menuPopupOffsetY", new Integer(0),
+                "Menu.shortcutKeys", new int[] { KeyEvent.ALT_MASK },
+                "Menu.submenuPopupOffsetX", new Integer(-2),
+                "Menu.submenuPopupOffsetY", new Integer(-2)
+        });
+        uiDefs.putLazyDefaults("MenuBar", table -> new Object[] {
+                "MenuBar.border", (UIDefaults.LazyValue)defs -> BasicBorders.getMenuBarBorder(),
+                "MenuBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "MenuBar.windowBindings", new Object[] {"F10", "takeFocus"}
+        });
+        uiDefs.putLazyDefaults("MenuItem", table -> new Object[] {
+                "MenuItem.acceleratorDelimiter", new String("+"),
+                "MenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "MenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuItemArrowIcon(),
+                "MenuItem.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "MenuItem.borderPainted", Boolean.FALSE,
+                "MenuItem.checkIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuItemCheckIcon(),
+                "MenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "MenuItem.margin", new InsetsUIResource(2, 2, 2, 2)
+        });
+        uiDefs.putLazyDefaults("OptionPane", table -> new Object[] {
+                "OptionPane.border", (UIDefaults.LazyValue)defs -> new BorderUIResource.EmptyBorderUIResource(10, 10, 12, 10),
+                "OptionPane.buttonAreaBorder", (UIDefaults.LazyValue)defs -> new BorderUIResource.EmptyBorderUIResource(6, 0, 0, 0),
+                "OptionPane.buttonClickThreshhold", new Integer(500),
+                "OptionPane.errorIcon", makeIcon(BasicLookAndFeel.class, "icons/Error.gif"),
+                "OptionPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "OptionPane.informationIcon", makeIcon(BasicLookAndFeel.class, "icons/Inform.gif"),
+                "OptionPane.messageAreaBorder", (UIDefaults.LazyValue)defs -> new BorderUIResource.EmptyBorderUIResource(0, 0, 0, 0),
+                "OptionPane.minimumSize", new DimensionUIResource(262, 90),
+                "OptionPane.questionIcon", makeIcon(BasicLookAndFeel.class, "icons/Question.gif"),
+                "OptionPane.warningIcon", makeIcon(BasicLookAndFeel.class, "icons/Warn.gif"),
+                "OptionPane.windowBindings", new Object[] {"ESCAPE", "close"}
+        });
+        uiDefs.putLazyDefaults("Panel", table -> new Object[] {
+                "Panel.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("PasswordField", table -> new Object[] {
+                "PasswordField.border", (UIDefaults.LazyValue)defs -> BasicBorders.getTextFieldBorder(),
+                "PasswordField.caretBlinkRate", BLINK_RATE,
+                "PasswordField.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12),
+                "PasswordField.margin", new InsetsUIResource(0, 0, 0, 0)
+        });
+        uiDefs.putLazyDefaults("PopupMenu", table -> new Object[] {
+                "PopupMenu.border", (UIDefaults.LazyValue)defs -> BasicBorders.getInternalFrameBorder(),
+                "PopupMenu.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "PopupMenu.selectedWindowInputMapBindings", new UIDefaults.LazyInputMap(popupMenuSelectedWindowInputMapBindings),
+                "PopupMenu.selectedWindowInputMapBindings.RightToLeft", new UIDefaults.LazyInputMap(new Object[] { "LEFT", "selectChild", "KP_LEFT", "selectChild", "RIGHT", "selectParent", "KP_RIGHT", "selectParent" })
+        });
+        uiDefs.putLazyDefaults("ProgressBar", table -> new Object[] {
+                "ProgressBar.border", (UIDefaults.LazyValue)defs -> BasicBorders.getProgressBarBorder(),
+                "ProgressBar.verticalSize", new DimensionUIResource(12, 146),
+                "ProgressBar.horizontalSize", new DimensionUIResource(146, 12),
+                "ProgressBar.cellLength", new Integer(3),
+                "ProgressBar.cellSpacing", new Integer(2),
+                "ProgressBar.cycleTime", new Integer(500),
+                "ProgressBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "ProgressBar.repaintInterval", new Integer(60)
+        });
+        uiDefs.putLazyDefaults("RadioButton", table -> new Object[] {
+                "RadioButton.border", (UIDefaults.LazyValue)defs -> BasicBorders.getRadioButtonBorder(),
+                "RadioButton.focusInputMap", new UIDefaults.LazyInputMap(radioButtonFocusInputMap),
+                "RadioButton.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "RadioButton.icon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getRadioButtonIcon(),
+                "RadioButton.margin", new InsetsUIResource(2, 2, 2, 2),
+                "RadioButton.textIconGap", new Integer(4),
+                "RadioButton.textShiftOffset", new Integer(0)
+        });
+        uiDefs.putLazyDefaults("RadioButtonMenuItem", table -> new Object[] {
+                "RadioButtonMenuItem.acceleratorFont", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "RadioButtonMenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getMenuItemArrowIcon(),
+                "RadioButtonMenuItem.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "RadioButtonMenuItem.borderPainted", Boolean.FALSE,
+                "RadioButtonMenuItem.checkIcon", (UIDefaults.LazyValue)defs -> BasicIconFactory.getRadioButtonMenuItemIcon(),
+                "RadioButtonMenuItem.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "RadioButtonMenuItem.margin", new InsetsUIResource(2, 2, 2, 2)
+        });
+        uiDefs.putLazyDefaults("RootPane", table -> new Object[] {
+                "RootPane.defaultButtonWindowKeyBindings", new Object[] { "ENTER", "press", "released ENTER", "release", "ctrl ENTER", "press", "ctrl released ENTER", "release"},
+                "RootPane.ancestorInputMap", new UIDefaults.LazyInputMap(rootPaneAncestorInputMap)
+        });
+        uiDefs.putLazyDefaults("ScrollBar", table -> new Object[] {
+                "ScrollBar.ancestorInputMap", new UIDefaults.LazyInputMap(scrollBarAncestorInputMap),
+                "ScrollBar.ancestorInputMap.RightToLeft", new UIDefaults.LazyInputMap(scrollBarAncestorInputMapRightToLeft),
+                "ScrollBar.maximumThumbSize", new DimensionUIResource(4096, 4096),
+                "ScrollBar.minimumThumbSize", new DimensionUIResource(8, 8),
+                "ScrollBar.width", new Integer(16)
+        });
+        uiDefs.putLazyDefaults("ScrollPane", table -> new Object[] {
+                "ScrollPane.ancestorInputMap", new UIDefaults.LazyInputMap(scrollPaneAncestorInputMap),
+                "ScrollPane.ancestorInputMap.RightToLeft", new UIDefaults.LazyInputMap(scrollPaneAncestorInputMapRightToLeft),
+                "ScrollPane.border", (UIDefaults.LazyValue)defs -> BasicBorders.getTextFieldBorder(),
+                "ScrollPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("Slider", table -> new Object[] {
+                "Slider.focusInputMap", new UIDefaults.LazyInputMap(sliderFocusInputMap),
+                "Slider.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(new Object[] {"RIGHT", "negativeUnitIncrement", "KP_RIGHT", "negativeUnitIncrement", "LEFT", "positiveUnitIncrement", "KP_LEFT", "positiveUnitIncrement" }),
+                "Slider.focusInsets", new InsetsUIResource(2, 2, 2, 2)
+        });
+        uiDefs.putLazyDefaults("Spinner", table -> new Object[] {
+                "Spinner.ancestorInputMap", new UIDefaults.LazyInputMap(spinnerAncestorInputMap),
+                "Spinner.arrowButtonSize", new DimensionUIResource(16, 5),
+                "Spinner.border", (UIDefaults.LazyValue)defs -> BasicBorders.getTextFieldBorder(),
+                "Spinner.editorBorderPainted", Boolean.FALSE,
+                "Spinner.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("SplitPane", table -> new Object[] {
+                "SplitPane.ancestorInputMap", new UIDefaults.LazyInputMap(splitPaneAncestorInputMap),
+                "SplitPane.border", (UIDefaults.LazyValue)defs -> BasicBorders.getSplitPaneBorder(),
+                "SplitPane.dividerSize", new Integer(7)
+        });
+        uiDefs.putLazyDefaults("SplitPaneDivider", table -> new Object[] {
+                "SplitPaneDivider.border", (UIDefaults.LazyValue)defs -> BasicBorders.getSplitPaneDividerBorder()
+        });
+        uiDefs.putLazyDefaults("TabbedPane", table -> new Object[] {
+                "TabbedPane.ancestorInputMap", new UIDefaults.LazyInputMap(tabbedPaneAncestorInputMap),
+                "TabbedPane.contentBorderInsets", new InsetsUIResource(2, 2, 3, 3),
+                "TabbedPane.focusInputMap", new UIDefaults.LazyInputMap(tabbedPaneFocusInputMap),
+                "TabbedPane.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "TabbedPane.selectedTabPadInsets", new InsetsUIResource(2, 2, 2, 1),
+                "TabbedPane.tabAreaInsets", new InsetsUIResource(3, 2, 0, 2),
+                "TabbedPane.tabInsets", new InsetsUIResource(0, 4, 1, 4),
+                "TabbedPane.tabRunOverlay", new Integer(2),
+                "TabbedPane.textIconGap", new Integer(4)
+        });
+        uiDefs.putLazyDefaults("Table", table -> new Object[] {
+                "Table.ancestorInputMap", new UIDefaults.LazyInputMap(tableAncestorInputMap),
+                "Table.ancestorInputMap.RightToLeft", new UIDefaults.LazyInputMap(tableAncestorInputMapRightToLeft),
+                "Table.focusCellHighlightBorder", (UIDefaults.LazyValue)defs -> new BorderUIResource.LineBorderUIResource(new ColorUIResource(Color.BLACK)),
+                "Table.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "Table.scrollPaneBorder", (UIDefaults.LazyValue)defs -> BorderUIResource.getLoweredBevelBorderUIResource()
+        });
+        uiDefs.putLazyDefaults("TableHeader", table -> new Object[] {
+                "TableHeader.cellBorder", (UIDefaults.LazyValue)defs -> new BorderUIResource.BevelBorderUIResource(0, null, null, null, null),
+                "TableHeader.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("TextArea", table -> new Object[] {
+                "TextArea.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "TextArea.caretBlinkRate", BLINK_RATE,
+                "TextArea.font", lazyValueForFont("MonoSpaced", Font.PLAIN, 12),
+                "TextArea.margin", new InsetsUIResource(0, 0, 0, 0)
+        });
+        uiDefs.putLazyDefaults("TextField", table -> new Object[] {
+                "TextField.border", (UIDefaults.LazyValue)defs -> BasicBorders.getTextFieldBorder(),
+                "TextField.caretBlinkRate", BLINK_RATE,
+                "TextField.font", lazyValueForFont("SansSerif", Font.PLAIN, 12),
+                "TextField.margin", new InsetsUIResource(0, 0, 0, 0)
+        });
+        uiDefs.putLazyDefaults("TextPane", table -> new Object[] {
+                "TextPane.border", (UIDefaults.LazyValue)defs -> new BasicBorders.MarginBorder(),
+                "TextPane.caretBlinkRate", BLINK_RATE,
+                "TextPane.font", lazyValueForFont("Serif", Font.PLAIN, 12),
+                "TextPane.margin", new InsetsUIResource(3, 3, 3, 3)
+        });
+        uiDefs.putLazyDefaults("TitledBorder", table -> new Object[] {
+                "TitledBorder.border", (UIDefaults.LazyValue)defs -> BorderUIResource.getEtchedBorderUIResource(),
+                "TitledBorder.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("ToggleButton", table -> new Object[] {
+                "ToggleButton.border", (UIDefaults.LazyValue)defs -> BasicBorders.getToggleButtonBorder(),
+                "ToggleButton.focusInputMap", new UIDefaults.LazyInputMap(toggleButtonFocusInputMap),
+                "ToggleButton.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "ToggleButton.margin", new InsetsUIResource(2, 14, 2, 14),
+                "ToggleButton.textIconGap", new Integer(4),
+                "ToggleButton.textShiftOffset", new Integer(0)
+        });
+        uiDefs.putLazyDefaults("ToolBar", table -> new Object[] {
+                "ToolBar.ancestorInputMap", new UIDefaults.LazyInputMap(toolBarAncestorInputMap),
+                "ToolBar.border", (UIDefaults.LazyValue)defs -> BorderUIResource.getEtchedBorderUIResource(),
+                "ToolBar.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "ToolBar.separatorSize", new DimensionUIResource(10, 10)
+        });
+        uiDefs.putLazyDefaults("ToolTip", table -> new Object[] {
+                "ToolTip.border", (UIDefaults.LazyValue)defs -> BorderUIResource.getBlackLineBorderUIResource(),
+                "ToolTip.font", lazyValueForFont("SansSerif", Font.PLAIN, 12)
+        });
+        uiDefs.putLazyDefaults("Tree", table -> new Object[] {
+                "Tree.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] {"ESCAPE", "cancel" }),
+                "Tree.changeSelectionWithFocus", Boolean.TRUE,
+                "Tree.closedIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeClosed.gif"),
+                "Tree.drawsFocusBorderAroundIcon", Boolean.FALSE,
+                "Tree.editorBorder", (UIDefaults.LazyValue)defs -> BorderUIResource.getBlackLineBorderUIResource(),
+                "Tree.focusInputMap", new UIDefaults.LazyInputMap(treeFocusInputMap),
+                "Tree.focusInputMap.RightToLeft", new UIDefaults.LazyInputMap(treeFocusInputMapRightToLeft),
+                "Tree.font", lazyValueForFont("Dialog", Font.PLAIN, 12),
+                "Tree.leafIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeLeaf.gif"),
+                "Tree.leftChildIndent", new Integer(7),
+                "Tree.openIcon", makeIcon(BasicLookAndFeel.class, "icons/TreeOpen.gif"),
+                "Tree.rightChildIndent", new Integer(13),
+                "Tree.rowHeight", new Integer(16),
+                "Tree.scrollsOnExpand", Boolean.TRUE
+        });
+        uiDefs.putLazyDefaults("Viewport", table -> new Object[] {
+                "Viewport.font", lazyValueForFont("Dialog", Font.PLAIN, 12)
+        });
     }
 
     protected void initClassDefaults(final UIDefaults uiDefs) {
@@ -911,9 +999,8 @@ public abstract class BasicLookAndFeel extends LookAndFeel implements Serializab
         };
     }
 
-    private static ProxyLazyValue lazyValueForFont(final String fontName, final int style, final int size) {
-        return new UIDefaults.ProxyLazyValue("javax.swing.plaf.FontUIResource",
-                                             new Object[] {fontName, new Integer(style), new Integer(size)});
+    private static UIDefaults.LazyValue lazyValueForFont(final String fontName, final int style, final int size) {
+        return defs -> new FontUIResource(fontName, style, size);
     }
 
     private void loadColors(final UIDefaults uiDefs, final String[] colors) {
@@ -29,7 +29,10 @@ import java.awt.event.MouseEvent;
 
 import javax.swing.CellRendererPane;
 import javax.swing.JComponent;
+import javax.swing.JTable;
 import javax.swing.LookAndFeel;
+import javax.swing.RowSorter;
+import javax.swing.SwingUtilities;
 import javax.swing.event.MouseInputListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.TableHeaderUI;
@@ -50,6 +53,18 @@ public class BasicTableHeaderUI extends TableHeaderUI {
         private int initialColumnWidth;
 
         public void mouseClicked(final MouseEvent e) {
+            if (!header.isEnabled() || e.getClickCount() % 2 == 0 || !SwingUtilities.isLeftMouseButton(e)) {
+                return;
+            }
+            JTable table = header.getTable();
+            RowSorter<?> sorter = table != null ? table.getRowSorter() : null;
+            if (sorter == null) {
+                return;
+            }
+            int column = header.columnAtPoint(e.getPoint());
+            if (column != -1) {
+                sorter.toggleSortOrder(table.convertColumnIndexToModel(column));
+            }
         }
 
         public void mousePressed(final MouseEvent e) {
@@ -271,6 +271,10 @@ public class BasicTableUI extends TableUI {
     protected FocusListener focusListener;
     protected MouseInputListener mouseInputListener;
 
+    // Scratch rectangles reused while painting cells
+    private final Rectangle cellRect = new Rectangle();
+    private final Rectangle gridRect = new Rectangle();
+
     private static final WidthInfo MINIMUM_WIDTH = new WidthInfo() {
         public int getWidth(final TableColumn column) {
             return column.getMinWidth();
@@ -422,37 +426,106 @@ public class BasicTableUI extends TableUI {
         if (table.getTableHeader() != null && table.getTableHeader().getDraggedColumn() != null) {
             draggedColumn = getColumnIndex(table.getTableHeader().getDraggedColumn());
         }
-        for (int column = 0; column < table.getColumnCount(); column++) {
+
+        int firstRow = 0;
+        int lastRow = table.getRowCount() - 1;
+        int firstColumn = 0;
+        int lastColumn = table.getColumnCount() - 1;
+        boolean isLTR = table.getComponentOrientation().isLeftToRight();
+        if (clipBounds != null) {
+            if (clipBounds.isEmpty()) {
+                return;
+            }
+            // Only rows and columns crossing the clip are painted
+            Point corner = new Point(clipBounds.x, clipBounds.y);
+            int topRow = table.rowAtPoint(corner);
+            int leftColumn = table.columnAtPoint(corner);
+            corner.setLocation(clipBounds.x + clipBounds.width - 1, clipBounds.y + clipBounds.height - 1);
+            int bottomRow = table.rowAtPoint(corner);
+            int rightColumn = table.columnAtPoint(corner);
+
+            if (topRow != -1) {
+                firstRow = topRow;
+            } else if (clipBounds.y >= 0) {
+                return;
+            }
+            if (bottomRow != -1) {
+                lastRow = bottomRow;
+            }
+            if (leftColumn != -1) {
+                if (isLTR) {
+                    firstColumn = leftColumn;
+                } else {
+                    lastColumn = leftColumn;
+                }
+            }
+            if (rightColumn != -1) {
+                if (isLTR) {
+                    lastColumn = rightColumn;
+                } else {
+                    firstColumn = rightColumn;
+                }
+            }
+        }
+
+        TableColumnModel columnModel = table.getColumnModel();
+        Dimension spacing = table.getIntercellSpacing();
+        Rectangle firstCell = table.getCellRect(firstRow, firstColumn, true);
+        int x = firstCell.x;
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            int width = columnModel.getColumn(column).getWidth();
+            if (!isLTR && column > firstColumn) {
+                x -= width;
+            }
             if (column != draggedColumn) {
-                for (int row = 0; row < table.getRowCount(); row++) {
-                    Rectangle cellRect = table.getCellRect(row, column, false);
-                    Rectangle gridRect = table.getCellRect(row, column, true);
+                int y = firstCell.y;
+                for (int row = firstRow; row <= lastRow; row++) {
+                    int height = table.getRowHeight(row);
+                    setCellBounds(x, y, width, height, spacing);
                     if (clipBounds == null || clipBounds.intersects(gridRect)) {
                         paintCell(g, row, column, cellRect, gridRect);
                         paintGrid(g, row, column, gridRect);
                     }
+                    y += height;
                 }
             }
+            if (isLTR) {
+                x += width;
+            }
         }
         if (draggedColumn != -1) {
-            for (int row = 0; row < table.getRowCount(); row++) {
-                Rectangle cellRect = table.getCellRect(row, draggedColumn, false);
-                Rectangle gridRect = table.getCellRect(row, draggedColumn, true);
+            // Dragged column may be moved into the clip from outside of the column range
+            Rectangle draggedCell = table.getCellRect(firstRow, draggedColumn, true);
+            int distance = table.getTableHeader().getDraggedDistance();
+            int y = draggedCell.y;
+            for (int row = firstRow; row <= lastRow; row++) {
+                int height = table.getRowHeight(row);
+                setCellBounds(draggedCell.x, y, draggedCell.width, height, spacing);
 
                 paintBackgroundUnderDraggedCell(g, gridRect);
-                cellRect.translate(table.getTableHeader().getDraggedDistance(), 0);
-                gridRect.translate(table.getTableHeader().getDraggedDistance(), 0);
+                cellRect.translate(distance, 0);
+                gridRect.translate(distance, 0);
                 if (clipBounds == null || clipBounds.intersects(gridRect)) {
                     paintCell(g, row, draggedColumn, cellRect, gridRect);
                     paintGrid(g, row, draggedColumn, gridRect);
                 }
+                y += height;
             }
         }
     }
 
+    /**
+     * Sets the scratch rectangles the same way as table.getCellRect() does
+     * for the valid cell with and without the intercell spacing
+     */
+    private void setCellBounds(final int x, final int y, final int width, final int height, final Dimension spacing) {
+        gridRect.setBounds(x, y, width, height);
+        cellRect.setBounds(x + spacing.width / 2, y + spacing.height / 2,
+                           width - spacing.width, height - spacing.height);
+    }
+
     private void paintCell(final Graphics g, final int row, final int column, final Rectangle cellRect, final Rectangle gridRect) {
-        boolean isFocused = table.isFocusOwner() && table.getSelectionModel().getLeadSelectionIndex() == row && table.getColumnModel().getSelectionModel().getLeadSelectionIndex() == column;
-        Component renderingComponent = table.getCellRenderer(row, column).getTableCellRendererComponent(table, table.getValueAt(row, column), table.isCellSelected(row, column), isFocused, row, column);
+        Component renderingComponent = table.prepareRenderer(table.getCellRenderer(row, column), row, column);
         g.setColor(table.getBackground());
         g.fillRect(gridRect.x, gridRect.y, gridRect.width, gridRect.height);
         rendererPane.paintComponent(g, renderingComponent, table, cellRect);
@@ -494,12 +567,13 @@ public class BasicTableUI extends TableUI {
     }
 
     private int getHeight() {
-        int result = 0;
-        for (int i = 0; i < table.getRowCount(); i++) {
-            result += table.getRowHeight(i);
+        int rowCount = table.getRowCount();
+        if (rowCount == 0) {
+            return 0;
         }
+        Rectangle lastRow = table.getCellRect(rowCount - 1, 0, true);
 
-        return result;
+        return lastRow.y + lastRow.height;
     }
 
     private int getWidth(final WidthInfo info) {
@@ -26,6 +26,7 @@ import java.awt.Component;
 import javax.swing.JTextField;
 import javax.swing.UIDefaults;
 import javax.swing.UIDefaults.ActiveValue;
+import javax.swing.plaf.BorderUIResource;
 import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.FontUIResource;
 import javax.swing.plaf.InsetsUIResource;
@@ -557,80 +558,80 @@ public class MetalLookAndFeel extends BasicLookAndFeel {
                                                          "RIGHT", "navigateRight", "KP_RIGHT", "navigateRight" };
         Object[] componentDefaults = new Object[] {
                  "AuditoryCues.defaultCueList", auditoryCuesDefaultCueList,
-                 "Button.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getButtonBorder"),
+                 "Button.border", (UIDefaults.LazyValue)defs -> MetalBorders.getButtonBorder(),
                  "Button.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
                  "Button.font", controlTextFont,
                  "CheckBox.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
                  "CheckBox.font", controlTextFont,
-                 "CheckBox.icon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getCheckBoxIcon"),
+                 "CheckBox.icon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getCheckBoxIcon(),
                  "CheckBoxMenuItem.acceleratorFont", subTextFont,
-                 "CheckBoxMenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuItemArrowIcon"),
-                 "CheckBoxMenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$MenuItemBorder"),
+                 "CheckBoxMenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuItemArrowIcon(),
+                 "CheckBoxMenuItem.border", (UIDefaults.LazyValue)defs -> new MetalBorders.MenuItemBorder(),
                  "CheckBoxMenuItem.borderPainted", Boolean.TRUE,
-                 "CheckBoxMenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getCheckBoxMenuItemIcon"),
+                 "CheckBoxMenuItem.checkIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getCheckBoxMenuItemIcon(),
                  "CheckBoxMenuItem.commandSound", "sounds/MenuItemCommand.wav",
                  "CheckBoxMenuItem.font", menuTextFont,
                  "ComboBox.ancestorInputMap", new UIDefaults.LazyInputMap(comboBoxAncestorInputMap),
                  "ComboBox.font", controlTextFont,
                  "Desktop.ancestorInputMap", new UIDefaults.LazyInputMap(desktopAncestorInputMap),
-                 "DesktopIcon.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getDesktopIconBorder"),
+                 "DesktopIcon.border", (UIDefaults.LazyValue)defs -> MetalBorders.getDesktopIconBorder(),
                  "DesktopIcon.font", controlTextFont,
                  "DesktopIcon.width", new Integer(160),
                  "EditorPane.focusInputMap", new UIDefaults.LazyInputMap(editorPaneFocusInputMap),
                  "EditorPane.font", userTextFont,
                  "FileChooser.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] { "ESCAPE", "cancelSelection", "BACK_SPACE", "Go Up", "ENTER", "approveSelection" }),
-                 "FileChooser.detailsViewIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getFileChooserDetailViewIcon"),
-                 "FileChooser.homeFolderIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getFileChooserHomeFolderIcon"),
-                 "FileChooser.listViewIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getFileChooserListViewIcon"),
-                 "FileChooser.newFolderIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getFileChooserNewFolderIcon"),
-                 "FileChooser.upFolderIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getFileChooserUpFolderIcon"),
-                 "FileView.computerIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeComputerIcon"),
-                 "FileView.directoryIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeFolderIcon"),
-                 "FileView.fileIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeLeafIcon"),
-                 "FileView.floppyDriveIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeFloppyDriveIcon"),
-                 "FileView.hardDriveIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeHardDriveIcon"),
-                 "FormattedTextField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getTextFieldBorder"),
+                 "FileChooser.detailsViewIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getFileChooserDetailViewIcon(),
+                 "FileChooser.homeFolderIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getFileChooserHomeFolderIcon(),
+                 "FileChooser.listViewIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getFileChooserListViewIcon(),
+                 "FileChooser.newFolderIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getFileChooserNewFolderIcon(),
+                 "FileChooser.upFolderIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getFileChooserUpFolderIcon(),
+                 "FileView.computerIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeComputerIcon(),
+                 "FileView.directoryIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeFolderIcon(),
+                 "FileView.fileIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeLeafIcon(),
+                 "FileView.floppyDriveIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeFloppyDriveIcon(),
+                 "FileView.hardDriveIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeHardDriveIcon(),
+                 "FormattedTextField.border", (UIDefaults.LazyValue)defs -> MetalBorders.getTextFieldBorder(),
                  "FormattedTextField.focusInputMap", new UIDefaults.LazyInputMap(formattedTextFieldFocusInputMap),
                  "FormattedTextField.font", userTextFont,
-                 "InternalFrame.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$InternalFrameBorder"),
-                 "InternalFrame.closeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getInternalFrameCloseIcon", new Object[] { new Integer(16) }),
+                 "InternalFrame.border", (UIDefaults.LazyValue)defs -> new MetalBorders.InternalFrameBorder(),
+                 "InternalFrame.closeIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getInternalFrameCloseIcon(16),
                  "InternalFrame.closeSound", "sounds/FrameClose.wav",
-                 "InternalFrame.icon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getInternalFrameDefaultMenuIcon"),
-                 "InternalFrame.iconifyIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getInternalFrameMinimizeIcon", new Object[] { new Integer(16) }),
-                 "InternalFrame.maximizeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getInternalFrameMaximizeIcon", new Object[] { new Integer(16) }),
+                 "InternalFrame.icon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getInternalFrameDefaultMenuIcon(),
+                 "InternalFrame.iconifyIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getInternalFrameMinimizeIcon(16),
+                 "InternalFrame.maximizeIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getInternalFrameMaximizeIcon(16),
                  "InternalFrame.maximizeSound", "sounds/FrameMaximize.wav",
-                 "InternalFrame.minimizeIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getInternalFrameAltMaximizeIcon", new Object[] { new Integer(16) }),
+                 "InternalFrame.minimizeIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getInternalFrameAltMaximizeIcon(16),
                  "InternalFrame.minimizeSound", "sounds/FrameMinimize.wav",
-                 "InternalFrame.optionDialogBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$OptionDialogBorder"),
-                 "InternalFrame.paletteBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$PaletteBorder"),
-                 "InternalFrame.paletteCloseIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory$PaletteCloseIcon"),
+                 "InternalFrame.optionDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.OptionDialogBorder(),
+                 "InternalFrame.paletteBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.PaletteBorder(),
+                 "InternalFrame.paletteCloseIcon", (UIDefaults.LazyValue)defs -> new MetalIconFactory.PaletteCloseIcon(),
                  "InternalFrame.paletteTitleHeight", new Integer(12),
                  "InternalFrame.restoreDownSound", "sounds/FrameRestoreDown.wav",
                  "InternalFrame.restoreUpSound", "sounds/FrameRestoreUp.wav",
                  "InternalFrame.titleFont", windowTitleFont,
                  "Label.font", controlTextFont,
-                 "List.focusCellHighlightBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getPrimaryControlShadow() }),
+                 "List.focusCellHighlightBorder", lazyLineBorder(getPrimaryControlShadow()),
                  "List.focusInputMap", new UIDefaults.LazyInputMap(listFocusInputMap),
                  "List.font", controlTextFont,
                  "Menu.acceleratorFont", subTextFont,
-                 "Menu.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuArrowIcon"),
-                 "Menu.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$MenuItemBorder"),
+                 "Menu.arrowIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuArrowIcon(),
+                 "Menu.border", (UIDefaults.LazyValue)defs -> new MetalBorders.MenuItemBorder(),
                  "Menu.borderPainted", Boolean.TRUE,
-                 "Menu.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuItemCheckIcon"),
+                 "Menu.checkIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuItemCheckIcon(),
                  "Menu.font", menuTextFont,
                  "Menu.menuPopupOffsetX", new Integer(0),
                  "Menu.menuPopupOffsetY", new Integer(0),
                  "Menu.submenuPopupOffsetX", new Integer(-5),
                  "Menu.submenuPopupOffsetY", new Integer(-2),
-                 "MenuBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$MenuBarBorder"),
+                 "MenuBar.border", (UIDefaults.LazyValue)defs -> new MetalBorders.MenuBarBorder(),
                  "MenuBar.font", menuTextFont,
                  "MenuBar.windowBindings", new Object[] { "F10", "takeFocus" },
                  "MenuItem.acceleratorDelimiter", "-",
                  "MenuItem.acceleratorFont", subTextFont,
-                 "MenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuItemArrowIcon"),
-                 "MenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$MenuItemBorder"),
+                 "MenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuItemArrowIcon(),
+                 "MenuItem.border", (UIDefaults.LazyValue)defs -> new MetalBorders.MenuItemBorder(),
                  "MenuItem.borderPainted", Boolean.TRUE,
-                 "MenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuItemCheckIcon"),
+                 "MenuItem.checkIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuItemCheckIcon(),
                  "MenuItem.commandSound", "sounds/MenuItemCommand.wav",
                  "MenuItem.font", menuTextFont,
                  "OptionPane.errorSound", "sounds/OptionPaneError.wav",
@@ -642,50 +643,50 @@ public class MetalLookAndFeel extends BasicLookAndFeel {
                  "OptionPane.informationIcon", makeIcon(MetalLookAndFeel.class, "icons/Inform.gif"),
                  "OptionPane.questionIcon", makeIcon(MetalLookAndFeel.class, "icons/Question.gif"),
                  "OptionPane.warningIcon", makeIcon(MetalLookAndFeel.class, "icons/Warn.gif"),
-                 "PasswordField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getTextBorder"),
+                 "PasswordField.border", (UIDefaults.LazyValue)defs -> MetalBorders.getTextBorder(),
                  "PasswordField.focusInputMap", new UIDefaults.LazyInputMap(textFieldFocusInputMap),
                  "PasswordField.font", userTextFont,
-                 "PopupMenu.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$PopupMenuBorder"),
+                 "PopupMenu.border", (UIDefaults.LazyValue)defs -> new MetalBorders.PopupMenuBorder(),
                  "PopupMenu.font", menuTextFont,
                  "PopupMenu.popupSound", "sounds/PopupMenuPopup.wav",
-                 "ProgressBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getControlDarkShadow(), new Integer(1) }),
+                 "ProgressBar.border", lazyLineBorder(getControlDarkShadow()),
                  "ProgressBar.cellLength", new Integer(3),
                  "ProgressBar.cellSpacing", new Integer(2),
                  "ProgressBar.font", controlTextFont,
                  "RadioButton.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
                  "RadioButton.font", controlTextFont,
-                 "RadioButton.icon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getRadioButtonIcon"),
+                 "RadioButton.icon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getRadioButtonIcon(),
                  "RadioButtonMenuItem.acceleratorFont", subTextFont,
-                 "RadioButtonMenuItem.arrowIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getMenuItemArrowIcon"),
-                 "RadioButtonMenuItem.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$MenuItemBorder"),
+                 "RadioButtonMenuItem.arrowIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getMenuItemArrowIcon(),
+                 "RadioButtonMenuItem.border", (UIDefaults.LazyValue)defs -> new MetalBorders.MenuItemBorder(),
                  "RadioButtonMenuItem.borderPainted", Boolean.TRUE,
-                 "RadioButtonMenuItem.checkIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getRadioButtonMenuItemIcon"),
+                 "RadioButtonMenuItem.checkIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getRadioButtonMenuItemIcon(),
                  "RadioButtonMenuItem.commandSound", "sounds/MenuItemCommand.wav",
                  "RadioButtonMenuItem.font", menuTextFont,
-                 "RootPane.colorChooserDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$QuestionDialogBorder"),
+                 "RootPane.colorChooserDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.QuestionDialogBorder(),
                  "RootPane.defaultButtonWindowKeyBindings", new Object[] { "ENTER", "press", "released ENTER", "release", "ctrl ENTER", "press", "ctrl released ENTER", "release" },
-                 "RootPane.errorDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$ErrorDialogBorder"),
-                 "RootPane.fileChooserDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$QuestionDialogBorder"),
-                 "RootPane.frameBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$FrameBorder"),
-                 "RootPane.informationDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$DialogBorder"),
-                 "RootPane.plainDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$DialogBorder"),
-                 "RootPane.questionDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$QuestionDialogBorder"),
-                 "RootPane.warningDialogBorder", new MetalLazyValue("javax.swing.plaf.metal.MetalBorders$WarningDialogBorder"),
+                 "RootPane.errorDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.ErrorDialogBorder(),
+                 "RootPane.fileChooserDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.QuestionDialogBorder(),
+                 "RootPane.frameBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.FrameBorder(),
+                 "RootPane.informationDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.DialogBorder(),
+                 "RootPane.plainDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.DialogBorder(),
+                 "RootPane.questionDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.QuestionDialogBorder(),
+                 "RootPane.warningDialogBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.WarningDialogBorder(),
                  "ScrollBar.allowsAbsolutePositioning", Boolean.TRUE,
                  "ScrollBar.ancestorInputMap", new UIDefaults.LazyInputMap(scrollBarAncestorInputMap),
                  "ScrollBar.width", new Integer(17),
                  "ScrollPane.ancestorInputMap", new UIDefaults.LazyInputMap(scrollPaneAncestorInputMap),
-                 "ScrollPane.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$ScrollPaneBorder"),
+                 "ScrollPane.border", (UIDefaults.LazyValue)defs -> new MetalBorders.ScrollPaneBorder(),
                  "Slider.focusInputMap", new UIDefaults.LazyInputMap(sliderFocusInputMap),
                  "Slider.focusInsets", new InsetsUIResource(0, 0, 0, 0),
-                 "Slider.horizontalThumbIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getHorizontalSliderThumbIcon"),
+                 "Slider.horizontalThumbIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getHorizontalSliderThumbIcon(),
                  "Slider.majorTickLength", new Integer(6),
                  "Slider.trackWidth", new Integer(5),
-                 "Slider.verticalThumbIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getVerticalSliderThumbIcon"),
+                 "Slider.verticalThumbIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getVerticalSliderThumbIcon(),
                  "Spinner.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] { "UP", "increment", "KP_UP", "increment", "DOWN", "decrement", "KP_DOWN", "decrement" }),
-                 "Spinner.arrowButtonBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getButtonBorder"),
+                 "Spinner.arrowButtonBorder", (UIDefaults.LazyValue)defs -> MetalBorders.getButtonBorder(),
                  "Spinner.arrowButtonInsets", new InsetsUIResource(0, 0, 0, 0),
-                 "Spinner.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getTextFieldBorder"),
+                 "Spinner.border", (UIDefaults.LazyValue)defs -> MetalBorders.getTextFieldBorder(),
                  "Spinner.font", controlTextFont,
                  "SplitPane.ancestorInputMap", new UIDefaults.LazyInputMap(splitPaneAncestorInputMap),
                  "SplitPane.dividerSize", new Integer(10),
@@ -695,38 +696,38 @@ public class MetalLookAndFeel extends BasicLookAndFeel {
                  "TabbedPane.tabAreaInsets", new InsetsUIResource(4, 2, 0, 6),
                  "TabbedPane.tabInsets", new InsetsUIResource(0, 9, 1, 9),
                  "Table.ancestorInputMap", new UIDefaults.LazyInputMap(tableAncestorInputMap),
-                 "Table.focusCellHighlightBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getPrimaryControlShadow() }),
+                 "Table.focusCellHighlightBorder", lazyLineBorder(getPrimaryControlShadow()),
                  "Table.font", userTextFont,
-                 "Table.scrollPaneBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$ScrollPaneBorder"),
-                 "TableHeader.cellBorder", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$TableHeaderBorder"),
+                 "Table.scrollPaneBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.ScrollPaneBorder(),
+                 "TableHeader.cellBorder", (UIDefaults.LazyValue)defs -> new MetalBorders.TableHeaderBorder(),
                  "TableHeader.font", userTextFont,
                  "TextArea.focusInputMap", new UIDefaults.LazyInputMap(editorPaneFocusInputMap),
                  "TextArea.font", userTextFont,
-                 "TextField.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getTextFieldBorder"),
+                 "TextField.border", (UIDefaults.LazyValue)defs -> MetalBorders.getTextFieldBorder(),
                  "TextField.focusInputMap", new UIDefaults.LazyInputMap(textFieldFocusInputMap),
                  "TextField.font", userTextFont,
                  "TextPane.focusInputMap", new UIDefaults.LazyInputMap(editorPaneFocusInputMap),
                  "TextPane.font", userTextFont,
-                 "TitledBorder.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getControlShadow() }),
+                 "TitledBorder.border", lazyLineBorder(getControlShadow()),
                  "TitledBorder.font", controlTextFont,
-                 "ToggleButton.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders", "getToggleButtonBorder"),
+                 "ToggleButton.border", (UIDefaults.LazyValue)defs -> MetalBorders.getToggleButtonBorder(),
                  "ToggleButton.focusInputMap", new UIDefaults.LazyInputMap(new Object[] { "SPACE", "pressed", "released SPACE", "released" }),
                  "ToggleButton.font", controlTextFont,
                  "ToolBar.ancestorInputMap", new UIDefaults.LazyInputMap(toolBarAncestorInputMap),
-                 "ToolBar.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalBorders$ToolBarBorder"),
+                 "ToolBar.border", (UIDefaults.LazyValue)defs -> new MetalBorders.ToolBarBorder(),
                  "ToolBar.font", menuTextFont,
-                 "ToolTip.border", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getPrimaryControlDarkShadow() }),
-                 "ToolTip.borderInactive", new UIDefaults.ProxyLazyValue("javax.swing.plaf.BorderUIResource$LineBorderUIResource", new Object[] { getControlDarkShadow() }),
+                 "ToolTip.border", lazyLineBorder(getPrimaryControlDarkShadow()),
+                 "ToolTip.borderInactive", lazyLineBorder(getControlDarkShadow()),
                  "ToolTip.font", systemTextFont,
                  "ToolTip.hideAccelerator", Boolean.FALSE,
                  "Tree.ancestorInputMap", new UIDefaults.LazyInputMap(new Object[] { "ESCAPE", "cancel" }),
-                 "Tree.closedIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeFolderIcon"),
-                 "Tree.collapsedIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeControlIcon", new Object[] { Boolean.TRUE }),
-                 "Tree.expandedIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeControlIcon", new Object[] { Boolean.FALSE }),
+                 "Tree.closedIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeFolderIcon(),
+                 "Tree.collapsedIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeControlIcon(true),
+                 "Tree.expandedIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeControlIcon(false),
                  "Tree.focusInputMap", new UIDefaults.LazyInputMap(treeFocusInputMap),
                  "Tree.font", userTextFont,
-                 "Tree.leafIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeLeafIcon"),
-                 "Tree.openIcon", new UIDefaults.ProxyLazyValue("javax.swing.plaf.metal.MetalIconFactory", "getTreeFolderIcon"),
+                 "Tree.leafIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeLeafIcon(),
+                 "Tree.openIcon", (UIDefaults.LazyValue)defs -> MetalIconFactory.getTreeFolderIcon(),
                  "Tree.rowHeight", new Integer(0),
 
         };
@@ -737,6 +738,15 @@ public class MetalLookAndFeel extends BasicLookAndFeel {
         uiDefs.putDefaults(componentDefaults);
     }
 
+    /**
+     * Creates lazy line border of the color of the current theme
+     * @param color border color
+     * @return LazyValue result
+     */
+    private static UIDefaults.LazyValue lazyLineBorder(final ColorUIResource color) {
+        return defs -> new BorderUIResource.LineBorderUIResource(color);
+    }
+
     /**
      * Initialize class default values
      * @param uiDefs defaults table
@@ -1267,33 +1277,4 @@ public class MetalLookAndFeel extends BasicLookAndFeel {
             }
         };
     }
-
-    final class MetalLazyValue implements UIDefaults.LazyValue {
-        private String className;
-        private String methodName;
-
-        public MetalLazyValue(final String className, final String methodName) {
-            this.className = className;
-            this.methodName = methodName;
-        }
-
-        public MetalLazyValue(final String className) {
-            this(className, null);
-        }
-
-        public Object createValue(final UIDefaults uiDefaults) {
-            Object result = null;
-
-            try {
-                Class classObj = Class.forName(className);
-                result = (methodName == null)
-                        ? classObj.newInstance()
-                        : classObj.getMethod(methodName).invoke(null);
-            } catch (final Exception e) {
-                e.printStackTrace();
-            }
-
-            return result;
-        }
-    }
 }
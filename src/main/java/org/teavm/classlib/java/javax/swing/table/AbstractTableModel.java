@@ -27,9 +27,13 @@ import javax.swing.event.EventListenerList;
 import javax.swing.event.TableModelEvent;
 import javax.swing.event.TableModelListener;
 
+import org.apache.harmony.x.swing.TableModelEventBatcher;
+
 public abstract class AbstractTableModel implements TableModel, Serializable {
     protected EventListenerList listenerList = new EventListenerList();
 
+    private transient TableModelEventBatcher eventBatcher;
+
     public String getColumnName(final int column) {
         StringBuilder result = new StringBuilder();
         int rest = column;
@@ -141,12 +145,43 @@ public abstract class AbstractTableModel implements TableModel, Serializable {
     }
 
     public void fireTableChanged(final TableModelEvent e) {
+        TableModelEventBatcher batcher = eventBatcher;
+        if (batcher != null) {
+            batcher.add(e);
+            return;
+        }
         TableModelListener[] listeners = getTableModelListeners();
         for (int i = 0; i < listeners.length; i++) {
             listeners[i].tableChanged(e);
         }
     }
 
+    /**
+     * Non-standard extension. When enabled, fired events are merged and
+     * delivered to the listeners once per frame on the event dispatch
+     * thread, see {@link TableModelEventBatcher}. Pending events are
+     * delivered before the RepaintManager validates and paints. Events
+     * pending when batching is disabled are still delivered with the next
+     * frame.
+     */
+    public void setEventBatchingEnabled(final boolean enabled) {
+        if (enabled == (eventBatcher != null)) {
+            return;
+        }
+        eventBatcher = enabled ? new TableModelEventBatcher(this) : null;
+    }
+
+    public boolean isEventBatchingEnabled() {
+        return eventBatcher != null;
+    }
+
+    /**
+     * @return the batcher merging the fired events, which also counts them,
+     *         or null if batching is disabled
+     */
+    public TableModelEventBatcher getEventBatcher() {
+        return eventBatcher;
+    }
 
     private char indexToLetter(final int index) {
         return (char)('A' + index);
@@ -48,6 +48,8 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
     protected boolean columnSelectionAllowed;
     protected int totalColumnWidth = -1;
 
+    private transient int[] columnOffsets;
+
     public DefaultTableColumnModel() {
         selectionModel = createSelectionModel();
         selectionModel.addListSelectionListener(this);
@@ -60,6 +62,7 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
         }
         tableColumns.add(column);
         totalColumnWidth = -1;
+        columnOffsets = null;
         column.addPropertyChangeListener(this);
         alignSelectionModelToColumns();
         fireColumnAdded(new TableColumnModelEvent(this, tableColumns.size() - 2 >= 0 ? tableColumns.size() - 2 : tableColumns.size() - 1, tableColumns.size() - 1));
@@ -69,6 +72,7 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
         int index = tableColumns.indexOf(column);
         if (tableColumns.remove(column)) {
             totalColumnWidth = -1;
+            columnOffsets = null;
             column.removePropertyChangeListener(this);
         }
         alignSelectionModelToColumns();
@@ -86,6 +90,7 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
             TableColumn firstColumn = getColumn(columnIndex);
             tableColumns.remove(columnIndex);
             tableColumns.add(newIndex, firstColumn);
+            columnOffsets = null;
 
             boolean oldIsSelected = selectionModel.isSelectedIndex(columnIndex);
             selectionModel.removeIndexInterval(columnIndex, columnIndex);
@@ -139,16 +144,24 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
     }
 
     public int getColumnIndexAtX(final int x) {
-        int cumulativeWidth = 0;
-        for (int i = 0; i < getColumnCount(); i++) {
-            int width = getColumn(i).width;
-            if (cumulativeWidth <= x && cumulativeWidth + width > x) {
-                return i;
+        int[] offsets = getColumnOffsets();
+        int count = offsets.length - 1;
+        if (x < 0 || x >= offsets[count]) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
-            cumulativeWidth += width;
         }
 
-        return -1;
+        return low;
     }
 
     public int getTotalColumnWidth() {
@@ -230,6 +243,7 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
             || TableColumn.PREFERRED_WIDTH_PROPERTY.equals(e.getPropertyName())) {
 
             totalColumnWidth = -1;
+            columnOffsets = null;
             fireColumnMarginChanged();
         }
     }
@@ -289,6 +303,22 @@ public class DefaultTableColumnModel implements TableColumnModel, PropertyChange
     }
 
 
+    /**
+     * Left edges of the columns followed by the total width, rebuilt lazily
+     * after columns are added, removed, moved or resized.
+     */
+    private int[] getColumnOffsets() {
+        if (columnOffsets == null || columnOffsets.length != getColumnCount() + 1) {
+            int[] offsets = new int[getColumnCount() + 1];
+            for (int i = 0; i < offsets.length - 1; i++) {
+                offsets[i + 1] = offsets[i] + getColumn(i).width;
+            }
+            columnOffsets = offsets;
+        }
+
+        return columnOffsets;
+    }
+
     private ChangeEvent getChangeEvent() {
         if (changeEvent == null) {
             changeEvent = new ChangeEvent(this);
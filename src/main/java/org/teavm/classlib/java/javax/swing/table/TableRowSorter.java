@@ -0,0 +1,106 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.swing.table;
+
+import java.util.Comparator;
+
+import javax.swing.DefaultRowSorter;
+
+import org.apache.harmony.x.swing.Utilities;
+
+/**
+ * DefaultRowSorter over a TableModel. Columns of Comparable classes are
+ * sorted by their values, the other ones by the string values.
+ */
+public class TableRowSorter<M extends TableModel> extends DefaultRowSorter<M, Integer> {
+    private M tableModel;
+    private TableStringConverter stringConverter;
+
+    public TableRowSorter() {
+        this(null);
+    }
+
+    public TableRowSorter(final M model) {
+        setModel(model);
+    }
+
+    public void setModel(final M model) {
+        tableModel = model;
+        if (model != null) {
+            setModelWrapper(new TableModelWrapper());
+        }
+    }
+
+    public void setStringConverter(final TableStringConverter converter) {
+        stringConverter = converter;
+    }
+
+    public TableStringConverter getStringConverter() {
+        return stringConverter;
+    }
+
+    @Override
+    public Comparator<?> getComparator(final int column) {
+        Comparator<?> comparator = super.getComparator(column);
+        return comparator != null ? comparator : Utilities.COMPARABLE_COMPARATOR;
+    }
+
+    @Override
+    protected boolean useToString(final int column) {
+        if (super.getComparator(column) != null) {
+            return false;
+        }
+        Class<?> columnClass = getModel().getColumnClass(column);
+        return columnClass != String.class && !Comparable.class.isAssignableFrom(columnClass);
+    }
+
+    private class TableModelWrapper extends ModelWrapper<M, Integer> {
+        @Override
+        public M getModel() {
+            return tableModel;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return tableModel.getColumnCount();
+        }
+
+        @Override
+        public int getRowCount() {
+            return tableModel.getRowCount();
+        }
+
+        @Override
+        public Object getValueAt(final int row, final int column) {
+            return tableModel.getValueAt(row, column);
+        }
+
+        @Override
+        public String getStringValueAt(final int row, final int column) {
+            if (stringConverter != null) {
+                String result = stringConverter.toString(tableModel, row, column);
+                return result != null ? result : "";
+            }
+            return super.getStringValueAt(row, column);
+        }
+
+        @Override
+        public Integer getIdentifier(final int row) {
+            return Integer.valueOf(row);
+        }
+    }
+}
@@ -37,7 +37,12 @@ import org.apache.harmony.x.swing.internal.nls.Messages;
 public class PlainView extends View implements TabExpander {
     protected FontMetrics metrics;
     final TextPaintParams paintParams = new TextPaintParams(this);
-    private Element widestLine;
+    /**
+     * Cached widths of the lines, they are updated in insertUpdate and
+     * removeUpdate, so only the changed lines are measured.
+     */
+    private int[] lineWidths;
+    private int lineCount;
     private int widestLineWidth;
 
     /**
@@ -53,7 +58,10 @@ public class PlainView extends View implements TabExpander {
 
         switch (axis) {
         case X_AXIS:
-            return getLineWidth(widestLine);
+            if (lineWidths == null) {
+                updateWidestLine();
+            }
+            return widestLineWidth;
 
         case Y_AXIS:
             return metrics.getHeight() * getElement().getElementCount();
@@ -143,16 +151,25 @@ public class PlainView extends View implements TabExpander {
 
     public void paint(final Graphics g, final Shape shape) {
         final Rectangle bounds = shape.getBounds();
-        int y = bounds.y + metrics.getAscent();
 
         paintParams.updateFields();
 
         final Rectangle clipBounds = g.getClipBounds();
         final int height = metrics.getHeight();
 
+        // All the lines have the same height, so the lines crossing
+        // the clip are found without iterating over the others
+        int first = 0;
+        int last = getElement().getElementCount() - 1;
+        if (clipBounds != null && height > 0) {
+            first = Math.max(first, (clipBounds.y - bounds.y) / height);
+            last = Math.min(last, (clipBounds.y + clipBounds.height - bounds.y) / height);
+        }
+        int y = bounds.y + metrics.getAscent() + first * height;
+
         final TextKit textKit = getTextKit();
-        for (int i = 0; i < getElement().getElementCount(); i++, y += height) {
-            if (!lineToRect(shape, i).intersects(clipBounds)) {
+        for (int i = first; i <= last; i++, y += height) {
+            if (clipBounds != null && !lineToRect(shape, i).intersects(clipBounds)) {
                 continue;
             }
 
@@ -217,17 +234,22 @@ public class PlainView extends View implements TabExpander {
                                    final int endLine,
                                    final Shape shape,
                                    final Component component) {
-        Rectangle lineRect;
-        for (int i = startLine; i <= endLine; i++) {
-            lineRect = lineToRect(shape, i);
-            component.repaint(lineRect.x, lineRect.y,
-                              lineRect.width, lineRect.height);
+        if (endLine < startLine) {
+            return;
         }
+        Rectangle lineRect = lineToRect(shape, startLine);
+        if (endLine > startLine) {
+            lineRect.add(lineToRect(shape, endLine));
+        }
+        component.repaint(lineRect.x, lineRect.y,
+                          lineRect.width, lineRect.height);
     }
 
     protected void updateDamage(final DocumentEvent event, final Shape shape,
                                 final ViewFactory factory) {
         if (shape == null) {
+            // Line widths can't be updated incrementally for this event
+            lineWidths = null;
             return;
         }
 
@@ -260,20 +282,66 @@ public class PlainView extends View implements TabExpander {
     }
 
     private void updateWidestLine() {
-        widestLine = getElement().getElement(0);
-        widestLineWidth = getLineWidth(widestLine);
+        lineCount = getElement().getElementCount();
+        lineWidths = new int[Math.max(lineCount, 16)];
+        for (int i = 0; i < lineCount; i++) {
+            lineWidths[i] = getLineWidth(i);
+        }
+        widestLineWidth = getMaximumLineWidth();
+    }
+
+    /**
+     * Replaces the widths of the removed lines with the widths
+     * of the added lines. Only added lines are measured.
+     */
+    private void updateWidestLine(final int index, final int removed,
+                                  final int added) {
+        if (lineWidths == null
+            || lineCount - removed + added != getElement().getElementCount()) {
+
+            updateWidestLine();
+            return;
+        }
+
+        boolean widestRemoved = false;
+        for (int i = index; i < index + removed; i++) {
+            widestRemoved |= lineWidths[i] == widestLineWidth;
+        }
+
+        if (removed != added) {
+            int newCount = lineCount - removed + added;
+            int[] widths = lineWidths;
+            if (newCount > lineWidths.length) {
+                widths = new int[Math.max(newCount, lineWidths.length * 3 / 2)];
+                System.arraycopy(lineWidths, 0, widths, 0, index);
+            }
+            System.arraycopy(lineWidths, index + removed, widths, index + added,
+                             lineCount - index - removed);
+            lineWidths = widths;
+            lineCount = newCount;
+        }
+
+        int addedWidth = 0;
+        for (int i = index; i < index + added; i++) {
+            lineWidths[i] = getLineWidth(i);
+            addedWidth = Math.max(addedWidth, lineWidths[i]);
+        }
 
-        updateWidestLine(1, getElement().getElementCount() - 1);
+        if (addedWidth >= widestLineWidth) {
+            widestLineWidth = addedWidth;
+        } else if (widestRemoved) {
+            widestLineWidth = getMaximumLineWidth();
+        }
     }
 
-    private void updateWidestLine(final int start, final int end) {
-        for (int i = start; i <= end; i++) {
-            int w = getLineWidth(i);
-            if (w > widestLineWidth) {
-                widestLineWidth = w;
-                widestLine = getElement().getElement(i);
+    private int getMaximumLineWidth() {
+        int result = 0;
+        for (int i = 0; i < lineCount; i++) {
+            if (result < lineWidths[i]) {
+                result = lineWidths[i];
             }
         }
+        return result;
     }
 
     private int getLineWidth(final Element line) {
@@ -299,15 +367,12 @@ public class PlainView extends View implements TabExpander {
         int start = linesAdded
                     ? change.getIndex()
                     : getElement().getElementIndex(event.getOffset());
-        int length = linesAdded ? change.getChildrenAdded().length - 1 : 0;
         int width = widestLineWidth;
-        if (widestLine.getEndOffset() < event.getOffset()
-            || widestLine.getStartOffset() > event.getOffset()
-                                             + event.getLength()) {
-            // The previous longest line was not affected
-            updateWidestLine(start, start + length);
+        if (linesAdded) {
+            updateWidestLine(start, change.getChildrenRemoved().length,
+                             change.getChildrenAdded().length);
         } else {
-            updateWidestLine();
+            updateWidestLine(start, 1, 1);
         }
         preferenceChanged(null, widestLineWidth != width, linesAdded);
         damageLineRange(start,
@@ -320,15 +385,16 @@ public class PlainView extends View implements TabExpander {
                                       final Shape shape) {
         int width = widestLineWidth;
         if (change != null) {
-            updateWidestLine();
+            updateWidestLine(change.getIndex(),
+                             change.getChildrenRemoved().length,
+                             change.getChildrenAdded().length);
             preferenceChanged(null, widestLineWidth != width, true);
             getComponent().repaint();
         } else {
             int lineNo = getElement().getElementIndex(event.getOffset());
-            Element line = getElement().getElement(lineNo);
-            if (widestLine == line) {
-                updateWidestLine();
-                preferenceChanged(null, widestLineWidth != width, false);
+            updateWidestLine(lineNo, 1, 1);
+            if (widestLineWidth != width) {
+                preferenceChanged(null, true, false);
             }
             damageLineRange(lineNo, lineNo, shape, getComponent());
         }
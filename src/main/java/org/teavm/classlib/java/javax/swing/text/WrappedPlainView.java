@@ -297,7 +297,40 @@ public class WrappedPlainView extends BoxView implements TabExpander {
 
     public void paint(final Graphics g, final Shape shape) {
         paintParams.updateFields();
-        super.paint(g, shape);
+
+        final Rectangle clipBounds = g.getClipBounds();
+        final int count = getViewCount();
+        if (clipBounds == null || count == 0
+            || !isLayoutValid(X_AXIS) || !isLayoutValid(Y_AXIS)) {
+
+            super.paint(g, shape);
+            return;
+        }
+
+        // Children are laid out top to bottom, so the first one
+        // crossing the clip is found by binary search
+        final Rectangle insideAlloc = getInsideAllocation(shape);
+        final int top = clipBounds.y - insideAlloc.y;
+        final int bottom = top + clipBounds.height;
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (getOffset(Y_AXIS, mid) <= top) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        final Rectangle allocation = new Rectangle();
+        for (int i = low; i < count && getOffset(Y_AXIS, i) < bottom; i++) {
+            allocation.setBounds(insideAlloc);
+            childAllocation(i, allocation);
+            if (allocation.intersects(clipBounds)) {
+                paintChild(g, allocation, i);
+            }
+        }
     }
 
     public void removeUpdate(final DocumentEvent event,
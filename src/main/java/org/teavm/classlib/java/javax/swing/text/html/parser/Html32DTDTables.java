@@ -0,0 +1,767 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+// Generated by DTDCompiler from html32.bdtd, do not edit.
+
+package javax.swing.text.html.parser;
+
+@SuppressWarnings("nls")
+final class Html32DTDTables {
+
+    static final String NAME =
+        "html32";
+
+    static final String STRINGS =
+        "#pcdata\u0000html\u0000version\u0000-//HotJava//DTD HotJava 1.0 HTML 3.2" +
+        " Draft 19960821//EN\u0000meta\u0000content\u0000name\u0000http-equiv\u0000" +
+        "base\u0000target\u0000href\u0000isindex\u0000prompt\u0000head\u0000body\u0000" +
+        "height\u0000width\u0000alink\u0000vlink\u0000link\u0000text\u0000bgcolor" +
+        "\u0000background\u0000applet\u0000vspace\u0000hspace\u0000align\u0000bas" +
+        "eline\u0000top\u0000middle\u0000bottom\u0000left\u0000right\u0000texttop" +
+        "\u0000absmiddle\u0000absbottom\u0000archive\u0000alt\u0000code\u0000code" +
+        "base\u0000param\u0000type\u0000valuetype\u0000DATA\u0000data\u0000ref\u0000" +
+        "object\u0000value\u0000p\u0000center\u0000title\u0000style\u0000rev\u0000" +
+        "rel\u0000id\u0000script\u0000language\u0000unknown\u0000plaintext\u0000n" +
+        "extid\u0000n\u0000noscript\u0000h1\u0000h2\u0000h3\u0000h4\u0000h5\u0000" +
+        "h6\u0000ul\u0000compact\u0000disc\u0000square\u0000circle\u0000ol\u0000s" +
+        "tart\u00001\u0000dir\u0000menu\u0000pre\u0000xmp\u0000listing\u0000dl\u0000" +
+        "div\u0000blockquote\u0000form\u0000enctype\u0000application/x-www-form-u" +
+        "rlencoded\u0000method\u0000GET\u0000get\u0000post\u0000action\u0000hr\u0000" +
+        "size\u0000noshade\u0000table\u0000cellpadding\u0000cellspacing\u0000bord" +
+        "er\u0000shapes\u0000usemap\u0000standby\u0000codetype\u0000classid\u0000" +
+        "declare\u0000ltr\u0000rtl\u0000lang\u0000class\u0000tt\u0000i\u0000b\u0000" +
+        "u\u0000strike\u0000s\u0000big\u0000small\u0000sub\u0000sup\u0000em\u0000" +
+        "strong\u0000dfn\u0000samp\u0000kbd\u0000var\u0000cite\u0000a\u0000ismap\u0000" +
+        "coords\u0000shape\u0000rect\u0000poly\u0000default\u0000img\u0000lowsrc\u0000" +
+        "src\u0000font\u0000color\u0000basefont\u0000br\u0000clear\u0000none\u0000" +
+        "all\u0000map\u0000nobr\u0000wbr\u0000blink\u0000span\u0000input\u0000max" +
+        "length\u0000checked\u0000TEXT\u0000password\u0000checkbox\u0000radio\u0000" +
+        "submit\u0000reset\u0000file\u0000hidden\u0000image\u0000select\u0000mult" +
+        "iple\u0000textarea\u0000cols\u0000rows\u0000address\u0000frameset\u0000n" +
+        "oframes\u0000nohotjava\u0000animate\u0000tr\u0000valign\u0000td\u0000col" +
+        "span\u0000rowspan\u0000nowrap\u0000area\u0000nohref\u0000option\u0000sel" +
+        "ected\u0000dt\u0000dd\u0000li\u0000caption\u0000frame\u0000noresize\u0000" +
+        "scrolling\u0000AUTO\u0000yes\u0000no\u0000auto\u0000marginheight\u0000ma" +
+        "rginwidth\u0000frameborder\u0000th\u0000thead\u0000tfoot\u0000tbody\u0000" +
+        "#RE\u0000\r\u0000#RS\u0000\n\u0000#SPACE\u0000 \u0000AElig\u0000\u00c6\u0000" +
+        "Aacute\u0000\u00c1\u0000Acirc\u0000\u00c2\u0000Agrave\u0000\u00c0\u0000A" +
+        "ring\u0000\u00c5\u0000Atilde\u0000\u00c3\u0000Auml\u0000\u00c4\u0000Cced" +
+        "il\u0000\u00c7\u0000ETH\u0000\u00d0\u0000Eacute\u0000\u00c9\u0000Ecirc\u0000" +
+        "\u00ca\u0000Egrave\u0000\u00c8\u0000Euml\u0000\u00cb\u0000Iacute\u0000\u00cd" +
+        "\u0000Icirc\u0000\u00ce\u0000Igrave\u0000\u00cc\u0000Iuml\u0000\u00cf\u0000" +
+        "Ntilde\u0000\u00d1\u0000Oacute\u0000\u00d3\u0000Ocirc\u0000\u00d4\u0000O" +
+        "grave\u0000\u00d2\u0000Oslash\u0000\u00d8\u0000Otilde\u0000\u00d5\u0000O" +
+        "uml\u0000\u00d6\u0000THORN\u0000\u00de\u0000Uacute\u0000\u00da\u0000Ucir" +
+        "c\u0000\u00db\u0000Ugrave\u0000\u00d9\u0000Uuml\u0000\u00dc\u0000Yacute\u0000" +
+        "\u00dd\u0000aacute\u0000\u00e1\u0000acirc\u0000\u00e2\u0000acute\u0000\u00b4" +
+        "\u0000aelig\u0000\u00e6\u0000agrave\u0000\u00e0\u0000amp\u0000&\u0000ari" +
+        "ng\u0000\u00e5\u0000atilde\u0000\u00e3\u0000auml\u0000\u00e4\u0000brvbar" +
+        "\u0000\u00a6\u0000ccedil\u0000\u00e7\u0000cedil\u0000\u00b8\u0000cent\u0000" +
+        "\u00a2\u0000copy\u0000\u00a9\u0000curren\u0000\u00a4\u0000deg\u0000\u00b0" +
+        "\u0000divide\u0000\u00f7\u0000eacute\u0000\u00e9\u0000ecirc\u0000\u00ea\u0000" +
+        "egrave\u0000\u00e8\u0000eth\u0000\u00f0\u0000euml\u0000\u00eb\u0000frac1" +
+        "2\u0000\u00bd\u0000frac14\u0000\u00bc\u0000frac34\u0000\u00be\u0000gt\u0000" +
+        ">\u0000iacute\u0000\u00ed\u0000icirc\u0000\u00ee\u0000iexcl\u0000\u00a1\u0000" +
+        "igrave\u0000\u00ec\u0000iquest\u0000\u00bf\u0000iuml\u0000\u00ef\u0000la" +
+        "quo\u0000\u00ab\u0000lt\u0000<\u0000macr\u0000\u00af\u0000micro\u0000\u00b5" +
+        "\u0000middot\u0000\u00b7\u0000nbsp\u0000\u00a0\u0000not\u0000\u00ac\u0000" +
+        "ntilde\u0000\u00f1\u0000oacute\u0000\u00f3\u0000ocirc\u0000\u00f4\u0000o" +
+        "grave\u0000\u00f2\u0000ordf\u0000\u00aa\u0000ordm\u0000\u00ba\u0000oslas" +
+        "h\u0000\u00f8\u0000otilde\u0000\u00f5\u0000ouml\u0000\u00f6\u0000para\u0000" +
+        "\u00b6\u0000plusmn\u0000\u00b1\u0000pound\u0000\u00a3\u0000quot\u0000\"\u0000" +
+        "raquo\u0000\u00bb\u0000reg\u0000\u00ae\u0000sect\u0000\u00a7\u0000shy\u0000" +
+        "\u00ad\u0000sup1\u0000\u00b9\u0000sup2\u0000\u00b2\u0000sup3\u0000\u00b3" +
+        "\u0000szlig\u0000\u00df\u0000thorn\u0000\u00fe\u0000times\u0000\u00d7\u0000" +
+        "uacute\u0000\u00fa\u0000ucirc\u0000\u00fb\u0000ugrave\u0000\u00f9\u0000u" +
+        "ml\u0000\u00a8\u0000uuml\u0000\u00fc\u0000yacute\u0000\u00fd\u0000yen\u0000" +
+        "\u00a5\u0000yuml\u0000\u00ff";
+
+    static final String ELEMENTS =
+        "\u0001\u0001\u0014\u0001\u0000\u0000\u0000\u0000\u0002\u0002\u0013\u0004" +
+        "\u0001\u0000\u0000\u0001\u0003\u0005\u0012\u0003\u0000\u0000\u0000\u0002" +
+        "\u0004\u0009\u0012\u0003\u0000\u0000\u0000\u0005\u0005\u000c\u0012\u0003" +
+        "\u0000\u0000\u0000\u0007\u0006\u000e\u0013\u0004\u0006\u0000\u0001\u0000" +
+        "\u0007\u000f\u0013\u0004\u000f\u0000\u0000\u0008\u0008\u0018\u0013\u0001" +
+        "S\u0000\u0007\u0010\u0009)\u0012\u0003\u0000\u0000\u0000\u001a\n1\u0013\u0003" +
+        "\u0099\u0000\u0000\u001e\u000b3\u0013\u0001\u00bf\u001b\u0000\u0000\u000c" +
+        "4\u0013\u0001\u00c3!\u0000\u0000\r\u0014\u0012\u0003\u0000\u0000\u0000\u001f" +
+        "\u000e8\u0013\u0001\u00c7'\u0000$\u000f:\u0012\u0003\u0000\u0000\u0000\u0000" +
+        "\u0010;\u0002\u0003\u0000\u0000\u0000\u0000\u0011<\u0012\u0003\u0000\u0000" +
+        "\u0000%\u0012>\u0013\u0001\u010b\u0000\u0000\u0000\u0013?\u0013\u0001\u0120" +
+        "\u0000\u0000&\u0014@\u0013\u0001\u014a\u0000\u0000'\u0015A\u0013\u0001\u0174" +
+        "\u0000\u0000(\u0016B\u0013\u0001\u019e\u0000\u0000)\u0017C\u0013\u0001\u01c8" +
+        "\u0000\u0000*\u0018D\u0013\u0001\u01f2\u0000\u0000+\u0019E\u0013\u0001\u021c" +
+        "\u0000\u0000,\u001aJ\u0013\u0001\u0247\u0000\u0000.\u001bM\u0013\u0001\u0272" +
+        "M[1\u001cN\u0013\u0001\u029d_m2\u001dO\u0013\u0001\u02c8\u0000q3\u001eP\u0002" +
+        "\u0001\u0000\u0000\u0000\u0000\u001fQ\u0002\u0001\u0000\u0000\u0000\u0000" +
+        " R\u0013\u0001\u02ee\u0000\u00004!S\u0013\u0001\u02f4\u0000\u00005\"2\u0013" +
+        "\u0001\u0338\u0000\u0000\u0000#T\u0013\u0001\u037c\u0000\u0000\u0000$U\u0013" +
+        "\u0001\u03c0z\u00006%]\u0012\u0003\u0000\u0000\u00009&`\u0013\u0001\u0404" +
+        "\u0000\u0000='/\u0013\u0001\u0408\u0000\u0000C(n\u0013\u0001\u0450\u0000" +
+        "\u0000\u0000)o\u0013\u0001\u047b\u0000\u0000\u0000*p\u0013\u0001\u04a6\u0000" +
+        "\u0000\u0000+q\u0013\u0001\u04d1\u0000\u0000\u0000,r\u0013\u0001\u04fc\u0000" +
+        "\u0000\u0000-s\u0013\u0001\u0527\u0000\u0000\u0000.t\u0013\u0001\u0552\u0000" +
+        "\u0000\u0000/u\u0013\u0001\u057d\u0000\u0000\u00000v\u0013\u0001\u05a8\u0000" +
+        "\u0000\u00001w\u0013\u0001\u05d3\u0000\u0000\u00002x\u0013\u0001\u05fe\u0000" +
+        "\u0000\u00003y\u0013\u0001\u0629\u0000\u0000\u00004z\u0013\u0001\u0654\u0000" +
+        "\u0000\u00005'\u0013\u0001\u067f\u0000\u0000\u00006{\u0013\u0001\u06aa\u0000" +
+        "\u0000\u00007|\u0013\u0001\u06d5\u0000\u0000\u00008}\u0013\u0001\u0700\u0000" +
+        "\u0000\u00009~\u0013\u0001\u072b\u0000\u0000\u0000:\u007f\u0013\u0001\u0756" +
+        "\u009a\u0000X;\u0086\u0012\u0003\u0000\u0000\u0000a<\u0089\u0013\u0001\u0783" +
+        "\u0000\u0000l=\u008b\u0012\u0003\u0000\u0000\u0000n>\u008c\u0012\u0003\u0000" +
+        "\u0000\u0000o?\u0090\u0013\u0001\u07ae\u0000\u0000p@\u0091\u0013\u0001\u07b2" +
+        "\u0000\u0000\u0000A\u0092\u0012\u0003\u0000\u0000\u0000\u0000B\u0093\u0014" +
+        "\u0001\u0000\u0000\u0000\u0000C\u0094\u0013\u0001\u07d8\u0000\u0000\u0000" +
+        "D\u0095\u0012\u0003\u0000\u0000\u0000qE\u00a1\u0013\u0001\u07fe\u0000\u0000" +
+        "zF\u00a3\u0013\u0001\u0801\u0000\u0000}G\u00a6\u0013\u0001\u0805\u0000\u0000" +
+        "\u0000H\u00a7\u0013\u0003\u082d\u0000\u0000\u0080I\u00a8\u0002\u0001\u0000" +
+        "\u0000\u0000\u0000J\u00a9\u0002\u0001\u0000\u0000\u0000\u0000K\u00aa\u0002" +
+        "\u0001\u0000\u0000\u0000\u0000L\u00ab\u0013\u0003\u0832\u0000\u0000\u0082" +
+        "M\u00ad\u0013\u0003\u0838\u0000\u0000\u0085N\u00b1\u0012\u0003\u0000\u0000" +
+        "\u0000\u008dO\u00b3\u0013\u0003\u087c\u0000\u0000\u0093P\u00b5\u0013\u0003" +
+        "\u0880\u0000\u0000\u0000Q\u00b6\u0013\u0003\u08ac\u0000\u0000\u0000R\u00b7" +
+        "\u0013\u0003\u08e5\u0000\u0000\u0095S\u00b8\u0013\u0001\u0926\u0000\u0000" +
+        "\u0097T\u00b9\u0012\u0003\u0000\u0000\u0000\u0098U\u00c3\u0013\u0003\u096a" +
+        "\u0000\u0000\u009fV\u00c4\u0013\u0003\u09ae\u0000\u0000\u0000W\u00c5\u0013" +
+        "\u0003\u09b1\u0000\u0000\u0000X\u00c6\u0013\u0004\u09b4\u0000\u0000\u0000";
+
+    static final String MODELS =
+        "-\u0003\u0000\u0001\u000c\u0003\u0001\u000e\u0004@\u0009\u0000\u0001 \u0000" +
+        "'\r\u0000@\u000f\u0009\u0001\u0016\u0000@\u0013\u000b\u0001\n\u0000@\u0017" +
+        "\r\u0001\u0008\u0000@\u001b\u0000\u0001\"\u0000+\u001f\u0000}!\u0000\u0001" +
+        "&\u0012\u0001(\u0013\u0001*\u0014\u0001,\u0015\u0001.\u0016\u00010\u0017" +
+        "\u0001\u0014\u0018\u00012\u0019\u00014\u001a\u00016\u001b\u00018\u001c\u0001" +
+        ":\u001d\u0001<\u001e\u0001>\u001f\u0001  \u0001@!\u0001B\"\u0001D#\u0001" +
+        "$$\u0001F%\u0001H&\u0001\n'\u0001J(\u0001L)\u0001N*+U,\u0001\u0002\u0000" +
+        "\u0001P-\u0001R.\u0001T/\u0001V0\u0001X1\u0001Z2\u0001\\3\u0001^4\u0001`" +
+        "5\u0001b6\u0001d7\u0001f8\u0001h9\u0001j:\u0001l;\u0001n<\u0001p=\u0001r" +
+        ">\u0001t?\u0001v@\u0001\u0010A\u0001NB\u0001xC\u0001zD\u0001|E\u0001\u001c" +
+        "F\u0001~G\u0001\u0080H\u0001\u0082I\u0001\u0084J\u0001\u0086K\u0001\u0088" +
+        "L\u0001\u008aM\u0001\u008cN\u0001\u008eO\u0001\u0090P\u0001\u0092Q\u0001" +
+        "\u0094R\u0001\u0096\u0000+\u00a7\u0000}\u00a9\u0000+\u00ab\u008e}\u00ad\u0000" +
+        "\u0001\u0014X\u00012Y\u00014Z\u00016[\u00018\\\u0001:]\u0001<^\u0001>_\u0001" +
+        " `\u0001@a\u0001Bb\u0001Dc\u0001$d\u0001Fe\u0001Hf\u0001\ng\u0001Jh\u0001" +
+        "Li\u0001Nj+\u00d5l\u0001\u0002\u0000\u0001Pm\u0001Rn\u0001To\u0001Vp\u0001" +
+        "Xq\u0001Zr\u0001\\s\u0001^t\u0001`u\u0001bv\u0001dw\u0001fx\u0001hy\u0001" +
+        "jz\u0001l{\u0001n|\u0001p}\u0001r~\u0001t\u007f\u0001v\u0080\u0001\u0010" +
+        "\u0081\u0001N\u0082\u0001x\u0083\u0001z\u0084\u0001|\u0085\u0001\u001c\u0086" +
+        "\u0001~\u0087\u0001\u0080\u0088\u0001\u0082\u0089\u0001\u0084\u008a\u0001" +
+        "\u0086\u008b\u0001\u0088\u008c\u0001\u008a\u008d\u0001\u008c\u0000\u0001" +
+        "&\u008f\u0001(\u0090\u0001*\u0091\u0001,\u0092\u0001.\u0093\u00010\u0094" +
+        "\u0001\u0088\u0095\u0001\u008a\u0096\u0001\u008c\u0097\u0001\u0098\u0098" +
+        "\u0001\u009a\u0000+\u0133\u0000}\u0135\u0000+\u0137\u009d\u0001\u0002\u0000" +
+        "\u0001P\u009e\u0001R\u009f\u0001T\u00a0\u0001V\u00a1\u0001X\u00a2\u0001Z" +
+        "\u00a3\u0001\\\u00a4\u0001^\u00a5\u0001`\u00a6\u0001b\u00a7\u0001d\u00a8" +
+        "\u0001f\u00a9\u0001h\u00aa\u0001j\u00ab\u0001l\u00ac\u0001n\u00ad\u0001p" +
+        "\u00ae\u0001r\u00af\u0001t\u00b0\u0001v\u00b1\u0001\u0010\u00b2\u0001N\u00b3" +
+        "\u0001x\u00b4\u0001z\u00b5\u0001|\u00b6\u0001\u001c\u00b7\u0001~\u00b8\u0001" +
+        "\u0080\u00b9\u0001\u0082\u00ba\u0001\u0084\u00bb\u0001\u0086\u00bc\u0001" +
+        "\u0088\u00bd\u0001\u008a\u00be\u0001\u008c\u0000+\u017f\u0000-\u0181\u0000" +
+        "+\u0183\u0000\u0001\u0002\u0000+\u0187\u0000-\u0189\u0000+\u018b\u0000\u0001" +
+        "\u0002\u0000+\u018f\u0000}\u0191\u0000\u0001&\u00ca\u0001(\u00cb\u0001*\u00cc" +
+        "\u0001,\u00cd\u0001.\u00ce\u00010\u00cf\u0001\u0014\u00d0\u00012\u00d1\u0001" +
+        "4\u00d2\u00016\u00d3\u00018\u00d4\u0001:\u00d5\u0001<\u00d6\u0001>\u00d7" +
+        "\u0001 \u00d8\u0001@\u00d9\u0001B\u00da\u0001D\u00db\u0001$\u00dc\u0001F" +
+        "\u00dd\u0001H\u00de\u0001\n\u00df\u0001J\u00e0\u0001L\u00e1\u0001N\u00e2" +
+        "+\u01c5\u00e4\u0001\u0002\u0000\u0001P\u00e5\u0001R\u00e6\u0001T\u00e7\u0001" +
+        "V\u00e8\u0001X\u00e9\u0001Z\u00ea\u0001\\\u00eb\u0001^\u00ec\u0001`\u00ed" +
+        "\u0001b\u00ee\u0001d\u00ef\u0001f\u00f0\u0001h\u00f1\u0001j\u00f2\u0001l" +
+        "\u00f3\u0001n\u00f4\u0001p\u00f5\u0001r\u00f6\u0001t\u00f7\u0001v\u00f8\u0001" +
+        "\u0010\u00f9\u0001N\u00fa\u0001x\u00fb\u0001z\u00fc\u0001|\u00fd\u0001\u001c" +
+        "\u00fe\u0001~\u00ff\u0001\u0080\u0100\u0001\u0082\u0101\u0001\u0084\u0102" +
+        "\u0001\u0086\u0103\u0001\u0088\u0104\u0001\u008a\u0105\u0001\u008c\u0106" +
+        "\u0001\u008e\u0107\u0001\u0090\u0108\u0001\u0092\u0109\u0001\u0094\u010a" +
+        "\u0001\u0096\u0000,\u0217\u0000}\u0219\u0000\u0001\u0014\u010e\u00012\u010f" +
+        "\u00014\u0110\u00016\u0111\u00018\u0112\u0001:\u0113\u0001<\u0114\u0001>" +
+        "\u0115\u0001 \u0116\u0001@\u0117\u0001B\u0118\u0001D\u0119\u0001$\u011a\u0001" +
+        "F\u011b\u0001H\u011c\u0001\n\u011d\u0001J\u011e\u0001L\u011f\u0001N\u0000" +
+        "+\u0241\u0000}\u0243\u0000\u0001v\u0123\u0001|\u0124\u0001J\u0125\u0001D" +
+        "\u0126+\u024d\u0128\u0001\u0002\u0000\u0001P\u0129\u0001R\u012a\u0001T\u012b" +
+        "\u0001V\u012c\u0001X\u012d\u0001Z\u012e\u0001\\\u012f\u0001^\u0130\u0001" +
+        "`\u0131\u0001b\u0132\u0001d\u0133\u0001f\u0134\u0001h\u0135\u0001j\u0136" +
+        "\u0001l\u0137\u0001n\u0138\u0001p\u0139\u0001r\u013a\u0001t\u013b\u0001v" +
+        "\u013c\u0001\u0010\u013d\u0001N\u013e\u0001x\u013f\u0001z\u0140\u0001|\u0141" +
+        "\u0001\u001c\u0142\u0001~\u0143\u0001\u0080\u0144\u0001\u0082\u0145\u0001" +
+        "\u0084\u0146\u0001\u0086\u0147\u0001\u0088\u0148\u0001\u008a\u0149\u0001" +
+        "\u008c\u0000+\u0295\u0000}\u0297\u0000\u0001v\u014d\u0001|\u014e\u0001J\u014f" +
+        "\u0001D\u0150+\u02a1\u0152\u0001\u0002\u0000\u0001P\u0153\u0001R\u0154\u0001" +
+        "T\u0155\u0001V\u0156\u0001X\u0157\u0001Z\u0158\u0001\\\u0159\u0001^\u015a" +
+        "\u0001`\u015b\u0001b\u015c\u0001d\u015d\u0001f\u015e\u0001h\u015f\u0001j" +
+        "\u0160\u0001l\u0161\u0001n\u0162\u0001p\u0163\u0001r\u0164\u0001t\u0165\u0001" +
+        "v\u0166\u0001\u0010\u0167\u0001N\u0168\u0001x\u0169\u0001z\u016a\u0001|\u016b" +
+        "\u0001\u001c\u016c\u0001~\u016d\u0001\u0080\u016e\u0001\u0082\u016f\u0001" +
+        "\u0084\u0170\u0001\u0086\u0171\u0001\u0088\u0172\u0001\u008a\u0173\u0001" +
+        "\u008c\u0000+\u02e9\u0000}\u02eb\u0000\u0001v\u0177\u0001|\u0178\u0001J\u0179" +
+        "\u0001D\u017a+\u02f5\u017c\u0001\u0002\u0000\u0001P\u017d\u0001R\u017e\u0001" +
+        "T\u017f\u0001V\u0180\u0001X\u0181\u0001Z\u0182\u0001\\\u0183\u0001^\u0184" +
+        "\u0001`\u0185\u0001b\u0186\u0001d\u0187\u0001f\u0188\u0001h\u0189\u0001j" +
+        "\u018a\u0001l\u018b\u0001n\u018c\u0001p\u018d\u0001r\u018e\u0001t\u018f\u0001" +
+        "v\u0190\u0001\u0010\u0191\u0001N\u0192\u0001x\u0193\u0001z\u0194\u0001|\u0195" +
+        "\u0001\u001c\u0196\u0001~\u0197\u0001\u0080\u0198\u0001\u0082\u0199\u0001" +
+        "\u0084\u019a\u0001\u0086\u019b\u0001\u0088\u019c\u0001\u008a\u019d\u0001" +
+        "\u008c\u0000+\u033d\u0000}\u033f\u0000\u0001v\u01a1\u0001|\u01a2\u0001J\u01a3" +
+        "\u0001D\u01a4+\u0349\u01a6\u0001\u0002\u0000\u0001P\u01a7\u0001R\u01a8\u0001" +
+        "T\u01a9\u0001V\u01aa\u0001X\u01ab\u0001Z\u01ac\u0001\\\u01ad\u0001^\u01ae" +
+        "\u0001`\u01af\u0001b\u01b0\u0001d\u01b1\u0001f\u01b2\u0001h\u01b3\u0001j" +
+        "\u01b4\u0001l\u01b5\u0001n\u01b6\u0001p\u01b7\u0001r\u01b8\u0001t\u01b9\u0001" +
+        "v\u01ba\u0001\u0010\u01bb\u0001N\u01bc\u0001x\u01bd\u0001z\u01be\u0001|\u01bf" +
+        "\u0001\u001c\u01c0\u0001~\u01c1\u0001\u0080\u01c2\u0001\u0082\u01c3\u0001" +
+        "\u0084\u01c4\u0001\u0086\u01c5\u0001\u0088\u01c6\u0001\u008a\u01c7\u0001" +
+        "\u008c\u0000+\u0391\u0000}\u0393\u0000\u0001v\u01cb\u0001|\u01cc\u0001J\u01cd" +
+        "\u0001D\u01ce+\u039d\u01d0\u0001\u0002\u0000\u0001P\u01d1\u0001R\u01d2\u0001" +
+        "T\u01d3\u0001V\u01d4\u0001X\u01d5\u0001Z\u01d6\u0001\\\u01d7\u0001^\u01d8" +
+        "\u0001`\u01d9\u0001b\u01da\u0001d\u01db\u0001f\u01dc\u0001h\u01dd\u0001j" +
+        "\u01de\u0001l\u01df\u0001n\u01e0\u0001p\u01e1\u0001r\u01e2\u0001t\u01e3\u0001" +
+        "v\u01e4\u0001\u0010\u01e5\u0001N\u01e6\u0001x\u01e7\u0001z\u01e8\u0001|\u01e9" +
+        "\u0001\u001c\u01ea\u0001~\u01eb\u0001\u0080\u01ec\u0001\u0082\u01ed\u0001" +
+        "\u0084\u01ee\u0001\u0086\u01ef\u0001\u0088\u01f0\u0001\u008a\u01f1\u0001" +
+        "\u008c\u0000+\u03e5\u0000}\u03e7\u0000\u0001v\u01f5\u0001|\u01f6\u0001J\u01f7" +
+        "\u0001D\u01f8+\u03f1\u01fa\u0001\u0002\u0000\u0001P\u01fb\u0001R\u01fc\u0001" +
+        "T\u01fd\u0001V\u01fe\u0001X\u01ff\u0001Z\u0200\u0001\\\u0201\u0001^\u0202" +
+        "\u0001`\u0203\u0001b\u0204\u0001d\u0205\u0001f\u0206\u0001h\u0207\u0001j" +
+        "\u0208\u0001l\u0209\u0001n\u020a\u0001p\u020b\u0001r\u020c\u0001t\u020d\u0001" +
+        "v\u020e\u0001\u0010\u020f\u0001N\u0210\u0001x\u0211\u0001z\u0212\u0001|\u0213" +
+        "\u0001\u001c\u0214\u0001~\u0215\u0001\u0080\u0216\u0001\u0082\u0217\u0001" +
+        "\u0084\u0218\u0001\u0086\u0219\u0001\u0088\u021a\u0001\u008a\u021b\u0001" +
+        "\u008c\u0000+\u0439\u0000}\u043b\u0000\u0001\u0014\u021f\u0001|\u0220+\u0441" +
+        "\u0222\u0001\u0002\u0000\u0001P\u0223\u0001R\u0224\u0001T\u0225\u0001V\u0226" +
+        "\u0001X\u0227\u0001Z\u0228\u0001\\\u0229\u0001^\u022a\u0001`\u022b\u0001" +
+        "b\u022c\u0001d\u022d\u0001f\u022e\u0001h\u022f\u0001j\u0230\u0001l\u0231" +
+        "\u0001n\u0232\u0001p\u0233\u0001r\u0234\u0001t\u0235\u0001v\u0236\u0001\u0010" +
+        "\u0237\u0001N\u0238\u0001x\u0239\u0001z\u023a\u0001|\u023b\u0001\u001c\u023c" +
+        "\u0001~\u023d\u0001\u0080\u023e\u0001\u0082\u023f\u0001\u0084\u0240\u0001" +
+        "\u0086\u0241\u0001\u0088\u0242\u0001\u008a\u0243\u0001\u008c\u0244\u0001" +
+        "4\u0245\u00012\u0246\u0001\u00a4\u0000+\u048f\u0000}\u0491\u0000\u0001\u0014" +
+        "\u024a\u0001|\u024b+\u0497\u024d\u0001\u0002\u0000\u0001P\u024e\u0001R\u024f" +
+        "\u0001T\u0250\u0001V\u0251\u0001X\u0252\u0001Z\u0253\u0001\\\u0254\u0001" +
+        "^\u0255\u0001`\u0256\u0001b\u0257\u0001d\u0258\u0001f\u0259\u0001h\u025a" +
+        "\u0001j\u025b\u0001l\u025c\u0001n\u025d\u0001p\u025e\u0001r\u025f\u0001t" +
+        "\u0260\u0001v\u0261\u0001\u0010\u0262\u0001N\u0263\u0001x\u0264\u0001z\u0265" +
+        "\u0001|\u0266\u0001\u001c\u0267\u0001~\u0268\u0001\u0080\u0269\u0001\u0082" +
+        "\u026a\u0001\u0084\u026b\u0001\u0086\u026c\u0001\u0088\u026d\u0001\u008a" +
+        "\u026e\u0001\u008c\u026f\u00014\u0270\u00012\u0271\u0001\u00a4\u0000+\u04e5" +
+        "\u0000}\u04e7\u0000\u00012\u0275\u00014\u0276\u00016\u0277\u00018\u0278+" +
+        "\u04f1\u027a\u0001\u0002\u0000\u0001P\u027b\u0001R\u027c\u0001T\u027d\u0001" +
+        "V\u027e\u0001X\u027f\u0001Z\u0280\u0001\\\u0281\u0001^\u0282\u0001`\u0283" +
+        "\u0001b\u0284\u0001d\u0285\u0001f\u0286\u0001h\u0287\u0001j\u0288\u0001l" +
+        "\u0289\u0001n\u028a\u0001p\u028b\u0001r\u028c\u0001t\u028d\u0001v\u028e\u0001" +
+        "\u0010\u028f\u0001N\u0290\u0001x\u0291\u0001z\u0292\u0001|\u0293\u0001\u001c" +
+        "\u0294\u0001~\u0295\u0001\u0080\u0296\u0001\u0082\u0297\u0001\u0084\u0298" +
+        "\u0001\u0086\u0299\u0001\u0088\u029a\u0001\u008a\u029b\u0001\u008c\u029c" +
+        "\u0001\u00a4\u0000+\u053b\u0000}\u053d\u0000\u00012\u02a0\u00014\u02a1\u0001" +
+        "6\u02a2\u00018\u02a3+\u0547\u02a5\u0001\u0002\u0000\u0001P\u02a6\u0001R\u02a7" +
+        "\u0001T\u02a8\u0001V\u02a9\u0001X\u02aa\u0001Z\u02ab\u0001\\\u02ac\u0001" +
+        "^\u02ad\u0001`\u02ae\u0001b\u02af\u0001d\u02b0\u0001f\u02b1\u0001h\u02b2" +
+        "\u0001j\u02b3\u0001l\u02b4\u0001n\u02b5\u0001p\u02b6\u0001r\u02b7\u0001t" +
+        "\u02b8\u0001v\u02b9\u0001\u0010\u02ba\u0001N\u02bb\u0001x\u02bc\u0001z\u02bd" +
+        "\u0001|\u02be\u0001\u001c\u02bf\u0001~\u02c0\u0001\u0080\u02c1\u0001\u0082" +
+        "\u02c2\u0001\u0084\u02c3\u0001\u0086\u02c4\u0001\u0088\u02c5\u0001\u008a" +
+        "\u02c6\u0001\u008c\u02c7\u0001\u00a4\u0000+\u0591\u0000}\u0593\u0000+\u0595" +
+        "\u02cc\u0001\u0002\u0000\u0001P\u02cd\u0001R\u02ce\u0001T\u02cf\u0001V\u02d0" +
+        "\u0001X\u02d1\u0001Z\u02d2\u0001\\\u02d3\u0001^\u02d4\u0001`\u02d5\u0001" +
+        "b\u02d6\u0001d\u02d7\u0001f\u02d8\u0001h\u02d9\u0001j\u02da\u0001l\u02db" +
+        "\u0001n\u02dc\u0001p\u02dd\u0001r\u02de\u0001t\u02df\u0001v\u02e0\u0001\u0010" +
+        "\u02e1\u0001N\u02e2\u0001x\u02e3\u0001z\u02e4\u0001|\u02e5\u0001\u001c\u02e6" +
+        "\u0001~\u02e7\u0001\u0080\u02e8\u0001\u0082\u02e9\u0001\u0084\u02ea\u0001" +
+        "\u0086\u02eb\u0001\u0088\u02ec\u0001\u008a\u02ed\u0001\u008c\u0000+\u05dd" +
+        "\u0000}\u05df\u0000\u0001\u0014\u02f1\u0001@\u02f2\u0001\u00a0\u02f3\u0001" +
+        "\u00a2\u0000+\u05e9\u0000}\u05eb\u0000\u0001&\u02f7\u0001(\u02f8\u0001*\u02f9" +
+        "\u0001,\u02fa\u0001.\u02fb\u00010\u02fc\u0001\u0014\u02fd\u00012\u02fe\u0001" +
+        "4\u02ff\u00016\u0300\u00018\u0301\u0001:\u0302\u0001<\u0303\u0001>\u0304" +
+        "\u0001 \u0305\u0001@\u0306\u0001B\u0307\u0001D\u0308\u0001$\u0309\u0001F" +
+        "\u030a\u0001H\u030b\u0001\n\u030c\u0001J\u030d\u0001L\u030e\u0001N\u030f" +
+        "+\u061f\u0311\u0001\u0002\u0000\u0001P\u0312\u0001R\u0313\u0001T\u0314\u0001" +
+        "V\u0315\u0001X\u0316\u0001Z\u0317\u0001\\\u0318\u0001^\u0319\u0001`\u031a" +
+        "\u0001b\u031b\u0001d\u031c\u0001f\u031d\u0001h\u031e\u0001j\u031f\u0001l" +
+        "\u0320\u0001n\u0321\u0001p\u0322\u0001r\u0323\u0001t\u0324\u0001v\u0325\u0001" +
+        "\u0010\u0326\u0001N\u0327\u0001x\u0328\u0001z\u0329\u0001|\u032a\u0001\u001c" +
+        "\u032b\u0001~\u032c\u0001\u0080\u032d\u0001\u0082\u032e\u0001\u0084\u032f" +
+        "\u0001\u0086\u0330\u0001\u0088\u0331\u0001\u008a\u0332\u0001\u008c\u0333" +
+        "\u0001\u008e\u0334\u0001\u0090\u0335\u0001\u0092\u0336\u0001\u0094\u0337" +
+        "\u0001\u0096\u0000+\u0671\u0000}\u0673\u0000\u0001&\u033b\u0001(\u033c\u0001" +
+        "*\u033d\u0001,\u033e\u0001.\u033f\u00010\u0340\u0001\u0014\u0341\u00012\u0342" +
+        "\u00014\u0343\u00016\u0344\u00018\u0345\u0001:\u0346\u0001<\u0347\u0001>" +
+        "\u0348\u0001 \u0349\u0001@\u034a\u0001B\u034b\u0001D\u034c\u0001$\u034d\u0001" +
+        "F\u034e\u0001H\u034f\u0001\n\u0350\u0001J\u0351\u0001L\u0352\u0001N\u0353" +
+        "+\u06a7\u0355\u0001\u0002\u0000\u0001P\u0356\u0001R\u0357\u0001T\u0358\u0001" +
+        "V\u0359\u0001X\u035a\u0001Z\u035b\u0001\\\u035c\u0001^\u035d\u0001`\u035e" +
+        "\u0001b\u035f\u0001d\u0360\u0001f\u0361\u0001h\u0362\u0001j\u0363\u0001l" +
+        "\u0364\u0001n\u0365\u0001p\u0366\u0001r\u0367\u0001t\u0368\u0001v\u0369\u0001" +
+        "\u0010\u036a\u0001N\u036b\u0001x\u036c\u0001z\u036d\u0001|\u036e\u0001\u001c" +
+        "\u036f\u0001~\u0370\u0001\u0080\u0371\u0001\u0082\u0372\u0001\u0084\u0373" +
+        "\u0001\u0086\u0374\u0001\u0088\u0375\u0001\u008a\u0376\u0001\u008c\u0377" +
+        "\u0001\u008e\u0378\u0001\u0090\u0379\u0001\u0092\u037a\u0001\u0094\u037b" +
+        "\u0001\u0096\u0000+\u06f9\u0000}\u06fb\u0000\u0001&\u037f\u0001(\u0380\u0001" +
+        "*\u0381\u0001,\u0382\u0001.\u0383\u00010\u0384\u0001\u0014\u0385\u00012\u0386" +
+        "\u00014\u0387\u00016\u0388\u00018\u0389\u0001:\u038a\u0001<\u038b\u0001>" +
+        "\u038c\u0001 \u038d\u0001@\u038e\u0001B\u038f\u0001D\u0390\u0001$\u0391\u0001" +
+        "F\u0392\u0001H\u0393\u0001\n\u0394\u0001J\u0395\u0001L\u0396\u0001N\u0397" +
+        "+\u072f\u0399\u0001\u0002\u0000\u0001P\u039a\u0001R\u039b\u0001T\u039c\u0001" +
+        "V\u039d\u0001X\u039e\u0001Z\u039f\u0001\\\u03a0\u0001^\u03a1\u0001`\u03a2" +
+        "\u0001b\u03a3\u0001d\u03a4\u0001f\u03a5\u0001h\u03a6\u0001j\u03a7\u0001l" +
+        "\u03a8\u0001n\u03a9\u0001p\u03aa\u0001r\u03ab\u0001t\u03ac\u0001v\u03ad\u0001" +
+        "\u0010\u03ae\u0001N\u03af\u0001x\u03b0\u0001z\u03b1\u0001|\u03b2\u0001\u001c" +
+        "\u03b3\u0001~\u03b4\u0001\u0080\u03b5\u0001\u0082\u03b6\u0001\u0084\u03b7" +
+        "\u0001\u0086\u03b8\u0001\u0088\u03b9\u0001\u008a\u03ba\u0001\u008c\u03bb" +
+        "\u0001\u008e\u03bc\u0001\u0090\u03bd\u0001\u0092\u03be\u0001\u0094\u03bf" +
+        "\u0001\u0096\u0000+\u0781\u0000}\u0783\u0000\u0001&\u03c3\u0001(\u03c4\u0001" +
+        "*\u03c5\u0001,\u03c6\u0001.\u03c7\u00010\u03c8\u0001\u0014\u03c9\u00012\u03ca" +
+        "\u00014\u03cb\u00016\u03cc\u00018\u03cd\u0001:\u03ce\u0001<\u03cf\u0001>" +
+        "\u03d0\u0001 \u03d1\u0001@\u03d2\u0001B\u03d3\u0001D\u03d4\u0001$\u03d5\u0001" +
+        "F\u03d6\u0001H\u03d7\u0001\n\u03d8\u0001J\u03d9\u0001L\u03da\u0001N\u03db" +
+        "+\u07b7\u03dd\u0001\u0002\u0000\u0001P\u03de\u0001R\u03df\u0001T\u03e0\u0001" +
+        "V\u03e1\u0001X\u03e2\u0001Z\u03e3\u0001\\\u03e4\u0001^\u03e5\u0001`\u03e6" +
+        "\u0001b\u03e7\u0001d\u03e8\u0001f\u03e9\u0001h\u03ea\u0001j\u03eb\u0001l" +
+        "\u03ec\u0001n\u03ed\u0001p\u03ee\u0001r\u03ef\u0001t\u03f0\u0001v\u03f1\u0001" +
+        "\u0010\u03f2\u0001N\u03f3\u0001x\u03f4\u0001z\u03f5\u0001|\u03f6\u0001\u001c" +
+        "\u03f7\u0001~\u03f8\u0001\u0080\u03f9\u0001\u0082\u03fa\u0001\u0084\u03fb" +
+        "\u0001\u0086\u03fc\u0001\u0088\u03fd\u0001\u008a\u03fe\u0001\u008c\u03ff" +
+        "\u0001\u008e\u0400\u0001\u0090\u0401\u0001\u0092\u0402\u0001\u0094\u0403" +
+        "\u0001\u0096\u0000+\u0809\u0000}\u080b\u0000\u0001\u0098\u0407\u0001\u00a6" +
+        "\u0000+\u0811\u0000}\u0813\u0000\u0001\u0012\u040b+\u0817\u044d}\u0819\u0000" +
+        "\u0001&\u040e\u0001(\u040f\u0001*\u0410\u0001,\u0411\u0001.\u0412\u00010" +
+        "\u0413+\u0827\u044c}\u0829\u0000\u0001\u0014\u0416\u00012\u0417\u00014\u0418" +
+        "\u00016\u0419\u00018\u041a\u0001:\u041b\u0001<\u041c\u0001>\u041d\u0001 " +
+        "\u041e\u0001@\u041f\u0001B\u0420\u0001D\u0421\u0001$\u0422\u0001F\u0423\u0001" +
+        "H\u0424\u0001\n\u0425\u0001J\u0426\u0001L\u0427\u0001N\u0428+\u0851\u042a" +
+        "\u0001\u0002\u0000\u0001P\u042b\u0001R\u042c\u0001T\u042d\u0001V\u042e\u0001" +
+        "X\u042f\u0001Z\u0430\u0001\\\u0431\u0001^\u0432\u0001`\u0433\u0001b\u0434" +
+        "\u0001d\u0435\u0001f\u0436\u0001h\u0437\u0001j\u0438\u0001l\u0439\u0001n" +
+        "\u043a\u0001p\u043b\u0001r\u043c\u0001t\u043d\u0001v\u043e\u0001\u0010\u043f" +
+        "\u0001N\u0440\u0001x\u0441\u0001z\u0442\u0001|\u0443\u0001\u001c\u0444\u0001" +
+        "~\u0445\u0001\u0080\u0446\u0001\u0082\u0447\u0001\u0084\u0448\u0001\u0086" +
+        "\u0449\u0001\u0088\u044a\u0001\u008a\u044b\u0001\u008c\u0000\u0001\u008e" +
+        "\u0000\u0001\u0088\u044e\u0001\u008a\u044f\u0001\u008c\u0000+\u08a1\u0000" +
+        "}\u08a3\u0000+\u08a5\u0454\u0001\u0002\u0000\u0001P\u0455\u0001R\u0456\u0001" +
+        "T\u0457\u0001V\u0458\u0001X\u0459\u0001Z\u045a\u0001\\\u045b\u0001^\u045c" +
+        "\u0001`\u045d\u0001b\u045e\u0001d\u045f\u0001f\u0460\u0001h\u0461\u0001j" +
+        "\u0462\u0001l\u0463\u0001n\u0464\u0001p\u0465\u0001r\u0466\u0001t\u0467\u0001" +
+        "v\u0468\u0001\u0010\u0469\u0001N\u046a\u0001x\u046b\u0001z\u046c\u0001|\u046d" +
+        "\u0001\u001c\u046e\u0001~\u046f\u0001\u0080\u0470\u0001\u0082\u0471\u0001" +
+        "\u0084\u0472\u0001\u0086\u0473\u0001\u0088\u0474\u0001\u008a\u0475\u0001" +
+        "\u008c\u0476\u0001D\u0477\u0001\u0014\u0478\u0001@\u0479\u00012\u047a\u0001" +
+        "4\u0000+\u08f7\u0000}\u08f9\u0000+\u08fb\u047f\u0001\u0002\u0000\u0001P\u0480" +
+        "\u0001R\u0481\u0001T\u0482\u0001V\u0483\u0001X\u0484\u0001Z\u0485\u0001\\" +
+        "\u0486\u0001^\u0487\u0001`\u0488\u0001b\u0489\u0001d\u048a\u0001f\u048b\u0001" +
+        "h\u048c\u0001j\u048d\u0001l\u048e\u0001n\u048f\u0001p\u0490\u0001r\u0491" +
+        "\u0001t\u0492\u0001v\u0493\u0001\u0010\u0494\u0001N\u0495\u0001x\u0496\u0001" +
+        "z\u0497\u0001|\u0498\u0001\u001c\u0499\u0001~\u049a\u0001\u0080\u049b\u0001" +
+        "\u0082\u049c\u0001\u0084\u049d\u0001\u0086\u049e\u0001\u0088\u049f\u0001" +
+        "\u008a\u04a0\u0001\u008c\u04a1\u0001D\u04a2\u0001\u0014\u04a3\u0001@\u04a4" +
+        "\u00012\u04a5\u00014\u0000+\u094d\u0000}\u094f\u0000+\u0951\u04aa\u0001\u0002" +
+        "\u0000\u0001P\u04ab\u0001R\u04ac\u0001T\u04ad\u0001V\u04ae\u0001X\u04af\u0001" +
+        "Z\u04b0\u0001\\\u04b1\u0001^\u04b2\u0001`\u04b3\u0001b\u04b4\u0001d\u04b5" +
+        "\u0001f\u04b6\u0001h\u04b7\u0001j\u04b8\u0001l\u04b9\u0001n\u04ba\u0001p" +
+        "\u04bb\u0001r\u04bc\u0001t\u04bd\u0001v\u04be\u0001\u0010\u04bf\u0001N\u04c0" +
+        "\u0001x\u04c1\u0001z\u04c2\u0001|\u04c3\u0001\u001c\u04c4\u0001~\u04c5\u0001" +
+        "\u0080\u04c6\u0001\u0082\u04c7\u0001\u0084\u04c8\u0001\u0086\u04c9\u0001" +
+        "\u0088\u04ca\u0001\u008a\u04cb\u0001\u008c\u04cc\u0001D\u04cd\u0001\u0014" +
+        "\u04ce\u0001@\u04cf\u00012\u04d0\u00014\u0000+\u09a3\u0000}\u09a5\u0000+" +
+        "\u09a7\u04d5\u0001\u0002\u0000\u0001P\u04d6\u0001R\u04d7\u0001T\u04d8\u0001" +
+        "V\u04d9\u0001X\u04da\u0001Z\u04db\u0001\\\u04dc\u0001^\u04dd\u0001`\u04de" +
+        "\u0001b\u04df\u0001d\u04e0\u0001f\u04e1\u0001h\u04e2\u0001j\u04e3\u0001l" +
+        "\u04e4\u0001n\u04e5\u0001p\u04e6\u0001r\u04e7\u0001t\u04e8\u0001v\u04e9\u0001" +
+        "\u0010\u04ea\u0001N\u04eb\u0001x\u04ec\u0001z\u04ed\u0001|\u04ee\u0001\u001c" +
+        "\u04ef\u0001~\u04f0\u0001\u0080\u04f1\u0001\u0082\u04f2\u0001\u0084\u04f3" +
+        "\u0001\u0086\u04f4\u0001\u0088\u04f5\u0001\u008a\u04f6\u0001\u008c\u04f7" +
+        "\u0001D\u04f8\u0001\u0014\u04f9\u0001@\u04fa\u00012\u04fb\u00014\u0000+\u09f9" +
+        "\u0000}\u09fb\u0000+\u09fd\u0500\u0001\u0002\u0000\u0001P\u0501\u0001R\u0502" +
+        "\u0001T\u0503\u0001V\u0504\u0001X\u0505\u0001Z\u0506\u0001\\\u0507\u0001" +
+        "^\u0508\u0001`\u0509\u0001b\u050a\u0001d\u050b\u0001f\u050c\u0001h\u050d" +
+        "\u0001j\u050e\u0001l\u050f\u0001n\u0510\u0001p\u0511\u0001r\u0512\u0001t" +
+        "\u0513\u0001v\u0514\u0001\u0010\u0515\u0001N\u0516\u0001x\u0517\u0001z\u0518" +
+        "\u0001|\u0519\u0001\u001c\u051a\u0001~\u051b\u0001\u0080\u051c\u0001\u0082" +
+        "\u051d\u0001\u0084\u051e\u0001\u0086\u051f\u0001\u0088\u0520\u0001\u008a" +
+        "\u0521\u0001\u008c\u0522\u0001D\u0523\u0001\u0014\u0524\u0001@\u0525\u0001" +
+        "2\u0526\u00014\u0000+\u0a4f\u0000}\u0a51\u0000+\u0a53\u052b\u0001\u0002\u0000" +
+        "\u0001P\u052c\u0001R\u052d\u0001T\u052e\u0001V\u052f\u0001X\u0530\u0001Z" +
+        "\u0531\u0001\\\u0532\u0001^\u0533\u0001`\u0534\u0001b\u0535\u0001d\u0536" +
+        "\u0001f\u0537\u0001h\u0538\u0001j\u0539\u0001l\u053a\u0001n\u053b\u0001p" +
+        "\u053c\u0001r\u053d\u0001t\u053e\u0001v\u053f\u0001\u0010\u0540\u0001N\u0541" +
+        "\u0001x\u0542\u0001z\u0543\u0001|\u0544\u0001\u001c\u0545\u0001~\u0546\u0001" +
+        "\u0080\u0547\u0001\u0082\u0548\u0001\u0084\u0549\u0001\u0086\u054a\u0001" +
+        "\u0088\u054b\u0001\u008a\u054c\u0001\u008c\u054d\u0001D\u054e\u0001\u0014" +
+        "\u054f\u0001@\u0550\u00012\u0551\u00014\u0000+\u0aa5\u0000}\u0aa7\u0000+" +
+        "\u0aa9\u0556\u0001\u0002\u0000\u0001P\u0557\u0001R\u0558\u0001T\u0559\u0001" +
+        "V\u055a\u0001X\u055b\u0001Z\u055c\u0001\\\u055d\u0001^\u055e\u0001`\u055f" +
+        "\u0001b\u0560\u0001d\u0561\u0001f\u0562\u0001h\u0563\u0001j\u0564\u0001l" +
+        "\u0565\u0001n\u0566\u0001p\u0567\u0001r\u0568\u0001t\u0569\u0001v\u056a\u0001" +
+        "\u0010\u056b\u0001N\u056c\u0001x\u056d\u0001z\u056e\u0001|\u056f\u0001\u001c" +
+        "\u0570\u0001~\u0571\u0001\u0080\u0572\u0001\u0082\u0573\u0001\u0084\u0574" +
+        "\u0001\u0086\u0575\u0001\u0088\u0576\u0001\u008a\u0577\u0001\u008c\u0578" +
+        "\u0001D\u0579\u0001\u0014\u057a\u0001@\u057b\u00012\u057c\u00014\u0000+\u0afb" +
+        "\u0000}\u0afd\u0000+\u0aff\u0581\u0001\u0002\u0000\u0001P\u0582\u0001R\u0583" +
+        "\u0001T\u0584\u0001V\u0585\u0001X\u0586\u0001Z\u0587\u0001\\\u0588\u0001" +
+        "^\u0589\u0001`\u058a\u0001b\u058b\u0001d\u058c\u0001f\u058d\u0001h\u058e" +
+        "\u0001j\u058f\u0001l\u0590\u0001n\u0591\u0001p\u0592\u0001r\u0593\u0001t" +
+        "\u0594\u0001v\u0595\u0001\u0010\u0596\u0001N\u0597\u0001x\u0598\u0001z\u0599" +
+        "\u0001|\u059a\u0001\u001c\u059b\u0001~\u059c\u0001\u0080\u059d\u0001\u0082" +
+        "\u059e\u0001\u0084\u059f\u0001\u0086\u05a0\u0001\u0088\u05a1\u0001\u008a" +
+        "\u05a2\u0001\u008c\u05a3\u0001D\u05a4\u0001\u0014\u05a5\u0001@\u05a6\u0001" +
+        "2\u05a7\u00014\u0000+\u0b51\u0000}\u0b53\u0000+\u0b55\u05ac\u0001\u0002\u0000" +
+        "\u0001P\u05ad\u0001R\u05ae\u0001T\u05af\u0001V\u05b0\u0001X\u05b1\u0001Z" +
+        "\u05b2\u0001\\\u05b3\u0001^\u05b4\u0001`\u05b5\u0001b\u05b6\u0001d\u05b7" +
+        "\u0001f\u05b8\u0001h\u05b9\u0001j\u05ba\u0001l\u05bb\u0001n\u05bc\u0001p" +
+        "\u05bd\u0001r\u05be\u0001t\u05bf\u0001v\u05c0\u0001\u0010\u05c1\u0001N\u05c2" +
+        "\u0001x\u05c3\u0001z\u05c4\u0001|\u05c5\u0001\u001c\u05c6\u0001~\u05c7\u0001" +
+        "\u0080\u05c8\u0001\u0082\u05c9\u0001\u0084\u05ca\u0001\u0086\u05cb\u0001" +
+        "\u0088\u05cc\u0001\u008a\u05cd\u0001\u008c\u05ce\u0001D\u05cf\u0001\u0014" +
+        "\u05d0\u0001@\u05d1\u00012\u05d2\u00014\u0000+\u0ba7\u0000}\u0ba9\u0000+" +
+        "\u0bab\u05d7\u0001\u0002\u0000\u0001P\u05d8\u0001R\u05d9\u0001T\u05da\u0001" +
+        "V\u05db\u0001X\u05dc\u0001Z\u05dd\u0001\\\u05de\u0001^\u05df\u0001`\u05e0" +
+        "\u0001b\u05e1\u0001d\u05e2\u0001f\u05e3\u0001h\u05e4\u0001j\u05e5\u0001l" +
+        "\u05e6\u0001n\u05e7\u0001p\u05e8\u0001r\u05e9\u0001t\u05ea\u0001v\u05eb\u0001" +
+        "\u0010\u05ec\u0001N\u05ed\u0001x\u05ee\u0001z\u05ef\u0001|\u05f0\u0001\u001c" +
+        "\u05f1\u0001~\u05f2\u0001\u0080\u05f3\u0001\u0082\u05f4\u0001\u0084\u05f5" +
+        "\u0001\u0086\u05f6\u0001\u0088\u05f7\u0001\u008a\u05f8\u0001\u008c\u05f9" +
+        "\u0001D\u05fa\u0001\u0014\u05fb\u0001@\u05fc\u00012\u05fd\u00014\u0000+\u0bfd" +
+        "\u0000}\u0bff\u0000+\u0c01\u0602\u0001\u0002\u0000\u0001P\u0603\u0001R\u0604" +
+        "\u0001T\u0605\u0001V\u0606\u0001X\u0607\u0001Z\u0608\u0001\\\u0609\u0001" +
+        "^\u060a\u0001`\u060b\u0001b\u060c\u0001d\u060d\u0001f\u060e\u0001h\u060f" +
+        "\u0001j\u0610\u0001l\u0611\u0001n\u0612\u0001p\u0613\u0001r\u0614\u0001t" +
+        "\u0615\u0001v\u0616\u0001\u0010\u0617\u0001N\u0618\u0001x\u0619\u0001z\u061a" +
+        "\u0001|\u061b\u0001\u001c\u061c\u0001~\u061d\u0001\u0080\u061e\u0001\u0082" +
+        "\u061f\u0001\u0084\u0620\u0001\u0086\u0621\u0001\u0088\u0622\u0001\u008a" +
+        "\u0623\u0001\u008c\u0624\u0001D\u0625\u0001\u0014\u0626\u0001@\u0627\u0001" +
+        "2\u0628\u00014\u0000+\u0c53\u0000}\u0c55\u0000+\u0c57\u062d\u0001\u0002\u0000" +
+        "\u0001P\u062e\u0001R\u062f\u0001T\u0630\u0001V\u0631\u0001X\u0632\u0001Z" +
+        "\u0633\u0001\\\u0634\u0001^\u0635\u0001`\u0636\u0001b\u0637\u0001d\u0638" +
+        "\u0001f\u0639\u0001h\u063a\u0001j\u063b\u0001l\u063c\u0001n\u063d\u0001p" +
+        "\u063e\u0001r\u063f\u0001t\u0640\u0001v\u0641\u0001\u0010\u0642\u0001N\u0643" +
+        "\u0001x\u0644\u0001z\u0645\u0001|\u0646\u0001\u001c\u0647\u0001~\u0648\u0001" +
+        "\u0080\u0649\u0001\u0082\u064a\u0001\u0084\u064b\u0001\u0086\u064c\u0001" +
+        "\u0088\u064d\u0001\u008a\u064e\u0001\u008c\u064f\u0001D\u0650\u0001\u0014" +
+        "\u0651\u0001@\u0652\u00012\u0653\u00014\u0000+\u0ca9\u0000}\u0cab\u0000+" +
+        "\u0cad\u0658\u0001\u0002\u0000\u0001P\u0659\u0001R\u065a\u0001T\u065b\u0001" +
+        "V\u065c\u0001X\u065d\u0001Z\u065e\u0001\\\u065f\u0001^\u0660\u0001`\u0661" +
+        "\u0001b\u0662\u0001d\u0663\u0001f\u0664\u0001h\u0665\u0001j\u0666\u0001l" +
+        "\u0667\u0001n\u0668\u0001p\u0669\u0001r\u066a\u0001t\u066b\u0001v\u066c\u0001" +
+        "\u0010\u066d\u0001N\u066e\u0001x\u066f\u0001z\u0670\u0001|\u0671\u0001\u001c" +
+        "\u0672\u0001~\u0673\u0001\u0080\u0674\u0001\u0082\u0675\u0001\u0084\u0676" +
+        "\u0001\u0086\u0677\u0001\u0088\u0678\u0001\u008a\u0679\u0001\u008c\u067a" +
+        "\u0001D\u067b\u0001\u0014\u067c\u0001@\u067d\u00012\u067e\u00014\u0000+\u0cff" +
+        "\u0000}\u0d01\u0000+\u0d03\u0683\u0001\u0002\u0000\u0001P\u0684\u0001R\u0685" +
+        "\u0001T\u0686\u0001V\u0687\u0001X\u0688\u0001Z\u0689\u0001\\\u068a\u0001" +
+        "^\u068b\u0001`\u068c\u0001b\u068d\u0001d\u068e\u0001f\u068f\u0001h\u0690" +
+        "\u0001j\u0691\u0001l\u0692\u0001n\u0693\u0001p\u0694\u0001r\u0695\u0001t" +
+        "\u0696\u0001v\u0697\u0001\u0010\u0698\u0001N\u0699\u0001x\u069a\u0001z\u069b" +
+        "\u0001|\u069c\u0001\u001c\u069d\u0001~\u069e\u0001\u0080\u069f\u0001\u0082" +
+        "\u06a0\u0001\u0084\u06a1\u0001\u0086\u06a2\u0001\u0088\u06a3\u0001\u008a" +
+        "\u06a4\u0001\u008c\u06a5\u0001D\u06a6\u0001\u0014\u06a7\u0001@\u06a8\u0001" +
+        "2\u06a9\u00014\u0000+\u0d55\u0000}\u0d57\u0000+\u0d59\u06ae\u0001\u0002\u0000" +
+        "\u0001P\u06af\u0001R\u06b0\u0001T\u06b1\u0001V\u06b2\u0001X\u06b3\u0001Z" +
+        "\u06b4\u0001\\\u06b5\u0001^\u06b6\u0001`\u06b7\u0001b\u06b8\u0001d\u06b9" +
+        "\u0001f\u06ba\u0001h\u06bb\u0001j\u06bc\u0001l\u06bd\u0001n\u06be\u0001p" +
+        "\u06bf\u0001r\u06c0\u0001t\u06c1\u0001v\u06c2\u0001\u0010\u06c3\u0001N\u06c4" +
+        "\u0001x\u06c5\u0001z\u06c6\u0001|\u06c7\u0001\u001c\u06c8\u0001~\u06c9\u0001" +
+        "\u0080\u06ca\u0001\u0082\u06cb\u0001\u0084\u06cc\u0001\u0086\u06cd\u0001" +
+        "\u0088\u06ce\u0001\u008a\u06cf\u0001\u008c\u06d0\u0001D\u06d1\u0001\u0014" +
+        "\u06d2\u0001@\u06d3\u00012\u06d4\u00014\u0000+\u0dab\u0000}\u0dad\u0000+" +
+        "\u0daf\u06d9\u0001\u0002\u0000\u0001P\u06da\u0001R\u06db\u0001T\u06dc\u0001" +
+        "V\u06dd\u0001X\u06de\u0001Z\u06df\u0001\\\u06e0\u0001^\u06e1\u0001`\u06e2" +
+        "\u0001b\u06e3\u0001d\u06e4\u0001f\u06e5\u0001h\u06e6\u0001j\u06e7\u0001l" +
+        "\u06e8\u0001n\u06e9\u0001p\u06ea\u0001r\u06eb\u0001t\u06ec\u0001v\u06ed\u0001" +
+        "\u0010\u06ee\u0001N\u06ef\u0001x\u06f0\u0001z\u06f1\u0001|\u06f2\u0001\u001c" +
+        "\u06f3\u0001~\u06f4\u0001\u0080\u06f5\u0001\u0082\u06f6\u0001\u0084\u06f7" +
+        "\u0001\u0086\u06f8\u0001\u0088\u06f9\u0001\u008a\u06fa\u0001\u008c\u06fb" +
+        "\u0001D\u06fc\u0001\u0014\u06fd\u0001@\u06fe\u00012\u06ff\u00014\u0000+\u0e01" +
+        "\u0000}\u0e03\u0000+\u0e05\u0704\u0001\u0002\u0000\u0001P\u0705\u0001R\u0706" +
+        "\u0001T\u0707\u0001V\u0708\u0001X\u0709\u0001Z\u070a\u0001\\\u070b\u0001" +
+        "^\u070c\u0001`\u070d\u0001b\u070e\u0001d\u070f\u0001f\u0710\u0001h\u0711" +
+        "\u0001j\u0712\u0001l\u0713\u0001n\u0714\u0001p\u0715\u0001r\u0716\u0001t" +
+        "\u0717\u0001v\u0718\u0001\u0010\u0719\u0001N\u071a\u0001x\u071b\u0001z\u071c" +
+        "\u0001|\u071d\u0001\u001c\u071e\u0001~\u071f\u0001\u0080\u0720\u0001\u0082" +
+        "\u0721\u0001\u0084\u0722\u0001\u0086\u0723\u0001\u0088\u0724\u0001\u008a" +
+        "\u0725\u0001\u008c\u0726\u0001D\u0727\u0001\u0014\u0728\u0001@\u0729\u0001" +
+        "2\u072a\u00014\u0000+\u0e57\u0000}\u0e59\u0000+\u0e5b\u072f\u0001\u0002\u0000" +
+        "\u0001P\u0730\u0001R\u0731\u0001T\u0732\u0001V\u0733\u0001X\u0734\u0001Z" +
+        "\u0735\u0001\\\u0736\u0001^\u0737\u0001`\u0738\u0001b\u0739\u0001d\u073a" +
+        "\u0001f\u073b\u0001h\u073c\u0001j\u073d\u0001l\u073e\u0001n\u073f\u0001p" +
+        "\u0740\u0001r\u0741\u0001t\u0742\u0001v\u0743\u0001\u0010\u0744\u0001N\u0745" +
+        "\u0001x\u0746\u0001z\u0747\u0001|\u0748\u0001\u001c\u0749\u0001~\u074a\u0001" +
+        "\u0080\u074b\u0001\u0082\u074c\u0001\u0084\u074d\u0001\u0086\u074e\u0001" +
+        "\u0088\u074f\u0001\u008a\u0750\u0001\u008c\u0751\u0001D\u0752\u0001\u0014" +
+        "\u0753\u0001@\u0754\u00012\u0755\u00014\u0000+\u0ead\u0000}\u0eaf\u0000+" +
+        "\u0eb1\u075a\u0001\u0002\u0000\u0001P\u075b\u0001R\u075c\u0001T\u075d\u0001" +
+        "V\u075e\u0001X\u075f\u0001Z\u0760\u0001\\\u0761\u0001^\u0762\u0001`\u0763" +
+        "\u0001b\u0764\u0001d\u0765\u0001f\u0766\u0001h\u0767\u0001j\u0768\u0001l" +
+        "\u0769\u0001n\u076a\u0001p\u076b\u0001r\u076c\u0001t\u076d\u0001v\u076e\u0001" +
+        "\u0010\u076f\u0001N\u0770\u0001x\u0771\u0001z\u0772\u0001|\u0773\u0001\u001c" +
+        "\u0774\u0001~\u0775\u0001\u0080\u0776\u0001\u0082\u0777\u0001\u0084\u0778" +
+        "\u0001\u0086\u0779\u0001\u0088\u077a\u0001\u008a\u077b\u0001\u008c\u077c" +
+        "\u0001&\u077d\u0001(\u077e\u0001*\u077f\u0001,\u0780\u0001.\u0781\u00010" +
+        "\u0782\u0001:\u0000+\u0f07\u0000}\u0f09\u0000+\u0f0b\u0787\u0001\u0002\u0000" +
+        "\u0001P\u0788\u0001R\u0789\u0001T\u078a\u0001V\u078b\u0001X\u078c\u0001Z" +
+        "\u078d\u0001\\\u078e\u0001^\u078f\u0001`\u0790\u0001b\u0791\u0001d\u0792" +
+        "\u0001f\u0793\u0001h\u0794\u0001j\u0795\u0001l\u0796\u0001n\u0797\u0001p" +
+        "\u0798\u0001r\u0799\u0001t\u079a\u0001v\u079b\u0001\u0010\u079c\u0001N\u079d" +
+        "\u0001x\u079e\u0001z\u079f\u0001|\u07a0\u0001\u001c\u07a1\u0001~\u07a2\u0001" +
+        "\u0080\u07a3\u0001\u0082\u07a4\u0001\u0084\u07a5\u0001\u0086\u07a6\u0001" +
+        "\u0088\u07a7\u0001\u008a\u07a8\u0001\u008c\u07a9\u0001D\u07aa\u0001\u0014" +
+        "\u07ab\u0001@\u07ac\u00012\u07ad\u00014\u0000+\u0f5d\u0000}\u0f5f\u0000\u0001" +
+        "\u0008\u07b1\u0001\u009c\u0000,\u0f65\u0000}\u0f67\u0000+\u0f69\u07b6\u0001" +
+        "\u0002\u0000\u0001P\u07b7\u0001R\u07b8\u0001T\u07b9\u0001V\u07ba\u0001X\u07bb" +
+        "\u0001Z\u07bc\u0001\\\u07bd\u0001^\u07be\u0001`\u07bf\u0001b\u07c0\u0001" +
+        "d\u07c1\u0001f\u07c2\u0001h\u07c3\u0001j\u07c4\u0001l\u07c5\u0001n\u07c6" +
+        "\u0001p\u07c7\u0001r\u07c8\u0001t\u07c9\u0001v\u07ca\u0001\u0010\u07cb\u0001" +
+        "N\u07cc\u0001x\u07cd\u0001z\u07ce\u0001|\u07cf\u0001\u001c\u07d0\u0001~\u07d1" +
+        "\u0001\u0080\u07d2\u0001\u0082\u07d3\u0001\u0084\u07d4\u0001\u0086\u07d5" +
+        "\u0001\u0088\u07d6\u0001\u008a\u07d7\u0001\u008c\u0000+\u0fb1\u0000}\u0fb3" +
+        "\u0000+\u0fb5\u07dc\u0001\u0002\u0000\u0001P\u07dd\u0001R\u07de\u0001T\u07df" +
+        "\u0001V\u07e0\u0001X\u07e1\u0001Z\u07e2\u0001\\\u07e3\u0001^\u07e4\u0001" +
+        "`\u07e5\u0001b\u07e6\u0001d\u07e7\u0001f\u07e8\u0001h\u07e9\u0001j\u07ea" +
+        "\u0001l\u07eb\u0001n\u07ec\u0001p\u07ed\u0001r\u07ee\u0001t\u07ef\u0001v" +
+        "\u07f0\u0001\u0010\u07f1\u0001N\u07f2\u0001x\u07f3\u0001z\u07f4\u0001|\u07f5" +
+        "\u0001\u001c\u07f6\u0001~\u07f7\u0001\u0080\u07f8\u0001\u0082\u07f9\u0001" +
+        "\u0084\u07fa\u0001\u0086\u07fb\u0001\u0088\u07fc\u0001\u008a\u07fd\u0001" +
+        "\u008c\u0000-\u0ffd\u0000,\u0fff\u0000\u0001\u009e\u0000+\u1003\u0000-\u1005" +
+        "\u0000+\u1007\u0000\u0001\u0002\u0000+\u100b\u0000}\u100d\u0000}\u100f\u082c" +
+        "+\u1011\u080a\u0001\u0002\u0000\u0001P\u080b\u0001R\u080c\u0001T\u080d\u0001" +
+        "V\u080e\u0001X\u080f\u0001Z\u0810\u0001\\\u0811\u0001^\u0812\u0001`\u0813" +
+        "\u0001b\u0814\u0001d\u0815\u0001f\u0816\u0001h\u0817\u0001j\u0818\u0001l" +
+        "\u0819\u0001n\u081a\u0001p\u081b\u0001r\u081c\u0001t\u081d\u0001v\u081e\u0001" +
+        "\u0010\u081f\u0001N\u0820\u0001x\u0821\u0001z\u0822\u0001|\u0823\u0001\u001c" +
+        "\u0824\u0001~\u0825\u0001\u0080\u0826\u0001\u0082\u0827\u0001\u0084\u0828" +
+        "\u0001\u0086\u0829\u0001\u0088\u082a\u0001\u008a\u082b\u0001\u008c\u0000" +
+        "\u0001\u0014\u0000+\u105b\u0000}\u105d\u0000\u0001\u0090\u0830\u0001\u00a8" +
+        "\u0831\u0001\u0092\u0000+\u1065\u0000}\u1067\u0000\u0001\u009a\u0835\u0001" +
+        "\u00aa\u0836\u0001\u001c\u0837\u0001~\u0000+\u1071\u0000}\u1073\u0000\u0001" +
+        "&\u083b\u0001(\u083c\u0001*\u083d\u0001,\u083e\u0001.\u083f\u00010\u0840" +
+        "\u0001\u0014\u0841\u00012\u0842\u00014\u0843\u00016\u0844\u00018\u0845\u0001" +
+        ":\u0846\u0001<\u0847\u0001>\u0848\u0001 \u0849\u0001@\u084a\u0001B\u084b" +
+        "\u0001D\u084c\u0001$\u084d\u0001F\u084e\u0001H\u084f\u0001\n\u0850\u0001" +
+        "J\u0851\u0001L\u0852\u0001N\u0853+\u10a7\u0855\u0001\u0002\u0000\u0001P\u0856" +
+        "\u0001R\u0857\u0001T\u0858\u0001V\u0859\u0001X\u085a\u0001Z\u085b\u0001\\" +
+        "\u085c\u0001^\u085d\u0001`\u085e\u0001b\u085f\u0001d\u0860\u0001f\u0861\u0001" +
+        "h\u0862\u0001j\u0863\u0001l\u0864\u0001n\u0865\u0001p\u0866\u0001r\u0867" +
+        "\u0001t\u0868\u0001v\u0869\u0001\u0010\u086a\u0001N\u086b\u0001x\u086c\u0001" +
+        "z\u086d\u0001|\u086e\u0001\u001c\u086f\u0001~\u0870\u0001\u0080\u0871\u0001" +
+        "\u0082\u0872\u0001\u0084\u0873\u0001\u0086\u0874\u0001\u0088\u0875\u0001" +
+        "\u008a\u0876\u0001\u008c\u0877\u0001\u008e\u0878\u0001\u0090\u0879\u0001" +
+        "\u0092\u087a\u0001\u0094\u087b\u0001\u0096\u0000+\u10f9\u0000-\u10fb\u0000" +
+        "+\u10fd\u0000\u0001\u0002\u0000+\u1101\u0000}\u1103\u0000\u0001&\u0883\u0001" +
+        "(\u0884\u0001*\u0885\u0001,\u0886\u0001.\u0887\u00010\u0888+\u1111\u088a" +
+        "\u0001\u0002\u0000\u0001P\u088b\u0001R\u088c\u0001T\u088d\u0001V\u088e\u0001" +
+        "X\u088f\u0001Z\u0890\u0001\\\u0891\u0001^\u0892\u0001`\u0893\u0001b\u0894" +
+        "\u0001d\u0895\u0001f\u0896\u0001h\u0897\u0001j\u0898\u0001l\u0899\u0001n" +
+        "\u089a\u0001p\u089b\u0001r\u089c\u0001t\u089d\u0001v\u089e\u0001\u0010\u089f" +
+        "\u0001N\u08a0\u0001x\u08a1\u0001z\u08a2\u0001|\u08a3\u0001\u001c\u08a4\u0001" +
+        "~\u08a5\u0001\u0080\u08a6\u0001\u0082\u08a7\u0001\u0084\u08a8\u0001\u0086" +
+        "\u08a9\u0001\u0088\u08aa\u0001\u008a\u08ab\u0001\u008c\u0000+\u1159\u0000" +
+        "}\u115b\u0000\u0001\u0014\u08af\u00012\u08b0\u00014\u08b1\u00016\u08b2\u0001" +
+        "8\u08b3\u0001:\u08b4\u0001<\u08b5\u0001>\u08b6\u0001 \u08b7\u0001@\u08b8" +
+        "\u0001B\u08b9\u0001D\u08ba\u0001$\u08bb\u0001F\u08bc\u0001H\u08bd\u0001\n" +
+        "\u08be\u0001J\u08bf\u0001L\u08c0\u0001N\u08c1+\u1183\u08c3\u0001\u0002\u0000" +
+        "\u0001P\u08c4\u0001R\u08c5\u0001T\u08c6\u0001V\u08c7\u0001X\u08c8\u0001Z" +
+        "\u08c9\u0001\\\u08ca\u0001^\u08cb\u0001`\u08cc\u0001b\u08cd\u0001d\u08ce" +
+        "\u0001f\u08cf\u0001h\u08d0\u0001j\u08d1\u0001l\u08d2\u0001n\u08d3\u0001p" +
+        "\u08d4\u0001r\u08d5\u0001t\u08d6\u0001v\u08d7\u0001\u0010\u08d8\u0001N\u08d9" +
+        "\u0001x\u08da\u0001z\u08db\u0001|\u08dc\u0001\u001c\u08dd\u0001~\u08de\u0001" +
+        "\u0080\u08df\u0001\u0082\u08e0\u0001\u0084\u08e1\u0001\u0086\u08e2\u0001" +
+        "\u0088\u08e3\u0001\u008a\u08e4\u0001\u008c\u0000+\u11cb\u0000}\u11cd\u0000" +
+        "+\u11cf\u0920}\u11d1\u0000\u0001\u0014\u08ea\u00012\u08eb\u00014\u08ec\u0001" +
+        "6\u08ed\u00018\u08ee\u0001:\u08ef\u0001<\u08f0\u0001>\u08f1\u0001 \u08f2" +
+        "\u0001@\u08f3\u0001B\u08f4\u0001D\u08f5\u0001$\u08f6\u0001F\u08f7\u0001H" +
+        "\u08f8\u0001\n\u08f9\u0001J\u08fa\u0001L\u08fb\u0001N\u08fc+\u11f9\u08fe" +
+        "\u0001\u0002\u0000\u0001P\u08ff\u0001R\u0900\u0001T\u0901\u0001V\u0902\u0001" +
+        "X\u0903\u0001Z\u0904\u0001\\\u0905\u0001^\u0906\u0001`\u0907\u0001b\u0908" +
+        "\u0001d\u0909\u0001f\u090a\u0001h\u090b\u0001j\u090c\u0001l\u090d\u0001n" +
+        "\u090e\u0001p\u090f\u0001r\u0910\u0001t\u0911\u0001v\u0912\u0001\u0010\u0913" +
+        "\u0001N\u0914\u0001x\u0915\u0001z\u0916\u0001|\u0917\u0001\u001c\u0918\u0001" +
+        "~\u0919\u0001\u0080\u091a\u0001\u0082\u091b\u0001\u0084\u091c\u0001\u0086" +
+        "\u091d\u0001\u0088\u091e\u0001\u008a\u091f\u0001\u008c\u0000\u0001&\u0921" +
+        "\u0001(\u0922\u0001*\u0923\u0001,\u0924\u0001.\u0925\u00010\u0000+\u124d" +
+        "\u0000}\u124f\u0000\u0001&\u0929\u0001(\u092a\u0001*\u092b\u0001,\u092c\u0001" +
+        ".\u092d\u00010\u092e\u0001\u0014\u092f\u00012\u0930\u00014\u0931\u00016\u0932" +
+        "\u00018\u0933\u0001:\u0934\u0001<\u0935\u0001>\u0936\u0001 \u0937\u0001@" +
+        "\u0938\u0001B\u0939\u0001D\u093a\u0001$\u093b\u0001F\u093c\u0001H\u093d\u0001" +
+        "\n\u093e\u0001J\u093f\u0001L\u0940\u0001N\u0941+\u1283\u0943\u0001\u0002" +
+        "\u0000\u0001P\u0944\u0001R\u0945\u0001T\u0946\u0001V\u0947\u0001X\u0948\u0001" +
+        "Z\u0949\u0001\\\u094a\u0001^\u094b\u0001`\u094c\u0001b\u094d\u0001d\u094e" +
+        "\u0001f\u094f\u0001h\u0950\u0001j\u0951\u0001l\u0952\u0001n\u0953\u0001p" +
+        "\u0954\u0001r\u0955\u0001t\u0956\u0001v\u0957\u0001\u0010\u0958\u0001N\u0959" +
+        "\u0001x\u095a\u0001z\u095b\u0001|\u095c\u0001\u001c\u095d\u0001~\u095e\u0001" +
+        "\u0080\u095f\u0001\u0082\u0960\u0001\u0084\u0961\u0001\u0086\u0962\u0001" +
+        "\u0088\u0963\u0001\u008a\u0964\u0001\u008c\u0965\u0001\u008e\u0966\u0001" +
+        "\u0090\u0967\u0001\u0092\u0968\u0001\u0094\u0969\u0001\u0096\u0000+\u12d5" +
+        "\u0000}\u12d7\u0000\u0001&\u096d\u0001(\u096e\u0001*\u096f\u0001,\u0970\u0001" +
+        ".\u0971\u00010\u0972\u0001\u0014\u0973\u00012\u0974\u00014\u0975\u00016\u0976" +
+        "\u00018\u0977\u0001:\u0978\u0001<\u0979\u0001>\u097a\u0001 \u097b\u0001@" +
+        "\u097c\u0001B\u097d\u0001D\u097e\u0001$\u097f\u0001F\u0980\u0001H\u0981\u0001" +
+        "\n\u0982\u0001J\u0983\u0001L\u0984\u0001N\u0985+\u130b\u0987\u0001\u0002" +
+        "\u0000\u0001P\u0988\u0001R\u0989\u0001T\u098a\u0001V\u098b\u0001X\u098c\u0001" +
+        "Z\u098d\u0001\\\u098e\u0001^\u098f\u0001`\u0990\u0001b\u0991\u0001d\u0992" +
+        "\u0001f\u0993\u0001h\u0994\u0001j\u0995\u0001l\u0996\u0001n\u0997\u0001p" +
+        "\u0998\u0001r\u0999\u0001t\u099a\u0001v\u099b\u0001\u0010\u099c\u0001N\u099d" +
+        "\u0001x\u099e\u0001z\u099f\u0001|\u09a0\u0001\u001c\u09a1\u0001~\u09a2\u0001" +
+        "\u0080\u09a3\u0001\u0082\u09a4\u0001\u0084\u09a5\u0001\u0086\u09a6\u0001" +
+        "\u0088\u09a7\u0001\u008a\u09a8\u0001\u008c\u09a9\u0001\u008e\u09aa\u0001" +
+        "\u0090\u09ab\u0001\u0092\u09ac\u0001\u0094\u09ad\u0001\u0096\u0000,\u135d" +
+        "\u0000-\u135f\u0000\u0001\u0098\u0000,\u1363\u0000-\u1365\u0000\u0001\u0098" +
+        "\u0000,\u1369\u0000-\u136b\u0000\u0001\u0098\u0000";
+
+    static final String ATTRIBUTES =
+        "\u0003\u0002\u0001\u0000\u0004\u0000\u0000\u0006\u0002\u0002\u0000\u0000" +
+        "\u0000\u0003\u0007\u0008\u0005\u0000\u0000\u0000\u0004\u0008\u0008\u0005" +
+        "\u0000\u0000\u0000\u0000\n\u0002\u0005\u0000\u0000\u0000\u0006\u000b\u0002" +
+        "\u0005\u0000\u0000\u0000\u0000\r\u0002\u0005\u0000\u0000\u0000\u0000\u0010" +
+        "\u000f\u0005\u0000\u0000\u0000\u0009\u0011\u000f\u0005\u0000\u0000\u0000" +
+        "\n\u0012\u0002\u0005\u0000\u0000\u0000\u000b\u0013\u0002\u0005\u0000\u0000" +
+        "\u0000\u000c\u0014\u0002\u0005\u0000\u0000\u0000\r\u0015\u0002\u0005\u0000" +
+        "\u0000\u0000\u000e\u0016\u0002\u0005\u0000\u0000\u0000\u000f\u0017\u0002" +
+        "\u0005\u0000\u0000\u0000\u0000\u0019\u0002\u0005\u0000\u0000\u0000\u0011" +
+        "\u001a\u0002\u0005\u0000\u0000\u0000\u0012\u001b\n\u0000\u0000\u001c\u0009" +
+        "\u0013\u0010\u0002\u0002\u0000\u0000\u0000\u0014\u0011\u0002\u0002\u0000" +
+        "\u0000\u0000\u0015%\u0002\u0005\u0000\u0000\u0000\u0016\u0007\u0002\u0005" +
+        "\u0000\u0000\u0000\u0017&\u0002\u0005\u0000\u0000\u0000\u0018'\u0002\u0005" +
+        "\u0000\u0000\u0000\u0019(\u0002\u0005\u0000\u0000\u0000\u0000*\u0002\u0005" +
+        "\u0000\u0000\u0000\u001b+\n\u0000\u0000,\u0013\u001c0\u0002\u0005\u0000\u0000" +
+        "\u0000\u001d\u0007\u0008\u0002\u0000\u0000\u0000\u0000\u001b\n\u0005\u0000" +
+        "\u0000\u0017\u00003\u0002\u0005\u0000\u0000\u0000 5\u0002\u0005\u0000\u0000" +
+        "\u0000!6\u0002\u0005\u0000\u0000\u0000\"\u000b\u0002\u0005\u0000\u0000\u0000" +
+        "#7\u0005\u0005\u0000\u0000\u0000\u00009\u0002\u0005\u0000\u0000\u0000\u0000" +
+        "=\u0002\u0002\u0000\u0000\u0000\u0000\u001b\n\u0005\u0000\u0000-\u0000\u001b" +
+        "\n\u0005\u0000\u00001\u0000\u001b\n\u0005\u0000\u00005\u0000\u001b\n\u0005" +
+        "\u0000\u00009\u0000\u001b\n\u0005\u0000\u0000=\u0000\u001b\n\u0005\u0000" +
+        "\u0000A\u0000F\n\u0005\u0000FE-*\n\u0005\u0000\u0000G\u0000F\n\u0005\u0000" +
+        "FK/K\r\u0005\u0000\u0000\u00000*\u0002\u0000\u0000L\u0000\u0000F\n\u0005" +
+        "\u0000F]\u0000F\n\u0005\u0000Fo\u0000\u0011\r\u0005\u0000\u0000\u0000\u0000" +
+        "F\n\u0005\u0000Ft\u0000\u001b\n\u0000\u0000 v\u0000V\u0002\u0000\u0000W\u0000" +
+        "7X\n\u0000\u0000Y|8\\\u0002\u0005\u0000\u0000\u0000\u0000\u0011\u0002\u0005" +
+        "\u0000\u0000\u0000:^\u0002\u0005\u0000\u0000\u0000;_\n\u0005\u0000_\u007f" +
+        "<\u001b\n\u0005\u0000\u0000\u0081\u0000\u0016\u0002\u0005\u0000\u0000\u0000" +
+        ">a\u0002\u0005\u0000\u0000\u0000?b\u0002\u0005\u0000\u0000\u0000@c\u0002" +
+        "\u0005\u0000\u0000\u0000A\u0011\u0002\u0005\u0000\u0000\u0000B\u001b\n\u0005" +
+        "\u0000\u0000\u0085\u0000\u0007\u0002\u0005\u0000\u0000\u0000Dd\n\u0005\u0000" +
+        "d\u0089Ee\u0002\u0005\u0000\u0000\u0000F\u0019\u0002\u0005\u0000\u0000\u0000" +
+        "G\u001a\u0002\u0005\u0000\u0000\u0000Hc\u0002\u0005\u0000\u0000\u0000I\u0011" +
+        "\u0002\u0005\u0000\u0000\u0000J\u0010\u0002\u0005\u0000\u0000\u0000K\u001b" +
+        "\n\u0005\u0000\u0000\u008bLf\u0002\u0005\u0000\u0000\u0000Mg\u0002\u0005" +
+        "\u0000\u0000\u0000N*\u0002\u0005\u0000\u0000\u0000O-\u0002\u0005\u0000\u0000" +
+        "\u0000P(\u0002\u0005\u0000\u0000\u0000Qh\u0002\u0005\u0000\u0000\u0000Ri" +
+        "\n\u0005\u0000i\u0095SM\n\u0005\u0000\u0000\u0097Tl\u0008\u0005\u0000\u0000" +
+        "\u0000U4\u0002\u0005\u0000\u0000\u0000Vm\u0002\u0005\u0000\u0000\u0000W7" +
+        "\u0005\u0005\u0000\u0000\u0000\u0000\u0080\n\u0005\u0000\u0080\u009cY\u0081" +
+        "\u0002\u0005\u0000\u0000\u0000Z\u0082\n\u0005\u0000\u0000\u009e[\n\u0002" +
+        "\u0005\u0000\u0000\u0000\\3\u0002\u0005\u0000\u0000\u0000]5\u0002\u0005\u0000" +
+        "\u0000\u0000^6\u0002\u0005\u0000\u0000\u0000_\u000b\u0002\u0005\u0000\u0000" +
+        "\u0000`\u0007\u0002\u0005\u0000\u0000\u0000\u0000\u0087\u0002\u0005\u0000" +
+        "\u0000\u0000b\u0080\n\u0005\u0000\u0080\u00a3ce\u0002\u0005\u0000\u0000\u0000" +
+        "d\u0019\u0002\u0005\u0000\u0000\u0000e\u001a\u0002\u0005\u0000\u0000\u0000" +
+        "fc\u0002\u0005\u0000\u0000\u0000g\u0011\u0002\u0005\u0000\u0000\u0000h\u0010" +
+        "\u0002\u0005\u0000\u0000\u0000i\u001b\n\u0000\u0000\u001c\u00a5j&\u0002\u0005" +
+        "\u0000\u0000\u0000k\u0088\u0002\u0002\u0000\u0000\u0000\u0000\u008a\u0002" +
+        "\u0005\u0000\u0000\u0000m^\u0002\u0005\u0000\u0000\u0000\u0000^\u0002\u0005" +
+        "\u0000\u0000\u0000\u0000\u008d\n\u0000\u0000\u008e\u00b0\u0000\u0007\u0002" +
+        "\u0005\u0000\u0000\u0000\u0000\u001b\n\u0000\u0000\u001d\u00b5r\u0088\u0002" +
+        "\u0005\u0000\u0000\u0000s\u0096\r\u0005\u0000\u0000\u0000t^\u0002\u0005\u0000" +
+        "\u0000\u0000u\u0097\n\u0005\u0000\u0097\u00bbvc\u0002\u0005\u0000\u0000\u0000" +
+        "w0\u0002\u0005\u0000\u0000\u0000x\u0007\u0002\u0005\u0000\u0000\u0000y*\n" +
+        "\u0000\u0000\u0098\u00bd\u0000\u00a2\n\u0005\u0000\u00a2\u00c7{^\r\u0005" +
+        "\u0000\u0000\u0000|\u0007\u0002\u0002\u0000\u0000\u0000\u0000\u00a4\r\u0002" +
+        "\u0000\u0000\u0000~\u00a5\r\u0002\u0000\u0000\u0000\u007f\u0007\u0002\u0002" +
+        "\u0000\u0000\u0000\u0000\u00a4\u0002\u0005\u0000\u0000\u0000\u0081\u00a5" +
+        "\u0002\u0005\u0000\u0000\u0000\u0000\u0016\u0002\u0005\u0000\u0000\u0000" +
+        "\u0083\u00ac\n\u0005\u0000\u0000\u00c9\u0084\u001b\n\u0005\u0000\u0000\u00ce" +
+        "\u0000\u0010\u0002\u0005\u0000\u0000\u0000\u0086\u0011\u0002\u0005\u0000" +
+        "\u0000\u0000\u0087\u00ac\n\u0005\u0000\u0000\u00d2\u0088\u001b\n\u0005\u0000" +
+        "\u0000\u00d7\u0089\u00ae\r\u0000\u0000L\u0000\u008a\u00af\r\u0000\u0000L" +
+        "\u0000\u008b\u0016\u0002\u0005\u0000\u0000\u0000\u008c\u00b0\n\u0005\u0000" +
+        "\u00b0\u00db\u0000\n\u0002\u0005\u0000\u0000\u0000\u008e&\u0002\u0005\u0000" +
+        "\u0000\u0000\u008f\u00b2\n\u0005\u0000\u00b2\u00dd\u0090\u000b\u0002\u0005" +
+        "\u0000\u0000\u0000\u0091\u0081\u0002\u0005\u0000\u0000\u0000\u0092\u0082" +
+        "\n\u0000\u0000\u0083\u00df\u00000\u0002\u0005\u0000\u0000\u0000\u0094\u00b4" +
+        "\n\u0005\u0000\u00b4\u00e4\u00000\r\u0005\u0000\u0000\u0000\u0096*\u0002" +
+        "\u0005\u0000\u0000\u0000\u0000\u001b\n\u0000\u0000\u001d\u00e6\u0000\u00ba" +
+        "\n\u0005\u0000\u00ba\u00e9\u0099\u00bb\n\u0000\u0000\u00bc\u00eb\u009a\u00c0" +
+        "\r\u0005\u0000\u0000\u0000\u009b\u00c1\r\u0005\u0000\u0000\u0000\u009c\u00c2" +
+        "\r\u0000\u0000L\u0000\u009d\u0007\u0002\u0005\u0000\u0000\u0000\u009e\u0088" +
+        "\u0002\u0005\u0000\u0000\u0000\u0000\u0010\u0002\u0005\u0000\u0000\u0000" +
+        "\u00a0\u0011\u0002\u0005\u0000\u0000\u0000\u00a1\u00ac\n\u0005\u0000\u0000" +
+        "\u00ef\u00a2\u001b\n\u0005\u0000\u0000\u00f4\u00a3\u00ae\r\u0000\u0000L\u0000" +
+        "\u00a4\u00af\r\u0000\u0000L\u0000\u00a5\u0016\u0002\u0005\u0000\u0000\u0000" +
+        "\u00a6\u00b0\n\u0005\u0000\u00b0\u00f8\u0000";
+
+    static final String SETS =
+        "\u0006\u0003\u000c\r\u000e\u0012\u0002\u0009\n\u001d\u001e\u001f !\"#\u001c" +
+        "$\u0004-./\u0004 2!\u0006\u0003\u000c\r\u000e\u0012\u0006\u0003\u000c\r\u000e" +
+        "\u0012\u0006\u0003\u000c\r\u000e\u0012\u0004 2!\u0004 2!\u0004 2!\u0004 " +
+        "2!\u0004 2!\u0004 2!\u0002F\u0004GHI\u0002F\u000e\u0005\u0010\u001d\u001e" +
+        "\u001f !\"#$%&'\u0002\n\u0002F\u000e\u0005\u0010\u001d\u001e\u001f !\"#$" +
+        "%&'\u0002\n\u0002F\u0003\n%\u0002F\u0004 2!\u0002$\u0003Z[\u0002_\u0004 " +
+        "!2\u0004 2!\u0002d\n\u001d\u001e\u001f !\"#\u001c$\u0002i\u0003jk\u0002:" +
+        "\u0002\u0080\u0005\u0083I\u0084\u0085\u0002\u0080\u000b\u001d\u001e\u001f" +
+        " !\"#\u001c$2\u0005 \u008f!\u008e\u0006\u001d\u001e\u001f !\u0002\u0097\n" +
+        "\u0015\u0099\u009a\u009b\u009c\u009d\u009e\u009f\u00a0\u0002\u00a2\u0005" +
+        "\u001d\u001e\u001f\u001c\u0004 2!\u0005\u001d\u001e\u001f\u001c\u0004 2!" +
+        "\u0002\u00b0\u0002\u00b2\u0005\u0083I\u0084\u0085\u0002\u00b4\u0003\u001d" +
+        "\u001f\u0002\u00ba\u0004\u00bd\u00be\u00bf\u0005\u001d\u001e\u001f\u001c" +
+        "\u0004 2!\u0002\u00b0";
+
+    static final String ENTITIES =
+        "\u00c7\u0000\u0001\u00c8\u0001\u00c9\u0000\u0001\u00ca\u0001\u00cb\u0000" +
+        "\u0001\u00cc\u0001\u00cd\u0001\u0001\u00ce\u0002\u00c7\u00cf\u0001\u0001" +
+        "\u00d0\u0002\u00c2\u00d1\u0001\u0001\u00d2\u0002\u00c3\u00d3\u0001\u0001" +
+        "\u00d4\u0002\u00c1\u00d5\u0001\u0001\u00d6\u0002\u00c6\u00d7\u0001\u0001" +
+        "\u00d8\u0002\u00c4\u00d9\u0001\u0001\u00da\u0002\u00c5\u00db\u0001\u0001" +
+        "\u00dc\u0002\u00c8\u00dd\u0001\u0001\u00de\u0002\u00d1\u00df\u0001\u0001" +
+        "\u00e0\u0002\u00ca\u00e1\u0001\u0001\u00e2\u0002\u00cb\u00e3\u0001\u0001" +
+        "\u00e4\u0002\u00c9\u00e5\u0001\u0001\u00e6\u0002\u00cc\u00e7\u0001\u0001" +
+        "\u00e8\u0002\u00ce\u00e9\u0001\u0001\u00ea\u0002\u00cf\u00eb\u0001\u0001" +
+        "\u00ec\u0002\u00cd\u00ed\u0001\u0001\u00ee\u0002\u00d0\u00ef\u0001\u0001" +
+        "\u00f0\u0002\u00d2\u00f1\u0001\u0001\u00f2\u0002\u00d4\u00f3\u0001\u0001" +
+        "\u00f4\u0002\u00d5\u00f5\u0001\u0001\u00f6\u0002\u00d3\u00f7\u0001\u0001" +
+        "\u00f8\u0002\u00d9\u00f9\u0001\u0001\u00fa\u0002\u00d6\u00fb\u0001\u0001" +
+        "\u00fc\u0002\u00d7\u00fd\u0001\u0001\u00fe\u0002\u00df\u00ff\u0001\u0001" +
+        "\u0100\u0002\u00db\u0101\u0001\u0001\u0102\u0002\u00dc\u0103\u0001\u0001" +
+        "\u0104\u0002\u00da\u0105\u0001\u0001\u0106\u0002\u00dd\u0107\u0001\u0001" +
+        "\u0108\u0002\u00de\u0109\u0001\u0001\u010a\u0002\u00e2\u010b\u0001\u0001" +
+        "\u010c\u0002\u00e3\u010d\u0001\u0001\u010e\u0002\u00b5\u010f\u0001\u0001" +
+        "\u0110\u0002\u00e7\u0111\u0001\u0001\u0112\u0002\u00e1\u0113\u0001\u0001" +
+        "\u0114\u0002'\u0115\u0001\u0001\u0116\u0002\u00e6\u0117\u0001\u0001\u0118" +
+        "\u0002\u00e4\u0119\u0001\u0001\u011a\u0002\u00e5\u011b\u0001\u0001\u011c" +
+        "\u0002\u00a7\u011d\u0001\u0001\u011e\u0002\u00e8\u011f\u0001\u0001\u0120" +
+        "\u0002\u00b9\u0121\u0001\u0001\u0122\u0002\u00a3\u0123\u0001\u0001\u0124" +
+        "\u0002\u00aa\u0125\u0001\u0001\u0126\u0002\u00a5\u0127\u0001\u0001\u0128" +
+        "\u0002\u00b1\u0129\u0001\u0001\u012a\u0002\u00f8\u012b\u0001\u0001\u012c" +
+        "\u0002\u00ea\u012d\u0001\u0001\u012e\u0002\u00eb\u012f\u0001\u0001\u0130" +
+        "\u0002\u00e9\u0131\u0001\u0001\u0132\u0002\u00f1\u0133\u0001\u0001\u0134" +
+        "\u0002\u00ec\u0135\u0001\u0001\u0136\u0002\u00be\u0137\u0001\u0001\u0138" +
+        "\u0002\u00bd\u0139\u0001\u0001\u013a\u0002\u00bf\u013b\u0001\u0001\u013c" +
+        "\u0002?\u013d\u0001\u0001\u013e\u0002\u00ee\u013f\u0001\u0001\u0140\u0002" +
+        "\u00ef\u0141\u0001\u0001\u0142\u0002\u00a2\u0143\u0001\u0001\u0144\u0002" +
+        "\u00ed\u0145\u0001\u0001\u0146\u0002\u00c0\u0147\u0001\u0001\u0148\u0002" +
+        "\u00f0\u0149\u0001\u0001\u014a\u0002\u00ac\u014b\u0001\u0001\u014c\u0002" +
+        "=\u014d\u0001\u0001\u014e\u0002\u00b0\u014f\u0001\u0001\u0150\u0002\u00b6" +
+        "\u0151\u0001\u0001\u0152\u0002\u00b8\u0153\u0001\u0001\u0154\u0002\u00a1" +
+        "\u0155\u0001\u0001\u0156\u0002\u00ad\u0157\u0001\u0001\u0158\u0002\u00f2" +
+        "\u0159\u0001\u0001\u015a\u0002\u00f4\u015b\u0001\u0001\u015c\u0002\u00f5" +
+        "\u015d\u0001\u0001\u015e\u0002\u00f3\u015f\u0001\u0001\u0160\u0002\u00ab" +
+        "\u0161\u0001\u0001\u0162\u0002\u00bb\u0163\u0001\u0001\u0164\u0002\u00f9" +
+        "\u0165\u0001\u0001\u0166\u0002\u00f6\u0167\u0001\u0001\u0168\u0002\u00f7" +
+        "\u0169\u0001\u0001\u016a\u0002\u00b7\u016b\u0001\u0001\u016c\u0002\u00b2" +
+        "\u016d\u0001\u0001\u016e\u0002\u00a4\u016f\u0001\u0001\u0170\u0002#\u0171" +
+        "\u0001\u0001\u0172\u0002\u00bc\u0173\u0001\u0001\u0174\u0002\u00af\u0175" +
+        "\u0001\u0001\u0176\u0002\u00a8\u0177\u0001\u0001\u0178\u0002\u00ae\u0179" +
+        "\u0001\u0001\u017a\u0002\u00ba\u017b\u0001\u0001\u017c\u0002\u00b3\u017d" +
+        "\u0001\u0001\u017e\u0002\u00b4\u017f\u0001\u0001\u0180\u0002\u00e0\u0181" +
+        "\u0001\u0001\u0182\u0002\u00ff\u0183\u0001\u0001\u0184\u0002\u00d8\u0185" +
+        "\u0001\u0001\u0186\u0002\u00fb\u0187\u0001\u0001\u0188\u0002\u00fc\u0189" +
+        "\u0001\u0001\u018a\u0002\u00fa\u018b\u0001\u0001\u018c\u0002\u00a9\u018d" +
+        "\u0001\u0001\u018e\u0002\u00fd\u018f\u0001\u0001\u0190\u0002\u00fe\u0191" +
+        "\u0001\u0001\u0192\u0002\u00a6\u0193\u0001\u0001\u0194\u0002\u0100";
+}
@@ -30,9 +30,11 @@ import javax.swing.text.html.HTMLEditorKit;
  * This class is a wrapper of {@link DocumentParser}. <br>
  * <br>
  * Internally stores a reference to a DTD ({@link ParserDelegator#defaultDTD})
- * which is filled with <code>html32.bdtd</code>, a file located at the classpath
- * with the default DTD content (HTML 3.2) in ASN1 format. Then, instances
- * a {@link DocumentParser} with this dtd. <br>
+ * which is filled with the default DTD content (HTML 3.2). The content is
+ * taken from the tables precompiled from <code>html32.bdtd</code> (see
+ * DTDCompiler in <code>src/tools</code>), or from that ASN1 file located
+ * at the classpath if there are no such tables. Then, instances a
+ * {@link DocumentParser} with this dtd. <br>
  * <br>
  * So, when the method
  * {@link ParserDelegator#parse(Reader, javax.swing.text.html.HTMLEditorKit.ParserCallback, boolean) parse(Reader, HTMLEditorKit.ParserCallback, boolean)}
@@ -87,6 +89,8 @@ public class ParserDelegator extends HTMLEditorKit.Parser implements
      * <br>
      * The complete behavior is the following:
      * <ol>
+     * <li> If there are precompiled tables for <code>name</code>, fills
+     * <code>dtd</code> from them and skips the next two steps
      * <li> Finds the resource (the ASN1 binary file) in the classpath by
      * appending ".bdtd" to <code>name</code>.
      * <li> Creates an stream from this file and adds the information contained
@@ -107,11 +111,13 @@ public class ParserDelegator extends HTMLEditorKit.Parser implements
     protected static DTD createDTD(final DTD dtd, final String name) {
         try {
             String oldName = dtd.name;
-            // gets the location of the harcoded file that is located in the
-            // classpath ...
-            // fills the DTD ...
-            dtd.read(new DataInputStream(
-                    ParserDelegator.class.getResourceAsStream(name + ".bdtd")));
+            if (!PrecompiledDTD.load(dtd, name)) {
+                // gets the location of the harcoded file that is located in the
+                // classpath ...
+                // fills the DTD ...
+                dtd.read(new DataInputStream(
+                        ParserDelegator.class.getResourceAsStream(name + ".bdtd")));
+            }
             dtd.name = oldName;
             DTD.putDTDHash(name, dtd);
         } catch (Exception e) {
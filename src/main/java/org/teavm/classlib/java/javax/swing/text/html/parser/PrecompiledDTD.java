@@ -0,0 +1,216 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package javax.swing.text.html.parser;
+
+import java.util.BitSet;
+import java.util.Hashtable;
+import java.util.Vector;
+
+/**
+ * Loads a {@link DTD} from the tables generated by DTDCompiler of
+ * <code>src/tools</code> instead of decoding its ASN.1 <code>.bdtd</code>
+ * resource.
+ * <p>
+ * Every table is a string whose chars hold the integers <code>v + 1</code>,
+ * so <code>-1</code> (no value) is stored as <code>'\0'</code>. The
+ * layouts are:
+ * <ul>
+ * <li><code>STRINGS</code> - every name, value and entity text, separated
+ * by <code>'\0'</code>; the other tables refer to them by position
+ * <li><code>ELEMENTS</code> - per element, in the order of
+ * {@link DTD#elements}: index, name, type, flags (1 - omit start, 2 - omit
+ * end), content model, exclusions, inclusions and first attribute
+ * <li><code>MODELS</code> - per content model node: type, content and next
+ * node. The content is <code>2 * n</code> for the node <code>n</code> and
+ * <code>2 * i + 1</code> for the element with index <code>i</code>
+ * <li><code>ATTRIBUTES</code> - per attribute: name, type, modifier, default
+ * value, allowed values and next attribute. The modifier takes two chars
+ * holding its low and high 16 bits as they are
+ * <li><code>SETS</code> - element index sets and attribute value lists, as
+ * the count followed by the items
+ * <li><code>ENTITIES</code> - per entity: name, type (two chars, as the
+ * attribute modifier), data and the number of chars mapped to it, followed
+ * by those chars
+ * </ul>
+ */
+final class PrecompiledDTD {
+    static final int ELEMENT_SIZE = 8;
+    static final int MODEL_SIZE = 3;
+    static final int ATTRIBUTE_SIZE = 7;
+
+    static final int OMIT_START = 1;
+    static final int OMIT_END = 2;
+
+    private final String[] strings;
+    private final String sets;
+
+    private PrecompiledDTD(final String strings, final String sets) {
+        this.strings = split(strings);
+        this.sets = sets;
+    }
+
+    /**
+     * Fills <code>dtd</code> with the precompiled DTD called
+     * <code>name</code>, leaving <code>dtd</code> in the same state as
+     * {@link DTD#read(java.io.DataInputStream)} of <code>name.bdtd</code>
+     * would.
+     *
+     * @return <code>false</code> if there are no tables for
+     *         <code>name</code>
+     */
+    static boolean load(final DTD dtd, final String name) {
+        if (!Html32DTDTables.NAME.equals(name)) {
+            return false;
+        }
+        new PrecompiledDTD(Html32DTDTables.STRINGS, Html32DTDTables.SETS)
+                .fill(dtd, Html32DTDTables.NAME, Html32DTDTables.ELEMENTS,
+                      Html32DTDTables.MODELS, Html32DTDTables.ATTRIBUTES,
+                      Html32DTDTables.ENTITIES);
+        return true;
+    }
+
+    private void fill(final DTD dtd, final String name, final String elements,
+                      final String models, final String attributes,
+                      final String entities) {
+        dtd.name = name;
+
+        int count = elements.length() / ELEMENT_SIZE;
+        Element[] defined = new Element[count];
+        for (int i = 0, pos = 0; i < count; i++, pos += ELEMENT_SIZE) {
+            String elemName = strings[get(elements, pos + 1)];
+            int flags = get(elements, pos + 3);
+            Element elem = dtd.elementHash.get(elemName);
+            if (elem == null) {
+                elem = new Element();
+                dtd.elements.add(elem);
+                dtd.elementHash.put(elemName, elem);
+            }
+            elem.updateElement(get(elements, pos), elemName,
+                               (flags & OMIT_START) != 0,
+                               (flags & OMIT_END) != 0,
+                               bitSet(get(elements, pos + 5)),
+                               bitSet(get(elements, pos + 6)),
+                               get(elements, pos + 2), null, null, null);
+            defined[i] = elem;
+        }
+
+        ContentModel[] nodes = new ContentModel[models.length() / MODEL_SIZE];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new ContentModel();
+        }
+        for (int i = 0, pos = 0; i < nodes.length; i++, pos += MODEL_SIZE) {
+            ContentModel node = nodes[i];
+            node.type = get(models, pos);
+            int content = get(models, pos + 1);
+            if (content >= 0) {
+                node.content = (content & 1) == 0
+                        ? (Object)nodes[content >> 1]
+                        : dtd.elements.get(content >> 1);
+            }
+            int next = get(models, pos + 2);
+            node.next = next < 0 ? null : nodes[next];
+        }
+
+        AttributeList[] atts = new AttributeList[attributes.length() / ATTRIBUTE_SIZE];
+        for (int i = 0, pos = 0; i < atts.length; i++, pos += ATTRIBUTE_SIZE) {
+            int value = get(attributes, pos + 4);
+            atts[i] = new AttributeList(strings[get(attributes, pos)],
+                                        get(attributes, pos + 1),
+                                        getWide(attributes, pos + 2),
+                                        value < 0 ? null : strings[value],
+                                        values(get(attributes, pos + 5)),
+                                        null);
+        }
+        for (int i = 0, pos = 0; i < atts.length; i++, pos += ATTRIBUTE_SIZE) {
+            int next = get(attributes, pos + 6);
+            atts[i].next = next < 0 ? null : atts[next];
+        }
+
+        for (int i = 0, pos = 0; i < count; i++, pos += ELEMENT_SIZE) {
+            int content = get(elements, pos + 4);
+            int att = get(elements, pos + 7);
+            defined[i].content = content < 0 ? null : nodes[content];
+            defined[i].atts = att < 0 ? null : atts[att];
+        }
+
+        Hashtable<Object, Entity> entityHash = new Hashtable<Object, Entity>();
+        for (int pos = 0; pos < entities.length();) {
+            Entity entity = new Entity(strings[get(entities, pos)],
+                                       getWide(entities, pos + 1),
+                                       strings[get(entities, pos + 3)].toCharArray());
+            entityHash.put(entity.name, entity);
+            int chars = get(entities, pos + 4);
+            pos += 5;
+            for (int end = pos + chars; pos < end; pos++) {
+                entityHash.put(Integer.valueOf(get(entities, pos)), entity);
+            }
+        }
+        dtd.entityHash = entityHash;
+        dtd.setReading(true);
+    }
+
+    private BitSet bitSet(final int offset) {
+        if (offset < 0) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (int i = offset + 1, end = i + get(sets, offset); i < end; i++) {
+            result.set(get(sets, i));
+        }
+        return result;
+    }
+
+    private Vector<String> values(final int offset) {
+        if (offset < 0) {
+            return null;
+        }
+        int count = get(sets, offset);
+        Vector<String> result = new Vector<String>(count);
+        for (int i = offset + 1, end = i + count; i < end; i++) {
+            result.add(strings[get(sets, i)]);
+        }
+        return result;
+    }
+
+    private static int get(final String table, final int pos) {
+        return table.charAt(pos) - 1;
+    }
+
+    private static int getWide(final String table, final int pos) {
+        return table.charAt(pos) | (table.charAt(pos + 1) << 16);
+    }
+
+    private static String[] split(final String strings) {
+        int count = 1;
+        for (int i = 0; i < strings.length(); i++) {
+            if (strings.charAt(i) == '\0') {
+                count++;
+            }
+        }
+        String[] result = new String[count];
+        for (int i = 0, start = 0; i < count; i++) {
+            int end = strings.indexOf('\0', start);
+            if (end < 0) {
+                end = strings.length();
+            }
+            result[i] = strings.substring(start, end).intern();
+            start = end + 1;
+        }
+        return result;
+    }
+}
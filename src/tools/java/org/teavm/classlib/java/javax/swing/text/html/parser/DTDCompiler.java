@@ -0,0 +1,334 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package javax.swing.text.html.parser;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Build-time tool converting a DTD stored in an ASN.1 <code>.bdtd</code>
+ * resource into the Java tables read by {@link PrecompiledDTD}, so the
+ * parser does not have to decode the resource at run time.
+ * <p>
+ * Usage:
+ * <pre>
+ * DTDCompiler &lt;dtd name&gt; &lt;class name&gt; &lt;output directory&gt;
+ * </pre>
+ * e.g. <code>DTDCompiler html32 Html32DTDTables .</code> reads
+ * <code>html32.bdtd</code> from the classpath and writes
+ * <code>Html32DTDTables.java</code>. Rerun it whenever a
+ * <code>.bdtd</code> file changes.
+ * <p>
+ * The tool is kept out of the runtime sources. It is compiled together
+ * with <code>src/main/java</code>, which provides the DTD classes and the
+ * table layout of {@link PrecompiledDTD}, and run with both on the class
+ * path.
+ */
+final class DTDCompiler {
+    private static final int MAX_CONSTANT_LENGTH = 65535;
+    private static final int LINE_LENGTH = 72;
+
+    private final Map<String, Integer> strings = new HashMap<String, Integer>();
+    private final StringBuilder stringTable = new StringBuilder();
+    private final StringBuilder elements = new StringBuilder();
+    private final StringBuilder models = new StringBuilder();
+    private final StringBuilder attributes = new StringBuilder();
+    private final StringBuilder sets = new StringBuilder();
+    private final StringBuilder entities = new StringBuilder();
+    private final Map<ContentModel, Integer> modelIndices = new IdentityHashMap<ContentModel, Integer>();
+    private final Map<AttributeList, Integer> attributeIndices = new IdentityHashMap<AttributeList, Integer>();
+
+    private DTDCompiler() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: DTDCompiler <dtd name> <class name> <output directory>"); //$NON-NLS-1$
+            System.exit(1);
+        }
+        DTD dtd = new DTD(args[0]);
+        dtd.read(new DataInputStream(
+                DTDCompiler.class.getResourceAsStream(args[0] + ".bdtd"))); //$NON-NLS-1$
+        dtd.name = args[0];
+
+        Writer out = new OutputStreamWriter(new FileOutputStream(
+                new File(args[2], args[1] + ".java")), "UTF-8"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            compile(dtd, args[1], out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the source of the class <code>className</code> holding the
+     * tables of <code>dtd</code>.
+     */
+    static void compile(final DTD dtd, final String className,
+                        final Writer out) throws IOException {
+        DTDCompiler compiler = new DTDCompiler();
+        compiler.addDTD(dtd);
+
+        out.write(LICENSE);
+        out.write("\n// Generated by DTDCompiler from " + dtd.name + ".bdtd, do not edit.\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        out.write("package javax.swing.text.html.parser;\n\n"); //$NON-NLS-1$
+        out.write("@SuppressWarnings(\"nls\")\n"); //$NON-NLS-1$
+        out.write("final class " + className + " {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        writeConstant(out, "NAME", dtd.name); //$NON-NLS-1$
+        writeConstant(out, "STRINGS", compiler.stringTable); //$NON-NLS-1$
+        writeConstant(out, "ELEMENTS", compiler.elements); //$NON-NLS-1$
+        writeConstant(out, "MODELS", compiler.models); //$NON-NLS-1$
+        writeConstant(out, "ATTRIBUTES", compiler.attributes); //$NON-NLS-1$
+        writeConstant(out, "SETS", compiler.sets); //$NON-NLS-1$
+        writeConstant(out, "ENTITIES", compiler.entities); //$NON-NLS-1$
+        out.write("}\n"); //$NON-NLS-1$
+    }
+
+    private void addDTD(final DTD dtd) {
+        for (Iterator<Element> it = dtd.elements.iterator(); it.hasNext();) {
+            Element elem = it.next();
+            int pos = elements.length();
+            elements.setLength(pos + PrecompiledDTD.ELEMENT_SIZE);
+            set(elements, pos, elem.index);
+            set(elements, pos + 1, addString(elem.name));
+            set(elements, pos + 2, elem.type);
+            set(elements, pos + 3, (elem.oStart ? PrecompiledDTD.OMIT_START : 0)
+                                   | (elem.oEnd ? PrecompiledDTD.OMIT_END : 0));
+            set(elements, pos + 4, addModel(elem.content));
+            set(elements, pos + 5, addBitSet(elem.exclusions));
+            set(elements, pos + 6, addBitSet(elem.inclusions));
+            set(elements, pos + 7, addAttribute(elem.atts));
+        }
+        addEntities(dtd);
+    }
+
+    private int addModel(final ContentModel model) {
+        if (model == null) {
+            return -1;
+        }
+        Integer known = modelIndices.get(model);
+        if (known != null) {
+            return known.intValue();
+        }
+        int index = models.length() / PrecompiledDTD.MODEL_SIZE;
+        modelIndices.put(model, Integer.valueOf(index));
+        int pos = models.length();
+        models.setLength(pos + PrecompiledDTD.MODEL_SIZE);
+        set(models, pos, model.type);
+        int content = -1;
+        if (model.content instanceof ContentModel) {
+            content = addModel((ContentModel)model.content) << 1;
+        } else if (model.content instanceof Element) {
+            content = (((Element)model.content).index << 1) | 1;
+        }
+        set(models, pos + 1, content);
+        set(models, pos + 2, addModel(model.next));
+        return index;
+    }
+
+    private int addAttribute(final AttributeList att) {
+        if (att == null) {
+            return -1;
+        }
+        Integer known = attributeIndices.get(att);
+        if (known != null) {
+            return known.intValue();
+        }
+        int index = attributes.length() / PrecompiledDTD.ATTRIBUTE_SIZE;
+        attributeIndices.put(att, Integer.valueOf(index));
+        int pos = attributes.length();
+        attributes.setLength(pos + PrecompiledDTD.ATTRIBUTE_SIZE);
+        set(attributes, pos, addString(att.name));
+        set(attributes, pos + 1, att.type);
+        setWide(attributes, pos + 2, att.modifier);
+        set(attributes, pos + 4, att.value == null ? -1 : addString(att.value));
+        set(attributes, pos + 5, addValues(att.values));
+        set(attributes, pos + 6, addAttribute(att.next));
+        return index;
+    }
+
+    private int addBitSet(final BitSet bits) {
+        if (bits == null) {
+            return -1;
+        }
+        int offset = sets.length();
+        append(sets, bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            append(sets, i);
+        }
+        return offset;
+    }
+
+    private int addValues(final Vector<?> values) {
+        if (values == null) {
+            return -1;
+        }
+        int offset = sets.length();
+        append(sets, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            append(sets, addString((String)values.get(i)));
+        }
+        return offset;
+    }
+
+    private void addEntities(final DTD dtd) {
+        Map<Entity, List<Integer>> chars = new IdentityHashMap<Entity, List<Integer>>();
+        for (Iterator<Map.Entry<Object, Entity>> it = dtd.entityHash.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Object, Entity> entry = it.next();
+            List<Integer> keys = chars.get(entry.getValue());
+            if (keys == null) {
+                keys = new ArrayList<Integer>();
+                chars.put(entry.getValue(), keys);
+            }
+            if (entry.getKey() instanceof Integer) {
+                keys.add((Integer)entry.getKey());
+            }
+        }
+
+        List<Entity> sorted = new ArrayList<Entity>(chars.keySet());
+        Collections.sort(sorted, new Comparator<Entity>() {
+            public int compare(final Entity e1, final Entity e2) {
+                return e1.name.compareTo(e2.name);
+            }
+        });
+        for (Iterator<Entity> it = sorted.iterator(); it.hasNext();) {
+            Entity entity = it.next();
+            List<Integer> keys = chars.get(entity);
+            Collections.sort(keys);
+            append(entities, addString(entity.name));
+            entities.append((char)entity.type).append((char)(entity.type >>> 16));
+            append(entities, addString(new String(entity.data)));
+            append(entities, keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                append(entities, keys.get(i).intValue());
+            }
+        }
+    }
+
+    private int addString(final String s) {
+        Integer index = strings.get(s);
+        if (index == null) {
+            if (s.indexOf('\0') >= 0) {
+                throw new IllegalArgumentException(s);
+            }
+            index = Integer.valueOf(strings.size());
+            strings.put(s, index);
+            if (index.intValue() > 0) {
+                stringTable.append('\0');
+            }
+            stringTable.append(s);
+        }
+        return index.intValue();
+    }
+
+    private static void append(final StringBuilder table, final int value) {
+        table.append(encode(value));
+    }
+
+    private static void set(final StringBuilder table, final int pos, final int value) {
+        table.setCharAt(pos, encode(value));
+    }
+
+    private static void setWide(final StringBuilder table, final int pos, final int value) {
+        table.setCharAt(pos, (char)value);
+        table.setCharAt(pos + 1, (char)(value >>> 16));
+    }
+
+    private static char encode(final int value) {
+        if (value < -1 || value >= Character.MAX_VALUE) {
+            throw new IllegalArgumentException(Integer.toString(value));
+        }
+        return (char)(value + 1);
+    }
+
+    private static void writeConstant(final Writer out, final String name,
+                                      final CharSequence value) throws IOException {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            length += ch >= 0x01 && ch <= 0x7F ? 1 : ch <= 0x7FF ? 2 : 3;
+        }
+        if (length > MAX_CONSTANT_LENGTH) {
+            throw new IllegalStateException(name + " is too long: " + length); //$NON-NLS-1$
+        }
+
+        out.write("\n    static final String " + name + " =\n        \""); //$NON-NLS-1$ //$NON-NLS-2$
+        int column = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (column >= LINE_LENGTH) {
+                out.write("\" +\n        \""); //$NON-NLS-1$
+                column = 0;
+            }
+            String escaped = escape(value.charAt(i));
+            out.write(escaped);
+            column += escaped.length();
+        }
+        out.write("\";\n"); //$NON-NLS-1$
+    }
+
+    private static String escape(final char ch) {
+        switch (ch) {
+        case '\n':
+            return "\\n"; //$NON-NLS-1$
+        case '\r':
+            return "\\r"; //$NON-NLS-1$
+        case '"':
+            return "\\\""; //$NON-NLS-1$
+        case '\\':
+            return "\\\\"; //$NON-NLS-1$
+        default:
+            if (ch >= 0x20 && ch < 0x7F) {
+                return String.valueOf(ch);
+            }
+            String hex = Integer.toHexString(ch);
+            return "\\u0000".substring(0, 6 - hex.length()) + hex; //$NON-NLS-1$
+        }
+    }
+
+    private static final String LICENSE =
+        "/*\n" //$NON-NLS-1$
+        + " *  Licensed to the Apache Software Foundation (ASF) under one or more\n" //$NON-NLS-1$
+        + " *  contributor license agreements.  See the NOTICE file distributed with\n" //$NON-NLS-1$
+        + " *  this work for additional information regarding copyright ownership.\n" //$NON-NLS-1$
+        + " *  The ASF licenses this file to You under the Apache License, Version 2.0\n" //$NON-NLS-1$
+        + " *  (the \"License\"); you may not use this file except in compliance with\n" //$NON-NLS-1$
+        + " *  the License.  You may obtain a copy of the License at\n" //$NON-NLS-1$
+        + " *\n" //$NON-NLS-1$
+        + " *     http://www.apache.org/licenses/LICENSE-2.0\n" //$NON-NLS-1$
+        + " *\n" //$NON-NLS-1$
+        + " *  Unless required by applicable law or agreed to in writing, software\n" //$NON-NLS-1$
+        + " *  distributed under the License is distributed on an \"AS IS\" BASIS,\n" //$NON-NLS-1$
+        + " *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n" //$NON-NLS-1$
+        + " *  See the License for the specific language governing permissions and\n" //$NON-NLS-1$
+        + " *  limitations under the License.\n" //$NON-NLS-1$
+        + " */\n"; //$NON-NLS-1$
+}